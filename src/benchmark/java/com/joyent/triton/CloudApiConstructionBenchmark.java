@@ -0,0 +1,102 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.http.CloudApiConnectionFactory;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring the cost of constructing a {@link CloudApi} instance
+ * with HTTP signature authentication enabled. Constructing a
+ * {@link CloudApiConnectionFactory} parses the private key and builds the
+ * signature configuration, so comparing the two benchmarks shows how much of
+ * the startup cost is spent on it.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CloudApiConstructionBenchmark {
+    /**
+     * Size in bits of the RSA key used for signing.
+     */
+    private static final int KEY_SIZE = 2048;
+
+    /**
+     * Configuration with a freshly generated private key.
+     */
+    private ConfigContext config;
+
+    /**
+     * Generates a private key and builds the configuration used by the benchmarks.
+     *
+     * @throws NoSuchAlgorithmException thrown when RSA isn't supported
+     * @throws IOException thrown when the key can't be written as PEM
+     */
+    @Setup
+    public void setup() throws NoSuchAlgorithmException, IOException {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(KEY_SIZE);
+        final KeyPair keyPair = generator.generateKeyPair();
+
+        final StringWriter pem = new StringWriter();
+
+        try (JcaPEMWriter writer = new JcaPEMWriter(pem)) {
+            writer.writeObject(keyPair.getPrivate());
+        }
+
+        this.config = new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext()
+                        .setUser("benchmark")
+                        .setKeyId("00:00:00:00:00:00:00:00:00:00:00:00:00:00:00:00")
+                        .setPrivateKeyContent(pem.toString())
+        );
+    }
+
+    /**
+     * Constructs and closes a complete client.
+     *
+     * @return the closed client
+     * @throws IOException thrown when the client can't be closed
+     */
+    @Benchmark
+    public CloudApi constructCloudApi() throws IOException {
+        final CloudApi cloudApi = new CloudApi(config);
+        cloudApi.close();
+        return cloudApi;
+    }
+
+    /**
+     * Constructs a single connection factory.
+     *
+     * @return the new factory
+     */
+    @Benchmark
+    public CloudApiConnectionFactory constructConnectionFactory() {
+        return new CloudApiConnectionFactory(config);
+    }
+}
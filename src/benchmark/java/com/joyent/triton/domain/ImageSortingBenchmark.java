@@ -0,0 +1,114 @@
+package com.joyent.triton.domain;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.joyent.triton.json.CloudApiObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring sorting of image listings with
+ * {@link Image.VersionComparator}, which parses the version strings on
+ * every comparison. The images are generated with random versions from a
+ * fixed seed, so every run sorts the same input.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ImageSortingBenchmark {
+    /**
+     * Seed of the random versions, fixed so that results are comparable between runs.
+     */
+    private static final long SEED = 20160503L;
+
+    /**
+     * Upper bound of each section of the generated versions.
+     */
+    private static final int MAX_VERSION_SECTION = 20;
+
+    /**
+     * Number of distinct image names.
+     */
+    private static final int NAME_COUNT = 10;
+
+    /**
+     * Number of images to sort.
+     */
+    @Param({"100", "1000"})
+    private int size;
+
+    /**
+     * Unsorted images.
+     */
+    private List<Image> images;
+
+    /**
+     * Comparator under test.
+     */
+    private Image.VersionComparator comparator;
+
+    /**
+     * Generates the images used by the benchmarks.
+     *
+     * @throws IOException thrown when the test data can't be read
+     */
+    @Setup
+    public void setup() throws IOException {
+        final CloudApiObjectMapper mapper = new CloudApiObjectMapper();
+        final JsonNode record = mapper.readTree(new File("src/test/data/domain/image.json"));
+        final ArrayNode array = mapper.createArrayNode();
+        final Random random = new Random(SEED);
+
+        for (int i = 0; i < size; i++) {
+            final ObjectNode copy = record.deepCopy();
+            copy.put("id", new UUID(0L, i).toString());
+            copy.put("name", "image" + random.nextInt(NAME_COUNT));
+            copy.put("version", String.format("%d.%d.%d",
+                    random.nextInt(MAX_VERSION_SECTION),
+                    random.nextInt(MAX_VERSION_SECTION),
+                    random.nextInt(MAX_VERSION_SECTION)));
+            array.add(copy);
+        }
+
+        this.images = mapper.readValue(mapper.treeAsTokens(array),
+                new TypeReference<List<Image>>() { });
+        this.comparator = new Image.VersionComparator(false);
+    }
+
+    /**
+     * Sorts a copy of the images from the highest to the lowest version.
+     *
+     * @return the sorted images
+     */
+    @Benchmark
+    public List<Image> sortByVersion() {
+        final List<Image> sorted = new ArrayList<>(images);
+        Collections.sort(sorted, comparator);
+        return sorted;
+    }
+}
@@ -0,0 +1,127 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.queryfilters.InstanceFilter;
+import com.joyent.triton.queryfilters.InstanceFilterConverter;
+import org.apache.http.NameValuePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring the work done to build the URI of every request:
+ * converting an {@link InstanceFilter} to query parameters and resolving
+ * a path with {@link CloudApiConnectionFactory#uriForPath(String)}.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RequestBuildingBenchmark {
+    /**
+     * Number of tags in the filter.
+     */
+    private static final int TAG_COUNT = 5;
+
+    /**
+     * Path of the instance listing.
+     */
+    private static final String PATH = "/benchmark/machines";
+
+    /**
+     * Filter converter under test.
+     */
+    private InstanceFilterConverter converter;
+
+    /**
+     * Connection factory under test.
+     */
+    private CloudApiConnectionFactory connectionFactory;
+
+    /**
+     * Filter with a typical set of criteria.
+     */
+    private InstanceFilter filter;
+
+    /**
+     * Query parameters of {@link #filter}.
+     */
+    private List<NameValuePair> params;
+
+    /**
+     * Builds the filter and connection factory used by the benchmarks.
+     */
+    @Setup
+    public void setup() {
+        this.converter = new InstanceFilterConverter();
+        this.connectionFactory = new CloudApiConnectionFactory(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext()
+                        .setUser("benchmark")
+                        .setNoAuth(true)));
+
+        final Map<String, String> tags = new LinkedHashMap<>();
+
+        for (int i = 0; i < TAG_COUNT; i++) {
+            tags.put("tag" + i, "value" + i);
+        }
+
+        this.filter = new InstanceFilter()
+                .setState("running")
+                .setImage(new UUID(1L, 1L))
+                .setMemory(8192L)
+                .setLimit(1000)
+                .setOffset(0)
+                .setTags(tags);
+        this.params = converter.urlParamsFromFilter(filter);
+    }
+
+    /**
+     * Converts the filter to query parameters.
+     *
+     * @return the query parameters
+     */
+    @Benchmark
+    public List<NameValuePair> urlParamsFromFilter() {
+        return converter.urlParamsFromFilter(filter);
+    }
+
+    /**
+     * Resolves a path without query parameters.
+     *
+     * @return the URI
+     */
+    @Benchmark
+    public String uriForPath() {
+        return connectionFactory.uriForPath(PATH);
+    }
+
+    /**
+     * Resolves a path with the query parameters of the filter.
+     *
+     * @return the URI
+     */
+    @Benchmark
+    public String uriForPathWithParams() {
+        return connectionFactory.uriForPath(PATH, params);
+    }
+}
@@ -0,0 +1,48 @@
+package com.joyent.triton.http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring the throughput of each {@link RequestIdGenerator}
+ * when 64 threads generate request ids at once, as they do when many
+ * requests are made in parallel. Use {@code -t} in {@code jmh.args} to
+ * compare other thread counts.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(64)
+@Fork(1)
+public class RequestIdBenchmark {
+    /**
+     * Generator under test.
+     */
+    @Param({"SECURE_RANDOM", "THREAD_LOCAL_RANDOM", "TIME_ORDERED"})
+    private RequestIdGenerator generator;
+
+    /**
+     * Generates the request id sent with a request.
+     *
+     * @return the generated request id
+     */
+    @Benchmark
+    public String nextId() {
+        return generator.nextId();
+    }
+}
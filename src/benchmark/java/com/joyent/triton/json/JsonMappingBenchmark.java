@@ -0,0 +1,155 @@
+package com.joyent.triton.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.joyent.triton.domain.Image;
+import com.joyent.triton.domain.Instance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark measuring {@link CloudApiObjectMapper} deserialization of large
+ * instance and image listings and serialization of tagged instances, which
+ * goes through {@link FlatteningModifySerializer}. The listings are built
+ * from the test data by repeating a single record with different ids.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JsonMappingBenchmark {
+    /**
+     * Number of tags and metadata entries on the serialized instance.
+     */
+    private static final int TAG_COUNT = 20;
+
+    /**
+     * Number of records in each listing.
+     */
+    @Param({"100", "1000"})
+    private int size;
+
+    /**
+     * Mapper under test.
+     */
+    private CloudApiObjectMapper mapper;
+
+    /**
+     * JSON listing of instances.
+     */
+    private byte[] instancesJson;
+
+    /**
+     * JSON listing of images.
+     */
+    private byte[] imagesJson;
+
+    /**
+     * Instance with tags and metadata to serialize.
+     */
+    private Instance taggedInstance;
+
+    /**
+     * Builds the listings and the tagged instance used by the benchmarks.
+     *
+     * @throws IOException thrown when the test data can't be read
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.mapper = new CloudApiObjectMapper();
+        this.instancesJson = repeat(new File("src/test/data/domain/instance.json"));
+        this.imagesJson = repeat(new File("src/test/data/domain/image.json"));
+
+        final Map<String, String> tags = new LinkedHashMap<>();
+        final Map<String, String> metadata = new LinkedHashMap<>();
+
+        for (int i = 0; i < TAG_COUNT; i++) {
+            tags.put("tag" + i, "value" + i);
+            metadata.put("key" + i, "value" + i);
+        }
+
+        this.taggedInstance = new Instance()
+                .setName("benchmark")
+                .setImage(new UUID(1L, 1L))
+                .setPackageId(new UUID(2L, 2L))
+                .setTags(tags)
+                .setMetadata(metadata);
+    }
+
+    /**
+     * Creates a JSON array containing the record in the passed file
+     * {@link #size} times, each with a different id.
+     *
+     * @param file file containing a single JSON record
+     * @return JSON array as bytes
+     * @throws IOException thrown when the file can't be read
+     */
+    private byte[] repeat(final File file) throws IOException {
+        final JsonNode record = mapper.readTree(file);
+        final ArrayNode array = mapper.createArrayNode();
+
+        for (int i = 0; i < size; i++) {
+            final ObjectNode copy = record.deepCopy();
+            copy.put("id", new UUID(0L, i).toString());
+            array.add(copy);
+        }
+
+        return mapper.writeValueAsBytes(array);
+    }
+
+    /**
+     * Deserializes a listing of instances.
+     *
+     * @return the instances
+     * @throws IOException thrown when the JSON can't be parsed
+     */
+    @Benchmark
+    public List<Instance> deserializeInstances() throws IOException {
+        return mapper.readValue(instancesJson, new TypeReference<List<Instance>>() { });
+    }
+
+    /**
+     * Deserializes a listing of images.
+     *
+     * @return the images
+     * @throws IOException thrown when the JSON can't be parsed
+     */
+    @Benchmark
+    public List<Image> deserializeImages() throws IOException {
+        return mapper.readValue(imagesJson, new TypeReference<List<Image>>() { });
+    }
+
+    /**
+     * Serializes an instance with tags and metadata, as sent when creating it.
+     *
+     * @return the JSON as bytes
+     * @throws IOException thrown when the instance can't be serialized
+     */
+    @Benchmark
+    public byte[] serializeTaggedInstance() throws IOException {
+        return mapper.writeValueAsBytes(taggedInstance);
+    }
+}
@@ -22,16 +22,17 @@ public class ListInstances {
                 new SystemSettingsConfigContext()
         );
 
-        CloudApi cloudApi = new CloudApi(context);
+        // Closing the CloudApi instance releases its pooled connections
+        try (CloudApi cloudApi = new CloudApi(context)) {
+            // Each section of the API has its own class
+            Instances instanceApi = cloudApi.instances();
 
-        // Each section of the API has its own class
-        Instances instanceApi = cloudApi.instances();
+            Iterator<Instance> instancesIterator = instanceApi.list();
 
-        Iterator<Instance> instancesIterator = instanceApi.list();
-
-        while (instancesIterator.hasNext()) {
-            Instance instance = instancesIterator.next();
-            System.out.println(instance);
+            while (instancesIterator.hasNext()) {
+                Instance instance = instancesIterator.next();
+                System.out.println(instance);
+            }
         }
     }
 }
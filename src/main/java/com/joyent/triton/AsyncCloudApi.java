@@ -0,0 +1,94 @@
+package com.joyent.triton;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Entry point to the non-blocking CloudAPI operations. Instances are
+ * obtained from {@link CloudApi#async()} and share that instance's
+ * configuration and HTTP signature authentication, but use their own
+ * non-blocking connection pool. The client is shut down by
+ * {@link CloudApi#close()}.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class AsyncCloudApi {
+    /**
+     * Non-blocking HTTP client that executes requests for all API sections.
+     */
+    private final HttpAsyncClient httpClient;
+
+    /**
+     * Reference to the asynchronous Instances API section.
+     */
+    private final AsyncInstances instances;
+
+    /**
+     * Reference to the asynchronous Packages API section.
+     */
+    private final AsyncPackages packages;
+
+    /**
+     * Reference to the asynchronous Images API section.
+     */
+    private final AsyncImages images;
+
+    /**
+     * Creates a new instance backed by the passed client. The client must
+     * already be started.
+     *
+     * @param cloudApi reference to {@link CloudApi} instance that provides configuration
+     * @param httpClient started non-blocking HTTP client
+     * @param mapper reference to the jackson object mapper to use for processing JSON
+     */
+    AsyncCloudApi(final CloudApi cloudApi, final HttpAsyncClient httpClient,
+                  final ObjectMapper mapper) {
+        this.httpClient = httpClient;
+        this.instances = new AsyncInstances(cloudApi, httpClient, mapper);
+        this.packages = new AsyncPackages(cloudApi, httpClient, mapper);
+        this.images = new AsyncImages(cloudApi, httpClient, mapper);
+    }
+
+    /**
+     * Provides access to the asynchronous Instances API.
+     *
+     * @return a references to a configured {@link AsyncInstances} object.
+     */
+    public AsyncInstances instances() {
+        return instances;
+    }
+
+    /**
+     * Provides access to the asynchronous Packages API.
+     *
+     * @return a references to a configured {@link AsyncPackages} object.
+     */
+    public AsyncPackages packages() {
+        return packages;
+    }
+
+    /**
+     * Provides access to the asynchronous Images API.
+     *
+     * @return a references to a configured {@link AsyncImages} object.
+     */
+    public AsyncImages images() {
+        return images;
+    }
+
+    /**
+     * Shuts down the non-blocking client and its connection pool. Only
+     * called by {@link CloudApi#close()}, which owns the client.
+     *
+     * @throws IOException thrown when there is a problem shutting down the client
+     */
+    void close() throws IOException {
+        if (httpClient instanceof Closeable) {
+            ((Closeable) httpClient).close();
+        }
+    }
+}
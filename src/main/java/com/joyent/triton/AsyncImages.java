@@ -0,0 +1,122 @@
+package com.joyent.triton;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joyent.triton.domain.Image;
+import com.joyent.triton.http.CloudApiResponseHandler;
+import com.joyent.triton.queryfilters.ImageFilter;
+import com.joyent.triton.queryfilters.ImageFilterConverter;
+import com.joyent.triton.queryfilters.QueryFilterConverter;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+import static org.apache.http.HttpStatus.SC_OK;
+
+/**
+ * Non-blocking API to interact with operating system images on Triton.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class AsyncImages extends BaseAsyncApiAccessor {
+    /**
+     * Query filter converter class that allows you to convert from a {@link ImageFilter}
+     * to a {@link java.util.Collection} of {@link NameValuePair}.
+     */
+    private final QueryFilterConverter<ImageFilter> imageFilterConverter =
+            new ImageFilterConverter();
+
+    /**
+     * Response handler for listing images.
+     */
+    private final CloudApiResponseHandler<Collection<Image>> listImageHandler;
+
+    /**
+     * Response handler for finding specific images.
+     */
+    private final CloudApiResponseHandler<Image> findByIdImageHandler;
+
+    /**
+     * Creates a new configured {@code AsyncImages} API instance.
+     * @param cloudApi reference to {@link CloudApi} instance that provides configuration
+     * @param httpClient non-blocking HTTP client used to execute requests
+     * @param mapper reference to the jackson object mapper to use for processing JSON
+     */
+    AsyncImages(final CloudApi cloudApi, final HttpAsyncClient httpClient,
+                  final ObjectMapper mapper) {
+        super(cloudApi, httpClient, mapper);
+
+        this.listImageHandler = new CloudApiResponseHandler<>(
+                "list images", mapper, new TypeReference<Collection<Image>>() { },
+                SC_OK, false
+        );
+
+        this.findByIdImageHandler = new CloudApiResponseHandler<>(
+                "find image", mapper, new TypeReference<Image>() { },
+                SC_OK, true
+        );
+    }
+
+    /**
+     * Lists all of the available operating system images.
+     *
+     * @return future collection of every image
+     */
+    public Future<Collection<Image>> list() {
+        return list(new ImageFilter(), null);
+    }
+
+    /**
+     * Lists the images that match the filter criteria.
+     *
+     * @param filter query filter to filter results by
+     * @param callback optional callback notified on completion (may be null)
+     * @return future collection of matching images
+     */
+    public Future<Collection<Image>> list(final ImageFilter filter,
+                                          final FutureCallback<Collection<Image>> callback) {
+        Objects.requireNonNull(filter, "Filter object must be present");
+
+        final List<NameValuePair> filterParams = imageFilterConverter.urlParamsFromFilter(filter);
+        final String path = String.format("/%s/images", getConfig().getUser());
+        final HttpGet get = getConnectionFactory().get(path, filterParams);
+
+        return execute(get, listImageHandler, callback);
+    }
+
+    /**
+     * Get an image by specifying its id.
+     *
+     * @param imageId UUID of the image
+     * @return future image matching id if found, otherwise a future null
+     */
+    public Future<Image> findById(final UUID imageId) {
+        return findById(imageId, null);
+    }
+
+    /**
+     * Get an image by specifying its id.
+     *
+     * @param imageId UUID of the image
+     * @param callback optional callback notified on completion (may be null)
+     * @return future image matching id if found, otherwise a future null
+     */
+    public Future<Image> findById(final UUID imageId,
+                                    final FutureCallback<Image> callback) {
+        Objects.requireNonNull(imageId, "Image id must be present");
+
+        final String path = String.format("/%s/images/%s",
+                getConfig().getUser(), imageId);
+        final HttpGet get = getConnectionFactory().get(path);
+
+        return execute(get, findByIdImageHandler, callback);
+    }
+}
@@ -0,0 +1,253 @@
+package com.joyent.triton;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.http.CloudApiResponseHandler;
+import com.joyent.triton.queryfilters.InstanceFilter;
+import com.joyent.triton.queryfilters.InstanceFilterConverter;
+import com.joyent.triton.queryfilters.QueryFilterConverter;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+import static org.apache.http.HttpStatus.SC_CREATED;
+import static org.apache.http.HttpStatus.SC_GONE;
+import static org.apache.http.HttpStatus.SC_NO_CONTENT;
+import static org.apache.http.HttpStatus.SC_OK;
+
+/**
+ * Non-blocking API to interact with instances (machines) on Triton. Every
+ * operation returns immediately with a {@link Future} and optionally notifies
+ * a {@link FutureCallback}, so that a large number of requests can be in
+ * flight without dedicating a thread to each of them.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class AsyncInstances extends BaseAsyncApiAccessor {
+    /**
+     * Query filter converter class that allows you to convert from a {@link InstanceFilter}
+     * to a {@link java.util.Collection} of {@link NameValuePair}.
+     */
+    private final QueryFilterConverter<InstanceFilter> instanceFilterConverter =
+            new InstanceFilterConverter();
+
+    /**
+     * Response handler for instance listing.
+     */
+    private final CloudApiResponseHandler<Collection<Instance>> listInstanceHandler;
+
+    /**
+     * Response handler for create instance.
+     */
+    private final CloudApiResponseHandler<Instance> createInstanceHandler;
+
+    /**
+     * Response handler for delete instance.
+     */
+    private final CloudApiResponseHandler<Void> deleteInstanceHandler;
+
+    /**
+     * Response handler for finding instances by id.
+     */
+    private final CloudApiResponseHandler<Instance> findInstanceHandler;
+
+    /**
+     * Response handler for updating instance tags.
+     */
+    private final CloudApiResponseHandler<Map<String, String>> tagsHandler;
+
+    /**
+     * Creates a new configured {@code AsyncInstances} API instance.
+     * @param cloudApi reference to {@link CloudApi} instance that provides configuration
+     * @param httpClient non-blocking HTTP client used to execute requests
+     * @param mapper reference to the jackson object mapper to use for processing JSON
+     */
+    AsyncInstances(final CloudApi cloudApi, final HttpAsyncClient httpClient,
+                   final ObjectMapper mapper) {
+        super(cloudApi, httpClient, mapper);
+
+        this.listInstanceHandler = new CloudApiResponseHandler<>(
+                "list instances", mapper, new TypeReference<Collection<Instance>>() { }, SC_OK, false
+        );
+        this.createInstanceHandler = new CloudApiResponseHandler<>(
+                "create instance", mapper, new TypeReference<Instance>() { }, SC_CREATED, false
+        );
+        this.deleteInstanceHandler = new CloudApiResponseHandler<>(
+                "delete instance", mapper, new TypeReference<Void>() { }, SC_NO_CONTENT, false
+        );
+        this.findInstanceHandler = new CloudApiResponseHandler<>(
+                "find instance", mapper, new TypeReference<Instance>() { },
+                new int[] {SC_OK, SC_GONE}, true
+        );
+        this.tagsHandler = new CloudApiResponseHandler<>(
+                "tag instance", mapper, new TypeReference<Map<String, String>>() { }, SC_OK, false
+        );
+    }
+
+    /**
+     * Lists all instances. Only a single page of results (as limited by the
+     * server's query limit) is returned.
+     *
+     * @return future collection of instance objects
+     */
+    public Future<Collection<Instance>> list() {
+        return list(new InstanceFilter(), null);
+    }
+
+    /**
+     * Lists instances that match the filter criteria. Only a single page of
+     * results (as limited by the server's query limit) is returned.
+     *
+     * @param filter query filter to filter results by
+     * @param callback optional callback notified on completion (may be null)
+     * @return future collection of instance objects
+     */
+    public Future<Collection<Instance>> list(final InstanceFilter filter,
+                                             final FutureCallback<Collection<Instance>> callback) {
+        Objects.requireNonNull(filter, "Filter object must be present");
+
+        final List<NameValuePair> filterParams = instanceFilterConverter.urlParamsFromFilter(filter);
+        final String path = String.format("/%s/machines", getConfig().getUser());
+        final HttpGet get = getConnectionFactory().get(path, filterParams);
+
+        return execute(get, listInstanceHandler, callback);
+    }
+
+    /**
+     * Finds an instance by its id.
+     *
+     * @param instanceId id of instance to find
+     * @return future instance if found, otherwise a future null
+     */
+    public Future<Instance> findById(final UUID instanceId) {
+        return findById(instanceId, null);
+    }
+
+    /**
+     * Finds an instance by its id.
+     *
+     * @param instanceId id of instance to find
+     * @param callback optional callback notified on completion (may be null)
+     * @return future instance if found, otherwise a future null
+     */
+    public Future<Instance> findById(final UUID instanceId,
+                                     final FutureCallback<Instance> callback) {
+        Objects.requireNonNull(instanceId, "Instance id must be present");
+
+        final String path = String.format("/%s/machines/%s",
+                getConfig().getUser(), instanceId);
+        final HttpGet get = getConnectionFactory().get(path);
+
+        return execute(get, findInstanceHandler, callback);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param instance instance object with the appropriate fields populated
+     * @return future instance object with properties updated based on the results of the create operation
+     */
+    public Future<Instance> create(final Instance instance) {
+        return create(instance, null);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param instance instance object with the appropriate fields populated
+     * @param callback optional callback notified on completion (may be null)
+     * @return future instance object with properties updated based on the results of the create operation
+     */
+    public Future<Instance> create(final Instance instance,
+                                   final FutureCallback<Instance> callback) {
+        Objects.requireNonNull(instance, "Instance must be present");
+        Objects.requireNonNull(instance.getPackageId(), "Package id must be present");
+        Objects.requireNonNull(instance.getImage(), "Image id must be present");
+
+        final String path = String.format("/%s/machines", getConfig().getUser());
+        final HttpPost post = getConnectionFactory().post(path);
+
+        return execute(post, instance, createInstanceHandler, callback);
+    }
+
+    /**
+     * Delete an instance.
+     *
+     * @param instanceId id of instance to delete
+     * @return future that completes when the instance has been deleted
+     */
+    public Future<Void> delete(final UUID instanceId) {
+        return delete(instanceId, null);
+    }
+
+    /**
+     * Delete an instance.
+     *
+     * @param instanceId id of instance to delete
+     * @param callback optional callback notified on completion (may be null)
+     * @return future that completes when the instance has been deleted
+     */
+    public Future<Void> delete(final UUID instanceId,
+                               final FutureCallback<Void> callback) {
+        Objects.requireNonNull(instanceId, "Instance id to be deleted must be present");
+
+        final String path = String.format("/%s/machines/%s",
+                getConfig().getUser(), instanceId);
+        final HttpDelete delete = getConnectionFactory().delete(path);
+
+        return execute(delete, deleteInstanceHandler, callback);
+    }
+
+    /**
+     * Add additional tags to an instance.
+     *
+     * @param instanceId instance id to add tags to
+     * @param tags map of tags to add to instance
+     * @param callback optional callback notified on completion (may be null)
+     * @return future map of added tags and existing tags as sent by server response
+     */
+    public Future<Map<String, String>> addTags(final UUID instanceId,
+                                               final Map<String, String> tags,
+                                               final FutureCallback<Map<String, String>> callback) {
+        Objects.requireNonNull(instanceId, "Instance id must be present");
+        Objects.requireNonNull(tags, "Tags to add must be present");
+
+        final String path = String.format("/%s/machines/%s/tags", getConfig().getUser(), instanceId);
+        final HttpPost post = getConnectionFactory().post(path);
+
+        return execute(post, tags, tagsHandler, callback);
+    }
+
+    /**
+     * Replace all of the tags in an instance.
+     *
+     * @param instanceId instance id to replace tags
+     * @param tags map of tags to replace
+     * @param callback optional callback notified on completion (may be null)
+     * @return future map of resultant tags as sent by server response
+     */
+    public Future<Map<String, String>> replaceTags(final UUID instanceId,
+                                                   final Map<String, String> tags,
+                                                   final FutureCallback<Map<String, String>> callback) {
+        Objects.requireNonNull(instanceId, "Instance id must be present");
+        Objects.requireNonNull(tags, "Tags to replace must be present");
+
+        final String path = String.format("/%s/machines/%s/tags", getConfig().getUser(), instanceId);
+        final HttpPut put = getConnectionFactory().put(path);
+
+        return execute(put, tags, tagsHandler, callback);
+    }
+}
@@ -0,0 +1,122 @@
+package com.joyent.triton;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joyent.triton.domain.Package;
+import com.joyent.triton.http.CloudApiResponseHandler;
+import com.joyent.triton.queryfilters.PackageFilter;
+import com.joyent.triton.queryfilters.PackageFilterConverter;
+import com.joyent.triton.queryfilters.QueryFilterConverter;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+import static org.apache.http.HttpStatus.SC_OK;
+
+/**
+ * Non-blocking API to interact with packages (instance types) on Triton.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class AsyncPackages extends BaseAsyncApiAccessor {
+    /**
+     * Query filter converter class that allows you to convert from a {@link PackageFilter}
+     * to a {@link java.util.Collection} of {@link NameValuePair}.
+     */
+    private final QueryFilterConverter<PackageFilter> packageFilterConverter =
+            new PackageFilterConverter();
+
+    /**
+     * Response handler for listing packages.
+     */
+    private final CloudApiResponseHandler<Collection<Package>> listPackageHandler;
+
+    /**
+     * Response handler for finding specific packages.
+     */
+    private final CloudApiResponseHandler<Package> findByIdPackageHandler;
+
+    /**
+     * Creates a new configured {@code AsyncPackages} API instance.
+     * @param cloudApi reference to {@link CloudApi} instance that provides configuration
+     * @param httpClient non-blocking HTTP client used to execute requests
+     * @param mapper reference to the jackson object mapper to use for processing JSON
+     */
+    AsyncPackages(final CloudApi cloudApi, final HttpAsyncClient httpClient,
+                  final ObjectMapper mapper) {
+        super(cloudApi, httpClient, mapper);
+
+        this.listPackageHandler = new CloudApiResponseHandler<>(
+                "list packages", mapper, new TypeReference<Collection<Package>>() { },
+                SC_OK, false
+        );
+
+        this.findByIdPackageHandler = new CloudApiResponseHandler<>(
+                "find package", mapper, new TypeReference<Package>() { },
+                SC_OK, true
+        );
+    }
+
+    /**
+     * Lists all of the available packages (instance types).
+     *
+     * @return future collection of every package type
+     */
+    public Future<Collection<Package>> list() {
+        return list(new PackageFilter(), null);
+    }
+
+    /**
+     * Lists the packages that match the filter criteria.
+     *
+     * @param filter query filter to filter results by
+     * @param callback optional callback notified on completion (may be null)
+     * @return future collection of matching packages
+     */
+    public Future<Collection<Package>> list(final PackageFilter filter,
+                                            final FutureCallback<Collection<Package>> callback) {
+        Objects.requireNonNull(filter, "Filter object must be present");
+
+        final List<NameValuePair> filterParams = packageFilterConverter.urlParamsFromFilter(filter);
+        final String path = String.format("/%s/packages", getConfig().getUser());
+        final HttpGet get = getConnectionFactory().get(path, filterParams);
+
+        return execute(get, listPackageHandler, callback);
+    }
+
+    /**
+     * Get a package by specifying its id.
+     *
+     * @param packageId UUID of the package
+     * @return future package matching id if found, otherwise a future null
+     */
+    public Future<Package> findById(final UUID packageId) {
+        return findById(packageId, null);
+    }
+
+    /**
+     * Get a package by specifying its id.
+     *
+     * @param packageId UUID of the package
+     * @param callback optional callback notified on completion (may be null)
+     * @return future package matching id if found, otherwise a future null
+     */
+    public Future<Package> findById(final UUID packageId,
+                                    final FutureCallback<Package> callback) {
+        Objects.requireNonNull(packageId, "Package id must be present");
+
+        final String path = String.format("/%s/packages/%s",
+                getConfig().getUser(), packageId);
+        final HttpGet get = getConnectionFactory().get(path);
+
+        return execute(get, findByIdPackageHandler, callback);
+    }
+}
@@ -4,14 +4,37 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joyent.triton.config.ConfigContext;
 import com.joyent.triton.exceptions.CloudApiException;
 import com.joyent.triton.exceptions.CloudApiIOException;
+import com.joyent.triton.http.CircuitBreaker;
+import com.joyent.triton.http.CircuitBreakers;
 import com.joyent.triton.http.CloudApiConnectionContext;
 import com.joyent.triton.http.CloudApiConnectionFactory;
+import com.joyent.triton.http.CloudApiHttpRequestExecutor;
+import com.joyent.triton.http.CloudApiResponseHandler;
+import com.joyent.triton.http.ConditionalGetCache;
+import com.joyent.triton.http.Deadline;
+import com.joyent.triton.http.StreamingCollectionIterator;
+import com.joyent.triton.metrics.CloudApiMetrics;
+import com.joyent.triton.tracing.CloudApiSpan;
+import com.joyent.triton.tracing.TracePhase;
+import com.joyent.triton.tracing.TracingContext;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.HttpEntityWrapper;
 import org.apache.http.protocol.HttpContext;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 
 /**
  * Abstract class that provides useful methods for CloudAPI accessor classes.
@@ -31,7 +54,8 @@ public abstract class BaseApiAccessor {
     private final CloudApi cloudApi;
 
     /**
-     * {@link org.apache.http.impl.client.CloseableHttpClient} connection factory.
+     * {@link org.apache.http.impl.client.CloseableHttpClient} connection factory
+     * shared with the {@link CloudApi} instance.
      */
     private final CloudApiConnectionFactory connectionFactory;
 
@@ -50,13 +74,15 @@ public abstract class BaseApiAccessor {
                            final ObjectMapper mapper) {
         this.cloudApi = cloudApi;
         this.config = cloudApi.getConfig();
-        this.connectionFactory = new CloudApiConnectionFactory(getConfig());
+        this.connectionFactory = cloudApi.getConnectionFactory();
         this.mapper = mapper;
     }
 
     /**
      * Executes a HTTP request using the passed context and handler while
-     * wrapping exceptions and adding additional context to exceptions.
+     * wrapping exceptions and adding additional context to exceptions. The
+     * latency, outcome and size of the request are reported to the
+     * {@link CloudApiMetrics} of the {@link CloudApi} instance.
      *
      * @param context request context used for sharing resources between API operations
      * @param request HTTP request object
@@ -69,18 +95,325 @@ public abstract class BaseApiAccessor {
                          final HttpUriRequest request,
                          final ResponseHandler<? extends T> responseHandler)
             throws IOException {
+        final String operationName;
+
+        if (responseHandler instanceof CloudApiResponseHandler) {
+            operationName = ((CloudApiResponseHandler<?>)responseHandler).getOperationName();
+        } else {
+            operationName = request.getMethod();
+        }
+
+        return executeMetered(context, request, responseHandler, operationName);
+    }
+
+    /**
+     * Executes a HTTP request in the same way as
+     * {@link #execute(CloudApiConnectionContext, HttpUriRequest, ResponseHandler)}
+     * while reporting its measurements under the passed operation name.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param request HTTP request object
+     * @param responseHandler HTTP response handler
+     * @param operationName name of the operation that metrics are reported for
+     * @param <T> type returned by response handler
+     * @return result of response handler
+     * @throws IOException thrown when we have a problem executing the request
+     */
+    private <T> T executeMetered(final CloudApiConnectionContext context,
+                                 final HttpUriRequest request,
+                                 final ResponseHandler<? extends T> responseHandler,
+                                 final String operationName)
+            throws IOException {
+        final CloudApiMetrics metrics = cloudApi.getMetrics();
+        final CloudApiSpan span = startSpan(operationName, request);
+        final MeteredResponseHandler<T> meteredHandler =
+                new MeteredResponseHandler<>(responseHandler, span, System.nanoTime());
+        final HttpContext httpContext = context.getHttpContext();
+        final CircuitBreaker circuitBreaker = findCircuitBreaker(request);
+        CircuitBreaker.Permit permit = null;
+
+        try {
+            final HttpClient client = context.getHttpClient();
+            httpContext.setAttribute(CloudApiResponseHandler.OPERATION_NAME_ATTRIBUTE, operationName);
+            httpContext.removeAttribute(CloudApiHttpRequestExecutor.ATTEMPT_NANOS_ATTRIBUTE);
+            TracingContext.setActiveSpan(httpContext, span);
+            applyDeadline(context, request);
+            permit = acquire(circuitBreaker);
+            return client.execute(request, meteredHandler, httpContext);
+        } catch (CloudApiIOException | CloudApiException e) {
+            meteredHandler.recordFailure(metrics, operationName, e);
+            span.recordError(e);
+            CloudApiUtils.annotateContextedException(e, request);
+            throw e;
+        } catch (IOException e) {
+            meteredHandler.recordFailure(metrics, operationName, e);
+            span.recordError(e);
+            final String msg = "Error making request to CloudAPI.";
+            final CloudApiIOException exception = new CloudApiIOException(msg, e);
+            CloudApiUtils.annotateContextedException(exception, request);
+            throw exception;
+        } finally {
+            if (permit != null) {
+                // Only the last attempt counts, so that backoff between retries doesn't look like a slow call
+                circuitBreaker.release(permit, meteredHandler.isServerFailure(),
+                        CloudApiHttpRequestExecutor.attemptNanos(httpContext, meteredHandler.elapsedNanos()));
+            }
+
+            meteredHandler.record(metrics, operationName, request);
+            TracingContext.setActiveSpan(httpContext, null);
+            span.finish();
+        }
+    }
+
+    /**
+     * Starts the tracing span of a call to the CloudAPI.
+     *
+     * @param operationName name of the operation
+     * @param request HTTP request object
+     * @return a new span tagged with the operation name and HTTP method
+     */
+    private CloudApiSpan startSpan(final String operationName, final HttpUriRequest request) {
+        final CloudApiSpan span = cloudApi.getTracer().startSpan(operationName);
+        span.setTag(CloudApiSpan.OPERATION_TAG, operationName);
+        span.setTag(CloudApiSpan.HTTP_METHOD_TAG, request.getMethod());
+        return span;
+    }
+
+    /**
+     * Executes a HTTP GET request as a conditional request when the
+     * {@link CloudApi} keeps a {@link ConditionalGetCache}, so that a
+     * resource that hasn't changed since it was last requested is answered
+     * with {@code 304 Not Modified} and the previously deserialized value.
+     * Without a cache this is the same as
+     * {@link #execute(CloudApiConnectionContext, HttpUriRequest, ResponseHandler)}.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param request HTTP GET request object
+     * @param responseHandler HTTP response handler
+     * @param <T> type returned by response handler
+     * @return result of response handler or the previously deserialized value
+     * @throws IOException thrown when we have a problem executing the request
+     */
+    protected <T> T executeConditional(final CloudApiConnectionContext context,
+                                       final HttpGet request,
+                                       final CloudApiResponseHandler<T> responseHandler)
+            throws IOException {
+        return executeConditional(context, request, responseHandler, cloudApi.getConditionalGetCache());
+    }
+
+    /**
+     * Executes a HTTP GET request as a conditional request against the
+     * passed store of validators.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param request HTTP GET request object
+     * @param responseHandler HTTP response handler
+     * @param store store of validators and values or null to send a plain request
+     * @param <T> type returned by response handler
+     * @return result of response handler or the previously deserialized value
+     * @throws IOException thrown when we have a problem executing the request
+     */
+    private <T> T executeConditional(final CloudApiConnectionContext context,
+                                     final HttpGet request,
+                                     final CloudApiResponseHandler<T> responseHandler,
+                                     final ConditionalGetCache store)
+            throws IOException {
+        if (store == null) {
+            return execute(context, request, responseHandler);
+        }
+
+        return executeMetered(context, request, responseHandler.conditional(request, store),
+                responseHandler.getOperationName());
+    }
+
+    /**
+     * Executes a HTTP GET request, answering it from the passed cache when
+     * the cache holds a fresh response for the same URI. Otherwise the
+     * request is sent as a conditional request against the responses held
+     * by the cache, so that an expired response is reused if the CloudAPI
+     * reports it as not modified. Every caller receives its own copy of a
+     * cached value. Collections are cached as unmodifiable collections and
+     * null results aren't cached.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param request HTTP GET request object
+     * @param responseHandler HTTP response handler
+     * @param cache cache to use or null to always execute the request
+     * @param <T> type returned by response handler
+     * @return result of response handler or the cached result
+     * @throws IOException thrown when we have a problem executing the request
+     */
+    protected <T> T executeCached(final CloudApiConnectionContext context,
+                                  final HttpGet request,
+                                  final CloudApiResponseHandler<T> responseHandler,
+                                  final CatalogCache cache) throws IOException {
+        if (cache == null) {
+            return executeConditional(context, request, responseHandler);
+        }
+
+        final ConditionalGetCache.Entry fresh = cache.getFresh(request.getURI().toString());
+
+        if (fresh != null) {
+            cache.recordHit();
+
+            @SuppressWarnings("unchecked")
+            final T value = (T)fresh.copyValue();
+            return value;
+        }
+
+        cache.recordMiss();
+        return executeConditional(context, request, responseHandler, cache.getStore());
+    }
+
+    /**
+     * Executes a HTTP request using the passed context and streams the
+     * elements of the JSON array in the response body. The connection is
+     * held by the returned iterator until it is exhausted or closed.
+     * Exceptions are wrapped and annotated in the same way as
+     * {@link #execute(CloudApiConnectionContext, HttpUriRequest, ResponseHandler)}.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param request HTTP request object
+     * @param responseHandler HTTP response handler for a collection type
+     * @param <E> type of the elements in the collection
+     * @return iterator over the elements of the response body
+     * @throws IOException thrown when we have a problem executing the request
+     */
+    protected <E> StreamingCollectionIterator<E> executeStreaming(
+            final CloudApiConnectionContext context,
+            final HttpUriRequest request,
+            final CloudApiResponseHandler<? extends Collection<E>> responseHandler)
+            throws IOException {
+        final CloudApiMetrics metrics = cloudApi.getMetrics();
+        final String operationName = responseHandler.getOperationName();
+        final CloudApiSpan span = startSpan(operationName, request);
+        final HttpContext httpContext = context.getHttpContext();
+        final long start = System.nanoTime();
+        final CircuitBreaker circuitBreaker = findCircuitBreaker(request);
+        CircuitBreaker.Permit permit = null;
+        HttpResponse response = null;
+
         try {
             final HttpClient client = context.getHttpClient();
-            final HttpContext httpContext = context.getHttpContext();
-            return client.execute(request, responseHandler, httpContext);
+            httpContext.setAttribute(CloudApiResponseHandler.OPERATION_NAME_ATTRIBUTE, operationName);
+            httpContext.removeAttribute(CloudApiHttpRequestExecutor.ATTEMPT_NANOS_ATTRIBUTE);
+            TracingContext.setActiveSpan(httpContext, span);
+            applyDeadline(context, request);
+            permit = acquire(circuitBreaker);
+            response = client.execute(request, httpContext);
+
+            if (permit != null) {
+                // The permit only covers waiting for the response, not reading the stream
+                final CircuitBreaker.Permit released = permit;
+                permit = null;
+                circuitBreaker.release(released, isServerFailure(response),
+                        CloudApiHttpRequestExecutor.attemptNanos(httpContext, System.nanoTime() - start));
+            }
+
+            final int statusCode = response.getStatusLine().getStatusCode();
+            span.setTag(CloudApiSpan.HTTP_STATUS_CODE_TAG, String.valueOf(statusCode));
+
+            // The body is read lazily by the caller, so only the network time is known
+            metrics.recordRequest(operationName, statusCode, System.nanoTime() - start, 0L);
+
+            return responseHandler.handleStreamingResponse(response);
         } catch (CloudApiIOException | CloudApiException e) {
+            if (response == null) {
+                metrics.recordFailure(operationName, e, System.nanoTime() - start);
+            }
+
+            span.recordError(e);
             CloudApiUtils.annotateContextedException(e, request);
             throw e;
         } catch (IOException e) {
+            if (response == null) {
+                metrics.recordFailure(operationName, e, System.nanoTime() - start);
+            }
+
+            span.recordError(e);
             final String msg = "Error making request to CloudAPI.";
             final CloudApiIOException exception = new CloudApiIOException(msg, e);
             CloudApiUtils.annotateContextedException(exception, request);
             throw exception;
+        } finally {
+            if (permit != null) {
+                circuitBreaker.release(permit, true, System.nanoTime() - start);
+            }
+
+            TracingContext.setActiveSpan(httpContext, null);
+            span.finish();
+        }
+    }
+
+    /**
+     * Finds the circuit breaker of the endpoint that a request is sent to.
+     *
+     * @param request HTTP request object
+     * @return circuit breaker or null if circuit breakers are disabled
+     */
+    private CircuitBreaker findCircuitBreaker(final HttpUriRequest request) {
+        final CircuitBreakers circuitBreakers = cloudApi.getCircuitBreakers();
+
+        if (circuitBreakers == null) {
+            return null;
+        }
+
+        return circuitBreakers.forRequest(request);
+    }
+
+    /**
+     * Takes a permit from a circuit breaker, failing fast if its circuit is
+     * open or too many requests are in flight to its endpoint.
+     *
+     * @param circuitBreaker circuit breaker or null if circuit breakers are disabled
+     * @return permit that must be released or null if circuit breakers are disabled
+     * @throws CloudApiIOException thrown when the request is rejected
+     */
+    private static CircuitBreaker.Permit acquire(final CircuitBreaker circuitBreaker) throws CloudApiIOException {
+        if (circuitBreaker == null) {
+            return null;
+        }
+
+        return circuitBreaker.acquire();
+    }
+
+    /**
+     * Checks to see if a response counts as a failure of the endpoint.
+     *
+     * @param response HTTP response or null if none was received
+     * @return true if there is no response or it has a 5xx status code
+     */
+    private static boolean isServerFailure(final HttpResponse response) {
+        return response == null
+                || response.getStatusLine().getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Limits the timeouts of the passed request to the time left before the
+     * deadline of the passed context, if the context has one.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param request HTTP request object
+     * @throws CloudApiIOException thrown when the deadline has already passed
+     */
+    protected void applyDeadline(final CloudApiConnectionContext context,
+                                 final HttpUriRequest request) throws CloudApiIOException {
+        final Deadline deadline = context.getDeadline();
+        context.getHttpContext().setAttribute(Deadline.HTTP_CONTEXT_ATTRIBUTE, deadline);
+
+        if (deadline == null) {
+            return;
+        }
+
+        if (deadline.isExpired()) {
+            throw new CloudApiIOException("Deadline exceeded before request to CloudAPI was sent");
+        }
+
+        if (request instanceof HttpRequestBase) {
+            final HttpRequestBase requestBase = (HttpRequestBase)request;
+            final RequestConfig requestConfig = ObjectUtils.firstNonNull(
+                    requestBase.getConfig(), connectionFactory.getRequestConfig());
+            requestBase.setConfig(deadline.clamp(requestConfig));
         }
     }
 
@@ -115,4 +448,174 @@ public abstract class BaseApiAccessor {
     public ObjectMapper getMapper() {
         return mapper;
     }
+
+    /**
+     * {@link ResponseHandler} that measures the network and deserialization
+     * time of a response and counts the bytes read from its entity before
+     * delegating to another handler. The status code and deserialization
+     * phase are also reported to the span of the call. A handler instance
+     * measures a single request.
+     *
+     * @param <T> type returned by the handler
+     */
+    private static final class MeteredResponseHandler<T> implements ResponseHandler<T> {
+        /**
+         * Handler that deserializes the response.
+         */
+        private final ResponseHandler<? extends T> delegate;
+
+        /**
+         * Value of {@link System#nanoTime()} when the request was started.
+         */
+        private final long startNanos;
+
+        /**
+         * Tracing span of the call.
+         */
+        private final CloudApiSpan span;
+
+        /**
+         * Flag indicating that a response was received.
+         */
+        private boolean responseReceived;
+
+        /**
+         * Status code of the response.
+         */
+        private int statusCode;
+
+        /**
+         * Time in nanoseconds from starting the request until the response was received.
+         */
+        private long networkNanos;
+
+        /**
+         * Time in nanoseconds spent by the delegate handler.
+         */
+        private long deserializationNanos;
+
+        /**
+         * Stream counting the bytes read from the response entity or null if
+         * the entity wasn't read.
+         */
+        private CountingInputStream content;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param delegate handler that deserializes the response
+         * @param span tracing span of the call
+         * @param startNanos value of {@link System#nanoTime()} when the request was started
+         */
+        private MeteredResponseHandler(final ResponseHandler<? extends T> delegate,
+                                       final CloudApiSpan span,
+                                       final long startNanos) {
+            this.delegate = delegate;
+            this.span = span;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public T handleResponse(final HttpResponse response) throws IOException {
+            final long receivedNanos = System.nanoTime();
+            responseReceived = true;
+            statusCode = response.getStatusLine().getStatusCode();
+            networkNanos = receivedNanos - startNanos;
+            span.setTag(CloudApiSpan.HTTP_STATUS_CODE_TAG, String.valueOf(statusCode));
+
+            final HttpEntity entity = response.getEntity();
+
+            if (entity != null) {
+                response.setEntity(new HttpEntityWrapper(entity) {
+                    @Override
+                    public InputStream getContent() throws IOException {
+                        if (content == null) {
+                            content = new CountingInputStream(super.getContent());
+                        }
+
+                        return content;
+                    }
+                });
+            }
+
+            try {
+                return delegate.handleResponse(response);
+            } finally {
+                final long deserializedNanos = System.nanoTime();
+                deserializationNanos = deserializedNanos - receivedNanos;
+                span.recordPhase(TracePhase.DESERIALIZATION, receivedNanos, deserializedNanos);
+                // Leave the response as it was received
+                response.setEntity(entity);
+            }
+        }
+
+        /**
+         * Checks to see if the request counts as a failure of the endpoint.
+         *
+         * @return true if no response was received or it had a 5xx status code
+         */
+        private boolean isServerFailure() {
+            return !responseReceived || statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+        }
+
+        /**
+         * Time in nanoseconds that the endpoint took to respond.
+         *
+         * @return time until the response was received or until now if none was
+         */
+        private long elapsedNanos() {
+            if (responseReceived) {
+                return networkNanos;
+            }
+
+            return System.nanoTime() - startNanos;
+        }
+
+        /**
+         * Reports a request that failed without receiving a response.
+         *
+         * @param metrics metrics implementation to report to
+         * @param operationName name of the operation
+         * @param cause exception that the request failed with
+         */
+        private void recordFailure(final CloudApiMetrics metrics, final String operationName,
+                                   final Exception cause) {
+            if (!responseReceived) {
+                metrics.recordFailure(operationName, cause, System.nanoTime() - startNanos);
+            }
+        }
+
+        /**
+         * Reports the measurements of a request that received a response.
+         *
+         * @param metrics metrics implementation to report to
+         * @param operationName name of the operation
+         * @param request HTTP request object
+         */
+        private void record(final CloudApiMetrics metrics, final String operationName,
+                            final HttpUriRequest request) {
+            if (!responseReceived) {
+                return;
+            }
+
+            metrics.recordRequest(operationName, statusCode, networkNanos, deserializationNanos);
+
+            long bytesWritten = 0L;
+            long bytesRead = 0L;
+
+            if (request instanceof HttpEntityEnclosingRequest) {
+                final HttpEntity requestEntity = ((HttpEntityEnclosingRequest)request).getEntity();
+
+                if (requestEntity != null) {
+                    bytesWritten = Math.max(requestEntity.getContentLength(), 0L);
+                }
+            }
+
+            if (content != null) {
+                bytesRead = content.getByteCount();
+            }
+
+            metrics.recordBytes(operationName, bytesWritten, bytesRead);
+        }
+    }
 }
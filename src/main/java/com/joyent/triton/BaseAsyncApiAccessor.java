@@ -0,0 +1,200 @@
+package com.joyent.triton;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.http.CloudApiConnectionFactory;
+import com.joyent.triton.http.CloudApiResponseHandler;
+import com.joyent.triton.http.JsonEntity;
+import com.joyent.triton.http.RateLimits;
+import com.joyent.triton.http.ResponseHandlerCallback;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abstract class that provides useful methods for asynchronous CloudAPI
+ * accessor classes.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public abstract class BaseAsyncApiAccessor {
+    /**
+     * Reference to the {@link CloudApi} instance that provides the scheduler
+     * used to delay requests held back by the rate limits.
+     */
+    private final CloudApi cloudApi;
+
+    /**
+     * Configuration context that provides SDK settings.
+     */
+    private final ConfigContext config;
+
+    /**
+     * Connection factory shared with the {@link CloudApi} instance.
+     */
+    private final CloudApiConnectionFactory connectionFactory;
+
+    /**
+     * Non-blocking HTTP client used to execute requests.
+     */
+    private final HttpAsyncClient httpClient;
+
+    /**
+     * Customized Jackson serialization/deserialization object.
+     */
+    private final ObjectMapper mapper;
+
+    /**
+     * Creates a new parent instance.
+     *
+     * @param cloudApi reference to {@link CloudApi} instance that provides configuration
+     * @param httpClient non-blocking HTTP client used to execute requests
+     * @param mapper reference to the jackson object mapper to use for processing JSON
+     */
+    protected BaseAsyncApiAccessor(final CloudApi cloudApi,
+                                   final HttpAsyncClient httpClient,
+                                   final ObjectMapper mapper) {
+        this.cloudApi = cloudApi;
+        this.config = cloudApi.getConfig();
+        this.connectionFactory = cloudApi.getConnectionFactory();
+        this.httpClient = httpClient;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Executes a HTTP request without blocking the calling thread. The
+     * response is processed by the passed handler on an I/O dispatch thread
+     * and exceptions are wrapped and annotated in the same way as they are
+     * by {@link BaseApiAccessor#execute}. When the {@link RateLimits} of the
+     * client hold the request back, its tokens are reserved without waiting
+     * and it is submitted by a scheduler once they may be used, so that no
+     * thread waits for them. The tokens are given back if the returned
+     * future is cancelled before then.
+     *
+     * @param request HTTP request object
+     * @param responseHandler HTTP response handler
+     * @param callback optional callback notified on completion (may be null)
+     * @param <T> type returned by response handler
+     * @return future result of response handler
+     */
+    protected <T> Future<T> execute(final HttpUriRequest request,
+                                    final ResponseHandler<? extends T> responseHandler,
+                                    final FutureCallback<T> callback) {
+        final ResponseHandlerCallback<T> responseCallback =
+                new ResponseHandlerCallback<>(request, responseHandler, callback);
+        final String operationName;
+
+        if (responseHandler instanceof CloudApiResponseHandler) {
+            operationName = ((CloudApiResponseHandler<?>)responseHandler).getOperationName();
+        } else {
+            operationName = request.getMethod();
+        }
+
+        final HttpContext httpContext = connectionFactory.createHttpContext();
+        httpContext.setAttribute(CloudApiResponseHandler.OPERATION_NAME_ATTRIBUTE, operationName);
+
+        final RateLimits rateLimits = connectionFactory.getRateLimits();
+        final long waitNanos;
+
+        if (rateLimits.isLimited(operationName)) {
+            waitNanos = rateLimits.reserve(operationName);
+        } else {
+            waitNanos = 0L;
+        }
+
+        if (waitNanos <= 0L) {
+            responseCallback.setExchange(httpClient.execute(request, httpContext, responseCallback));
+            return responseCallback.getFuture();
+        }
+
+        final Runnable submitWhenPermitted = new Runnable() {
+            @Override
+            public void run() {
+                // Don't spend the tokens on a result that nobody is waiting for
+                if (responseCallback.getFuture().isCancelled()) {
+                    rateLimits.refund(operationName);
+                    return;
+                }
+
+                try {
+                    responseCallback.setExchange(httpClient.execute(request, httpContext, responseCallback));
+                } catch (RuntimeException e) {
+                    // Thrown when the client was closed while the request was waiting
+                    responseCallback.failed(e);
+                }
+            }
+        };
+
+        try {
+            cloudApi.getRateLimitScheduler().schedule(submitWhenPermitted, waitNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            rateLimits.refund(operationName);
+            responseCallback.failed(e);
+        }
+
+        return responseCallback.getFuture();
+    }
+
+    /**
+     * Executes a HTTP request with a JSON body without blocking the calling
+     * thread. The body is serialized before the request is sent into a
+     * {@link JsonEntity#buffered(ObjectMapper, Object) buffered entity} with
+     * a known length. If it can't be serialized, the returned future fails
+     * without sending the request.
+     *
+     * @param request HTTP request object
+     * @param body object serialized as the JSON body of the request
+     * @param responseHandler HTTP response handler
+     * @param callback optional callback notified on completion (may be null)
+     * @param <T> type returned by response handler
+     * @return future result of response handler
+     */
+    protected <T> Future<T> execute(final HttpEntityEnclosingRequestBase request,
+                                    final Object body,
+                                    final ResponseHandler<? extends T> responseHandler,
+                                    final FutureCallback<T> callback) {
+        try {
+            request.setEntity(JsonEntity.buffered(mapper, body));
+        } catch (IOException e) {
+            final ResponseHandlerCallback<T> responseCallback =
+                    new ResponseHandlerCallback<>(request, responseHandler, callback);
+            responseCallback.failed(e);
+            return responseCallback.getFuture();
+        }
+
+        return execute(request, responseHandler, callback);
+    }
+
+    /**
+     * Configuration context that provides SDK settings.
+     * @return configuration object
+     */
+    public ConfigContext getConfig() {
+        return config;
+    }
+
+    /**
+     * Connection factory used to build requests.
+     * @return connection factory shared with the {@link CloudApi} instance
+     */
+    public CloudApiConnectionFactory getConnectionFactory() {
+        return connectionFactory;
+    }
+
+    /**
+     * Customized Jackson serialization/deserialization object.
+     * @return a JSON object mapper configured for use with the domain objects
+     */
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+}
@@ -0,0 +1,225 @@
+package com.joyent.triton;
+
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.http.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Applies an operation to many items with a bounded number of concurrent
+ * requests. A fixed number of workers run on the {@link CloudApi}'s
+ * background executor and take items from a shared cursor, so at most
+ * {@code parallelism} requests are in flight and no thread is created per
+ * item. Each worker uses its own connection context for all of its items,
+ * so it reuses pooled connections and its authentication state. Requests
+ * are optionally paced by a {@link RateLimiter} and progress is reported to
+ * a {@link BulkProgressListener}.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+final class BulkExecutor {
+    /**
+     * Logger instance.
+     */
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Reference to main API class used for creating connections.
+     */
+    private final CloudApi cloudApi;
+
+    /**
+     * Settings controlling parallelism, rate limiting and progress reporting.
+     */
+    private final BulkOptions options;
+
+    /**
+     * Operation applied to a single item of a bulk operation.
+     *
+     * @param <K> type of the item
+     * @param <V> type of the result
+     */
+    interface Operation<K, V> {
+        /**
+         * Applies the operation to a single item.
+         *
+         * @param context request context owned by the calling worker
+         * @param key item to apply the operation to
+         * @return result of the operation
+         * @throws IOException thrown when the operation fails
+         */
+        V apply(CloudApiConnectionContext context, K key) throws IOException;
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param cloudApi reference to main API class used for creating connections
+     * @param options settings controlling parallelism, rate limiting and progress reporting
+     */
+    BulkExecutor(final CloudApi cloudApi, final BulkOptions options) {
+        Objects.requireNonNull(cloudApi, "CloudApi must be present");
+        Objects.requireNonNull(options, "Bulk options must be present");
+
+        this.cloudApi = cloudApi;
+        this.options = options;
+    }
+
+    /**
+     * Applies the operation to every item and waits for all of them to
+     * complete. Failures are recorded per item. If the calling thread is
+     * interrupted, items that have not completed are recorded as failed with
+     * an {@link InterruptedIOException} and the interrupt flag is restored.
+     *
+     * @param keys items to apply the operation to
+     * @param operation operation to apply
+     * @param <K> type of the items
+     * @param <V> type of the results
+     * @return outcome of every item in submission order
+     */
+    <K, V> BulkResult<K, V> execute(final Collection<? extends K> keys,
+                                    final Operation<K, V> operation) {
+        Objects.requireNonNull(keys, "Items must be present");
+        Objects.requireNonNull(operation, "Operation must be present");
+
+        final List<K> items = new ArrayList<>(keys);
+        final AtomicReferenceArray<BulkResult.Item<K, V>> outcomes =
+                new AtomicReferenceArray<>(items.size());
+        final AtomicInteger cursor = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        final int workers = Math.min(options.getParallelism(), items.size());
+        final List<Future<?>> futures = new ArrayList<>(workers);
+        final ExecutorService executor = cloudApi.getBackgroundExecutor();
+
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    work(items, outcomes, cursor, completed, operation);
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Workers record failures per item, so this only happens on errors
+            logger.error("Unexpected error running bulk operation", e.getCause());
+        }
+
+        final List<BulkResult.Item<K, V>> results = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            final BulkResult.Item<K, V> outcome = outcomes.get(i);
+
+            if (outcome != null) {
+                results.add(outcome);
+            } else {
+                final InterruptedIOException interrupted = new InterruptedIOException(
+                        "Bulk operation was interrupted before the item completed");
+                results.add(BulkResult.Item.<K, V>failure(items.get(i), interrupted));
+            }
+        }
+
+        return new BulkResult<>(results);
+    }
+
+    /**
+     * Processes items from the shared cursor until none are left.
+     *
+     * @param items items to apply the operation to
+     * @param outcomes array that outcomes are recorded in by index
+     * @param cursor index of the next item to process
+     * @param completed number of items that have completed
+     * @param operation operation to apply
+     * @param <K> type of the items
+     * @param <V> type of the results
+     */
+    private <K, V> void work(final List<K> items,
+                             final AtomicReferenceArray<BulkResult.Item<K, V>> outcomes,
+                             final AtomicInteger cursor,
+                             final AtomicInteger completed,
+                             final Operation<K, V> operation) {
+        final RateLimiter rateLimiter = options.getRateLimiter();
+
+        try (CloudApiConnectionContext context = cloudApi.createConnectionContext()) {
+            while (!Thread.currentThread().isInterrupted()) {
+                final int index = cursor.getAndIncrement();
+
+                if (index >= items.size()) {
+                    return;
+                }
+
+                final K key = items.get(index);
+
+                if (rateLimiter != null) {
+                    try {
+                        rateLimiter.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+
+                BulkResult.Item<K, V> outcome;
+
+                try {
+                    outcome = BulkResult.Item.success(key, operation.apply(context, key));
+                } catch (IOException | RuntimeException e) {
+                    logger.debug("Bulk operation failed for item: {}", key, e);
+                    outcome = BulkResult.Item.failure(key, e);
+                }
+
+                outcomes.set(index, outcome);
+                reportProgress(outcome, completed.incrementAndGet(), items.size());
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to close connection context", e);
+        }
+    }
+
+    /**
+     * Notifies the progress listener, if any, that an item has completed.
+     * Errors thrown by the listener are logged and don't affect the operation.
+     *
+     * @param item outcome of the operation for the item
+     * @param completed number of items that have completed so far
+     * @param total total number of items in the operation
+     */
+    private void reportProgress(final BulkResult.Item<?, ?> item,
+                                final int completed,
+                                final int total) {
+        final BulkProgressListener listener = options.getProgressListener();
+
+        if (listener == null) {
+            return;
+        }
+
+        try {
+            listener.itemCompleted(item, completed, total);
+        } catch (RuntimeException e) {
+            logger.warn("Bulk operation progress listener failed", e);
+        }
+    }
+}
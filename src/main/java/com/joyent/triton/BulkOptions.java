@@ -0,0 +1,110 @@
+package com.joyent.triton;
+
+import com.joyent.triton.http.RateLimiter;
+
+/**
+ * Settings that control how a bulk operation, such as
+ * {@link Instances#deleteAll(java.util.Collection, BulkOptions)}, is executed.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class BulkOptions {
+    /**
+     * Default maximum number of requests in flight.
+     */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    /**
+     * Maximum number of requests in flight.
+     */
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * Limiter for the rate at which requests are sent (may be null).
+     */
+    private RateLimiter rateLimiter;
+
+    /**
+     * Listener notified as items complete (may be null).
+     */
+    private BulkProgressListener progressListener;
+
+    /**
+     * Creates a new instance with the default settings: eight requests in
+     * flight, no rate limit and no progress listener.
+     */
+    public BulkOptions() {
+    }
+
+    /**
+     * Maximum number of requests in flight.
+     * @return parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the maximum number of requests in flight.
+     *
+     * @param parallelism number of requests, 1 or greater
+     * @return the current instance of {@link BulkOptions}
+     */
+    public BulkOptions setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be 1 or greater");
+        }
+
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Limiter for the rate at which requests are sent.
+     * @return rate limiter or null if requests aren't rate limited
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Sets the limiter for the rate at which requests are sent. A limiter
+     * can be shared between bulk operations to limit their combined rate.
+     *
+     * @param rateLimiter rate limiter or null to not limit the rate
+     * @return the current instance of {@link BulkOptions}
+     */
+    public BulkOptions setRateLimiter(final RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * Listener notified as items complete.
+     * @return progress listener or null
+     */
+    public BulkProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    /**
+     * Sets the listener notified as items complete.
+     *
+     * @param progressListener progress listener or null
+     * @return the current instance of {@link BulkOptions}
+     */
+    public BulkOptions setProgressListener(final BulkProgressListener progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOptions{"
+                + "parallelism=" + parallelism
+                + ", rateLimiter=" + rateLimiter
+                + ", progressListener=" + progressListener
+                + '}';
+    }
+}
@@ -0,0 +1,21 @@
+package com.joyent.triton;
+
+/**
+ * Listener notified as the items of a bulk operation complete. The listener
+ * is called from the threads that run the operation, so implementations
+ * must be thread-safe and should return quickly.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public interface BulkProgressListener {
+    /**
+     * Called after the operation has completed, successfully or not, for
+     * a single item.
+     *
+     * @param item outcome of the operation for the item
+     * @param completed number of items that have completed so far
+     * @param total total number of items in the operation
+     */
+    void itemCompleted(BulkResult.Item<?, ?> item, int completed, int total);
+}
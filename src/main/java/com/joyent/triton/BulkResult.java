@@ -0,0 +1,202 @@
+package com.joyent.triton;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of an operation that was applied to many items, for example
+ * provisioning a batch of instances. Each item records its own result or
+ * error, so that a failure of one item doesn't abort the rest of the batch.
+ * Items are returned in the order in which they were submitted.
+ *
+ * @param <K> type of the items the operation was applied to
+ * @param <V> type of the result of the operation for a single item
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public final class BulkResult<K, V> {
+    /**
+     * Outcomes of the individual items in submission order.
+     */
+    private final List<Item<K, V>> items;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param items outcomes of the individual items in submission order
+     */
+    BulkResult(final List<Item<K, V>> items) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+    }
+
+    /**
+     * Outcomes of all of the items in submission order.
+     * @return unmodifiable list of items
+     */
+    public List<Item<K, V>> getItems() {
+        return items;
+    }
+
+    /**
+     * Results of the items for which the operation succeeded.
+     * @return list of results in submission order
+     */
+    public List<V> getResults() {
+        final List<V> results = new ArrayList<>(items.size());
+
+        for (Item<K, V> item : items) {
+            if (item.isSuccessful()) {
+                results.add(item.getResult());
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Outcomes of the items for which the operation failed.
+     * @return list of failed items in submission order
+     */
+    public List<Item<K, V>> getFailures() {
+        final List<Item<K, V>> failures = new ArrayList<>();
+
+        for (Item<K, V> item : items) {
+            if (!item.isSuccessful()) {
+                failures.add(item);
+            }
+        }
+
+        return failures;
+    }
+
+    /**
+     * Flag indicating that the operation succeeded for every item.
+     * @return true if there were no failures
+     */
+    public boolean isSuccessful() {
+        for (Item<K, V> item : items) {
+            if (!item.isSuccessful()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult{"
+                + "items=" + items.size()
+                + ", failures=" + getFailures().size()
+                + '}';
+    }
+
+    /**
+     * Outcome of the operation for a single item.
+     *
+     * @param <K> type of the item the operation was applied to
+     * @param <V> type of the result of the operation
+     */
+    public static final class Item<K, V> {
+        /**
+         * Item the operation was applied to.
+         */
+        private final K key;
+
+        /**
+         * Result of the operation, which may be present even when the
+         * operation failed at a later stage.
+         */
+        private final V result;
+
+        /**
+         * Error that caused the operation to fail or null if it succeeded.
+         */
+        private final Exception error;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param key item the operation was applied to
+         * @param result result of the operation (may be null)
+         * @param error error that caused the operation to fail or null if it succeeded
+         */
+        Item(final K key, final V result, final Exception error) {
+            this.key = key;
+            this.result = result;
+            this.error = error;
+        }
+
+        /**
+         * Creates a new successful item.
+         *
+         * @param key item the operation was applied to
+         * @param result result of the operation
+         * @param <K> type of the item the operation was applied to
+         * @param <V> type of the result of the operation
+         * @return new instance
+         */
+        static <K, V> Item<K, V> success(final K key, final V result) {
+            return new Item<>(key, result, null);
+        }
+
+        /**
+         * Creates a new failed item.
+         *
+         * @param key item the operation was applied to
+         * @param error error that caused the operation to fail
+         * @param <K> type of the item the operation was applied to
+         * @param <V> type of the result of the operation
+         * @return new instance
+         */
+        static <K, V> Item<K, V> failure(final K key, final Exception error) {
+            return new Item<>(key, null, error);
+        }
+
+        /**
+         * Item the operation was applied to.
+         * @return submitted item
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Result of the operation. For failed items this is only present if
+         * the operation failed after producing a result (for example, when an
+         * instance was created but didn't reach the running state).
+         *
+         * @return result or null
+         */
+        public V getResult() {
+            return result;
+        }
+
+        /**
+         * Error that caused the operation to fail.
+         * @return error or null if the operation succeeded
+         */
+        public Exception getError() {
+            return error;
+        }
+
+        /**
+         * Flag indicating that the operation succeeded for this item.
+         * @return true if there was no error
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return "Item{"
+                    + "key=" + key
+                    + ", result=" + result
+                    + ", error=" + error
+                    + '}';
+        }
+    }
+}
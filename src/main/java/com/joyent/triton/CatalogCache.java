@@ -0,0 +1,214 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.http.ConditionalGetCache;
+import org.apache.commons.lang3.ObjectUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory cache of responses for resources that rarely change, such as
+ * the package and image catalogs. Entries are keyed by the request URI, so
+ * listings with different filters are cached separately from each other and
+ * from lookups by id. Entries are fresh for a fixed time to live and the
+ * least recently used entry is evicted when the cache is full.
+ *
+ * <p>Responses are held in a {@link ConditionalGetCache}, which also stores
+ * their validators. Entries that have expired are kept until they are
+ * evicted, so that the request answered by them can be sent as a
+ * conditional request. When the CloudAPI responds with
+ * {@code 304 Not Modified} the cached value is reused and is fresh for
+ * another time to live.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class CatalogCache {
+    /**
+     * Time in nanoseconds that an entry is fresh for.
+     */
+    private final long ttlNanos;
+
+    /**
+     * Maximum number of entries held.
+     */
+    private final int maxEntries;
+
+    /**
+     * Store of responses and their validators by request URI.
+     */
+    private final ConditionalGetCache store;
+
+    /**
+     * Number of lookups answered with a fresh entry.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Number of lookups that required a request to the CloudAPI.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new empty cache.
+     *
+     * @param ttl time that an entry is fresh for
+     * @param unit unit of the time to live
+     * @param maxEntries maximum number of entries held
+     */
+    public CatalogCache(final long ttl, final TimeUnit unit, final int maxEntries) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("Time to live must be 0 or greater");
+        }
+
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Maximum number of entries must be 1 or greater");
+        }
+
+        this.ttlNanos = unit.toNanos(ttl);
+        this.maxEntries = maxEntries;
+        this.store = new ConditionalGetCache(maxEntries, true);
+    }
+
+    /**
+     * Creates a new cache configured by the catalog cache settings of the
+     * passed configuration.
+     *
+     * @param config SDK configuration object
+     * @return a new cache or null if caching is disabled
+     */
+    static CatalogCache fromConfig(final ConfigContext config) {
+        final int ttl = ObjectUtils.firstNonNull(config.getCatalogCacheTtl(),
+                DefaultsConfigContext.DEFAULT_CATALOG_CACHE_TTL);
+
+        if (ttl <= 0) {
+            return null;
+        }
+
+        final int maxEntries = ObjectUtils.firstNonNull(config.getCatalogCacheSize(),
+                DefaultsConfigContext.DEFAULT_CATALOG_CACHE_SIZE);
+
+        return new CatalogCache(ttl, TimeUnit.MILLISECONDS, Math.max(maxEntries, 1));
+    }
+
+    /**
+     * Finds the entry for a request URI if it hasn't expired.
+     *
+     * @param key request URI
+     * @return the entry or null if there isn't a fresh one
+     */
+    ConditionalGetCache.Entry getFresh(final String key) {
+        final ConditionalGetCache.Entry entry = store.get(key);
+
+        if (entry == null || entry.getAgeNanos() >= ttlNanos) {
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Store of responses and their validators, which requests that can't be
+     * answered with a fresh entry are revalidated against.
+     *
+     * @return the store backing this cache
+     */
+    ConditionalGetCache getStore() {
+        return store;
+    }
+
+    /**
+     * Records a lookup that was answered with a fresh entry.
+     */
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Records a lookup that required a request to the CloudAPI.
+     */
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * Removes the entry for a request URI.
+     *
+     * @param key request URI
+     */
+    public void invalidate(final String key) {
+        store.invalidate(key);
+    }
+
+    /**
+     * Removes the entries of all request URIs starting with the passed prefix.
+     *
+     * @param prefix prefix of the request URIs to remove
+     */
+    public void invalidateStartingWith(final String prefix) {
+        store.invalidateStartingWith(prefix);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        store.invalidateAll();
+    }
+
+    /**
+     * Number of entries currently held, including expired entries.
+     * @return number of entries
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Number of lookups answered with a fresh entry.
+     * @return number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Number of lookups that required a request to the CloudAPI, including
+     * the requests that revalidated an expired entry.
+     * @return number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Number of expired entries that the CloudAPI reported as not modified.
+     * @return number of successful revalidations
+     */
+    public long getRevalidations() {
+        return store.getNotModifiedCount();
+    }
+
+    /**
+     * Number of entries removed because the cache was full.
+     * @return number of evictions
+     */
+    public long getEvictions() {
+        return store.getEvictionCount();
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogCache{"
+                + "ttlNanos=" + ttlNanos
+                + ", maxEntries=" + maxEntries
+                + ", size=" + size()
+                + ", hits=" + getHits()
+                + ", misses=" + getMisses()
+                + ", revalidations=" + getRevalidations()
+                + ", evictions=" + getEvictions()
+                + '}';
+    }
+}
@@ -2,29 +2,99 @@ package com.joyent.triton;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.http.CircuitBreakers;
 import com.joyent.triton.http.CloudApiApacheHttpClientContext;
 import com.joyent.triton.http.CloudApiConnectionContext;
 import com.joyent.triton.http.CloudApiConnectionFactory;
+import com.joyent.triton.http.ConditionalGetCache;
+import com.joyent.triton.http.Deadline;
+import com.joyent.triton.http.RateLimits;
 import com.joyent.triton.json.CloudApiObjectMapper;
+import com.joyent.triton.metrics.CloudApiMetrics;
+import com.joyent.triton.metrics.ConnectionPoolStats;
+import com.joyent.triton.metrics.NoOpCloudApiMetrics;
+import com.joyent.triton.tracing.CloudApiTracer;
+import com.joyent.triton.tracing.NoOpCloudApiTracer;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Class providing central functionality useful when interacting with all of
  * the other CloudAPI classes ({@link Instances}, etc).
  *
+ * <p>Each instance owns a connection pool that is shared by every
+ * {@link CloudApiConnectionContext} that it creates, so that subsequent API
+ * calls reuse warm keep-alive connections. Call {@link #close()} when the
+ * instance is no longer needed in order to release the pooled connections.</p>
+ *
+ * <p>Non-blocking variants of the API sections are available from
+ * {@link #async()}.</p>
+ *
  * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
  * @since 1.0.0
  */
-public class CloudApi {
+public class CloudApi implements AutoCloseable {
     /**
      * Configuration context that provides SDK settings.
      */
     private final ConfigContext config;
 
+    /**
+     * Customized Jackson serialization/deserialization object shared by all
+     * API sections.
+     */
+    private final ObjectMapper mapper;
+
     /**
      * {@link org.apache.http.impl.client.CloseableHttpClient} connection factory.
+     * The factory holds the parsed key pair and HTTP signature configuration,
+     * so it is created once and shared by every API section.
      */
     private final CloudApiConnectionFactory connectionFactory;
 
+    /**
+     * Connection pool shared by all of the contexts created by this instance.
+     */
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * HTTP client shared by all of the contexts created by this instance.
+     */
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * Validators and values of previous GET responses used to send
+     * conditional requests, or null if conditional requests are disabled.
+     */
+    private final ConditionalGetCache conditionalGetCache;
+
+    /**
+     * Circuit breakers and limits on requests in flight for each endpoint,
+     * or null if both are disabled.
+     */
+    private final CircuitBreakers circuitBreakers;
+
+    /**
+     * Metrics implementation that measurements of requests are reported to.
+     */
+    private final CloudApiMetrics metrics;
+
+    /**
+     * Tracer that opens a span for every request.
+     */
+    private final CloudApiTracer tracer;
+
     /**
      * Reference to Instances API section.
      */
@@ -40,32 +110,148 @@ public class CloudApi {
      */
     private final Images images;
 
+    /**
+     * Lazily created non-blocking API, guarded by this instance's monitor.
+     */
+    private AsyncCloudApi async;
+
+    /**
+     * Lazily created executor used to request pages of listings and to run
+     * bulk operations in the background, guarded by this instance's monitor.
+     */
+    private ExecutorService backgroundExecutor;
+
+    /**
+     * Lazily created single thread that submits non-blocking requests once
+     * the rate limits allow it, guarded by this instance's monitor.
+     */
+    private ScheduledExecutorService rateLimitScheduler;
+
     /**
      * Creates a new instance based on the passed configuration.
      * @param config SDK configuration object
      */
     public CloudApi(final ConfigContext config) {
-        final ObjectMapper mapper = new CloudApiObjectMapper();
+        this(config, NoOpCloudApiMetrics.INSTANCE);
+    }
+
+    /**
+     * Creates a new instance based on the passed configuration that reports
+     * the latency, outcome and size of every blocking request, as well as
+     * the state of its connection pool, to the passed metrics implementation.
+     *
+     * @param config SDK configuration object
+     * @param metrics metrics implementation that measurements are reported to
+     */
+    public CloudApi(final ConfigContext config, final CloudApiMetrics metrics) {
+        this(config, metrics, NoOpCloudApiTracer.INSTANCE);
+    }
+
+    /**
+     * Creates a new instance based on the passed configuration that reports
+     * measurements to the passed metrics implementation and opens a span
+     * with the passed tracer for every blocking request. Spans record the
+     * connect, TLS handshake, signing, server wait and deserialization
+     * phases of the request and inject their trace context into its headers.
+     *
+     * @param config SDK configuration object
+     * @param metrics metrics implementation that measurements are reported to
+     * @param tracer tracer that opens a span for every request
+     */
+    public CloudApi(final ConfigContext config, final CloudApiMetrics metrics,
+                    final CloudApiTracer tracer) {
+        Objects.requireNonNull(metrics, "Metrics implementation must be present");
+        Objects.requireNonNull(tracer, "Tracer must be present");
 
+        this.mapper = new CloudApiObjectMapper();
         this.config = config;
-        this.connectionFactory = new CloudApiConnectionFactory(config);
+        this.metrics = metrics;
+        this.tracer = tracer;
+        this.connectionFactory = new CloudApiConnectionFactory(config, metrics);
+        this.connectionManager = connectionFactory.createConnectionManager();
+        metrics.bindConnectionPool(poolStats(connectionManager));
+        this.httpClient = connectionFactory.createConnection(connectionManager);
+        this.conditionalGetCache = createConditionalGetCache(config);
+        this.circuitBreakers = CircuitBreakers.fromConfig(config);
         this.instances = new Instances(this, mapper);
         this.packages = new Packages(this, mapper);
         this.images = new Images(this, mapper);
     }
 
+    /**
+     * Creates the cache used for conditional GET requests if it is enabled
+     * by the {@code triton.conditional_get_cache_size} setting.
+     *
+     * @param config SDK configuration object
+     * @return a new cache or null if conditional requests are disabled
+     */
+    private static ConditionalGetCache createConditionalGetCache(final ConfigContext config) {
+        final int size = ObjectUtils.firstNonNull(config.getConditionalGetCacheSize(),
+                DefaultsConfigContext.DEFAULT_CONDITIONAL_GET_CACHE_SIZE);
+
+        if (size <= 0) {
+            return null;
+        }
+
+        return new ConditionalGetCache(size);
+    }
+
+    /**
+     * Creates a live view of the state of a connection pool.
+     *
+     * @param connectionManager connection pool to view
+     * @return view that reads the current state of the pool on every call
+     */
+    private static ConnectionPoolStats poolStats(final PoolingHttpClientConnectionManager connectionManager) {
+        return new ConnectionPoolStats() {
+            @Override
+            public int getLeased() {
+                return connectionManager.getTotalStats().getLeased();
+            }
+
+            @Override
+            public int getAvailable() {
+                return connectionManager.getTotalStats().getAvailable();
+            }
+
+            @Override
+            public int getPending() {
+                return connectionManager.getTotalStats().getPending();
+            }
+
+            @Override
+            public int getMax() {
+                return connectionManager.getTotalStats().getMax();
+            }
+        };
+    }
+
     public CloudApiConnectionFactory getConnectionFactory() {
         return connectionFactory;
     }
 
     /**
      * Creates a new connection context that provides resources that can
-     * be shared across API calls.
+     * be shared across API calls. The context borrows connections from this
+     * instance's connection pool, so closing the context leaves the pool open.
      *
      * @return new context object
      */
     public CloudApiConnectionContext createConnectionContext() {
-        return new CloudApiApacheHttpClientContext(connectionFactory);
+        return new CloudApiApacheHttpClientContext(connectionFactory, httpClient);
+    }
+
+    /**
+     * Creates a new connection context whose requests must all complete
+     * before the passed deadline. Timeouts of individual requests are
+     * shortened to the time left before the deadline.
+     *
+     * @param deadline deadline by which all requests made with the context must complete
+     * @return a new connection context that shares the client's connection pool
+     */
+    public CloudApiConnectionContext createConnectionContext(final Deadline deadline) {
+        return new CloudApiApacheHttpClientContext(connectionFactory, httpClient)
+                .setDeadline(deadline);
     }
 
     /**
@@ -95,6 +281,23 @@ public class CloudApi {
         return images;
     }
 
+    /**
+     * Provides access to the non-blocking API. The non-blocking client and
+     * its I/O dispatch threads are created and started on first use and are
+     * shut down when this instance is closed.
+     *
+     * @return a reference to a configured {@link AsyncCloudApi} object
+     */
+    public synchronized AsyncCloudApi async() {
+        if (async == null) {
+            final CloseableHttpAsyncClient asyncClient = connectionFactory.createAsyncConnection();
+            asyncClient.start();
+            async = new AsyncCloudApi(this, asyncClient, mapper);
+        }
+
+        return async;
+    }
+
     /**
      * Default scoped getter that feeds API section classes (like Instances).
      * @return instance of configuration class
@@ -102,4 +305,135 @@ public class CloudApi {
     ConfigContext getConfig() {
         return config;
     }
+
+    /**
+     * Default scoped getter for the executor used to request pages of
+     * listings and to run bulk operations in the background. The executor's
+     * threads are daemon threads and it is shut down when this instance is
+     * closed.
+     *
+     * @return executor shared by all background work of this instance
+     */
+    synchronized ExecutorService getBackgroundExecutor() {
+        if (backgroundExecutor == null) {
+            final ThreadFactory threadFactory = new BasicThreadFactory.Builder()
+                    .namingPattern("triton-background-%d")
+                    .daemon(true)
+                    .build();
+            backgroundExecutor = Executors.newCachedThreadPool(threadFactory);
+        }
+
+        return backgroundExecutor;
+    }
+
+    /**
+     * Default scoped getter for the executor that submits non-blocking
+     * requests delayed by the rate limits. A single daemon thread serves all
+     * delayed requests, since submitting a request doesn't block. It is shut
+     * down when this instance is closed.
+     *
+     * @return scheduler shared by all non-blocking API sections of this instance
+     */
+    synchronized ScheduledExecutorService getRateLimitScheduler() {
+        if (rateLimitScheduler == null) {
+            final ThreadFactory threadFactory = new BasicThreadFactory.Builder()
+                    .namingPattern("triton-rate-limit-%d")
+                    .daemon(true)
+                    .build();
+            rateLimitScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        }
+
+        return rateLimitScheduler;
+    }
+
+    /**
+     * Cache used to send GET requests for single instances, packages and
+     * images as conditional requests. It is only created when the
+     * {@code triton.conditional_get_cache_size} setting is greater than 0.
+     *
+     * @return the cache or null if conditional requests are disabled
+     */
+    public ConditionalGetCache getConditionalGetCache() {
+        return conditionalGetCache;
+    }
+
+    /**
+     * Circuit breakers and limits on requests in flight for each endpoint
+     * that blocking requests are sent to. They are only created when the
+     * {@code triton.circuit_breaker_failure_threshold} or
+     * {@code triton.max_concurrent_requests_per_endpoint} setting is greater
+     * than 0.
+     *
+     * @return the circuit breakers or null if both settings are disabled
+     */
+    public CircuitBreakers getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * Rate limits applied to all requests made by this instance, across all
+     * API sections and connection contexts, including those made through
+     * {@link #async()}. Limits for individual operations can be added with
+     * {@link RateLimits#setOperationLimit}.
+     *
+     * @return rate limits shared by this instance
+     */
+    public RateLimits getRateLimits() {
+        return connectionFactory.getRateLimits();
+    }
+
+    /**
+     * Metrics implementation that measurements of requests are reported to.
+     *
+     * @return the configured metrics implementation or a no-op implementation
+     */
+    public CloudApiMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Tracer that opens a span for every request.
+     *
+     * @return the configured tracer or a no-op tracer
+     */
+    public CloudApiTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Default scoped getter for the connection pool shared between contexts.
+     * @return shared connection pool
+     */
+    PoolingHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Closes the shared HTTP client and shuts down its connection pool, as
+     * well as the non-blocking client and background executors if they were
+     * created.
+     *
+     * @throws IOException thrown when there is a problem closing the pool
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            synchronized (this) {
+                if (backgroundExecutor != null) {
+                    backgroundExecutor.shutdownNow();
+                }
+
+                if (rateLimitScheduler != null) {
+                    // Delayed requests still run, so that their futures fail against the closed client
+                    rateLimitScheduler.shutdown();
+                }
+
+                if (async != null) {
+                    async.close();
+                }
+            }
+        } finally {
+            httpClient.close();
+        }
+    }
 }
@@ -136,6 +136,47 @@ public final class CloudApiUtils {
         return parsed;
     }
 
+    /**
+     * Parses an arbitrary object for an enum constant. Names are matched
+     * case-insensitively and dashes are treated as underscores. If it can't
+     * be found, return null.
+     *
+     * @param value Object to parse for an enum constant
+     * @param enumClass class of the enum to parse
+     * @param <T> type of the enum
+     * @return if parsing fails, return null
+     */
+    public static <T extends Enum<T>> T parseEnumOrNull(final Object value,
+                                                        final Class<T> enumClass) {
+        if (value == null) {
+            return null;
+        }
+
+        if (enumClass.isInstance(value)) {
+            return enumClass.cast(value);
+        }
+
+        final String string = StringUtils.strip(toStringEmptyToNull(value));
+
+        if (string == null) {
+            return null;
+        }
+
+        final String name = string.replace('-', '_');
+
+        for (T constant : enumClass.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(name)) {
+                return constant;
+            }
+        }
+
+        Logger logger = LoggerFactory.getLogger(CloudApiUtils.class);
+        String msg = "Error parsing value as %s. Value: %s";
+        logger.warn(String.format(msg, enumClass.getSimpleName(), value));
+
+        return null;
+    }
+
     /**
      * Naively converts a collection of objects to a single CSV string.
      * Warning: this doesn't escape.
@@ -3,6 +3,7 @@ package com.joyent.triton;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joyent.triton.domain.Image;
+import com.joyent.triton.http.CloseableIterator;
 import com.joyent.triton.http.CloudApiConnectionContext;
 import com.joyent.triton.http.CloudApiResponseHandler;
 import com.joyent.triton.http.HttpCollectionResponse;
@@ -49,6 +50,11 @@ public class Images extends BaseApiAccessor {
      */
     private final CloudApiResponseHandler<Image> findByIdImageHandler;
 
+    /**
+     * Cache of image responses or null if caching is disabled.
+     */
+    private final CatalogCache cache;
+
     /**
      * Creates a new configured {@code Images} API instance.
      * @param cloudApi reference to {@link CloudApi} instance that is backing API calls.
@@ -56,6 +62,7 @@ public class Images extends BaseApiAccessor {
      */
     Images(final CloudApi cloudApi, final ObjectMapper mapper) {
         super(cloudApi, mapper);
+        this.cache = CatalogCache.fromConfig(getConfig());
 
         this.listImageHandler = new CloudApiResponseHandler<>(
                 "list images", mapper, new TypeReference<List<Image>>() {
@@ -112,11 +119,36 @@ public class Images extends BaseApiAccessor {
 
         @SuppressWarnings("unchecked")
         final HttpCollectionResponse<Image> result =
-                (HttpCollectionResponse<Image>) execute(context, get, listImageHandler);
+                (HttpCollectionResponse<Image>) executeCached(context, get, listImageHandler, cache);
 
         return result;
     }
 
+    /**
+     * Lists the operating system images that match the filter criteria while
+     * deserializing them from the response as the returned iterator is
+     * consumed, so that only a single image is held in memory at a time.
+     * The iterator holds a connection from the pool until it is exhausted,
+     * so it should be closed when iteration is stopped early.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param filter query filter to filter results by
+     * @return iterator over the matching images
+     * @throws IOException thrown when there is a problem getting the image list
+     */
+    public CloseableIterator<Image> listStreaming(final CloudApiConnectionContext context,
+                                                  final ImageFilter filter) throws IOException {
+        Objects.requireNonNull(context, "Context object must be present");
+        Objects.requireNonNull(filter, "Filter object must be present");
+
+        final List<NameValuePair> filterParams = imageFilterConverter.urlParamsFromFilter(filter);
+        final String path = String.format("/%s/images", getConfig().getUser());
+
+        final HttpGet get = getConnectionFactory().get(path, filterParams);
+
+        return executeStreaming(context, get, listImageHandler);
+    }
+
     /**
      * Lists the latest version of all of the available operating system images.
      *
@@ -211,6 +243,48 @@ public class Images extends BaseApiAccessor {
 
         final HttpGet get = getConnectionFactory().get(path);
 
-        return execute(context, get, findByIdImageHandler);
+        return executeCached(context, get, findByIdImageHandler, cache);
+    }
+
+    /**
+     * Cache of image responses, which is only created when the
+     * {@code triton.catalog_cache_ttl} setting is greater than 0.
+     *
+     * @return cache of image responses or null if caching is disabled
+     */
+    public CatalogCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Removes all cached image responses, so that the next requests are
+     * answered by the CloudAPI.
+     */
+    public void invalidateCache() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Removes the cached response for a single image along with all of the
+     * cached image listings that could include it.
+     *
+     * @param imageId UUID of the image
+     */
+    public void invalidateCache(final UUID imageId) {
+        Objects.requireNonNull(imageId, "Image id must be present");
+
+        if (cache == null) {
+            return;
+        }
+
+        final String listPath = String.format("/%s/images", getConfig().getUser());
+        final String listUri = getConnectionFactory().get(listPath).getURI().toString();
+        final String idUri = getConnectionFactory().get(listPath + "/" + imageId).getURI().toString();
+
+        cache.invalidate(idUri);
+        cache.invalidate(listUri);
+        cache.invalidateStartingWith(listUri + "?");
     }
 }
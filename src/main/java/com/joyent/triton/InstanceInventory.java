@@ -0,0 +1,726 @@
+package com.joyent.triton;
+
+import com.joyent.triton.domain.Instance;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Local snapshot of an account's instances with secondary indexes, so that
+ * compound queries that the CloudAPI query string can't express (such as
+ * several tags, a memory range and a compute node at once) can be answered
+ * without listing the instances again. Instances are indexed by state, tag
+ * key and value, image, package name, compute node, IP address and memory.
+ *
+ * <p>Queries are built with {@link #query()}, and all of their criteria must
+ * match. Each criterion is resolved with an index lookup and the resulting
+ * sets of ids are intersected starting with the smallest. The inventory is
+ * safe to query from many threads.</p>
+ *
+ * <p>An inventory doesn't change when instances change on Triton. Create a
+ * new snapshot with {@link Instances#inventory()} to see the changes, or
+ * keep an inventory up to date incrementally with an
+ * {@link InventorySynchronizer}.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class InstanceInventory {
+    /**
+     * Lock guarding the instances and all of the indexes.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Instances by id in the order they were added.
+     */
+    private final Map<UUID, Instance> byId = new LinkedHashMap<>();
+
+    /**
+     * Ids of instances by state.
+     */
+    private final Map<String, Set<UUID>> byState = new HashMap<>();
+
+    /**
+     * Ids of instances by tag key, then by tag value.
+     */
+    private final Map<String, Map<String, Set<UUID>>> byTag = new HashMap<>();
+
+    /**
+     * Ids of instances by image id.
+     */
+    private final Map<UUID, Set<UUID>> byImage = new HashMap<>();
+
+    /**
+     * Ids of instances by package name.
+     */
+    private final Map<String, Set<UUID>> byPackage = new HashMap<>();
+
+    /**
+     * Ids of instances by compute node id.
+     */
+    private final Map<UUID, Set<UUID>> byComputeNode = new HashMap<>();
+
+    /**
+     * Ids of instances by IP address.
+     */
+    private final Map<InetAddress, Set<UUID>> byIp = new HashMap<>();
+
+    /**
+     * Ids of instances by memory in megabytes, sorted for range queries.
+     */
+    private final NavigableMap<Long, Set<UUID>> byMemory = new TreeMap<>();
+
+    /**
+     * Creates a new inventory containing the passed instances.
+     *
+     * @param instances instances to add to the inventory
+     */
+    public InstanceInventory(final Iterator<Instance> instances) {
+        Objects.requireNonNull(instances, "Instances must be present");
+
+        while (instances.hasNext()) {
+            put(instances.next());
+        }
+    }
+
+    /**
+     * Creates a new inventory containing the passed instances.
+     *
+     * @param instances instances to add to the inventory
+     */
+    public InstanceInventory(final Collection<Instance> instances) {
+        this(instances.iterator());
+    }
+
+    /**
+     * Adds an instance to the inventory, replacing the instance with the
+     * same id if there is one.
+     *
+     * @param instance instance to add
+     * @return the replaced instance or null if the instance is new
+     */
+    Instance put(final Instance instance) {
+        Objects.requireNonNull(instance, "Instance must be present");
+        Objects.requireNonNull(instance.getId(), "Instance id must be present");
+
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+
+        try {
+            final Instance previous = removeFromIndexes(instance.getId());
+            addToIndexes(instance);
+            return previous;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes an instance from the inventory.
+     *
+     * @param instanceId id of the instance to remove
+     * @return the removed instance or null if it wasn't in the inventory
+     */
+    Instance remove(final UUID instanceId) {
+        Objects.requireNonNull(instanceId, "Instance id must be present");
+
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+
+        try {
+            return removeFromIndexes(instanceId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the changes found by a synchronization at once, so that queries
+     * see either none or all of them.
+     *
+     * @param delta instances that were added, changed or removed
+     */
+    void apply(final InventoryDelta delta) {
+        Objects.requireNonNull(delta, "Delta must be present");
+
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+
+        try {
+            for (Instance instance : delta.getRemoved()) {
+                removeFromIndexes(instance.getId());
+            }
+
+            for (Instance instance : delta.getAdded()) {
+                addToIndexes(instance);
+            }
+
+            for (Instance instance : delta.getChanged()) {
+                removeFromIndexes(instance.getId());
+                addToIndexes(instance);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds an instance to all of the indexes. Must be called while holding
+     * the write lock.
+     *
+     * @param instance instance to add
+     */
+    private void addToIndexes(final Instance instance) {
+        final UUID id = instance.getId();
+        byId.put(id, instance);
+
+        index(byState, instance.getState(), id);
+        index(byImage, instance.getImage(), id);
+        index(byPackage, instance.getPackageName(), id);
+        index(byComputeNode, instance.getComputeNode(), id);
+        index(byMemory, instance.getMemory(), id);
+
+        if (instance.getIps() != null) {
+            for (InetAddress ip : instance.getIps()) {
+                index(byIp, ip, id);
+            }
+        }
+
+        if (instance.getTags() != null) {
+            for (Map.Entry<String, String> tag : instance.getTags().entrySet()) {
+                Map<String, Set<UUID>> values = byTag.get(tag.getKey());
+
+                if (values == null) {
+                    values = new HashMap<>();
+                    byTag.put(tag.getKey(), values);
+                }
+
+                index(values, tag.getValue(), id);
+            }
+        }
+    }
+
+    /**
+     * Removes an instance from all of the indexes. Must be called while
+     * holding the write lock.
+     *
+     * @param id id of the instance to remove
+     * @return the removed instance or null if it wasn't in the inventory
+     */
+    private Instance removeFromIndexes(final UUID id) {
+        final Instance instance = byId.remove(id);
+
+        if (instance == null) {
+            return null;
+        }
+
+        unindex(byState, instance.getState(), id);
+        unindex(byImage, instance.getImage(), id);
+        unindex(byPackage, instance.getPackageName(), id);
+        unindex(byComputeNode, instance.getComputeNode(), id);
+        unindex(byMemory, instance.getMemory(), id);
+
+        if (instance.getIps() != null) {
+            for (InetAddress ip : instance.getIps()) {
+                unindex(byIp, ip, id);
+            }
+        }
+
+        if (instance.getTags() != null) {
+            for (Map.Entry<String, String> tag : instance.getTags().entrySet()) {
+                final Map<String, Set<UUID>> values = byTag.get(tag.getKey());
+
+                if (values != null) {
+                    unindex(values, tag.getValue(), id);
+
+                    if (values.isEmpty()) {
+                        byTag.remove(tag.getKey());
+                    }
+                }
+            }
+        }
+
+        return instance;
+    }
+
+    /**
+     * Adds an id to the set of ids for a key of an index.
+     *
+     * @param index index to add to
+     * @param key indexed value, ignored if null
+     * @param id id of the instance
+     * @param <K> type of the indexed value
+     */
+    private static <K> void index(final Map<K, Set<UUID>> index, final K key, final UUID id) {
+        if (key == null) {
+            return;
+        }
+
+        Set<UUID> ids = index.get(key);
+
+        if (ids == null) {
+            ids = new HashSet<>();
+            index.put(key, ids);
+        }
+
+        ids.add(id);
+    }
+
+    /**
+     * Removes an id from the set of ids for a key of an index.
+     *
+     * @param index index to remove from
+     * @param key indexed value, ignored if null
+     * @param id id of the instance
+     * @param <K> type of the indexed value
+     */
+    private static <K> void unindex(final Map<K, Set<UUID>> index, final K key, final UUID id) {
+        if (key == null) {
+            return;
+        }
+
+        final Set<UUID> ids = index.get(key);
+
+        if (ids == null) {
+            return;
+        }
+
+        ids.remove(id);
+
+        if (ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Finds an instance by id.
+     *
+     * @param instanceId id of the instance
+     * @return the instance or null if it isn't in the inventory
+     */
+    public Instance get(final UUID instanceId) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+
+        try {
+            return byId.get(instanceId);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Number of instances in the inventory.
+     * @return number of instances
+     */
+    public int size() {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+
+        try {
+            return byId.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * All of the instances in the inventory.
+     * @return a copy of the instances in the order they were added
+     */
+    public List<Instance> getInstances() {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+
+        try {
+            return new ArrayList<>(byId.values());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Creates a new query over the instances in the inventory. Without any
+     * criteria the query matches every instance.
+     *
+     * @return a new query
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    @Override
+    public String toString() {
+        return "InstanceInventory{"
+                + "size=" + size()
+                + '}';
+    }
+
+    /**
+     * Query over the instances of the inventory. Use the fluent interface to
+     * add criteria, all of which must match.
+     */
+    public final class Query {
+        /**
+         * Required state or null.
+         */
+        private String state;
+
+        /**
+         * Required image id or null.
+         */
+        private UUID image;
+
+        /**
+         * Required package name or null.
+         */
+        private String packageName;
+
+        /**
+         * Required compute node id or null.
+         */
+        private UUID computeNode;
+
+        /**
+         * Required IP address or null.
+         */
+        private InetAddress ip;
+
+        /**
+         * Required tags, with null values for tags that only need to be present.
+         */
+        private final Map<String, String> tags = new LinkedHashMap<>();
+
+        /**
+         * Minimum memory in megabytes (inclusive).
+         */
+        private long minMemory = Long.MIN_VALUE;
+
+        /**
+         * Maximum memory in megabytes (inclusive).
+         */
+        private long maxMemory = Long.MAX_VALUE;
+
+        /**
+         * Creates a new query without criteria.
+         */
+        private Query() {
+        }
+
+        /**
+         * Only matches instances in the passed state.
+         *
+         * @param instanceState state such as {@code running}
+         * @return the current query
+         */
+        public Query state(final String instanceState) {
+            this.state = instanceState;
+            return this;
+        }
+
+        /**
+         * Only matches instances with the passed tag and value.
+         *
+         * @param key tag key
+         * @param value tag value
+         * @return the current query
+         */
+        public Query tag(final String key, final String value) {
+            Objects.requireNonNull(key, "Tag key must be present");
+            Objects.requireNonNull(value, "Tag value must be present");
+
+            this.tags.put(key, value);
+            return this;
+        }
+
+        /**
+         * Only matches instances with the passed tag, whatever its value.
+         *
+         * @param key tag key
+         * @return the current query
+         */
+        public Query hasTag(final String key) {
+            Objects.requireNonNull(key, "Tag key must be present");
+
+            this.tags.put(key, null);
+            return this;
+        }
+
+        /**
+         * Only matches instances created from the passed image.
+         *
+         * @param imageId image id
+         * @return the current query
+         */
+        public Query image(final UUID imageId) {
+            this.image = imageId;
+            return this;
+        }
+
+        /**
+         * Only matches instances of the passed package.
+         *
+         * @param name package name
+         * @return the current query
+         */
+        public Query packageName(final String name) {
+            this.packageName = name;
+            return this;
+        }
+
+        /**
+         * Only matches instances on the passed compute node.
+         *
+         * @param computeNodeId compute node id
+         * @return the current query
+         */
+        public Query computeNode(final UUID computeNodeId) {
+            this.computeNode = computeNodeId;
+            return this;
+        }
+
+        /**
+         * Only matches instances with the passed IP address.
+         *
+         * @param address IP address
+         * @return the current query
+         */
+        public Query ip(final InetAddress address) {
+            this.ip = address;
+            return this;
+        }
+
+        /**
+         * Only matches instances with at least the passed amount of memory.
+         *
+         * @param megabytes minimum memory in megabytes (inclusive)
+         * @return the current query
+         */
+        public Query minMemory(final long megabytes) {
+            this.minMemory = megabytes;
+            return this;
+        }
+
+        /**
+         * Only matches instances with at most the passed amount of memory.
+         *
+         * @param megabytes maximum memory in megabytes (inclusive)
+         * @return the current query
+         */
+        public Query maxMemory(final long megabytes) {
+            this.maxMemory = megabytes;
+            return this;
+        }
+
+        /**
+         * Finds the instances that match all of the criteria.
+         * @return matching instances in no particular order
+         */
+        public List<Instance> list() {
+            final Lock readLock = lock.readLock();
+            readLock.lock();
+
+            try {
+                final Collection<UUID> ids = matchingIds();
+                final List<Instance> matches = new ArrayList<>(ids.size());
+
+                for (UUID id : ids) {
+                    matches.add(byId.get(id));
+                }
+
+                return matches;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        /**
+         * Finds the ids of the instances that match all of the criteria.
+         * @return ids of matching instances in no particular order
+         */
+        public Set<UUID> ids() {
+            final Lock readLock = lock.readLock();
+            readLock.lock();
+
+            try {
+                return new HashSet<>(matchingIds());
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        /**
+         * Counts the instances that match all of the criteria.
+         * @return number of matching instances
+         */
+        public int count() {
+            final Lock readLock = lock.readLock();
+            readLock.lock();
+
+            try {
+                return matchingIds().size();
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        /**
+         * Resolves every criterion with an index lookup and intersects the
+         * results, starting with the smallest. Must be called while holding
+         * the read lock.
+         *
+         * @return ids of the matching instances
+         */
+        private Collection<UUID> matchingIds() {
+            final List<Set<UUID>> candidates = new ArrayList<>();
+
+            if (state != null) {
+                candidates.add(lookup(byState, state));
+            }
+
+            if (image != null) {
+                candidates.add(lookup(byImage, image));
+            }
+
+            if (packageName != null) {
+                candidates.add(lookup(byPackage, packageName));
+            }
+
+            if (computeNode != null) {
+                candidates.add(lookup(byComputeNode, computeNode));
+            }
+
+            if (ip != null) {
+                candidates.add(lookup(byIp, ip));
+            }
+
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                candidates.add(tagMatches(tag.getKey(), tag.getValue()));
+            }
+
+            if (minMemory != Long.MIN_VALUE || maxMemory != Long.MAX_VALUE) {
+                candidates.add(memoryMatches());
+            }
+
+            if (candidates.isEmpty()) {
+                return byId.keySet();
+            }
+
+            Collections.sort(candidates, new Comparator<Set<UUID>>() {
+                @Override
+                public int compare(final Set<UUID> o1, final Set<UUID> o2) {
+                    return Integer.compare(o1.size(), o2.size());
+                }
+            });
+
+            final Set<UUID> smallest = candidates.get(0);
+            final List<UUID> matches = new ArrayList<>(smallest.size());
+
+            for (UUID id : smallest) {
+                if (containedInAll(candidates, id)) {
+                    matches.add(id);
+                }
+            }
+
+            return matches;
+        }
+
+        /**
+         * Checks to see if an id is in every candidate set after the first.
+         *
+         * @param candidates candidate sets sorted by size
+         * @param id id to look for
+         * @return true if every set contains the id
+         */
+        private boolean containedInAll(final List<Set<UUID>> candidates, final UUID id) {
+            for (int i = 1; i < candidates.size(); i++) {
+                if (!candidates.get(i).contains(id)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Finds the ids of instances with a tag.
+         *
+         * @param key tag key
+         * @param value tag value or null to match any value
+         * @return ids of instances with the tag
+         */
+        private Set<UUID> tagMatches(final String key, final String value) {
+            final Map<String, Set<UUID>> values = byTag.get(key);
+
+            if (values == null) {
+                return Collections.emptySet();
+            }
+
+            if (value != null) {
+                return lookup(values, value);
+            }
+
+            final Set<UUID> ids = new HashSet<>();
+
+            for (Set<UUID> valueIds : values.values()) {
+                ids.addAll(valueIds);
+            }
+
+            return ids;
+        }
+
+        /**
+         * Finds the ids of instances within the memory range.
+         * @return ids of instances within the memory range
+         */
+        private Set<UUID> memoryMatches() {
+            if (minMemory > maxMemory) {
+                return Collections.emptySet();
+            }
+
+            final Set<UUID> ids = new HashSet<>();
+
+            for (Set<UUID> memoryIds : byMemory.subMap(minMemory, true, maxMemory, true).values()) {
+                ids.addAll(memoryIds);
+            }
+
+            return ids;
+        }
+    }
+
+    /**
+     * Finds the ids for a key of an index.
+     *
+     * @param index index to look in
+     * @param key indexed value
+     * @param <K> type of the indexed value
+     * @return ids for the key or an empty set
+     */
+    private static <K> Set<UUID> lookup(final Map<K, Set<UUID>> index, final K key) {
+        final Set<UUID> ids = index.get(key);
+
+        if (ids == null) {
+            return Collections.emptySet();
+        }
+
+        return ids;
+    }
+}
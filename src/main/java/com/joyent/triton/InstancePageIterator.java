@@ -0,0 +1,223 @@
+package com.joyent.triton;
+
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.exceptions.CloudApiException;
+import com.joyent.triton.http.CloseableIterator;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.queryfilters.InstanceFilter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.apache.commons.lang3.ObjectUtils.firstNonNull;
+
+/**
+ * Lazy {@link Iterator} over all of the instances matching a filter. Pages
+ * are requested from CloudAPI with an increasing offset only when the
+ * previous page has been exhausted, so at most one page of instances is held
+ * in memory at any time. When streaming, pages are deserialized as they are
+ * read and only a single instance is held in memory.
+ *
+ * <p>Offsets are evaluated by the server for each page, so instances
+ * created or deleted while iterating may cause an instance to be skipped or
+ * returned twice.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+final class InstancePageIterator implements CloseableIterator<Instance> {
+    /**
+     * Instances API used to request additional pages.
+     */
+    private final Instances instances;
+
+    /**
+     * Context used to request additional pages. When null, a new context is
+     * created for each page.
+     */
+    private final CloudApiConnectionContext context;
+
+    /**
+     * Copy of the caller's filter whose offset is advanced for each page.
+     */
+    private final InstanceFilter filter;
+
+    /**
+     * Maximum number of instances the server returns for a single request.
+     */
+    private final int pageSize;
+
+    /**
+     * Total number of matching instances reported by the server or a
+     * negative value if unknown.
+     */
+    private final int resourceCount;
+
+    /**
+     * Flag indicating that pages are streamed rather than read into memory.
+     */
+    private final boolean streaming;
+
+    /**
+     * Iterator over the page currently being consumed.
+     */
+    private Iterator<Instance> page;
+
+    /**
+     * Number of instances returned from the current page.
+     */
+    private int pageCount;
+
+    /**
+     * Offset of the current page.
+     */
+    private int offset;
+
+    /**
+     * Flag indicating that there are no more pages to request.
+     */
+    private boolean exhausted;
+
+    /**
+     * Creates a new iterator starting with a page that has already been
+     * requested.
+     *
+     * @param instances instances API used to request additional pages
+     * @param context context used to request additional pages or null to create one per page
+     * @param filter query filter to filter results by
+     * @param firstPage iterator over the first page of results
+     * @param pageSize maximum number of instances the server returns for a single request
+     * @param resourceCount total number of matching instances or a negative value if unknown
+     * @param streaming true to stream subsequent pages rather than reading them into memory
+     */
+    InstancePageIterator(final Instances instances,
+                         final CloudApiConnectionContext context,
+                         final InstanceFilter filter,
+                         final Iterator<Instance> firstPage,
+                         final int pageSize,
+                         final int resourceCount,
+                         final boolean streaming) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be 1 or greater");
+        }
+
+        this.instances = instances;
+        this.context = context;
+        this.filter = new InstanceFilter(filter).setLimit(pageSize);
+        this.pageSize = pageSize;
+        this.resourceCount = resourceCount;
+        this.streaming = streaming;
+        this.offset = firstNonNull(filter.getOffset(), 0);
+        this.page = firstPage;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (exhausted) {
+            return false;
+        }
+
+        while (!page.hasNext()) {
+            closePage();
+            offset += pageCount;
+
+            final boolean lastPage = pageCount < pageSize
+                    || (resourceCount >= 0 && offset >= resourceCount);
+
+            if (lastPage) {
+                exhausted = true;
+                return false;
+            }
+
+            page = fetchNextPage();
+            pageCount = 0;
+        }
+
+        return true;
+    }
+
+    @Override
+    public Instance next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Instance next = page.next();
+        pageCount++;
+        return next;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Instances can't be removed while listing");
+    }
+
+    /**
+     * Stops iterating and releases the page currently being streamed.
+     *
+     * @throws IOException thrown when the page can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        exhausted = true;
+
+        if (page instanceof Closeable) {
+            ((Closeable) page).close();
+        }
+    }
+
+    /**
+     * Releases the page that has just been consumed.
+     */
+    private void closePage() {
+        if (!(page instanceof Closeable)) {
+            return;
+        }
+
+        try {
+            ((Closeable) page).close();
+        } catch (IOException e) {
+            throw pageException("Unable to release page of instances", e);
+        }
+    }
+
+    /**
+     * Requests the page of instances starting at the current offset.
+     *
+     * @return iterator over the next page of instances
+     */
+    private Iterator<Instance> fetchNextPage() {
+        filter.setOffset(offset);
+
+        try {
+            if (streaming) {
+                return instances.streamPage(context, filter);
+            }
+
+            if (context != null) {
+                return instances.listPage(context, filter).iterator();
+            }
+
+            return instances.listPage(filter).iterator();
+        } catch (IOException e) {
+            throw pageException("Unable to list next page of instances", e);
+        }
+    }
+
+    /**
+     * Builds an unchecked exception annotated with the paging state.
+     *
+     * @param message error message
+     * @param cause underlying error
+     * @return new exception instance
+     */
+    private CloudApiException pageException(final String message, final IOException cause) {
+        final CloudApiException exception = new CloudApiException(message, cause);
+        exception.setContextValue("offset", offset);
+        exception.setContextValue("limit", pageSize);
+        exception.setContextValue("resourceCount", resourceCount);
+        return exception;
+    }
+}
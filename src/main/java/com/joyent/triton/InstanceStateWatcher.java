@@ -0,0 +1,290 @@
+package com.joyent.triton;
+
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.exceptions.InstanceGoneMissingException;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.queryfilters.InstanceFilter;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that waits for the state of many instances to change using a
+ * single background poller. Each interval the poller lists the instances
+ * that are still in each watched state with one filtered listing per state
+ * (for example {@code state=provisioning}), rather than requesting every
+ * instance individually. Instances that are no longer listed are looked up
+ * once by id and the {@link Future} returned by
+ * {@link #watch(UUID, String)} is completed with the changed instance.
+ *
+ * <p>Close the watcher when it is no longer needed in order to stop the
+ * poller. Futures that haven't completed are cancelled on close.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class InstanceStateWatcher implements AutoCloseable {
+    /**
+     * Logger instance.
+     */
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Instances API used to list and find instances.
+     */
+    private final Instances instances;
+
+    /**
+     * Scheduler that runs the poller.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Instances being watched by id.
+     */
+    private final Map<UUID, Watch> watches = new ConcurrentHashMap<>();
+
+    /**
+     * Flag indicating that the watcher was closed, guarded by this instance's monitor.
+     */
+    private boolean closed;
+
+    /**
+     * Creates a new instance and starts its poller.
+     *
+     * @param instances Instances API used to list and find instances
+     * @param pollIntervalMs time to wait between state checks in milliseconds
+     */
+    public InstanceStateWatcher(final Instances instances, final long pollIntervalMs) {
+        Objects.requireNonNull(instances, "Instances API must be present");
+
+        if (pollIntervalMs < 0) {
+            throw new IllegalArgumentException("Poll interval must be 0 milliseconds or greater");
+        }
+
+        this.instances = instances;
+
+        final ThreadFactory threadFactory = new BasicThreadFactory.Builder()
+                .namingPattern("triton-state-watcher-%d")
+                .daemon(true)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+
+        final long interval = Math.max(pollIntervalMs, 1L);
+
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                poll();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Watches an instance until its state is no longer the passed state.
+     *
+     * @param instanceId id of instance to watch
+     * @param fromState state the instance is expected to change from
+     * @return future completed with the instance once its state has changed
+     */
+    public Future<Instance> watch(final UUID instanceId, final String fromState) {
+        return watch(instanceId, fromState, null);
+    }
+
+    /**
+     * Watches an instance until its state is no longer the passed state. The
+     * future fails with an {@link InstanceGoneMissingException} if the
+     * instance is deleted while it is watched.
+     *
+     * @param instanceId id of instance to watch
+     * @param fromState state the instance is expected to change from
+     * @param callback optional callback notified when the state has changed (may be null)
+     * @return future completed with the instance once its state has changed
+     */
+    public synchronized Future<Instance> watch(final UUID instanceId,
+                                               final String fromState,
+                                               final FutureCallback<Instance> callback) {
+        Objects.requireNonNull(instanceId, "Instance id must be present");
+        Objects.requireNonNull(fromState, "Initial state value must be present");
+
+        if (closed) {
+            throw new IllegalStateException("State watcher has been closed");
+        }
+
+        final Watch existing = watches.get(instanceId);
+
+        if (existing != null && !existing.future.isDone()) {
+            if (existing.fromState.equals(fromState) && callback == null) {
+                return existing.future;
+            }
+
+            String msg = String.format("Instance [%s] is already being watched", instanceId);
+            throw new IllegalStateException(msg);
+        }
+
+        final Watch watch = new Watch(fromState, new BasicFuture<>(callback));
+        watches.put(instanceId, watch);
+
+        return watch.future;
+    }
+
+    /**
+     * Number of instances that are currently being watched.
+     * @return number of watched instances
+     */
+    public int size() {
+        return watches.size();
+    }
+
+    /**
+     * Checks the state of all of the watched instances once. This is called
+     * by the poller each interval.
+     */
+    void poll() {
+        if (watches.isEmpty()) {
+            return;
+        }
+
+        final Map<String, List<UUID>> byState = new LinkedHashMap<>();
+
+        for (Map.Entry<UUID, Watch> entry : watches.entrySet()) {
+            final Watch watch = entry.getValue();
+
+            if (watch.future.isDone()) {
+                watches.remove(entry.getKey(), watch);
+                continue;
+            }
+
+            List<UUID> ids = byState.get(watch.fromState);
+
+            if (ids == null) {
+                ids = new ArrayList<>();
+                byState.put(watch.fromState, ids);
+            }
+
+            ids.add(entry.getKey());
+        }
+
+        try (CloudApiConnectionContext context = instances.getCloudApi().createConnectionContext()) {
+            for (Map.Entry<String, List<UUID>> entry : byState.entrySet()) {
+                poll(context, entry.getKey(), entry.getValue());
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to poll the state of watched instances", e);
+        } catch (RuntimeException e) {
+            // An exception would stop the scheduled poller, so it is only logged
+            logger.error("Unexpected error polling the state of watched instances", e);
+        }
+    }
+
+    /**
+     * Checks the state of the watched instances that are expected to change
+     * from a single state.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param fromState state the instances are expected to change from
+     * @param ids ids of the watched instances
+     * @throws IOException thrown when the instances can't be listed or looked up
+     */
+    private void poll(final CloudApiConnectionContext context,
+                      final String fromState,
+                      final List<UUID> ids) throws IOException {
+        final Set<UUID> unchanged = new HashSet<>();
+        final Iterator<Instance> itr = instances.list(context,
+                new InstanceFilter().setState(fromState));
+
+        while (itr.hasNext()) {
+            unchanged.add(itr.next().getId());
+        }
+
+        for (UUID id : ids) {
+            if (unchanged.contains(id)) {
+                continue;
+            }
+
+            final Watch watch = watches.get(id);
+
+            if (watch == null || watch.future.isDone()) {
+                continue;
+            }
+
+            final Instance instance = instances.findById(context, id);
+
+            if (instance == null) {
+                final String msg = String.format("The instance [%s] is no longer "
+                        + "available. Maybe it was deleted?", id);
+                watches.remove(id, watch);
+                watch.future.failed(new InstanceGoneMissingException(msg));
+            } else if (!fromState.equals(instance.getState())) {
+                logger.debug("State of instance [{}] changed from [{}] to [{}]",
+                        id, fromState, instance.getState());
+                watches.remove(id, watch);
+                watch.future.completed(instance);
+            }
+        }
+    }
+
+    /**
+     * Stops the poller and cancels the futures of all instances that are
+     * still being watched.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+
+        scheduler.shutdownNow();
+
+        for (Watch watch : watches.values()) {
+            watch.future.cancel();
+        }
+
+        watches.clear();
+    }
+
+    /**
+     * State of a single watched instance.
+     */
+    private static final class Watch {
+        /**
+         * State the instance is expected to change from.
+         */
+        private final String fromState;
+
+        /**
+         * Future completed when the state has changed.
+         */
+        private final BasicFuture<Instance> future;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param fromState state the instance is expected to change from
+         * @param future future completed when the state has changed
+         */
+        private Watch(final String fromState, final BasicFuture<Instance> future) {
+            this.fromState = fromState;
+            this.future = future;
+        }
+    }
+}
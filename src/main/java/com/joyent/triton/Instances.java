@@ -2,14 +2,20 @@ package com.joyent.triton;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joyent.triton.config.DefaultsConfigContext;
 import com.joyent.triton.domain.Instance;
 import com.joyent.triton.exceptions.CloudApiIOException;
 import com.joyent.triton.exceptions.InstanceGoneMissingException;
+import com.joyent.triton.http.CloseableIterator;
 import com.joyent.triton.http.CloudApiConnectionContext;
 import com.joyent.triton.http.CloudApiHttpHeaders;
 import com.joyent.triton.http.CloudApiResponseHandler;
+import com.joyent.triton.http.Deadline;
 import com.joyent.triton.http.HttpCollectionResponse;
 import com.joyent.triton.http.JsonEntity;
+import com.joyent.triton.http.StreamingCollectionIterator;
+import com.joyent.triton.polling.FixedIntervalPollingStrategy;
+import com.joyent.triton.polling.PollingStrategy;
 import com.joyent.triton.queryfilters.InstanceFilter;
 import com.joyent.triton.queryfilters.InstanceFilterConverter;
 import com.joyent.triton.queryfilters.QueryFilterConverter;
@@ -17,7 +23,6 @@ import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
@@ -27,12 +32,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.commons.lang3.ObjectUtils.firstNonNull;
 import static org.apache.http.HttpStatus.SC_CREATED;
@@ -52,6 +67,22 @@ public class Instances extends BaseApiAccessor {
      */
     private static final int UNAVAILABLE = -1;
 
+    /**
+     * Maximum number of results returned by CloudAPI for a single request
+     * when the server doesn't report it.
+     */
+    private static final int DEFAULT_QUERY_LIMIT = 1000;
+
+    /**
+     * State of an instance that is being provisioned.
+     */
+    private static final String STATE_PROVISIONING = "provisioning";
+
+    /**
+     * State of an instance that is running.
+     */
+    private static final String STATE_RUNNING = "running";
+
     /**
      * Logger instance.
      */
@@ -64,6 +95,16 @@ public class Instances extends BaseApiAccessor {
     private final QueryFilterConverter<InstanceFilter> instanceFilterConverter =
             new InstanceFilterConverter();
 
+    /**
+     * Number of HEAD requests skipped by listing with {@link ListingStrategy#GET_ONLY}.
+     */
+    private final AtomicLong headRequestsSkipped = new AtomicLong();
+
+    /**
+     * Number of GET requests skipped by listing with {@link ListingStrategy#HEAD_THEN_GET}.
+     */
+    private final AtomicLong getRequestsSkipped = new AtomicLong();
+
     /**
      * Response handler for HEAD requests.
      */
@@ -124,14 +165,53 @@ public class Instances extends BaseApiAccessor {
     }
 
     /**
-     * Lists all instances.
+     * Lists all instances. Instances are requested from CloudAPI one page at
+     * a time as the returned iterator is consumed.
      *
      * @return Iterator of instance objects
      * @throws IOException thrown when there is a problem with getting the instance list
      */
     public Iterator<Instance> list() throws IOException {
+        return list(new InstanceFilter());
+    }
+
+    /**
+     * Lists instances that match the filter criteria. Instances are requested
+     * from CloudAPI one page at a time as the returned iterator is consumed,
+     * using a new connection context for each page.
+     *
+     * @param filter query filter to filter results by
+     * @return Iterator of instance objects
+     * @throws IOException thrown when there is a problem with getting the instance list
+     */
+    public Iterator<Instance> list(final InstanceFilter filter) throws IOException {
+        try (CloudApiConnectionContext context = getCloudApi().createConnectionContext()) {
+            return list(context, filter, null, 0);
+        }
+    }
+
+    /**
+     * Lists instances that match the filter criteria. When there are more
+     * matching instances than CloudAPI returns for a single request, up to
+     * the specified number of subsequent pages are requested in the
+     * background while the returned iterator is being consumed. Each page is
+     * requested with a new connection context from the shared connection
+     * pool, so the number of pages requested concurrently is also bounded by
+     * the maximum number of connections.
+     *
+     * @param filter query filter to filter results by
+     * @param prefetchPages maximum number of pages to request ahead of the page being consumed
+     * @return Iterator of instance objects
+     * @throws IOException thrown when there is a problem with getting the instance list
+     */
+    public Iterator<Instance> list(final InstanceFilter filter,
+                                   final int prefetchPages) throws IOException {
+        if (prefetchPages < 0) {
+            throw new IllegalArgumentException("Number of pages to prefetch must be 0 or greater");
+        }
+
         try (CloudApiConnectionContext context = getCloudApi().createConnectionContext()) {
-            return list(context);
+            return list(context, filter, null, prefetchPages);
         }
     }
 
@@ -147,7 +227,12 @@ public class Instances extends BaseApiAccessor {
     }
 
     /**
-     * Lists instances that match the filter criteria.
+     * Lists instances that match the filter criteria. When there are more
+     * matching instances than CloudAPI returns for a single request, the
+     * remaining pages are requested using the passed context as the returned
+     * iterator is consumed, so the context must stay open until iteration is
+     * complete. When the filter specifies a limit, only a single request is
+     * made.
      *
      * @param context request context used for sharing resources between API operations
      * @param filter query filter to filter results by
@@ -156,28 +241,276 @@ public class Instances extends BaseApiAccessor {
      */
     public Iterator<Instance> list(final CloudApiConnectionContext context,
                                    final InstanceFilter filter) throws IOException {
+        return list(context, filter, context, 0);
+    }
+
+    /**
+     * Lists instances that match the filter criteria.
+     *
+     * @param context request context used for the initial requests
+     * @param filter query filter to filter results by
+     * @param pagingContext context used to request subsequent pages or null to create one per page
+     * @param prefetchPages maximum number of pages to request in the background
+     * @return Iterator of instance objects
+     * @throws IOException thrown when there is a problem with getting the instance list
+     */
+    private Iterator<Instance> list(final CloudApiConnectionContext context,
+                                    final InstanceFilter filter,
+                                    final CloudApiConnectionContext pagingContext,
+                                    final int prefetchPages) throws IOException {
         Objects.requireNonNull(context, "Context object must be present");
-        Objects.requireNonNull(context, "Filter object must be present");
+        Objects.requireNonNull(filter, "Filter object must be present");
+
+        final ListingStrategy strategy = firstNonNull(getConfig().getListingStrategy(),
+                DefaultsConfigContext.DEFAULT_LISTING_STRATEGY);
+
+        if (strategy.equals(ListingStrategy.HEAD_THEN_GET)) {
+            /* We first perform a head request because we can use it to determine
+             * if any results are going to be returned. If there are no results,
+             * we can just return an empty collection and give up. */
+            final int headResourceCount = count(context, filter);
+
+            // -1 indicates error, 1+ indicates values present
+            if (headResourceCount == 0) {
+                getRequestsSkipped.incrementAndGet();
+                return Collections.emptyIterator();
+            }
+        } else {
+            headRequestsSkipped.incrementAndGet();
+        }
+
+        final HttpCollectionResponse<Instance> result = listPage(context, filter);
+        final HttpResponse response = result.getResponse();
+
+        final int resourceCount = intHeader(response, CloudApiHttpHeaders.X_RESOURCE_COUNT, UNAVAILABLE);
+        final int queryLimit = intHeader(response, CloudApiHttpHeaders.X_QUERY_LIMIT, DEFAULT_QUERY_LIMIT);
+        final int offset = firstNonNull(filter.getOffset(), 0);
+
+        final boolean singlePage = filter.getLimit() != null
+                || result.size() < queryLimit
+                || (resourceCount != UNAVAILABLE && offset + result.size() >= resourceCount);
+
+        if (singlePage) {
+            logger.info("Total instances: {}", result.size());
+            return result.getWrapped().iterator();
+        }
+
+        logger.debug("Listing [{}] instances in pages of [{}]", resourceCount, queryLimit);
 
+        /* Offsets of the subsequent pages can only be calculated up front
+         * when the server told us how many instances there are. */
+        if (prefetchPages > 0 && resourceCount != UNAVAILABLE) {
+            return new PrefetchingInstanceIterator(this, getCloudApi().getBackgroundExecutor(),
+                    filter, result.getWrapped(), queryLimit, resourceCount, prefetchPages);
+        }
+
+        return new InstancePageIterator(this, pagingContext, filter,
+                result.getWrapped().iterator(), queryLimit, resourceCount, false);
+    }
+
+    /**
+     * Lists instances that match the filter criteria while deserializing
+     * them from the response as the returned iterator is consumed, so that
+     * only a single instance is held in memory at a time. Pages are requested
+     * using a new connection context for each page.
+     *
+     * <p>The iterator holds a connection from the pool until it is exhausted,
+     * so it should be closed when iteration is stopped early.</p>
+     *
+     * @param filter query filter to filter results by
+     * @return Iterator of instance objects
+     * @throws IOException thrown when there is a problem with getting the instance list
+     */
+    public CloseableIterator<Instance> listStreaming(final InstanceFilter filter) throws IOException {
+        return listStreaming(null, filter);
+    }
+
+    /**
+     * Lists instances that match the filter criteria while deserializing
+     * them from the response as the returned iterator is consumed, so that
+     * only a single instance is held in memory at a time. When there are
+     * more matching instances than CloudAPI returns for a single request,
+     * the remaining pages are requested using the passed context after the
+     * previous page has been read, so the context must stay open until
+     * iteration is complete.
+     *
+     * <p>The iterator holds a connection from the pool until it is exhausted,
+     * so it should be closed when iteration is stopped early. Streaming
+     * listings always use {@link ListingStrategy#GET_ONLY}, because an empty
+     * response body costs no more to stream than a HEAD request.</p>
+     *
+     * @param context request context used for sharing resources between API operations
+     *                or null to create one for each page
+     * @param filter query filter to filter results by
+     * @return Iterator of instance objects
+     * @throws IOException thrown when there is a problem with getting the instance list
+     */
+    public CloseableIterator<Instance> listStreaming(final CloudApiConnectionContext context,
+                                                     final InstanceFilter filter) throws IOException {
+        Objects.requireNonNull(filter, "Filter object must be present");
+
+        final StreamingCollectionIterator<Instance> firstPage = streamPage(context, filter);
+        final HttpResponse response = firstPage.getResponse();
+
+        final int resourceCount = intHeader(response, CloudApiHttpHeaders.X_RESOURCE_COUNT, UNAVAILABLE);
+        final int queryLimit = intHeader(response, CloudApiHttpHeaders.X_QUERY_LIMIT, DEFAULT_QUERY_LIMIT);
+        final int offset = firstNonNull(filter.getOffset(), 0);
+
+        final boolean singlePage = filter.getLimit() != null
+                || (resourceCount != UNAVAILABLE && offset + queryLimit >= resourceCount);
+
+        if (singlePage) {
+            return firstPage;
+        }
+
+        return new InstancePageIterator(this, context, filter, firstPage,
+                queryLimit, resourceCount, true);
+    }
+
+    /**
+     * Requests a single page of instances matching the filter criteria and
+     * streams the results. The limit and offset of the page are specified by
+     * the filter.
+     *
+     * @param context request context used for sharing resources between API operations
+     *                or null to create a new context
+     * @param filter query filter to filter results by
+     * @return iterator over the instances in the response
+     * @throws IOException thrown when there is a problem with getting the instance list
+     */
+    StreamingCollectionIterator<Instance> streamPage(final CloudApiConnectionContext context,
+                                                     final InstanceFilter filter) throws IOException {
         final List<NameValuePair> filterParams = instanceFilterConverter.urlParamsFromFilter(filter);
         final String path = String.format("/%s/machines", getConfig().getUser());
+        final HttpGet get = getConnectionFactory().get(path, filterParams);
+
+        if (context != null) {
+            return executeStreaming(context, get, listInstanceHandler);
+        }
+
+        /* The connection is held by the response, so it remains usable once
+         * the context has been closed. */
+        try (CloudApiConnectionContext pageContext = getCloudApi().createConnectionContext()) {
+            return executeStreaming(pageContext, get, listInstanceHandler);
+        }
+    }
+
+    /**
+     * Counts the instances that match the filter criteria using a single
+     * HEAD request, without transferring any instances.
+     *
+     * @param filter query filter to filter results by
+     * @return number of matching instances or -1 if the server didn't report it
+     * @throws IOException thrown when there is a problem with counting the instances
+     */
+    public int count(final InstanceFilter filter) throws IOException {
+        try (CloudApiConnectionContext context = getCloudApi().createConnectionContext()) {
+            return count(context, filter);
+        }
+    }
 
-        final HttpClient client = context.getHttpClient();
+    /**
+     * Counts the instances that match the filter criteria using a single
+     * HEAD request, without transferring any instances.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param filter query filter to filter results by
+     * @return number of matching instances or -1 if the server didn't report it
+     * @throws IOException thrown when there is a problem with counting the instances
+     */
+    public int count(final CloudApiConnectionContext context,
+                     final InstanceFilter filter) throws IOException {
+        Objects.requireNonNull(context, "Context object must be present");
+        Objects.requireNonNull(filter, "Filter object must be present");
 
+        final List<NameValuePair> filterParams = instanceFilterConverter.urlParamsFromFilter(filter);
+        final String path = String.format("/%s/machines", getConfig().getUser());
         final HttpHead head = getConnectionFactory().head(path, filterParams);
 
-        /* We first perform a head request because we can use it to determine
-         * if any results are going to be returned. If there are no results,
-         * we can just return an empty collection and give up. */
         final Map<String, Header> headHeaders = execute(
                 context, head, headerInstanceHandler);
-        final int headResourceCount = resourceCount(headHeaders);
 
-        // -1 indicates error, 1+ indicates values present
-        if (headResourceCount == 0) {
-            return Collections.emptyIterator();
+        return resourceCount(headHeaders);
+    }
+
+    /**
+     * Lists all of the instances of the account and builds a local
+     * inventory of them that can be queried by state, tags, image, package,
+     * compute node, IP address and memory without listing them again.
+     *
+     * @return inventory of every instance
+     * @throws IOException thrown when there is a problem listing the instances
+     */
+    public InstanceInventory inventory() throws IOException {
+        try (CloudApiConnectionContext context = getCloudApi().createConnectionContext()) {
+            return inventory(context, new InstanceFilter());
         }
+    }
+
+    /**
+     * Lists the instances that match the filter criteria and builds a local
+     * inventory of them that can be queried by state, tags, image, package,
+     * compute node, IP address and memory without listing them again.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param filter query filter to filter results by
+     * @return inventory of the matching instances
+     * @throws IOException thrown when there is a problem listing the instances
+     */
+    public InstanceInventory inventory(final CloudApiConnectionContext context,
+                                       final InstanceFilter filter) throws IOException {
+        return new InstanceInventory(list(context, filter));
+    }
+
+    /**
+     * Number of HEAD requests that weren't made because listings were
+     * performed with {@link ListingStrategy#GET_ONLY}.
+     *
+     * @return number of round-trips saved by skipping HEAD requests
+     */
+    public long getHeadRequestsSkipped() {
+        return headRequestsSkipped.get();
+    }
 
+    /**
+     * Number of GET requests that weren't made because a HEAD request
+     * performed with {@link ListingStrategy#HEAD_THEN_GET} found that there
+     * were no matching instances.
+     *
+     * @return number of round-trips saved by skipping GET requests
+     */
+    public long getGetRequestsSkipped() {
+        return getRequestsSkipped.get();
+    }
+
+    /**
+     * Requests a single page of instances matching the filter criteria using
+     * a new connection context. The limit and offset of the page are
+     * specified by the filter.
+     *
+     * @param filter query filter to filter results by
+     * @return collection of instances
+     * @throws IOException thrown when there is a problem with getting the instance list
+     */
+    Collection<Instance> listPage(final InstanceFilter filter) throws IOException {
+        try (CloudApiConnectionContext context = getCloudApi().createConnectionContext()) {
+            return listPage(context, filter);
+        }
+    }
+
+    /**
+     * Requests a single page of instances matching the filter criteria. The
+     * limit and offset of the page are specified by the filter.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param filter query filter to filter results by
+     * @return collection of instances wrapping the HTTP response
+     * @throws IOException thrown when there is a problem with getting the instance list
+     */
+    HttpCollectionResponse<Instance> listPage(final CloudApiConnectionContext context,
+                                              final InstanceFilter filter) throws IOException {
+        final List<NameValuePair> filterParams = instanceFilterConverter.urlParamsFromFilter(filter);
+        final String path = String.format("/%s/machines", getConfig().getUser());
         final HttpGet get = getConnectionFactory().get(path, filterParams);
 
         @SuppressWarnings("unchecked")
@@ -185,23 +518,7 @@ public class Instances extends BaseApiAccessor {
                 (HttpCollectionResponse<Instance>) execute(context,
                         get, listInstanceHandler);
 
-        final HttpResponse response = result.getResponse();
-
-        final String resourceCountVal = response.getFirstHeader(
-                CloudApiHttpHeaders.X_RESOURCE_COUNT).getValue();
-        @SuppressWarnings("ConstantConditions")
-        final int resourceCount = Integer.parseInt(firstNonNull(resourceCountVal, "0"));
-        final String queryLimitVal = response.getFirstHeader(
-                CloudApiHttpHeaders.X_QUERY_LIMIT).getValue();
-        @SuppressWarnings("ConstantConditions")
-        final int queryLimit = Integer.parseInt(firstNonNull(queryLimitVal, "1000"));
-
-        if (resourceCount < queryLimit) {
-            logger.info("Total instances: {}", result.size());
-            return result.getWrapped().iterator();
-        }
-
-        return result.iterator();
+        return result;
     }
 
     /**
@@ -222,7 +539,7 @@ public class Instances extends BaseApiAccessor {
         final String path = String.format("/%s/machines", getConfig().getUser());
         final HttpPost post = getConnectionFactory().post(path);
 
-        HttpEntity entity = new JsonEntity(getMapper(), instance);
+        HttpEntity entity = JsonEntity.buffered(getMapper(), instance);
         post.setEntity(entity);
 
         final Instance result = execute(context, post,
@@ -233,6 +550,159 @@ public class Instances extends BaseApiAccessor {
         return result;
     }
 
+    /**
+     * Creates many instances, sending at most {@code parallelism} requests at
+     * the same time over the shared connection pool. A failure to create one
+     * instance is recorded in the result and doesn't abort the rest of the
+     * batch.
+     *
+     * @param instances instance objects with the appropriate fields populated
+     * @param parallelism maximum number of create requests in flight
+     * @return created instance or error for each submitted instance, in submission order
+     */
+    public BulkResult<Instance, Instance> createAll(final Collection<Instance> instances,
+                                                    final int parallelism) {
+        return createAll(instances, new BulkOptions().setParallelism(parallelism));
+    }
+
+    /**
+     * Creates many instances using the passed parallelism, rate limit and
+     * progress listener. A failure to create one instance is recorded in the
+     * result and doesn't abort the rest of the batch.
+     *
+     * @param instances instance objects with the appropriate fields populated
+     * @param options settings controlling how the requests are sent
+     * @return created instance or error for each submitted instance, in submission order
+     */
+    public BulkResult<Instance, Instance> createAll(final Collection<Instance> instances,
+                                                    final BulkOptions options) {
+        Objects.requireNonNull(instances, "Instances must be present");
+
+        final BulkExecutor executor = new BulkExecutor(getCloudApi(), options);
+
+        return executor.execute(instances, new BulkExecutor.Operation<Instance, Instance>() {
+            @Override
+            public Instance apply(final CloudApiConnectionContext context,
+                                  final Instance instance) throws IOException {
+                return create(context, instance);
+            }
+        });
+    }
+
+    /**
+     * Creates many instances, sending at most {@code parallelism} requests at
+     * the same time, and waits for the created instances to finish
+     * provisioning. The state of all of the provisioning instances is checked
+     * by a single poller on the calling thread with one filtered listing per
+     * interval. Instances that don't reach the running state in time are
+     * recorded as failures that still carry the last known instance.
+     *
+     * @param instances instance objects with the appropriate fields populated
+     * @param parallelism maximum number of create requests in flight
+     * @param maxWaitTimeMs maximum amount of time to wait for the instances to start in milliseconds
+     * @param waitIntervalMs time to wait between state checks in milliseconds
+     * @return running instance or error for each submitted instance, in submission order
+     */
+    public BulkResult<Instance, Instance> createAll(final Collection<Instance> instances,
+                                                    final int parallelism,
+                                                    final long maxWaitTimeMs,
+                                                    final long waitIntervalMs) {
+        return createAll(instances, new BulkOptions().setParallelism(parallelism),
+                maxWaitTimeMs, waitIntervalMs);
+    }
+
+    /**
+     * Creates many instances using the passed parallelism, rate limit and
+     * progress listener, and waits for the created instances to finish
+     * provisioning in the same way as
+     * {@link #createAll(Collection, int, long, long)}.
+     *
+     * @param instances instance objects with the appropriate fields populated
+     * @param options settings controlling how the requests are sent
+     * @param maxWaitTimeMs maximum amount of time to wait for the instances to start in milliseconds
+     * @param waitIntervalMs time to wait between state checks in milliseconds
+     * @return running instance or error for each submitted instance, in submission order
+     */
+    public BulkResult<Instance, Instance> createAll(final Collection<Instance> instances,
+                                                    final BulkOptions options,
+                                                    final long maxWaitTimeMs,
+                                                    final long waitIntervalMs) {
+        if (maxWaitTimeMs < 0) {
+            throw new IllegalArgumentException("Maximum wait time must be 0 milliseconds "
+                    + "or greater");
+        }
+
+        return awaitRunning(createAll(instances, options), maxWaitTimeMs, waitIntervalMs);
+    }
+
+    /**
+     * Waits for the successfully created instances of a bulk create to leave
+     * the provisioning state using a single {@link InstanceStateWatcher}.
+     *
+     * @param created result of the bulk create
+     * @param maxWaitTimeMs maximum amount of time to wait for the instances to start in milliseconds
+     * @param waitIntervalMs time to wait between state checks in milliseconds
+     * @return result with the last known state of each instance
+     */
+    private BulkResult<Instance, Instance> awaitRunning(final BulkResult<Instance, Instance> created,
+                                                        final long maxWaitTimeMs,
+                                                        final long waitIntervalMs) {
+        final List<BulkResult.Item<Instance, Instance>> items = new ArrayList<>();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitTimeMs);
+
+        try (InstanceStateWatcher watcher = new InstanceStateWatcher(this, waitIntervalMs)) {
+            final Map<UUID, Future<Instance>> futures = new HashMap<>();
+
+            for (Instance instance : created.getResults()) {
+                if (instance.getState() == null || STATE_PROVISIONING.equals(instance.getState())) {
+                    futures.put(instance.getId(), watcher.watch(instance.getId(), STATE_PROVISIONING));
+                }
+            }
+
+            for (BulkResult.Item<Instance, Instance> item : created.getItems()) {
+                if (!item.isSuccessful()) {
+                    items.add(item);
+                    continue;
+                }
+
+                final Future<Instance> future = futures.get(item.getResult().getId());
+                Instance instance = item.getResult();
+                Exception error = null;
+
+                if (future != null) {
+                    try {
+                        final long remaining = Math.max(deadline - System.nanoTime(), 0L);
+                        instance = future.get(remaining, TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        error = new InterruptedIOException("Interrupted while waiting for instance to start");
+                    } catch (ExecutionException e) {
+                        error = (Exception)e.getCause();
+                    } catch (TimeoutException | CancellationException e) {
+                        logger.debug("Instance [{}] didn't start in time", instance.getId());
+                    }
+                }
+
+                if (error == null && !STATE_RUNNING.equals(instance.getState())) {
+                    final CloudApiIOException e = new CloudApiIOException(
+                            "Instance didn't reach the running state");
+                    e.setContextValue("instanceId", instance.getId());
+                    e.setContextValue("state", instance.getState());
+                    e.setContextValue("maxWaitTimeMs", maxWaitTimeMs);
+                    error = e;
+                }
+
+                if (error == null) {
+                    items.add(BulkResult.Item.success(item.getKey(), instance));
+                } else {
+                    items.add(new BulkResult.Item<>(item.getKey(), instance, error));
+                }
+            }
+        }
+
+        return new BulkResult<>(items);
+    }
+
     /**
      * Delete an instance.
      *
@@ -290,10 +760,51 @@ public class Instances extends BaseApiAccessor {
         logger.info("Deleted instance: {}", instanceId);
     }
 
+    /**
+     * Deletes many instances using the passed parallelism, rate limit and
+     * progress listener. A failure to delete one instance is recorded in the
+     * result and doesn't abort the rest of the batch.
+     *
+     * @param instanceIds ids of the instances to delete
+     * @param options settings controlling how the requests are sent
+     * @return outcome for each instance id, in submission order
+     */
+    public BulkResult<UUID, Void> deleteAll(final Collection<UUID> instanceIds,
+                                            final BulkOptions options) {
+        Objects.requireNonNull(instanceIds, "Instance ids must be present");
+
+        final BulkExecutor executor = new BulkExecutor(getCloudApi(), options);
+
+        return executor.execute(instanceIds, new BulkExecutor.Operation<UUID, Void>() {
+            @Override
+            public Void apply(final CloudApiConnectionContext context,
+                              final UUID instanceId) throws IOException {
+                delete(context, instanceId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Deletes all of the instances matching the filter. The ids of the
+     * matching instances are listed before any instance is deleted, so that
+     * the deletes don't change the pages of the listing.
+     *
+     * @param filter query filter selecting the instances to delete
+     * @param options settings controlling how the requests are sent
+     * @return outcome for each matching instance id
+     * @throws IOException thrown when the matching instances can't be listed
+     */
+    public BulkResult<UUID, Void> deleteAll(final InstanceFilter filter,
+                                            final BulkOptions options) throws IOException {
+        return deleteAll(listIds(filter), options);
+    }
+
     /**
      * Wait for the specified instance's state to change from an expected value.
      * If the state expected is not available initially, then we consider it a
-     * state change.
+     * state change. This blocks the calling thread; use an
+     * {@link InstanceStateWatcher} to wait for many instances at once.
      *
      * @param instance instance to monitor
      * @param initialState expected initial state
@@ -383,14 +894,66 @@ public class Instances extends BaseApiAccessor {
                                        final String initialState,
                                        final long maxWaitTimeMs,
                                        final long waitIntervalMs) throws IOException {
+        return waitForStateChange(context, instanceId, initialState, maxWaitTimeMs,
+                new FixedIntervalPollingStrategy(Math.max(waitIntervalMs, 0L)));
+    }
+
+    /**
+     * Wait for the specified instance's state to change from an expected value,
+     * polling at the times decided by the passed strategy.
+     * If the state expected is not available initially, then we consider it a
+     * state change.
+     *
+     * @param instanceId id of instance to monitor
+     * @param initialState expected initial state
+     * @param maxWaitTimeMs maximum amount of time to wait for a state change in milliseconds
+     * @param pollingStrategy strategy deciding how long to wait between state change checks
+     * @return a reference to the instance that changed
+     * @throws IOException thrown when something goes wrong when checking state
+     */
+    public Instance waitForStateChange(final UUID instanceId,
+                                       final String initialState,
+                                       final long maxWaitTimeMs,
+                                       final PollingStrategy pollingStrategy) throws IOException {
+        try (CloudApiConnectionContext context = getCloudApi().createConnectionContext()) {
+            return waitForStateChange(context, instanceId, initialState, maxWaitTimeMs, pollingStrategy);
+        }
+    }
+
+    /**
+     * Wait for the specified instance's state to change from an expected value,
+     * polling at the times decided by the passed strategy. The maximum wait
+     * time is measured with a monotonic clock, so slow responses count
+     * towards it and the final sleep is shortened so that waiting ends on
+     * time.
+     * If the state expected is not available initially, then we consider it a
+     * state change.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param instanceId id of instance to monitor
+     * @param initialState expected initial state
+     * @param maxWaitTimeMs maximum amount of time to wait for a state change in milliseconds
+     * @param pollingStrategy strategy deciding how long to wait between state change checks
+     * @return a reference to the instance that changed
+     * @throws IOException thrown when something goes wrong when checking state
+     */
+    public Instance waitForStateChange(final CloudApiConnectionContext context,
+                                       final UUID instanceId,
+                                       final String initialState,
+                                       final long maxWaitTimeMs,
+                                       final PollingStrategy pollingStrategy) throws IOException {
         Objects.requireNonNull(instanceId, "Instance id must be present");
         Objects.requireNonNull(initialState, "Initial state value must be present");
+        Objects.requireNonNull(pollingStrategy, "Polling strategy must be present");
 
         if (maxWaitTimeMs < 0) {
             throw new IllegalArgumentException("Maximum wait time must be 0 milliseconds "
                     + "or greater");
         }
 
+        final long start = System.nanoTime();
+        final Deadline deadline = Deadline.after(maxWaitTimeMs, TimeUnit.MILLISECONDS);
+
         Instance lastPoll = findById(context, instanceId);
 
         if (lastPoll == null) {
@@ -404,19 +967,29 @@ public class Instances extends BaseApiAccessor {
             return lastPoll;
         }
 
-        long waited = 0;
+        int attempt = 1;
 
         while (true) {
+            if (deadline.isExpired()) {
+                logger.debug("Exceeded maximum wait time [{} ms] for state change - "
+                        + "no longer waiting", maxWaitTimeMs);
+                break;
+            }
+
+            final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            final long delay = Math.min(pollingStrategy.nextDelay(lastPoll.getState(), attempt, elapsedMs),
+                    deadline.remaining(TimeUnit.MILLISECONDS));
+
             try {
-                if (waitIntervalMs > 0) {
-                    Thread.sleep(waitIntervalMs);
-                    waited += waitIntervalMs;
+                if (delay > 0) {
+                    Thread.sleep(delay);
                 }
             } catch (InterruptedException e) {
                 return null;
             }
 
             lastPoll = findById(context, instanceId);
+            attempt++;
 
             if (lastPoll == null) {
                 final String msg = String.format("The instance [%s] was successfully polled "
@@ -439,12 +1012,6 @@ public class Instances extends BaseApiAccessor {
                         initialState,  lastPoll.getState());
                 break;
             }
-
-            if (waited > maxWaitTimeMs) {
-                logger.debug("Exceeded maximum wait time [{} ms] for state change - "
-                        + "no longer waiting", maxWaitTimeMs);
-                break;
-            }
         }
 
         return lastPoll;
@@ -477,7 +1044,7 @@ public class Instances extends BaseApiAccessor {
                 getConfig().getUser(), instanceId);
         final HttpGet get = getConnectionFactory().get(path);
 
-        return execute(context, get, findInstanceHandler);
+        return executeConditional(context, get, findInstanceHandler);
     }
 
     /**
@@ -517,7 +1084,7 @@ public class Instances extends BaseApiAccessor {
 
         final String path = String.format("/%s/machines/%s/tags", getConfig().getUser(), instanceId);
         final HttpPost post = getConnectionFactory().post(path);
-        final HttpEntity entity = new JsonEntity(getMapper(), tags);
+        final HttpEntity entity = JsonEntity.buffered(getMapper(), tags);
         post.setEntity(entity);
 
         final Map<String, String> result = execute(context, post, tagsHandler);
@@ -563,7 +1130,7 @@ public class Instances extends BaseApiAccessor {
         final String path = String.format("/%s/machines/%s/tags", getConfig().getUser(), instanceId);
         final HttpPut put = getConnectionFactory().put(path);
 
-        final HttpEntity entity = new JsonEntity(getMapper(), tags);
+        final HttpEntity entity = JsonEntity.buffered(getMapper(), tags);
         put.setEntity(entity);
 
         final Map<String, String> result = execute(context, put,
@@ -576,6 +1143,117 @@ public class Instances extends BaseApiAccessor {
         return result;
     }
 
+    /**
+     * Adds tags to many instances using the passed parallelism, rate limit
+     * and progress listener. A failure to tag one instance is recorded in the
+     * result and doesn't abort the rest of the batch.
+     *
+     * @param instanceIds ids of the instances to tag
+     * @param tags tags to add
+     * @param options settings controlling how the requests are sent
+     * @return all tags of each instance after the update, in submission order
+     */
+    public BulkResult<UUID, Map<String, String>> addTagsToAll(final Collection<UUID> instanceIds,
+                                                              final Map<String, String> tags,
+                                                              final BulkOptions options) {
+        Objects.requireNonNull(instanceIds, "Instance ids must be present");
+        Objects.requireNonNull(tags, "Tags must be present");
+
+        final BulkExecutor executor = new BulkExecutor(getCloudApi(), options);
+
+        return executor.execute(instanceIds, new BulkExecutor.Operation<UUID, Map<String, String>>() {
+            @Override
+            public Map<String, String> apply(final CloudApiConnectionContext context,
+                                             final UUID instanceId) throws IOException {
+                return addTags(context, instanceId, tags);
+            }
+        });
+    }
+
+    /**
+     * Adds tags to all of the instances matching the filter.
+     *
+     * @param filter query filter selecting the instances to tag
+     * @param tags tags to add
+     * @param options settings controlling how the requests are sent
+     * @return all tags of each matching instance after the update
+     * @throws IOException thrown when the matching instances can't be listed
+     */
+    public BulkResult<UUID, Map<String, String>> addTagsToAll(final InstanceFilter filter,
+                                                              final Map<String, String> tags,
+                                                              final BulkOptions options)
+            throws IOException {
+        return addTagsToAll(listIds(filter), tags, options);
+    }
+
+    /**
+     * Replaces the tags of many instances using the passed parallelism, rate
+     * limit and progress listener. A failure to tag one instance is recorded
+     * in the result and doesn't abort the rest of the batch.
+     *
+     * @param instanceIds ids of the instances to tag
+     * @param tags tags to replace the existing tags with
+     * @param options settings controlling how the requests are sent
+     * @return tags of each instance after the update, in submission order
+     */
+    public BulkResult<UUID, Map<String, String>> replaceTagsOnAll(final Collection<UUID> instanceIds,
+                                                                  final Map<String, String> tags,
+                                                                  final BulkOptions options) {
+        Objects.requireNonNull(instanceIds, "Instance ids must be present");
+        Objects.requireNonNull(tags, "Tags must be present");
+
+        final BulkExecutor executor = new BulkExecutor(getCloudApi(), options);
+
+        return executor.execute(instanceIds, new BulkExecutor.Operation<UUID, Map<String, String>>() {
+            @Override
+            public Map<String, String> apply(final CloudApiConnectionContext context,
+                                             final UUID instanceId) throws IOException {
+                return replaceTags(context, instanceId, tags);
+            }
+        });
+    }
+
+    /**
+     * Replaces the tags of all of the instances matching the filter. The ids
+     * of the matching instances are listed before any instance is updated,
+     * so filtering by a tag that is being replaced is safe.
+     *
+     * @param filter query filter selecting the instances to tag
+     * @param tags tags to replace the existing tags with
+     * @param options settings controlling how the requests are sent
+     * @return tags of each matching instance after the update
+     * @throws IOException thrown when the matching instances can't be listed
+     */
+    public BulkResult<UUID, Map<String, String>> replaceTagsOnAll(final InstanceFilter filter,
+                                                                  final Map<String, String> tags,
+                                                                  final BulkOptions options)
+            throws IOException {
+        return replaceTagsOnAll(listIds(filter), tags, options);
+    }
+
+    /**
+     * Lists the ids of all of the instances matching the filter.
+     *
+     * @param filter query filter to filter results by
+     * @return ids in listing order
+     * @throws IOException thrown when there is a problem with getting the instance list
+     */
+    private List<UUID> listIds(final InstanceFilter filter) throws IOException {
+        Objects.requireNonNull(filter, "Filter must be present");
+
+        final List<UUID> ids = new ArrayList<>();
+
+        try (CloudApiConnectionContext context = getCloudApi().createConnectionContext()) {
+            final Iterator<Instance> itr = list(context, filter);
+
+            while (itr.hasNext()) {
+                ids.add(itr.next().getId());
+            }
+        }
+
+        return ids;
+    }
+
     /**
      * Calculates the amount of results from an operation that contained the resource count
      * HTTP response header.
@@ -601,4 +1279,23 @@ public class Instances extends BaseApiAccessor {
 
         return UNAVAILABLE;
     }
+
+    /**
+     * Parses the value of an integer HTTP response header.
+     *
+     * @param response HTTP response containing the header
+     * @param name name of the header
+     * @param defaultValue value returned when the header is missing
+     * @return header value or the default value
+     */
+    private static int intHeader(final HttpResponse response, final String name,
+                                 final int defaultValue) {
+        final Header header = response.getFirstHeader(name);
+
+        if (header == null || header.getValue() == null) {
+            return defaultValue;
+        }
+
+        return Integer.parseInt(header.getValue());
+    }
 }
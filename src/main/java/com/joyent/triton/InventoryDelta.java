@@ -0,0 +1,91 @@
+package com.joyent.triton;
+
+import com.joyent.triton.domain.Instance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Instances that were added, changed or removed between two
+ * synchronizations of an {@link InstanceInventory}.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class InventoryDelta {
+    /**
+     * Instances that weren't in the inventory before.
+     */
+    private final List<Instance> added;
+
+    /**
+     * Current version of the instances that changed.
+     */
+    private final List<Instance> changed;
+
+    /**
+     * Last known version of the instances that were removed.
+     */
+    private final List<Instance> removed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param added instances that weren't in the inventory before
+     * @param changed current version of the instances that changed
+     * @param removed last known version of the instances that were removed
+     */
+    InventoryDelta(final List<Instance> added,
+                   final List<Instance> changed,
+                   final List<Instance> removed) {
+        Objects.requireNonNull(added, "Added instances must be present");
+        Objects.requireNonNull(changed, "Changed instances must be present");
+        Objects.requireNonNull(removed, "Removed instances must be present");
+
+        this.added = Collections.unmodifiableList(added);
+        this.changed = Collections.unmodifiableList(changed);
+        this.removed = Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * Instances that weren't in the inventory before.
+     * @return unmodifiable list of added instances
+     */
+    public List<Instance> getAdded() {
+        return added;
+    }
+
+    /**
+     * Current version of the instances that changed.
+     * @return unmodifiable list of changed instances
+     */
+    public List<Instance> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Last known version of the instances that were removed.
+     * @return unmodifiable list of removed instances
+     */
+    public List<Instance> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Checks to see if nothing changed.
+     * @return true if no instances were added, changed or removed
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryDelta{"
+                + "added=" + added.size()
+                + ", changed=" + changed.size()
+                + ", removed=" + removed.size()
+                + '}';
+    }
+}
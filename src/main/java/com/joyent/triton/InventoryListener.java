@@ -0,0 +1,19 @@
+package com.joyent.triton;
+
+/**
+ * Listener notified when a synchronization of an {@link InstanceInventory}
+ * finds instances that were added, changed or removed. The listener is
+ * called from the thread that runs the synchronization.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public interface InventoryListener {
+    /**
+     * Called after the changes found by a synchronization were applied to
+     * the inventory. It isn't called when nothing changed.
+     *
+     * @param delta instances that were added, changed or removed
+     */
+    void inventoryChanged(InventoryDelta delta);
+}
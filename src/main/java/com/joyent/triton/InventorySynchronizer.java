@@ -0,0 +1,302 @@
+package com.joyent.triton;
+
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.queryfilters.InstanceFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.Instant;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps an {@link InstanceInventory} up to date by applying only the
+ * instances that changed since the previous synchronization. Each call to
+ * {@link #sync()} lists the instances and compares their {@code updated}
+ * timestamp and state with the inventory, so unchanged instances aren't
+ * re-indexed. Listings after the first include tombstones of instances
+ * destroyed since the previous synchronization (see
+ * {@link InstanceFilter#setTombstone(Integer)}), so that deletions are
+ * reported with the final state of the instance. Instances that are no
+ * longer listed at all are removed too.
+ *
+ * <p>The changes found by a synchronization are applied to the inventory at
+ * once and reported to the registered {@link InventoryListener}s.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class InventorySynchronizer {
+    /**
+     * State of instances that have been destroyed.
+     */
+    private static final String STATE_DELETED = "deleted";
+
+    /**
+     * Extra minutes added to the tombstone window so that instances destroyed
+     * while the previous listing was in progress are included.
+     */
+    private static final long TOMBSTONE_SLACK_MINUTES = 1L;
+
+    /**
+     * Logger instance.
+     */
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Instances API used to list instances.
+     */
+    private final Instances instances;
+
+    /**
+     * Query filter selecting the instances to keep in the inventory.
+     */
+    private final InstanceFilter filter;
+
+    /**
+     * Inventory kept up to date by this instance.
+     */
+    private final InstanceInventory inventory =
+            new InstanceInventory(Collections.<Instance>emptyIterator());
+
+    /**
+     * Listeners notified of the changes found by each synchronization.
+     */
+    private final List<InventoryListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Latest {@code updated} timestamp seen, guarded by this instance's monitor.
+     */
+    private Instant watermark;
+
+    /**
+     * Value of {@link System#nanoTime()} when the previous synchronization
+     * started, guarded by this instance's monitor.
+     */
+    private long lastSyncNanos;
+
+    /**
+     * Flag indicating that the inventory has been synchronized at least
+     * once, guarded by this instance's monitor.
+     */
+    private boolean synced;
+
+    /**
+     * Creates a new instance that keeps every instance of the account in
+     * its inventory.
+     *
+     * @param instances Instances API used to list instances
+     */
+    public InventorySynchronizer(final Instances instances) {
+        this(instances, new InstanceFilter());
+    }
+
+    /**
+     * Creates a new instance that keeps the instances that match the filter
+     * criteria in its inventory.
+     *
+     * @param instances Instances API used to list instances
+     * @param filter query filter selecting the instances to keep (it is copied)
+     */
+    public InventorySynchronizer(final Instances instances, final InstanceFilter filter) {
+        Objects.requireNonNull(instances, "Instances API must be present");
+        Objects.requireNonNull(filter, "Filter object must be present");
+
+        this.instances = instances;
+        this.filter = new InstanceFilter(filter);
+    }
+
+    /**
+     * Registers a listener that is notified of the changes found by each
+     * synchronization.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(final InventoryListener listener) {
+        Objects.requireNonNull(listener, "Listener must be present");
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(final InventoryListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Inventory kept up to date by this instance. It is empty until the
+     * first synchronization.
+     *
+     * @return the inventory
+     */
+    public InstanceInventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Latest {@code updated} timestamp of the instances seen so far.
+     * @return watermark or null if no instance has been seen
+     */
+    public synchronized Instant getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Brings the inventory up to date with the instances on Triton.
+     *
+     * @return instances that were added, changed or removed
+     * @throws IOException thrown when there is a problem listing the instances
+     */
+    public InventoryDelta sync() throws IOException {
+        try (CloudApiConnectionContext context = instances.getCloudApi().createConnectionContext()) {
+            return sync(context);
+        }
+    }
+
+    /**
+     * Brings the inventory up to date with the instances on Triton. The
+     * inventory is left unchanged if the listing fails.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @return instances that were added, changed or removed
+     * @throws IOException thrown when there is a problem listing the instances
+     */
+    public synchronized InventoryDelta sync(final CloudApiConnectionContext context) throws IOException {
+        final long started = System.nanoTime();
+        final InstanceFilter listingFilter = new InstanceFilter(filter);
+
+        if (synced) {
+            listingFilter.setTombstone(tombstoneWindowMinutes(started));
+        }
+
+        final List<Instance> added = new ArrayList<>();
+        final List<Instance> changed = new ArrayList<>();
+        final List<Instance> removed = new ArrayList<>();
+        final Set<UUID> listed = new HashSet<>();
+        Instant latest = watermark;
+
+        final Iterator<Instance> itr = instances.list(context, listingFilter);
+
+        while (itr.hasNext()) {
+            final Instance current = itr.next();
+            final Instance previous = inventory.get(current.getId());
+            listed.add(current.getId());
+
+            if (STATE_DELETED.equals(current.getState())) {
+                if (previous != null) {
+                    removed.add(current);
+                }
+
+                continue;
+            }
+
+            latest = later(latest, current.getUpdated());
+
+            if (previous == null) {
+                added.add(current);
+            } else if (isModified(previous, current)) {
+                changed.add(current);
+            }
+        }
+
+        for (Instance known : inventory.getInstances()) {
+            if (!listed.contains(known.getId())) {
+                removed.add(known);
+            }
+        }
+
+        final InventoryDelta delta = new InventoryDelta(added, changed, removed);
+        inventory.apply(delta);
+
+        this.watermark = latest;
+        this.lastSyncNanos = started;
+        this.synced = true;
+
+        logger.debug("Synchronized instance inventory: {}", delta);
+
+        if (!delta.isEmpty()) {
+            notifyListeners(delta);
+        }
+
+        return delta;
+    }
+
+    /**
+     * Calculates the number of minutes of tombstones to request so that
+     * every instance destroyed since the previous synchronization is listed.
+     *
+     * @param now current value of {@link System#nanoTime()}
+     * @return tombstone window in minutes
+     */
+    private int tombstoneWindowMinutes(final long now) {
+        final long elapsedMinutes = TimeUnit.NANOSECONDS.toMinutes(now - lastSyncNanos);
+        final long window = elapsedMinutes + 1L + TOMBSTONE_SLACK_MINUTES;
+
+        return (int)Math.min(window, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks to see if an instance changed. Instances with the same
+     * {@code updated} timestamp are only compared by state; otherwise all
+     * of their properties are compared.
+     *
+     * @param previous version of the instance in the inventory
+     * @param current listed version of the instance
+     * @return true if the instance changed
+     */
+    private static boolean isModified(final Instance previous, final Instance current) {
+        if (previous.getUpdated() != null && previous.getUpdated().equals(current.getUpdated())) {
+            return !Objects.equals(previous.getState(), current.getState());
+        }
+
+        return !previous.equals(current);
+    }
+
+    /**
+     * Finds the later of two timestamps.
+     *
+     * @param first first timestamp or null
+     * @param second second timestamp or null
+     * @return the later timestamp or null if both are null
+     */
+    private static Instant later(final Instant first, final Instant second) {
+        if (first == null) {
+            return second;
+        }
+
+        if (second == null || first.isAfter(second)) {
+            return first;
+        }
+
+        return second;
+    }
+
+    /**
+     * Notifies the listeners of a change. Errors thrown by listeners are
+     * logged and don't affect the synchronization.
+     *
+     * @param delta instances that were added, changed or removed
+     */
+    private void notifyListeners(final InventoryDelta delta) {
+        for (InventoryListener listener : listeners) {
+            try {
+                listener.inventoryChanged(delta);
+            } catch (RuntimeException e) {
+                logger.warn("Instance inventory listener failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.joyent.triton;
+
+/**
+ * Strategy used by {@link Instances} to list instances.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public enum ListingStrategy {
+    /**
+     * Lists instances with a single GET request per page. Empty listings are
+     * detected from the (empty) response body.
+     */
+    GET_ONLY,
+
+    /**
+     * Performs a HEAD request before listing instances and skips the GET
+     * request when the HEAD request reports that there are no matching
+     * instances. This saves transferring a response body for listings that
+     * are usually empty, at the cost of an extra round-trip for listings
+     * that aren't.
+     */
+    HEAD_THEN_GET
+}
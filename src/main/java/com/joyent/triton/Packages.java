@@ -3,6 +3,7 @@ package com.joyent.triton;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joyent.triton.domain.Package;
+import com.joyent.triton.http.CloseableIterator;
 import com.joyent.triton.http.CloudApiConnectionContext;
 import com.joyent.triton.http.CloudApiResponseHandler;
 import com.joyent.triton.http.HttpCollectionResponse;
@@ -46,6 +47,11 @@ public class Packages extends BaseApiAccessor {
      */
     private final CloudApiResponseHandler<Package> findByIdPackageHandler;
 
+    /**
+     * Cache of package responses or null if caching is disabled.
+     */
+    private final CatalogCache cache;
+
     /**
      * Creates a new configured {@code Packages} API instance.
      * @param cloudApi reference to {@link CloudApi} instance that is backing API calls.
@@ -53,6 +59,7 @@ public class Packages extends BaseApiAccessor {
      */
     Packages(final CloudApi cloudApi, final ObjectMapper mapper) {
         super(cloudApi, mapper);
+        this.cache = CatalogCache.fromConfig(getConfig());
 
         this.listPackageHandler = new CloudApiResponseHandler<>(
                 "list packages", mapper, new TypeReference<List<Package>>() { },
@@ -108,12 +115,37 @@ public class Packages extends BaseApiAccessor {
 
         @SuppressWarnings("unchecked")
         final HttpCollectionResponse<Package> result =
-                (HttpCollectionResponse<Package>) execute(
-                        context, get, listPackageHandler);
+                (HttpCollectionResponse<Package>) executeCached(
+                        context, get, listPackageHandler, cache);
 
         return result;
     }
 
+    /**
+     * Lists the packages that match the filter criteria while
+     * deserializing them from the response as the returned iterator is
+     * consumed, so that only a single package is held in memory at a time.
+     * The iterator holds a connection from the pool until it is exhausted,
+     * so it should be closed when iteration is stopped early.
+     *
+     * @param context request context used for sharing resources between API operations
+     * @param filter query filter to filter results by
+     * @return iterator over the matching packages
+     * @throws IOException thrown when there is a problem getting the package list
+     */
+    public CloseableIterator<Package> listStreaming(final CloudApiConnectionContext context,
+                                                    final PackageFilter filter) throws IOException {
+        Objects.requireNonNull(context, "Context object must be present");
+        Objects.requireNonNull(filter, "Filter object must be present");
+
+        final List<NameValuePair> filterParams = packageFilterConverter.urlParamsFromFilter(filter);
+        final String path = String.format("/%s/packages", getConfig().getUser());
+
+        final HttpGet get = getConnectionFactory().get(path, filterParams);
+
+        return executeStreaming(context, get, listPackageHandler);
+    }
+
     /**
      * Get a package by specifying its id.
      *
@@ -145,7 +177,7 @@ public class Packages extends BaseApiAccessor {
 
         final HttpGet get = getConnectionFactory().get(path);
 
-        return execute(context, get, findByIdPackageHandler);
+        return executeCached(context, get, findByIdPackageHandler, cache);
     }
 
     /**
@@ -212,4 +244,46 @@ public class Packages extends BaseApiAccessor {
 
         return Collections.unmodifiableSet(subset);
     }
+
+    /**
+     * Cache of package responses, which is only created when the
+     * {@code triton.catalog_cache_ttl} setting is greater than 0.
+     *
+     * @return cache of package responses or null if caching is disabled
+     */
+    public CatalogCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Removes all cached package responses, so that the next requests are
+     * answered by the CloudAPI.
+     */
+    public void invalidateCache() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Removes the cached response for a single package along with all of the
+     * cached package listings that could include it.
+     *
+     * @param packageId UUID of the package
+     */
+    public void invalidateCache(final UUID packageId) {
+        Objects.requireNonNull(packageId, "Package id must be present");
+
+        if (cache == null) {
+            return;
+        }
+
+        final String listPath = String.format("/%s/packages", getConfig().getUser());
+        final String listUri = getConnectionFactory().get(listPath).getURI().toString();
+        final String idUri = getConnectionFactory().get(listPath + "/" + packageId).getURI().toString();
+
+        cache.invalidate(idUri);
+        cache.invalidate(listUri);
+        cache.invalidateStartingWith(listUri + "?");
+    }
 }
@@ -0,0 +1,201 @@
+package com.joyent.triton;
+
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.exceptions.CloudApiException;
+import com.joyent.triton.queryfilters.InstanceFilter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.apache.commons.lang3.ObjectUtils.firstNonNull;
+
+/**
+ * Lazy {@link Iterator} over all of the instances matching a filter that
+ * requests the following pages in the background while the current page is
+ * being consumed. The offsets of the pages are calculated from the total
+ * number of matching instances reported by the server, so that multiple
+ * pages can be requested in parallel.
+ *
+ * <p>No more than the configured number of pages are requested ahead of
+ * the page being consumed. A new page is only requested once a buffered page
+ * has been handed over to the consumer, so memory use stays flat regardless
+ * of the number of instances.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+final class PrefetchingInstanceIterator implements Iterator<Instance> {
+    /**
+     * Instances API used to request pages.
+     */
+    private final Instances instances;
+
+    /**
+     * Executor used to request pages in the background.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Caller's query filter used as a template for each page.
+     */
+    private final InstanceFilter filter;
+
+    /**
+     * Maximum number of instances the server returns for a single request.
+     */
+    private final int pageSize;
+
+    /**
+     * Total number of matching instances reported by the server.
+     */
+    private final int resourceCount;
+
+    /**
+     * Maximum number of pages requested ahead of the page being consumed.
+     */
+    private final int prefetchPages;
+
+    /**
+     * Pages that have been requested, in offset order.
+     */
+    private final Deque<Future<Collection<Instance>>> pending = new ArrayDeque<>();
+
+    /**
+     * Iterator over the page currently being consumed.
+     */
+    private Iterator<Instance> page;
+
+    /**
+     * Offset of the next page to request.
+     */
+    private int nextOffset;
+
+    /**
+     * Creates a new iterator starting with a page that has already been
+     * fetched and immediately starts requesting the following pages.
+     *
+     * @param instances instances API used to request pages
+     * @param executor executor used to request pages in the background
+     * @param filter query filter to filter results by
+     * @param firstPage first page of results
+     * @param pageSize maximum number of instances the server returns for a single request
+     * @param resourceCount total number of matching instances
+     * @param prefetchPages maximum number of pages requested ahead of the page being consumed
+     */
+    PrefetchingInstanceIterator(final Instances instances,
+                                final ExecutorService executor,
+                                final InstanceFilter filter,
+                                final Collection<Instance> firstPage,
+                                final int pageSize,
+                                final int resourceCount,
+                                final int prefetchPages) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be 1 or greater");
+        }
+
+        if (prefetchPages < 1) {
+            throw new IllegalArgumentException("Number of pages to prefetch must be 1 or greater");
+        }
+
+        this.instances = instances;
+        this.executor = executor;
+        this.filter = new InstanceFilter(filter);
+        this.pageSize = pageSize;
+        this.resourceCount = resourceCount;
+        this.prefetchPages = prefetchPages;
+        this.nextOffset = firstNonNull(filter.getOffset(), 0) + firstPage.size();
+        this.page = firstPage.iterator();
+
+        requestPages();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            if (pending.isEmpty()) {
+                return false;
+            }
+
+            page = await(pending.remove()).iterator();
+            requestPages();
+        }
+
+        return true;
+    }
+
+    @Override
+    public Instance next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return page.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Instances can't be removed while listing");
+    }
+
+    /**
+     * Requests pages until the prefetch limit is reached or there are no
+     * more pages to request.
+     */
+    private void requestPages() {
+        while (pending.size() < prefetchPages && nextOffset < resourceCount) {
+            final InstanceFilter pageFilter = new InstanceFilter(filter)
+                    .setOffset(nextOffset)
+                    .setLimit(pageSize);
+
+            pending.add(executor.submit(new Callable<Collection<Instance>>() {
+                @Override
+                public Collection<Instance> call() throws Exception {
+                    return instances.listPage(pageFilter);
+                }
+            }));
+
+            nextOffset += pageSize;
+        }
+    }
+
+    /**
+     * Waits for a requested page to become available.
+     *
+     * @param future future page
+     * @return page of instances
+     */
+    private Collection<Instance> await(final Future<Collection<Instance>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelPending();
+            throw new CloudApiException("Interrupted while waiting for next page of instances", e);
+        } catch (ExecutionException e) {
+            cancelPending();
+            final CloudApiException exception = new CloudApiException(
+                    "Unable to list next page of instances", e.getCause());
+            exception.setContextValue("limit", pageSize);
+            exception.setContextValue("resourceCount", resourceCount);
+            throw exception;
+        }
+    }
+
+    /**
+     * Cancels all of the pages that have been requested but not consumed.
+     */
+    private void cancelPending() {
+        for (Future<Collection<Instance>> future : pending) {
+            future.cancel(true);
+        }
+
+        pending.clear();
+    }
+}
@@ -1,5 +1,8 @@
 package com.joyent.triton.config;
 
+import com.joyent.triton.ListingStrategy;
+import com.joyent.triton.http.NonIdempotentRetryPolicy;
+import com.joyent.triton.http.RequestIdGenerator;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Objects;
@@ -42,6 +45,107 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
      */
     private Integer retries;
 
+    /**
+     * Maximum number of open connections to the CloudAPI.
+     */
+    private Integer maximumConnections;
+
+    /**
+     * Maximum number of open connections to a single CloudAPI route.
+     */
+    private Integer maximumConnectionsPerRoute;
+
+    /**
+     * Time in milliseconds that a pooled connection is kept before being retired.
+     */
+    private Integer connectionTimeToLive;
+
+    /**
+     * Time in milliseconds that a pooled connection can be idle before being evicted.
+     */
+    private Integer maximumIdleTime;
+
+    /**
+     * Strategy used to list instances.
+     */
+    private ListingStrategy listingStrategy;
+
+    /**
+     * Number of milliseconds that package and image listings are cached for.
+     */
+    private Integer catalogCacheTtl;
+
+    /**
+     * Maximum number of package and image responses that are cached.
+     */
+    private Integer catalogCacheSize;
+
+    /**
+     * Maximum number of responses kept for conditional GET requests.
+     */
+    private Integer conditionalGetCacheSize;
+
+    /**
+     * Strategy used to generate the id sent with each request.
+     */
+    private RequestIdGenerator requestIdGenerator;
+
+    /**
+     * Percentage of failed or slow requests to an endpoint that opens its circuit breaker, or 0 to disable it.
+     */
+    private Integer circuitBreakerFailureThreshold;
+
+    /**
+     * Time in milliseconds after which a request counts as failed by the circuit breaker, or 0 to ignore latency.
+     */
+    private Integer circuitBreakerSlowCallDuration;
+
+    /**
+     * Time in milliseconds that an open circuit breaker rejects requests before letting trial requests through.
+     */
+    private Integer circuitBreakerOpenDuration;
+
+    /**
+     * Maximum number of requests in flight to a single endpoint, or 0 for no limit.
+     */
+    private Integer maxConcurrentRequestsPerEndpoint;
+
+    /**
+     * Time in milliseconds before the first retry, doubled for each further retry.
+     */
+    private Integer retryBaseDelay;
+
+    /**
+     * Maximum time in milliseconds waited before a retry.
+     */
+    private Integer retryMaxDelay;
+
+    /**
+     * Policy for retrying requests that are not idempotent.
+     */
+    private NonIdempotentRetryPolicy nonIdempotentRetryPolicy;
+
+    /**
+     * Maximum number of requests per second sent by a client, or 0 for no limit.
+     */
+    private Integer rateLimit;
+
+    /**
+     * Number of requests that can be sent at once after a rate limited client was idle.
+     */
+    private Integer rateLimitBurst;
+
+    /**
+     * Time in milliseconds that DNS lookups of the CloudAPI host are cached,
+     * or 0 to look up the host for every connection.
+     */
+    private Integer dnsCacheTtl;
+
+    /**
+     * Time in milliseconds that an address is tried last after a connection to it failed.
+     */
+    private Integer dnsFailureQuarantine;
+
     /**
      * Private key content. This shouldn't be set if the KeyPath is set.
      */
@@ -128,6 +232,26 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
         return this.retries;
     }
 
+    @Override
+    public Integer getMaximumConnections() {
+        return this.maximumConnections;
+    }
+
+    @Override
+    public Integer getMaximumConnectionsPerRoute() {
+        return this.maximumConnectionsPerRoute;
+    }
+
+    @Override
+    public Integer getConnectionTimeToLive() {
+        return this.connectionTimeToLive;
+    }
+
+    @Override
+    public Integer getMaximumIdleTime() {
+        return this.maximumIdleTime;
+    }
+
     @Override
     public String getPrivateKeyContent() {
         return this.privateKeyContent;
@@ -138,6 +262,86 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
         return this.password;
     }
 
+    @Override
+    public ListingStrategy getListingStrategy() {
+        return this.listingStrategy;
+    }
+
+    @Override
+    public Integer getCatalogCacheTtl() {
+        return this.catalogCacheTtl;
+    }
+
+    @Override
+    public Integer getCatalogCacheSize() {
+        return this.catalogCacheSize;
+    }
+
+    @Override
+    public Integer getConditionalGetCacheSize() {
+        return this.conditionalGetCacheSize;
+    }
+
+    @Override
+    public RequestIdGenerator getRequestIdGenerator() {
+        return this.requestIdGenerator;
+    }
+
+    @Override
+    public Integer getCircuitBreakerFailureThreshold() {
+        return this.circuitBreakerFailureThreshold;
+    }
+
+    @Override
+    public Integer getCircuitBreakerSlowCallDuration() {
+        return this.circuitBreakerSlowCallDuration;
+    }
+
+    @Override
+    public Integer getCircuitBreakerOpenDuration() {
+        return this.circuitBreakerOpenDuration;
+    }
+
+    @Override
+    public Integer getMaxConcurrentRequestsPerEndpoint() {
+        return this.maxConcurrentRequestsPerEndpoint;
+    }
+
+    @Override
+    public Integer getRetryBaseDelay() {
+        return this.retryBaseDelay;
+    }
+
+    @Override
+    public Integer getRetryMaxDelay() {
+        return this.retryMaxDelay;
+    }
+
+    @Override
+    public NonIdempotentRetryPolicy getNonIdempotentRetryPolicy() {
+        return this.nonIdempotentRetryPolicy;
+    }
+
+    @Override
+    public Integer getRateLimit() {
+        return this.rateLimit;
+    }
+
+    @Override
+    public Integer getRateLimitBurst() {
+        return this.rateLimitBurst;
+    }
+
+    @Override
+    public Integer getDnsCacheTtl() {
+        return this.dnsCacheTtl;
+    }
+
+    @Override
+    public Integer getDnsFailureQuarantine() {
+        return this.dnsFailureQuarantine;
+    }
+
     @Override
     public String getHttpsProtocols() {
         return httpsProtocols;
@@ -195,6 +399,22 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
             this.retries = context.getRetries();
         }
 
+        if (context.getMaximumConnections() != null) {
+            this.maximumConnections = context.getMaximumConnections();
+        }
+
+        if (context.getMaximumConnectionsPerRoute() != null) {
+            this.maximumConnectionsPerRoute = context.getMaximumConnectionsPerRoute();
+        }
+
+        if (context.getConnectionTimeToLive() != null) {
+            this.connectionTimeToLive = context.getConnectionTimeToLive();
+        }
+
+        if (context.getMaximumIdleTime() != null) {
+            this.maximumIdleTime = context.getMaximumIdleTime();
+        }
+
         if (isPresent(context.getPrivateKeyContent())) {
             if (isPresent(context.getKeyPath())) {
                 String msg = "You can't set both a private key path and private key content";
@@ -210,6 +430,70 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
             this.password = context.getPassword();
         }
 
+        if (context.getListingStrategy() != null) {
+            this.listingStrategy = context.getListingStrategy();
+        }
+
+        if (context.getCatalogCacheTtl() != null) {
+            this.catalogCacheTtl = context.getCatalogCacheTtl();
+        }
+
+        if (context.getCatalogCacheSize() != null) {
+            this.catalogCacheSize = context.getCatalogCacheSize();
+        }
+
+        if (context.getConditionalGetCacheSize() != null) {
+            this.conditionalGetCacheSize = context.getConditionalGetCacheSize();
+        }
+
+        if (context.getRequestIdGenerator() != null) {
+            this.requestIdGenerator = context.getRequestIdGenerator();
+        }
+
+        if (context.getCircuitBreakerFailureThreshold() != null) {
+            this.circuitBreakerFailureThreshold = context.getCircuitBreakerFailureThreshold();
+        }
+
+        if (context.getCircuitBreakerSlowCallDuration() != null) {
+            this.circuitBreakerSlowCallDuration = context.getCircuitBreakerSlowCallDuration();
+        }
+
+        if (context.getCircuitBreakerOpenDuration() != null) {
+            this.circuitBreakerOpenDuration = context.getCircuitBreakerOpenDuration();
+        }
+
+        if (context.getMaxConcurrentRequestsPerEndpoint() != null) {
+            this.maxConcurrentRequestsPerEndpoint = context.getMaxConcurrentRequestsPerEndpoint();
+        }
+
+        if (context.getRetryBaseDelay() != null) {
+            this.retryBaseDelay = context.getRetryBaseDelay();
+        }
+
+        if (context.getRetryMaxDelay() != null) {
+            this.retryMaxDelay = context.getRetryMaxDelay();
+        }
+
+        if (context.getNonIdempotentRetryPolicy() != null) {
+            this.nonIdempotentRetryPolicy = context.getNonIdempotentRetryPolicy();
+        }
+
+        if (context.getRateLimit() != null) {
+            this.rateLimit = context.getRateLimit();
+        }
+
+        if (context.getRateLimitBurst() != null) {
+            this.rateLimitBurst = context.getRateLimitBurst();
+        }
+
+        if (context.getDnsCacheTtl() != null) {
+            this.dnsCacheTtl = context.getDnsCacheTtl();
+        }
+
+        if (context.getDnsFailureQuarantine() != null) {
+            this.dnsFailureQuarantine = context.getDnsFailureQuarantine();
+        }
+
         if (isPresent(context.getHttpsProtocols())) {
             this.httpsProtocols = context.getHttpsProtocols();
         }
@@ -306,6 +590,60 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
         return this;
     }
 
+    /**
+     * Sets the maximum number of open connections to the CloudAPI.
+     * @param maximumConnections maximum number of connections
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setMaximumConnections(final Integer maximumConnections) {
+        if (maximumConnections != null && maximumConnections < 1) {
+            ConfigurationException exception = new ConfigurationException(
+                    "Maximum connections must be one or greater");
+            exception.setContextValue("maximumConnections", maximumConnections);
+            throw exception;
+        }
+        this.maximumConnections = maximumConnections;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of open connections to a single CloudAPI route.
+     * @param maximumConnectionsPerRoute maximum number of connections per route
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setMaximumConnectionsPerRoute(final Integer maximumConnectionsPerRoute) {
+        if (maximumConnectionsPerRoute != null && maximumConnectionsPerRoute < 1) {
+            ConfigurationException exception = new ConfigurationException(
+                    "Maximum connections per route must be one or greater");
+            exception.setContextValue("maximumConnectionsPerRoute", maximumConnectionsPerRoute);
+            throw exception;
+        }
+        this.maximumConnectionsPerRoute = maximumConnectionsPerRoute;
+        return this;
+    }
+
+    /**
+     * Sets the time that a pooled connection is kept before being retired.
+     * A value of zero or less keeps connections for as long as they are usable.
+     * @param connectionTimeToLive time to live in milliseconds
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setConnectionTimeToLive(final Integer connectionTimeToLive) {
+        this.connectionTimeToLive = connectionTimeToLive;
+        return this;
+    }
+
+    /**
+     * Sets the time that a pooled connection can be idle before being evicted.
+     * A value of zero or less disables idle connection eviction.
+     * @param maximumIdleTime maximum idle time in milliseconds
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setMaximumIdleTime(final Integer maximumIdleTime) {
+        this.maximumIdleTime = maximumIdleTime;
+        return this;
+    }
+
     /**
      * Sets the private key content used to authenticate. This can't be set if
      * you already have a private key path specified.
@@ -337,6 +675,173 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
         return this;
     }
 
+    /**
+     * Sets the strategy used to list instances.
+     * @param listingStrategy strategy used to list instances
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setListingStrategy(final ListingStrategy listingStrategy) {
+        this.listingStrategy = listingStrategy;
+        return this;
+    }
+
+    /**
+     * Sets the number of milliseconds that package and image listings
+     * are cached for. A value of 0 disables caching.
+     * @param catalogCacheTtl time to cache in milliseconds
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setCatalogCacheTtl(final Integer catalogCacheTtl) {
+        this.catalogCacheTtl = catalogCacheTtl;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of package and image responses that are cached.
+     * @param catalogCacheSize maximum number of cached responses
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setCatalogCacheSize(final Integer catalogCacheSize) {
+        this.catalogCacheSize = catalogCacheSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of responses kept for conditional GET
+     * requests. A value of 0 disables conditional requests.
+     * @param conditionalGetCacheSize maximum number of responses kept
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setConditionalGetCacheSize(final Integer conditionalGetCacheSize) {
+        this.conditionalGetCacheSize = conditionalGetCacheSize;
+        return this;
+    }
+
+    /**
+     * Sets the strategy used to generate the id sent with each request.
+     * @param requestIdGenerator strategy used to generate the id sent with each request
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setRequestIdGenerator(final RequestIdGenerator requestIdGenerator) {
+        this.requestIdGenerator = requestIdGenerator;
+        return this;
+    }
+
+    /**
+     * Sets the percentage of failed or slow requests to an endpoint that opens its circuit breaker, or 0 to disable it.
+     * @param circuitBreakerFailureThreshold percentage of failed requests or 0 to disable the circuit breaker
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setCircuitBreakerFailureThreshold(final Integer circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the time in milliseconds after which a request counts as failed by the
+     * circuit breaker, or 0 to ignore latency.
+     * @param circuitBreakerSlowCallDuration time in milliseconds or 0 to ignore latency
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setCircuitBreakerSlowCallDuration(final Integer circuitBreakerSlowCallDuration) {
+        this.circuitBreakerSlowCallDuration = circuitBreakerSlowCallDuration;
+        return this;
+    }
+
+    /**
+     * Sets the time in milliseconds that an open circuit breaker rejects requests
+     * before letting trial requests through.
+     * @param circuitBreakerOpenDuration time in milliseconds
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setCircuitBreakerOpenDuration(final Integer circuitBreakerOpenDuration) {
+        this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of requests in flight to a single endpoint, or 0 for no limit.
+     * @param maxConcurrentRequestsPerEndpoint maximum number of requests in flight or 0 for no limit
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setMaxConcurrentRequestsPerEndpoint(
+            final Integer maxConcurrentRequestsPerEndpoint) {
+        this.maxConcurrentRequestsPerEndpoint = maxConcurrentRequestsPerEndpoint;
+        return this;
+    }
+
+    /**
+     * Sets the time in milliseconds before the first retry, doubled for each further retry.
+     * @param retryBaseDelay time in milliseconds
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setRetryBaseDelay(final Integer retryBaseDelay) {
+        this.retryBaseDelay = retryBaseDelay;
+        return this;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds waited before a retry.
+     * @param retryMaxDelay time in milliseconds
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setRetryMaxDelay(final Integer retryMaxDelay) {
+        this.retryMaxDelay = retryMaxDelay;
+        return this;
+    }
+
+    /**
+     * Sets the policy for retrying requests that are not idempotent.
+     * @param nonIdempotentRetryPolicy policy for retrying requests that are not idempotent
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setNonIdempotentRetryPolicy(
+            final NonIdempotentRetryPolicy nonIdempotentRetryPolicy) {
+        this.nonIdempotentRetryPolicy = nonIdempotentRetryPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of requests per second sent by a client, or 0 for no limit.
+     * @param rateLimit requests per second or 0 for no limit
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setRateLimit(final Integer rateLimit) {
+        this.rateLimit = rateLimit;
+        return this;
+    }
+
+    /**
+     * Sets the number of requests that can be sent at once after a rate limited client was idle.
+     * @param rateLimitBurst number of requests
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setRateLimitBurst(final Integer rateLimitBurst) {
+        this.rateLimitBurst = rateLimitBurst;
+        return this;
+    }
+
+    /**
+     * Sets the time in milliseconds that DNS lookups of the CloudAPI host are cached,
+     * or 0 to look up the host for every connection.
+     * @param dnsCacheTtl time to live in milliseconds or 0 to disable caching
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setDnsCacheTtl(final Integer dnsCacheTtl) {
+        this.dnsCacheTtl = dnsCacheTtl;
+        return this;
+    }
+
+    /**
+     * Sets the time in milliseconds that an address is tried last after a connection to it failed.
+     * @param dnsFailureQuarantine quarantine time in milliseconds
+     * @return the current instance of {@link BaseChainedConfigContext}
+     */
+    public BaseChainedConfigContext setDnsFailureQuarantine(final Integer dnsFailureQuarantine) {
+        this.dnsFailureQuarantine = dnsFailureQuarantine;
+        return this;
+    }
+
     /**
      * Set the supported TLS protocols.
      *
@@ -404,6 +909,26 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
                 && Objects.equals(keyPath, that.keyPath)
                 && Objects.equals(timeout, that.timeout)
                 && Objects.equals(retries, that.retries)
+                && Objects.equals(maximumConnections, that.maximumConnections)
+                && Objects.equals(maximumConnectionsPerRoute, that.maximumConnectionsPerRoute)
+                && Objects.equals(connectionTimeToLive, that.connectionTimeToLive)
+                && Objects.equals(maximumIdleTime, that.maximumIdleTime)
+                && Objects.equals(listingStrategy, that.listingStrategy)
+                && Objects.equals(catalogCacheTtl, that.catalogCacheTtl)
+                && Objects.equals(catalogCacheSize, that.catalogCacheSize)
+                && Objects.equals(conditionalGetCacheSize, that.conditionalGetCacheSize)
+                && Objects.equals(requestIdGenerator, that.requestIdGenerator)
+                && Objects.equals(circuitBreakerFailureThreshold, that.circuitBreakerFailureThreshold)
+                && Objects.equals(circuitBreakerSlowCallDuration, that.circuitBreakerSlowCallDuration)
+                && Objects.equals(circuitBreakerOpenDuration, that.circuitBreakerOpenDuration)
+                && Objects.equals(maxConcurrentRequestsPerEndpoint, that.maxConcurrentRequestsPerEndpoint)
+                && Objects.equals(retryBaseDelay, that.retryBaseDelay)
+                && Objects.equals(retryMaxDelay, that.retryMaxDelay)
+                && Objects.equals(nonIdempotentRetryPolicy, that.nonIdempotentRetryPolicy)
+                && Objects.equals(rateLimit, that.rateLimit)
+                && Objects.equals(rateLimitBurst, that.rateLimitBurst)
+                && Objects.equals(dnsCacheTtl, that.dnsCacheTtl)
+                && Objects.equals(dnsFailureQuarantine, that.dnsFailureQuarantine)
                 && Objects.equals(privateKeyContent, that.privateKeyContent)
                 && Objects.equals(password, that.password)
                 && Objects.equals(httpsProtocols, that.httpsProtocols)
@@ -416,9 +941,14 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
     @Override
     public int hashCode() {
         return Objects.hash(cloudAPIURL, account, keyId, keyPath, timeout,
-                retries, privateKeyContent, password, httpsProtocols,
+                retries, maximumConnections, maximumConnectionsPerRoute,
+                connectionTimeToLive, maximumIdleTime, privateKeyContent, password, httpsProtocols,
                 httpsCiphers, disableNativeSignatures, noAuth,
-                signatureCacheTTL);
+                signatureCacheTTL, listingStrategy, catalogCacheTtl, catalogCacheSize,
+                conditionalGetCacheSize, requestIdGenerator, circuitBreakerFailureThreshold,
+                circuitBreakerSlowCallDuration, circuitBreakerOpenDuration, maxConcurrentRequestsPerEndpoint,
+                retryBaseDelay, retryMaxDelay, nonIdempotentRetryPolicy, rateLimit, rateLimitBurst,
+                dnsCacheTtl, dnsFailureQuarantine);
     }
 
     /**
@@ -438,6 +968,26 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
         sb.append(", keyPath='").append(context.getKeyPath()).append('\'');
         sb.append(", timeout=").append(context.getTimeout());
         sb.append(", retries=").append(context.getRetries());
+        sb.append(", maxConnections=").append(context.getMaximumConnections());
+        sb.append(", maxConnectionsPerRoute=").append(context.getMaximumConnectionsPerRoute());
+        sb.append(", connectionTimeToLive=").append(context.getConnectionTimeToLive());
+        sb.append(", maxIdleTime=").append(context.getMaximumIdleTime());
+        sb.append(", listingStrategy=").append(context.getListingStrategy());
+        sb.append(", catalogCacheTtl=").append(context.getCatalogCacheTtl());
+        sb.append(", catalogCacheSize=").append(context.getCatalogCacheSize());
+        sb.append(", conditionalGetCacheSize=").append(context.getConditionalGetCacheSize());
+        sb.append(", requestIdGenerator=").append(context.getRequestIdGenerator());
+        sb.append(", circuitBreakerFailureThreshold=").append(context.getCircuitBreakerFailureThreshold());
+        sb.append(", circuitBreakerSlowCallDuration=").append(context.getCircuitBreakerSlowCallDuration());
+        sb.append(", circuitBreakerOpenDuration=").append(context.getCircuitBreakerOpenDuration());
+        sb.append(", maxConcurrentRequestsPerEndpoint=").append(context.getMaxConcurrentRequestsPerEndpoint());
+        sb.append(", retryBaseDelay=").append(context.getRetryBaseDelay());
+        sb.append(", retryMaxDelay=").append(context.getRetryMaxDelay());
+        sb.append(", nonIdempotentRetryPolicy=").append(context.getNonIdempotentRetryPolicy());
+        sb.append(", rateLimit=").append(context.getRateLimit());
+        sb.append(", rateLimitBurst=").append(context.getRateLimitBurst());
+        sb.append(", dnsCacheTtl=").append(context.getDnsCacheTtl());
+        sb.append(", dnsFailureQuarantine=").append(context.getDnsFailureQuarantine());
         sb.append(", httpsCiphers='").append(context.getHttpsCipherSuites()).append('\'');
         sb.append(", disableNativeSignatures=").append(context.disableNativeSignatures());
         sb.append(", noAuth=").append(context.noAuth());
@@ -1,5 +1,8 @@
 package com.joyent.triton.config;
 
+import com.joyent.triton.ListingStrategy;
+import com.joyent.triton.http.NonIdempotentRetryPolicy;
+import com.joyent.triton.http.RequestIdGenerator;
 import com.joyent.triton.http.CloudApiConnectionFactory;
 
 /**
@@ -49,6 +52,108 @@ public interface ConfigContext {
      */
     Integer getRetries();
 
+    /**
+     * @return the maximum number of open connections to the CloudAPI.
+     */
+    Integer getMaximumConnections();
+
+    /**
+     * @return the maximum number of open connections to a single CloudAPI route.
+     */
+    Integer getMaximumConnectionsPerRoute();
+
+    /**
+     * @return time in milliseconds that a pooled connection is kept before being retired.
+     */
+    Integer getConnectionTimeToLive();
+
+    /**
+     * @return time in milliseconds that a pooled connection can be idle before being evicted.
+     */
+    Integer getMaximumIdleTime();
+
+    /**
+     * @return strategy used to list instances.
+     */
+    ListingStrategy getListingStrategy();
+
+    /**
+     * @return number of milliseconds that package and image listings are cached for (0 disables caching)
+     */
+    Integer getCatalogCacheTtl();
+
+    /**
+     * @return maximum number of package and image responses that are cached
+     */
+    Integer getCatalogCacheSize();
+
+    /**
+     * @return maximum number of responses kept for conditional GET requests (0 disables conditional requests)
+     */
+    Integer getConditionalGetCacheSize();
+
+    /**
+     * @return strategy used to generate the id sent with each request.
+     */
+    RequestIdGenerator getRequestIdGenerator();
+
+    /**
+     * @return percentage of failed or slow requests to an endpoint that opens its circuit breaker, or 0 to disable it
+     */
+    Integer getCircuitBreakerFailureThreshold();
+
+    /**
+     * @return time in milliseconds after which a request counts as failed by the
+     *         circuit breaker, or 0 to ignore latency
+     */
+    Integer getCircuitBreakerSlowCallDuration();
+
+    /**
+     * @return time in milliseconds that an open circuit breaker rejects requests before letting trial requests through
+     */
+    Integer getCircuitBreakerOpenDuration();
+
+    /**
+     * @return maximum number of requests in flight to a single endpoint, or 0 for no limit
+     */
+    Integer getMaxConcurrentRequestsPerEndpoint();
+
+    /**
+     * @return time in milliseconds before the first retry, doubled for each further retry
+     */
+    Integer getRetryBaseDelay();
+
+    /**
+     * @return maximum time in milliseconds waited before a retry
+     */
+    Integer getRetryMaxDelay();
+
+    /**
+     * @return policy for retrying requests that are not idempotent.
+     */
+    NonIdempotentRetryPolicy getNonIdempotentRetryPolicy();
+
+    /**
+     * @return maximum number of requests per second sent by a client, or 0 for no limit
+     */
+    Integer getRateLimit();
+
+    /**
+     * @return number of requests that can be sent at once after a rate limited client was idle
+     */
+    Integer getRateLimitBurst();
+
+    /**
+     * @return time in milliseconds that DNS lookups of the CloudAPI host are cached,
+     *         or 0 to look up the host for every connection
+     */
+    Integer getDnsCacheTtl();
+
+    /**
+     * @return time in milliseconds that an address is tried last after a connection to it failed
+     */
+    Integer getDnsFailureQuarantine();
+
     /**
      * @return a comma delimited list of HTTPS protocols
      */
@@ -1,5 +1,8 @@
 package com.joyent.triton.config;
 
+import com.joyent.triton.ListingStrategy;
+import com.joyent.triton.http.NonIdempotentRetryPolicy;
+import com.joyent.triton.http.RequestIdGenerator;
 import org.apache.commons.lang3.SystemUtils;
 
 import java.io.File;
@@ -26,6 +29,110 @@ public class DefaultsConfigContext implements ConfigContext {
      */
     public static final int DEFAULT_HTTP_RETRIES = 3;
 
+    /**
+     * The default maximum number of open connections to the CloudAPI.
+     */
+    public static final int DEFAULT_MAX_CONNS = 24;
+
+    /**
+     * The default maximum number of open connections to a single CloudAPI route.
+     */
+    public static final int DEFAULT_MAX_CONNS_PER_ROUTE = 24;
+
+    /**
+     * The default time in milliseconds that a pooled connection is kept before being retired.
+     */
+    public static final int DEFAULT_CONNECTION_TTL = 5 * 60 * 1000;
+
+    /**
+     * The default time in milliseconds that a pooled connection can be idle.
+     */
+    public static final int DEFAULT_MAX_IDLE_TIME = 30 * 1000;
+
+    /**
+     * The default strategy used to list instances.
+     */
+    public static final ListingStrategy DEFAULT_LISTING_STRATEGY = ListingStrategy.GET_ONLY;
+
+    /**
+     * The default number of milliseconds package and image listings are cached for (disabled).
+     */
+    public static final int DEFAULT_CATALOG_CACHE_TTL = 0;
+
+    /**
+     * The default maximum number of package and image responses that are cached.
+     */
+    public static final int DEFAULT_CATALOG_CACHE_SIZE = 256;
+
+    /**
+     * The default maximum number of responses kept for conditional GET requests (disabled).
+     */
+    public static final int DEFAULT_CONDITIONAL_GET_CACHE_SIZE = 0;
+
+    /**
+     * The default strategy used to generate the id sent with each request.
+     */
+    public static final RequestIdGenerator DEFAULT_REQUEST_ID_GENERATOR = RequestIdGenerator.THREAD_LOCAL_RANDOM;
+
+    /**
+     * The default percentage of failed or slow requests to an endpoint that opens its
+     * circuit breaker, or 0 to disable it.
+     */
+    public static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 0;
+
+    /**
+     * The default time in milliseconds after which a request counts as failed by the
+     * circuit breaker, or 0 to ignore latency.
+     */
+    public static final int DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION = 0;
+
+    /**
+     * The default time in milliseconds that an open circuit breaker rejects requests
+     * before letting trial requests through.
+     */
+    public static final int DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = 30000;
+
+    /**
+     * The default maximum number of requests in flight to a single endpoint, or 0 for no limit.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_ENDPOINT = 0;
+
+    /**
+     * The default time in milliseconds before the first retry, doubled for each further retry.
+     */
+    public static final int DEFAULT_RETRY_BASE_DELAY = 100;
+
+    /**
+     * The default maximum time in milliseconds waited before a retry.
+     */
+    public static final int DEFAULT_RETRY_MAX_DELAY = 10000;
+
+    /**
+     * The default policy for retrying requests that are not idempotent.
+     */
+    public static final NonIdempotentRetryPolicy DEFAULT_NON_IDEMPOTENT_RETRY_POLICY = NonIdempotentRetryPolicy.UNSENT;
+
+    /**
+     * The default maximum number of requests per second sent by a client, or 0 for no limit.
+     */
+    public static final int DEFAULT_RATE_LIMIT = 0;
+
+    /**
+     * The default number of requests that can be sent at once after a rate limited client was idle.
+     */
+    public static final int DEFAULT_RATE_LIMIT_BURST = 10;
+
+    /**
+     * The default time in milliseconds that DNS lookups of the CloudAPI host are cached,
+     * or 0 to look up the host for every connection.
+     */
+    public static final int DEFAULT_DNS_CACHE_TTL = 60000;
+
+    /**
+     * The default time in milliseconds that an address is tried last after a connection to it failed.
+     */
+    public static final int DEFAULT_DNS_FAILURE_QUARANTINE = 30000;
+
     /**
      * We assume the default rsa key in the user's home directory.
      */
@@ -115,6 +222,106 @@ public class DefaultsConfigContext implements ConfigContext {
         return DEFAULT_HTTP_RETRIES;
     }
 
+    @Override
+    public Integer getMaximumConnections() {
+        return DEFAULT_MAX_CONNS;
+    }
+
+    @Override
+    public Integer getMaximumConnectionsPerRoute() {
+        return DEFAULT_MAX_CONNS_PER_ROUTE;
+    }
+
+    @Override
+    public Integer getConnectionTimeToLive() {
+        return DEFAULT_CONNECTION_TTL;
+    }
+
+    @Override
+    public Integer getMaximumIdleTime() {
+        return DEFAULT_MAX_IDLE_TIME;
+    }
+
+    @Override
+    public ListingStrategy getListingStrategy() {
+        return DEFAULT_LISTING_STRATEGY;
+    }
+
+    @Override
+    public Integer getCatalogCacheTtl() {
+        return DEFAULT_CATALOG_CACHE_TTL;
+    }
+
+    @Override
+    public Integer getCatalogCacheSize() {
+        return DEFAULT_CATALOG_CACHE_SIZE;
+    }
+
+    @Override
+    public Integer getConditionalGetCacheSize() {
+        return DEFAULT_CONDITIONAL_GET_CACHE_SIZE;
+    }
+
+    @Override
+    public RequestIdGenerator getRequestIdGenerator() {
+        return DEFAULT_REQUEST_ID_GENERATOR;
+    }
+
+    @Override
+    public Integer getCircuitBreakerFailureThreshold() {
+        return DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+    }
+
+    @Override
+    public Integer getCircuitBreakerSlowCallDuration() {
+        return DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+    }
+
+    @Override
+    public Integer getCircuitBreakerOpenDuration() {
+        return DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+    }
+
+    @Override
+    public Integer getMaxConcurrentRequestsPerEndpoint() {
+        return DEFAULT_MAX_CONCURRENT_REQUESTS_PER_ENDPOINT;
+    }
+
+    @Override
+    public Integer getRetryBaseDelay() {
+        return DEFAULT_RETRY_BASE_DELAY;
+    }
+
+    @Override
+    public Integer getRetryMaxDelay() {
+        return DEFAULT_RETRY_MAX_DELAY;
+    }
+
+    @Override
+    public NonIdempotentRetryPolicy getNonIdempotentRetryPolicy() {
+        return DEFAULT_NON_IDEMPOTENT_RETRY_POLICY;
+    }
+
+    @Override
+    public Integer getRateLimit() {
+        return DEFAULT_RATE_LIMIT;
+    }
+
+    @Override
+    public Integer getRateLimitBurst() {
+        return DEFAULT_RATE_LIMIT_BURST;
+    }
+
+    @Override
+    public Integer getDnsCacheTtl() {
+        return DEFAULT_DNS_CACHE_TTL;
+    }
+
+    @Override
+    public Integer getDnsFailureQuarantine() {
+        return DEFAULT_DNS_FAILURE_QUARANTINE;
+    }
+
     @Override
     public String getHttpsProtocols() {
         return DEFAULT_HTTPS_PROTOCOLS;
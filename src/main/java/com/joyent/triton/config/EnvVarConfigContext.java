@@ -1,6 +1,9 @@
 package com.joyent.triton.config;
 
 import com.joyent.triton.CloudApiUtils;
+import com.joyent.triton.ListingStrategy;
+import com.joyent.triton.http.NonIdempotentRetryPolicy;
+import com.joyent.triton.http.RequestIdGenerator;
 import org.apache.commons.lang3.ObjectUtils;
 
 /**
@@ -65,6 +68,26 @@ public class EnvVarConfigContext implements ConfigContext {
      */
     public static final String RETRIES_ENV_KEY = "TRITON_HTTP_RETRIES";
 
+    /**
+     * Environment variable for the maximum number of open connections to the CloudAPI.
+     */
+    public static final String MAX_CONNS_ENV_KEY = "TRITON_MAX_CONNS";
+
+    /**
+     * Environment variable for the maximum number of open connections per CloudAPI route.
+     */
+    public static final String MAX_CONNS_PER_ROUTE_ENV_KEY = "TRITON_MAX_CONNS_PER_ROUTE";
+
+    /**
+     * Environment variable for the time to live of pooled connections.
+     */
+    public static final String CONNECTION_TTL_ENV_KEY = "TRITON_CONNECTION_TTL";
+
+    /**
+     * Environment variable for the maximum time a pooled connection can be idle.
+     */
+    public static final String MAX_IDLE_TIME_ENV_KEY = "TRITON_MAX_IDLE_TIME";
+
     /**
      * Environment variable for looking up CloudAPI private key content.
      */
@@ -75,6 +98,87 @@ public class EnvVarConfigContext implements ConfigContext {
      */
     public static final String PASSWORD_ENV_KEY = "TRITON_PASSWORD";
 
+    /**
+     * Environment variable for setting the strategy used to list instances.
+     */
+    public static final String LISTING_STRATEGY_ENV_KEY = "TRITON_LISTING_STRATEGY";
+
+    /**
+     * Environment variable for setting the time in milliseconds package and image listings are cached for.
+     */
+    public static final String CATALOG_CACHE_TTL_ENV_KEY = "TRITON_CATALOG_CACHE_TTL";
+
+    /**
+     * Environment variable for setting the maximum number of cached package and image responses.
+     */
+    public static final String CATALOG_CACHE_SIZE_ENV_KEY = "TRITON_CATALOG_CACHE_SIZE";
+
+    /**
+     * Environment variable for setting the maximum number of responses kept for conditional GET requests.
+     */
+    public static final String CONDITIONAL_GET_CACHE_SIZE_ENV_KEY = "TRITON_CONDITIONAL_GET_CACHE_SIZE";
+
+    /**
+     * Environment variable for setting the strategy used to generate request ids.
+     */
+    public static final String REQUEST_ID_GENERATOR_ENV_KEY = "TRITON_REQUEST_ID_GENERATOR";
+
+    /**
+     * Environment variable for setting the percentage of failed requests that opens a circuit breaker.
+     */
+    public static final String CIRCUIT_BREAKER_FAILURE_THRESHOLD_ENV_KEY = "TRITON_CIRCUIT_BREAKER_FAILURE_THRESHOLD";
+
+    /**
+     * Environment variable for setting the time after which a request counts as failed by the circuit breaker.
+     */
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_DURATION_ENV_KEY = "TRITON_CIRCUIT_BREAKER_SLOW_CALL_DURATION";
+
+    /**
+     * Environment variable for setting the time that an open circuit breaker rejects requests.
+     */
+    public static final String CIRCUIT_BREAKER_OPEN_DURATION_ENV_KEY = "TRITON_CIRCUIT_BREAKER_OPEN_DURATION";
+
+    /**
+     * Environment variable for setting the maximum number of requests in flight to a single endpoint.
+     */
+    public static final String MAX_CONCURRENT_REQUESTS_PER_ENDPOINT_ENV_KEY =
+            "TRITON_MAX_CONCURRENT_REQUESTS_PER_ENDPOINT";
+
+    /**
+     * Environment variable for setting the delay before the first retry.
+     */
+    public static final String RETRY_BASE_DELAY_ENV_KEY = "TRITON_RETRY_BASE_DELAY";
+
+    /**
+     * Environment variable for setting the maximum delay before a retry.
+     */
+    public static final String RETRY_MAX_DELAY_ENV_KEY = "TRITON_RETRY_MAX_DELAY";
+
+    /**
+     * Environment variable for setting the policy for retrying requests that are not idempotent.
+     */
+    public static final String NON_IDEMPOTENT_RETRY_POLICY_ENV_KEY = "TRITON_NON_IDEMPOTENT_RETRY_POLICY";
+
+    /**
+     * Environment variable for setting the maximum number of requests per second sent by a client.
+     */
+    public static final String RATE_LIMIT_ENV_KEY = "TRITON_RATE_LIMIT";
+
+    /**
+     * Environment variable for setting the number of requests sent at once by a rate limited client.
+     */
+    public static final String RATE_LIMIT_BURST_ENV_KEY = "TRITON_RATE_LIMIT_BURST";
+
+    /**
+     * Environment variable for setting the time in milliseconds that DNS lookups are cached.
+     */
+    public static final String DNS_CACHE_TTL_ENV_KEY = "TRITON_DNS_CACHE_TTL";
+
+    /**
+     * Environment variable for setting the time in milliseconds that failed addresses are tried last.
+     */
+    public static final String DNS_FAILURE_QUARANTINE_ENV_KEY = "TRITON_DNS_FAILURE_QUARANTINE";
+
     /**
      * Environment variable for setting TLS protocols.
      */
@@ -105,8 +209,26 @@ public class EnvVarConfigContext implements ConfigContext {
             TRITON_URL_ENV_KEY, SDC_URL_ENV_KEY,
             TIMEOUT_ENV_KEY,
             RETRIES_ENV_KEY,
+            MAX_CONNS_ENV_KEY, MAX_CONNS_PER_ROUTE_ENV_KEY,
+            CONNECTION_TTL_ENV_KEY, MAX_IDLE_TIME_ENV_KEY,
             PRIVATE_KEY_CONTENT_ENV_KEY,
             PASSWORD_ENV_KEY,
+            LISTING_STRATEGY_ENV_KEY,
+            CATALOG_CACHE_TTL_ENV_KEY,
+            CATALOG_CACHE_SIZE_ENV_KEY,
+            CONDITIONAL_GET_CACHE_SIZE_ENV_KEY,
+            REQUEST_ID_GENERATOR_ENV_KEY,
+            CIRCUIT_BREAKER_FAILURE_THRESHOLD_ENV_KEY,
+            CIRCUIT_BREAKER_SLOW_CALL_DURATION_ENV_KEY,
+            CIRCUIT_BREAKER_OPEN_DURATION_ENV_KEY,
+            MAX_CONCURRENT_REQUESTS_PER_ENDPOINT_ENV_KEY,
+            RETRY_BASE_DELAY_ENV_KEY,
+            RETRY_MAX_DELAY_ENV_KEY,
+            NON_IDEMPOTENT_RETRY_POLICY_ENV_KEY,
+            RATE_LIMIT_ENV_KEY,
+            RATE_LIMIT_BURST_ENV_KEY,
+            DNS_CACHE_TTL_ENV_KEY,
+            DNS_FAILURE_QUARANTINE_ENV_KEY,
             HTTPS_PROTOCOLS_ENV_KEY,
             HTTPS_CIPHERS_ENV_KEY,
             NO_NATIVE_SIGS_ENV_KEY, TRITON_NO_AUTH_ENV_KEY
@@ -185,6 +307,126 @@ public class EnvVarConfigContext implements ConfigContext {
         return CloudApiUtils.parseIntegerOrNull(retriesString);
     }
 
+    @Override
+    public Integer getMaximumConnections() {
+        String maxConnsString = getEnv(MAX_CONNS_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(maxConnsString);
+    }
+
+    @Override
+    public Integer getMaximumConnectionsPerRoute() {
+        String maxConnsString = getEnv(MAX_CONNS_PER_ROUTE_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(maxConnsString);
+    }
+
+    @Override
+    public Integer getConnectionTimeToLive() {
+        String ttlString = getEnv(CONNECTION_TTL_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(ttlString);
+    }
+
+    @Override
+    public Integer getMaximumIdleTime() {
+        String idleString = getEnv(MAX_IDLE_TIME_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(idleString);
+    }
+
+    @Override
+    public ListingStrategy getListingStrategy() {
+        String strategyString = getEnv(LISTING_STRATEGY_ENV_KEY);
+        return CloudApiUtils.parseEnumOrNull(strategyString, ListingStrategy.class);
+    }
+
+    @Override
+    public Integer getCatalogCacheTtl() {
+        String ttlString = getEnv(CATALOG_CACHE_TTL_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(ttlString);
+    }
+
+    @Override
+    public Integer getCatalogCacheSize() {
+        String sizeString = getEnv(CATALOG_CACHE_SIZE_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(sizeString);
+    }
+
+    @Override
+    public Integer getConditionalGetCacheSize() {
+        String sizeString = getEnv(CONDITIONAL_GET_CACHE_SIZE_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(sizeString);
+    }
+
+    @Override
+    public RequestIdGenerator getRequestIdGenerator() {
+        String generatorString = getEnv(REQUEST_ID_GENERATOR_ENV_KEY);
+        return CloudApiUtils.parseEnumOrNull(generatorString, RequestIdGenerator.class);
+    }
+
+    @Override
+    public Integer getCircuitBreakerFailureThreshold() {
+        String valueString = getEnv(CIRCUIT_BREAKER_FAILURE_THRESHOLD_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
+    @Override
+    public Integer getCircuitBreakerSlowCallDuration() {
+        String valueString = getEnv(CIRCUIT_BREAKER_SLOW_CALL_DURATION_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
+    @Override
+    public Integer getCircuitBreakerOpenDuration() {
+        String valueString = getEnv(CIRCUIT_BREAKER_OPEN_DURATION_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
+    @Override
+    public Integer getMaxConcurrentRequestsPerEndpoint() {
+        String valueString = getEnv(MAX_CONCURRENT_REQUESTS_PER_ENDPOINT_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
+    @Override
+    public Integer getRetryBaseDelay() {
+        String valueString = getEnv(RETRY_BASE_DELAY_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
+    @Override
+    public Integer getRetryMaxDelay() {
+        String valueString = getEnv(RETRY_MAX_DELAY_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
+    @Override
+    public NonIdempotentRetryPolicy getNonIdempotentRetryPolicy() {
+        String policyString = getEnv(NON_IDEMPOTENT_RETRY_POLICY_ENV_KEY);
+        return CloudApiUtils.parseEnumOrNull(policyString, NonIdempotentRetryPolicy.class);
+    }
+
+    @Override
+    public Integer getRateLimit() {
+        String valueString = getEnv(RATE_LIMIT_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
+    @Override
+    public Integer getRateLimitBurst() {
+        String valueString = getEnv(RATE_LIMIT_BURST_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
+    @Override
+    public Integer getDnsCacheTtl() {
+        String valueString = getEnv(DNS_CACHE_TTL_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
+    @Override
+    public Integer getDnsFailureQuarantine() {
+        String valueString = getEnv(DNS_FAILURE_QUARANTINE_ENV_KEY);
+        return CloudApiUtils.parseIntegerOrNull(valueString);
+    }
+
     @Override
     public String getHttpsProtocols() {
         return getEnv(HTTPS_PROTOCOLS_ENV_KEY);
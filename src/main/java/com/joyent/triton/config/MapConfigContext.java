@@ -1,6 +1,9 @@
 package com.joyent.triton.config;
 
 import com.joyent.triton.CloudApiUtils;
+import com.joyent.triton.ListingStrategy;
+import com.joyent.triton.http.NonIdempotentRetryPolicy;
+import com.joyent.triton.http.RequestIdGenerator;
 
 import java.util.Map;
 
@@ -46,6 +49,101 @@ public class MapConfigContext implements ConfigContext {
      */
     public static final String MAX_CONNS_KEY = "triton.max_connections";
 
+    /**
+     * Property key for the maximum number of open connections per CloudAPI route.
+     */
+    public static final String MAX_CONNS_PER_ROUTE_KEY = "triton.max_connections_per_route";
+
+    /**
+     * Property key for the time to live of pooled connections.
+     */
+    public static final String CONNECTION_TTL_KEY = "triton.connection_ttl";
+
+    /**
+     * Property key for the maximum time a pooled connection can be idle.
+     */
+    public static final String MAX_IDLE_TIME_KEY = "triton.max_idle_time";
+
+    /**
+     * Property key for setting the strategy used to list instances.
+     */
+    public static final String LISTING_STRATEGY_KEY = "triton.listing_strategy";
+
+    /**
+     * Property key for setting the time in milliseconds package and image listings are cached for.
+     */
+    public static final String CATALOG_CACHE_TTL_KEY = "triton.catalog_cache_ttl";
+
+    /**
+     * Property key for setting the maximum number of cached package and image responses.
+     */
+    public static final String CATALOG_CACHE_SIZE_KEY = "triton.catalog_cache_size";
+
+    /**
+     * Property key for setting the maximum number of responses kept for conditional GET requests.
+     */
+    public static final String CONDITIONAL_GET_CACHE_SIZE_KEY = "triton.conditional_get_cache_size";
+
+    /**
+     * Property key for setting the strategy used to generate request ids.
+     */
+    public static final String REQUEST_ID_GENERATOR_KEY = "triton.request_id_generator";
+
+    /**
+     * Property key for setting the percentage of failed requests that opens a circuit breaker.
+     */
+    public static final String CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY = "triton.circuit_breaker_failure_threshold";
+
+    /**
+     * Property key for setting the time after which a request counts as failed by the circuit breaker.
+     */
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_DURATION_KEY = "triton.circuit_breaker_slow_call_duration";
+
+    /**
+     * Property key for setting the time that an open circuit breaker rejects requests.
+     */
+    public static final String CIRCUIT_BREAKER_OPEN_DURATION_KEY = "triton.circuit_breaker_open_duration";
+
+    /**
+     * Property key for setting the maximum number of requests in flight to a single endpoint.
+     */
+    public static final String MAX_CONCURRENT_REQUESTS_PER_ENDPOINT_KEY = "triton.max_concurrent_requests_per_endpoint";
+
+    /**
+     * Property key for setting the delay before the first retry.
+     */
+    public static final String RETRY_BASE_DELAY_KEY = "triton.retry_base_delay";
+
+    /**
+     * Property key for setting the maximum delay before a retry.
+     */
+    public static final String RETRY_MAX_DELAY_KEY = "triton.retry_max_delay";
+
+    /**
+     * Property key for setting the policy for retrying requests that are not idempotent.
+     */
+    public static final String NON_IDEMPOTENT_RETRY_POLICY_KEY = "triton.non_idempotent_retry_policy";
+
+    /**
+     * Property key for setting the maximum number of requests per second sent by a client.
+     */
+    public static final String RATE_LIMIT_KEY = "triton.rate_limit";
+
+    /**
+     * Property key for setting the number of requests sent at once by a rate limited client.
+     */
+    public static final String RATE_LIMIT_BURST_KEY = "triton.rate_limit_burst";
+
+    /**
+     * Property key for setting the time in milliseconds that DNS lookups are cached.
+     */
+    public static final String DNS_CACHE_TTL_KEY = "triton.dns_cache_ttl";
+
+    /**
+     * Property key for setting the time in milliseconds that failed addresses are tried last.
+     */
+    public static final String DNS_FAILURE_QUARANTINE_KEY = "triton.dns_failure_quarantine";
+
     /**
      * Property key for looking up CloudAPI private key content.
      */
@@ -85,7 +183,25 @@ public class MapConfigContext implements ConfigContext {
     public static final String[] ALL_PROPERTIES = {
             URL_KEY, USER_KEY, KEY_ID_KEY,
             KEY_PATH_KEY, TIMEOUT_KEY, RETRIES_KEY,
-            MAX_CONNS_KEY, PRIVATE_KEY_CONTENT_KEY,
+            MAX_CONNS_KEY, MAX_CONNS_PER_ROUTE_KEY,
+            CONNECTION_TTL_KEY, MAX_IDLE_TIME_KEY,
+            LISTING_STRATEGY_KEY,
+            CATALOG_CACHE_TTL_KEY,
+            CATALOG_CACHE_SIZE_KEY,
+            CONDITIONAL_GET_CACHE_SIZE_KEY,
+            REQUEST_ID_GENERATOR_KEY,
+            CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY,
+            CIRCUIT_BREAKER_SLOW_CALL_DURATION_KEY,
+            CIRCUIT_BREAKER_OPEN_DURATION_KEY,
+            MAX_CONCURRENT_REQUESTS_PER_ENDPOINT_KEY,
+            RETRY_BASE_DELAY_KEY,
+            RETRY_MAX_DELAY_KEY,
+            NON_IDEMPOTENT_RETRY_POLICY_KEY,
+            RATE_LIMIT_KEY,
+            RATE_LIMIT_BURST_KEY,
+            DNS_CACHE_TTL_KEY,
+            DNS_FAILURE_QUARANTINE_KEY,
+            PRIVATE_KEY_CONTENT_KEY,
             PASSWORD_KEY,
             EnvVarConfigContext.HTTPS_PROTOCOLS_ENV_KEY, HTTPS_CIPHERS_KEY,
             NO_AUTH_KEY, NO_NATIVE_SIGS_KEY
@@ -164,6 +280,191 @@ public class MapConfigContext implements ConfigContext {
         return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.RETRIES_ENV_KEY));
     }
 
+    @Override
+    public Integer getMaximumConnections() {
+        return integerValue(MAX_CONNS_KEY, EnvVarConfigContext.MAX_CONNS_ENV_KEY);
+    }
+
+    @Override
+    public Integer getMaximumConnectionsPerRoute() {
+        return integerValue(MAX_CONNS_PER_ROUTE_KEY, EnvVarConfigContext.MAX_CONNS_PER_ROUTE_ENV_KEY);
+    }
+
+    @Override
+    public Integer getConnectionTimeToLive() {
+        return integerValue(CONNECTION_TTL_KEY, EnvVarConfigContext.CONNECTION_TTL_ENV_KEY);
+    }
+
+    @Override
+    public Integer getMaximumIdleTime() {
+        return integerValue(MAX_IDLE_TIME_KEY, EnvVarConfigContext.MAX_IDLE_TIME_ENV_KEY);
+    }
+
+    @Override
+    public ListingStrategy getListingStrategy() {
+        return enumValue(ListingStrategy.class, LISTING_STRATEGY_KEY,
+                EnvVarConfigContext.LISTING_STRATEGY_ENV_KEY);
+    }
+
+    @Override
+    public Integer getCatalogCacheTtl() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(CATALOG_CACHE_TTL_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.CATALOG_CACHE_TTL_ENV_KEY));
+    }
+
+    @Override
+    public Integer getCatalogCacheSize() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(CATALOG_CACHE_SIZE_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.CATALOG_CACHE_SIZE_ENV_KEY));
+    }
+
+    @Override
+    public Integer getConditionalGetCacheSize() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(CONDITIONAL_GET_CACHE_SIZE_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.CONDITIONAL_GET_CACHE_SIZE_ENV_KEY));
+    }
+
+    @Override
+    public RequestIdGenerator getRequestIdGenerator() {
+        return enumValue(RequestIdGenerator.class, REQUEST_ID_GENERATOR_KEY,
+                EnvVarConfigContext.REQUEST_ID_GENERATOR_ENV_KEY);
+    }
+
+    @Override
+    public Integer getCircuitBreakerFailureThreshold() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(CIRCUIT_BREAKER_FAILURE_THRESHOLD_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(
+                backingMap.get(EnvVarConfigContext.CIRCUIT_BREAKER_FAILURE_THRESHOLD_ENV_KEY));
+    }
+
+    @Override
+    public Integer getCircuitBreakerSlowCallDuration() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(CIRCUIT_BREAKER_SLOW_CALL_DURATION_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(
+                backingMap.get(EnvVarConfigContext.CIRCUIT_BREAKER_SLOW_CALL_DURATION_ENV_KEY));
+    }
+
+    @Override
+    public Integer getCircuitBreakerOpenDuration() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(CIRCUIT_BREAKER_OPEN_DURATION_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(
+                backingMap.get(EnvVarConfigContext.CIRCUIT_BREAKER_OPEN_DURATION_ENV_KEY));
+    }
+
+    @Override
+    public Integer getMaxConcurrentRequestsPerEndpoint() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(MAX_CONCURRENT_REQUESTS_PER_ENDPOINT_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(
+                backingMap.get(EnvVarConfigContext.MAX_CONCURRENT_REQUESTS_PER_ENDPOINT_ENV_KEY));
+    }
+
+    @Override
+    public Integer getRetryBaseDelay() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(RETRY_BASE_DELAY_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.RETRY_BASE_DELAY_ENV_KEY));
+    }
+
+    @Override
+    public Integer getRetryMaxDelay() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(RETRY_MAX_DELAY_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.RETRY_MAX_DELAY_ENV_KEY));
+    }
+
+    @Override
+    public NonIdempotentRetryPolicy getNonIdempotentRetryPolicy() {
+        return enumValue(NonIdempotentRetryPolicy.class, NON_IDEMPOTENT_RETRY_POLICY_KEY,
+                EnvVarConfigContext.NON_IDEMPOTENT_RETRY_POLICY_ENV_KEY);
+    }
+
+    @Override
+    public Integer getRateLimit() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(RATE_LIMIT_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.RATE_LIMIT_ENV_KEY));
+    }
+
+    @Override
+    public Integer getRateLimitBurst() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(RATE_LIMIT_BURST_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.RATE_LIMIT_BURST_ENV_KEY));
+    }
+
+    @Override
+    public Integer getDnsCacheTtl() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(DNS_CACHE_TTL_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.DNS_CACHE_TTL_ENV_KEY));
+    }
+
+    @Override
+    public Integer getDnsFailureQuarantine() {
+        Integer mapValue = CloudApiUtils.parseIntegerOrNull(backingMap.get(DNS_FAILURE_QUARANTINE_KEY));
+
+        if (mapValue != null) {
+            return mapValue;
+        }
+
+        return CloudApiUtils.parseIntegerOrNull(backingMap.get(EnvVarConfigContext.DNS_FAILURE_QUARANTINE_ENV_KEY));
+    }
+
     @Override
     public String getHttpsProtocols() {
         return normalizeEmptyAndNullAndDefaultToStringValue(
@@ -225,6 +526,44 @@ public class MapConfigContext implements ConfigContext {
         return map.put(key, value);
     }
 
+    /**
+     * Parses an integer value pulled from the backingMap, trying each key in order.
+     * @param keys keys to use to pull value from backing map
+     * @return null if no key is set, otherwise the first parsed value
+     */
+    private Integer integerValue(final Object... keys) {
+        for (Object k : keys) {
+            Integer value = CloudApiUtils.parseIntegerOrNull(backingMap.get(k));
+            if (value == null) {
+                continue;
+            }
+
+            return value;
+        }
+
+        return null;
+    }
+
+    /**
+     * Parses an enum value pulled from the backingMap, trying each key in order.
+     * @param enumClass class of the enum to parse
+     * @param keys keys to use to pull value from backing map
+     * @param <T> type of the enum
+     * @return null if no key is set, otherwise the first parsed value
+     */
+    private <T extends Enum<T>> T enumValue(final Class<T> enumClass, final Object... keys) {
+        for (Object k : keys) {
+            T value = CloudApiUtils.parseEnumOrNull(backingMap.get(k), enumClass);
+            if (value == null) {
+                continue;
+            }
+
+            return value;
+        }
+
+        return null;
+    }
+
     /**
      * Normalizes a value pulled from the backingMap.
      * @param keys key to use to pull value from backing map
@@ -0,0 +1,25 @@
+package com.joyent.triton.exceptions;
+
+/**
+ * Exception class indicating that a request wasn't sent because the maximum
+ * number of requests in flight to its endpoint was reached.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class CloudApiBulkheadFullException extends CloudApiIOException {
+
+    private static final long serialVersionUID = 6125364817403381529L;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param endpoint scheme, host and port of the endpoint that requests are rejected for
+     * @param maxConcurrentRequests maximum number of requests in flight to the endpoint
+     */
+    public CloudApiBulkheadFullException(final String endpoint, final int maxConcurrentRequests) {
+        super(String.format("Too many requests in flight to %s - request was not sent", endpoint));
+        addContextValue("endpoint", endpoint);
+        addContextValue("maxConcurrentRequests", maxConcurrentRequests);
+    }
+}
@@ -0,0 +1,26 @@
+package com.joyent.triton.exceptions;
+
+/**
+ * Exception class indicating that a request wasn't sent because the circuit
+ * breaker of its endpoint is open after too many recent requests to the
+ * endpoint failed.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class CloudApiCircuitOpenException extends CloudApiIOException {
+
+    private static final long serialVersionUID = -2371624506364924817L;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param endpoint scheme, host and port of the endpoint that requests are rejected for
+     * @param retryAfterMillis time in milliseconds until trial requests are let through again
+     */
+    public CloudApiCircuitOpenException(final String endpoint, final long retryAfterMillis) {
+        super(String.format("Circuit breaker for %s is open - request was not sent", endpoint));
+        addContextValue("endpoint", endpoint);
+        addContextValue("retryAfterMillis", retryAfterMillis);
+    }
+}
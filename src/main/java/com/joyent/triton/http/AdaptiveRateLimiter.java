@@ -0,0 +1,110 @@
+package com.joyent.triton.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimiter} that slows down when the CloudAPI throttles requests.
+ * Every throttled response halves the rate, down to a tenth of the
+ * configured rate, and every other response raises it again by a twentieth
+ * of the configured rate until the configured rate is reached. Throttled
+ * responses received shortly after the rate was lowered are taken to be
+ * caused by the same burst and don't lower it further.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class AdaptiveRateLimiter extends RateLimiter {
+    /**
+     * Factor the rate is multiplied by when a request is throttled.
+     */
+    static final double DECREASE_FACTOR = 0.5;
+
+    /**
+     * Fraction of the configured rate that the rate is raised by for every
+     * request that isn't throttled.
+     */
+    static final double RECOVERY_STEP = 0.05;
+
+    /**
+     * Fraction of the configured rate that the rate is never lowered below.
+     */
+    static final double MINIMUM_FRACTION = 0.1;
+
+    /**
+     * Time in nanoseconds after lowering the rate during which further
+     * throttled responses are ignored.
+     */
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1L);
+
+    /**
+     * Configured number of requests allowed per second.
+     */
+    private final double maxRate;
+
+    /**
+     * Value of {@link System#nanoTime()} when the rate was last lowered,
+     * guarded by this instance's monitor.
+     */
+    private long lastDecreaseNanos;
+
+    /**
+     * Flag indicating that the rate was lowered at least once, guarded by
+     * this instance's monitor.
+     */
+    private boolean decreased;
+
+    /**
+     * Creates a new instance that starts at the configured rate with a full bucket.
+     *
+     * @param requestsPerSecond configured number of requests allowed per second
+     * @param burst maximum number of requests that can be sent at once after being idle
+     */
+    public AdaptiveRateLimiter(final double requestsPerSecond, final int burst) {
+        super(requestsPerSecond, burst);
+        this.maxRate = requestsPerSecond;
+    }
+
+    /**
+     * Lowers the rate after the CloudAPI throttled a request.
+     */
+    public synchronized void onThrottled() {
+        final long now = System.nanoTime();
+
+        if (decreased && now - lastDecreaseNanos < DECREASE_COOLDOWN_NANOS) {
+            return;
+        }
+
+        decreased = true;
+        lastDecreaseNanos = now;
+        setRate(Math.max(getRate() * DECREASE_FACTOR, maxRate * MINIMUM_FRACTION));
+    }
+
+    /**
+     * Raises the rate towards the configured rate after a request that
+     * wasn't throttled.
+     */
+    public synchronized void onSuccess() {
+        final double rate = getRate();
+
+        if (rate < maxRate) {
+            setRate(Math.min(rate + maxRate * RECOVERY_STEP, maxRate));
+        }
+    }
+
+    /**
+     * Configured number of requests allowed per second, which the current
+     * rate recovers to.
+     * @return requests per second
+     */
+    public double getMaxRate() {
+        return maxRate;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveRateLimiter{"
+                + "rate=" + getRate()
+                + ", maxRate=" + maxRate
+                + '}';
+    }
+}
@@ -0,0 +1,517 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.http.conn.DnsResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of {@link DnsResolver} that caches the addresses of a host
+ * and orders them by their health before every connection. Lookups are
+ * cached for a configurable time to live. Once that has passed, the cached
+ * addresses are still returned while the host is looked up again in the
+ * background, until they are twice as old as the time to live.
+ *
+ * <p>The connection socket factories report every attempt to connect to an
+ * address. Addresses that couldn't be connected to are tried last for a
+ * configurable time. The remaining addresses are shuffled so that connections
+ * are spread across all of them, but an address is more likely to be tried
+ * first the lower its observed connect latency is.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class CachingDnsResolver implements DnsResolver {
+    /**
+     * Logger instance.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(CachingDnsResolver.class);
+
+    /**
+     * Multiple of the time to live after which cached addresses are no longer
+     * returned while the host is looked up again.
+     */
+    private static final int STALE_FACTOR = 2;
+
+    /**
+     * Weight of the latest connect latency of an address in its average.
+     */
+    private static final double LATENCY_SMOOTHING = 0.3;
+
+    /**
+     * Time in seconds that the idle background lookup thread is kept.
+     */
+    private static final long REFRESH_THREAD_KEEP_ALIVE = 60L;
+
+    /**
+     * Executor shared by all instances that looks up hosts in the background.
+     */
+    private static final ThreadPoolExecutor REFRESH_EXECUTOR = createRefreshExecutor();
+
+    /**
+     * Orders candidates in quarantine last and all others by their key.
+     */
+    private static final Comparator<Candidate> CANDIDATE_ORDER = new Comparator<Candidate>() {
+        @Override
+        public int compare(final Candidate o1, final Candidate o2) {
+            if (o1.quarantined != o2.quarantined) {
+                return Boolean.compare(o1.quarantined, o2.quarantined);
+            }
+
+            return Double.compare(o1.key, o2.key);
+        }
+    };
+
+    /**
+     * Time in nanoseconds that lookups are cached.
+     */
+    private final long ttlNanos;
+
+    /**
+     * Time in nanoseconds that an address is tried last after a failed connection.
+     */
+    private final long quarantineNanos;
+
+    /**
+     * Cached lookups by host name.
+     */
+    private final ConcurrentMap<String, CachedLookup> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Observed health of each address that was connected to.
+     */
+    private final ConcurrentMap<InetAddress, AddressHealth> health = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param ttlMs time in milliseconds that lookups are cached or 0 to look up hosts for every connection
+     * @param quarantineMs time in milliseconds that an address is tried last after a failed connection
+     */
+    public CachingDnsResolver(final long ttlMs, final long quarantineMs) {
+        if (ttlMs < 0) {
+            throw new IllegalArgumentException("DNS cache TTL must be 0 milliseconds or greater");
+        }
+
+        if (quarantineMs < 0) {
+            throw new IllegalArgumentException("DNS failure quarantine must be 0 milliseconds or greater");
+        }
+
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.quarantineNanos = TimeUnit.MILLISECONDS.toNanos(quarantineMs);
+    }
+
+    /**
+     * Creates a new instance configured by the DNS settings of the passed
+     * configuration.
+     *
+     * @param config SDK configuration object
+     * @return a new instance
+     */
+    public static CachingDnsResolver fromConfig(final ConfigContext config) {
+        final int ttl = ObjectUtils.firstNonNull(config.getDnsCacheTtl(),
+                DefaultsConfigContext.DEFAULT_DNS_CACHE_TTL);
+        final int quarantine = ObjectUtils.firstNonNull(config.getDnsFailureQuarantine(),
+                DefaultsConfigContext.DEFAULT_DNS_FAILURE_QUARANTINE);
+
+        return new CachingDnsResolver(Math.max(ttl, 0), Math.max(quarantine, 0));
+    }
+
+    /**
+     * Creates the executor that looks up hosts in the background. It runs at
+     * most one daemon thread, which is stopped when it has been idle for a
+     * minute.
+     *
+     * @return new executor instance
+     */
+    private static ThreadPoolExecutor createRefreshExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                REFRESH_THREAD_KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new BasicThreadFactory.Builder()
+                        .namingPattern("triton-dns-refresh-%d")
+                        .daemon(true)
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    @Override
+    public InetAddress[] resolve(final String host) throws UnknownHostException {
+        if (ttlNanos == 0L) {
+            return order(lookup(host));
+        }
+
+        CachedLookup cached = cache.get(host);
+        final long age;
+
+        if (cached == null) {
+            age = Long.MAX_VALUE;
+        } else {
+            age = System.nanoTime() - cached.resolvedNanos;
+        }
+
+        if (age >= ttlNanos * STALE_FACTOR) {
+            cached = refresh(host);
+        } else if (age >= ttlNanos) {
+            refreshInBackground(host, cached);
+        }
+
+        return order(cached.addresses);
+    }
+
+    /**
+     * Looks up the addresses of a host with the system's resolver.
+     *
+     * @param host host name
+     * @return all addresses of the host
+     * @throws UnknownHostException thrown when the host can't be resolved
+     */
+    protected InetAddress[] lookup(final String host) throws UnknownHostException {
+        return InetAddress.getAllByName(host);
+    }
+
+    /**
+     * Looks up a host and caches the result.
+     *
+     * @param host host name
+     * @return the cached lookup
+     * @throws UnknownHostException thrown when the host can't be resolved
+     */
+    private CachedLookup refresh(final String host) throws UnknownHostException {
+        final CachedLookup lookup = new CachedLookup(lookup(host), System.nanoTime());
+        cache.put(host, lookup);
+
+        return lookup;
+    }
+
+    /**
+     * Looks up a host in the background unless a lookup of it is already
+     * running. The stale addresses stay cached if the lookup fails.
+     *
+     * @param host host name
+     * @param stale lookup that has outlived the time to live
+     */
+    private void refreshInBackground(final String host, final CachedLookup stale) {
+        if (!stale.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            REFRESH_EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        refresh(host);
+                    } catch (UnknownHostException | RuntimeException e) {
+                        LOG.debug("Unable to look up host [{}] in the background", host, e);
+                        stale.refreshing.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stale.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Orders the addresses of a host for the next connection. Addresses in
+     * quarantine are placed last. The others are sorted by a random key that
+     * is exponentially distributed with a mean of the address's average
+     * connect latency, which shuffles them with a preference for fast
+     * addresses. Addresses that weren't connected to yet are treated as
+     * being as fast as the fastest address.
+     *
+     * @param addresses addresses of the host
+     * @return new array with the addresses in the order to try them in
+     */
+    InetAddress[] order(final InetAddress[] addresses) {
+        if (addresses.length < 2) {
+            return addresses.clone();
+        }
+
+        final long now = System.nanoTime();
+        final Candidate[] candidates = new Candidate[addresses.length];
+        double fastest = Double.MAX_VALUE;
+
+        for (int i = 0; i < addresses.length; i++) {
+            final AddressHealth addressHealth = health.get(addresses[i]);
+            candidates[i] = new Candidate(addresses[i], addressHealth, now);
+
+            if (candidates[i].latency > 0.0) {
+                fastest = Math.min(fastest, candidates[i].latency);
+            }
+        }
+
+        if (fastest == Double.MAX_VALUE) {
+            fastest = 1.0;
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (final Candidate candidate : candidates) {
+            double latency = candidate.latency;
+
+            if (latency <= 0.0) {
+                latency = fastest;
+            }
+
+            candidate.key = -Math.log(1.0 - random.nextDouble()) * latency;
+        }
+
+        Arrays.sort(candidates, CANDIDATE_ORDER);
+
+        final InetAddress[] ordered = new InetAddress[candidates.length];
+
+        for (int i = 0; i < candidates.length; i++) {
+            ordered[i] = candidates[i].address;
+        }
+
+        return ordered;
+    }
+
+    /**
+     * Records a successful connection to an address, which ends its
+     * quarantine and updates its average connect latency.
+     *
+     * @param address address that was connected to
+     * @param elapsedNanos time in nanoseconds that connecting took
+     */
+    public void recordSuccess(final InetAddress address, final long elapsedNanos) {
+        if (address == null) {
+            return;
+        }
+
+        healthOf(address).recordSuccess(Math.max(elapsedNanos, 1L));
+    }
+
+    /**
+     * Records a failed connection to an address. Addresses that couldn't be
+     * reached are tried last until the quarantine time has passed; other
+     * failures, such as a failed TLS handshake, are ignored.
+     *
+     * @param address address that a connection was attempted to
+     * @param failure exception thrown while connecting
+     */
+    public void recordFailure(final InetAddress address, final IOException failure) {
+        if (address == null || quarantineNanos == 0L || !isUnreachable(failure)) {
+            return;
+        }
+
+        LOG.debug("Connection to [{}] failed, trying it last for {} ms", address,
+                TimeUnit.NANOSECONDS.toMillis(quarantineNanos));
+        healthOf(address).quarantine(System.nanoTime() + quarantineNanos);
+    }
+
+    /**
+     * Checks to see if an address is tried last because connecting to it failed.
+     *
+     * @param address address to check
+     * @return true if the address is in quarantine
+     */
+    public boolean isQuarantined(final InetAddress address) {
+        final AddressHealth addressHealth = health.get(address);
+
+        return addressHealth != null && addressHealth.isQuarantined(System.nanoTime());
+    }
+
+    /**
+     * Finds or creates the health record of an address.
+     *
+     * @param address address
+     * @return health record of the address
+     */
+    private AddressHealth healthOf(final InetAddress address) {
+        final AddressHealth created = new AddressHealth();
+        final AddressHealth existing = health.putIfAbsent(address, created);
+
+        if (existing == null) {
+            return created;
+        }
+
+        return existing;
+    }
+
+    /**
+     * Checks to see if an exception thrown while connecting means that the
+     * address couldn't be reached.
+     *
+     * @param failure exception thrown while connecting
+     * @return true if the address couldn't be reached
+     */
+    private static boolean isUnreachable(final IOException failure) {
+        return failure instanceof ConnectException
+                || failure instanceof NoRouteToHostException
+                || failure instanceof SocketTimeoutException;
+    }
+
+    @Override
+    public String toString() {
+        return "CachingDnsResolver{"
+                + "ttlMs=" + TimeUnit.NANOSECONDS.toMillis(ttlNanos)
+                + ", quarantineMs=" + TimeUnit.NANOSECONDS.toMillis(quarantineNanos)
+                + ", cachedHosts=" + cache.keySet()
+                + '}';
+    }
+
+    /**
+     * Addresses of a host and the time they were looked up at.
+     */
+    private static final class CachedLookup {
+        /**
+         * Addresses of the host.
+         */
+        private final InetAddress[] addresses;
+
+        /**
+         * Value of {@link System#nanoTime()} when the host was looked up.
+         */
+        private final long resolvedNanos;
+
+        /**
+         * Flag indicating that the host is being looked up in the background.
+         */
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        /**
+         * Creates a new instance.
+         *
+         * @param addresses addresses of the host
+         * @param resolvedNanos value of {@link System#nanoTime()} when the host was looked up
+         */
+        private CachedLookup(final InetAddress[] addresses, final long resolvedNanos) {
+            this.addresses = addresses;
+            this.resolvedNanos = resolvedNanos;
+        }
+    }
+
+    /**
+     * Observed connect latency and quarantine of an address.
+     */
+    private static final class AddressHealth {
+        /**
+         * Average connect latency in nanoseconds or 0 if it wasn't measured
+         * yet, guarded by this instance's monitor.
+         */
+        private double latencyNanos;
+
+        /**
+         * Value of {@link System#nanoTime()} when the quarantine ends,
+         * guarded by this instance's monitor.
+         */
+        private long quarantinedUntilNanos;
+
+        /**
+         * Flag indicating that the address is in quarantine, guarded by this
+         * instance's monitor.
+         */
+        private boolean quarantined;
+
+        /**
+         * Ends the quarantine and updates the average latency.
+         *
+         * @param elapsedNanos time in nanoseconds that connecting took
+         */
+        private synchronized void recordSuccess(final long elapsedNanos) {
+            quarantined = false;
+
+            if (latencyNanos == 0.0) {
+                latencyNanos = elapsedNanos;
+            } else {
+                latencyNanos = LATENCY_SMOOTHING * elapsedNanos + (1.0 - LATENCY_SMOOTHING) * latencyNanos;
+            }
+        }
+
+        /**
+         * Starts or extends the quarantine.
+         *
+         * @param untilNanos value of {@link System#nanoTime()} when the quarantine ends
+         */
+        private synchronized void quarantine(final long untilNanos) {
+            quarantined = true;
+            quarantinedUntilNanos = untilNanos;
+        }
+
+        /**
+         * Checks to see if the address is in quarantine.
+         *
+         * @param nowNanos current value of {@link System#nanoTime()}
+         * @return true if the quarantine hasn't ended
+         */
+        private synchronized boolean isQuarantined(final long nowNanos) {
+            return quarantined && nowNanos - quarantinedUntilNanos < 0L;
+        }
+
+        /**
+         * @return average connect latency in nanoseconds or 0 if it wasn't measured yet
+         */
+        private synchronized double getLatencyNanos() {
+            return latencyNanos;
+        }
+    }
+
+    /**
+     * Address being ordered for a connection.
+     */
+    private static final class Candidate {
+        /**
+         * Address of the host.
+         */
+        private final InetAddress address;
+
+        /**
+         * Flag indicating that the address is in quarantine.
+         */
+        private final boolean quarantined;
+
+        /**
+         * Average connect latency in nanoseconds or 0 if unknown.
+         */
+        private final double latency;
+
+        /**
+         * Random sort key.
+         */
+        private double key;
+
+        /**
+         * Creates a new instance from the health of an address.
+         *
+         * @param address address of the host
+         * @param addressHealth health of the address or null if it wasn't connected to yet
+         * @param nowNanos current value of {@link System#nanoTime()}
+         */
+        private Candidate(final InetAddress address, final AddressHealth addressHealth, final long nowNanos) {
+            this.address = address;
+
+            if (addressHealth == null) {
+                this.quarantined = false;
+                this.latency = 0.0;
+            } else {
+                this.quarantined = addressHealth.isQuarantined(nowNanos);
+                this.latency = addressHealth.getLatencyNanos();
+            }
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.exceptions.CloudApiBulkheadFullException;
+import com.joyent.triton.exceptions.CloudApiCircuitOpenException;
+import com.joyent.triton.exceptions.CloudApiIOException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker and bulkhead guarding the requests sent to a single
+ * CloudAPI endpoint.
+ *
+ * <p>The circuit breaker keeps the outcome of the most recent requests.
+ * Requests that fail without a response, are answered with a 5xx status code
+ * or take longer than the slow call duration count as failed. When the
+ * percentage of failed requests reaches the failure threshold the circuit
+ * opens and requests are rejected without being sent. After the open
+ * duration a few trial requests are let through: if they all succeed the
+ * circuit closes again, otherwise it opens for another open duration. Only
+ * the outcomes of requests let through since the circuit last changed its
+ * state are counted, so requests that were sent before the circuit opened
+ * are never mistaken for trial requests.</p>
+ *
+ * <p>The bulkhead limits the number of requests in flight to the endpoint
+ * and rejects requests beyond the limit instead of letting them queue for a
+ * connection.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class CircuitBreaker {
+    /**
+     * Number of recent requests that the failure rate is calculated from.
+     */
+    public static final int WINDOW_SIZE = 20;
+
+    /**
+     * Minimum number of requests recorded before the circuit can open.
+     */
+    public static final int MINIMUM_REQUESTS = 10;
+
+    /**
+     * Number of trial requests let through after the open duration.
+     */
+    public static final int TRIAL_REQUESTS = 3;
+
+    /**
+     * Multiplier used to compare a fraction to a percentage.
+     */
+    private static final int PERCENT = 100;
+
+    /**
+     * States of the circuit.
+     */
+    public enum State {
+        /**
+         * Requests are sent and their outcome recorded.
+         */
+        CLOSED,
+        /**
+         * Requests are rejected without being sent.
+         */
+        OPEN,
+        /**
+         * A limited number of trial requests are sent.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Permission to send a single request, taken with {@link #acquire()} and
+     * given back with {@link #release(Permit, boolean, long)}.
+     */
+    public static final class Permit {
+        /**
+         * Number of state changes of the circuit when the permit was taken.
+         */
+        private final long generation;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param generation number of state changes of the circuit when the permit was taken
+         */
+        private Permit(final long generation) {
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Scheme, host and port of the endpoint.
+     */
+    private final String endpoint;
+
+    /**
+     * Percentage of failed requests that opens the circuit or 0 if the
+     * circuit never opens.
+     */
+    private final int failureThreshold;
+
+    /**
+     * Time in nanoseconds after which a request counts as failed or 0 if
+     * latency is ignored.
+     */
+    private final long slowCallNanos;
+
+    /**
+     * Time in nanoseconds that the circuit stays open.
+     */
+    private final long openNanos;
+
+    /**
+     * Maximum number of requests in flight or 0 for no limit.
+     */
+    private final int maxConcurrentRequests;
+
+    /**
+     * Permits for requests in flight or null if there is no limit.
+     */
+    private final Semaphore bulkhead;
+
+    /**
+     * Outcomes of the most recent requests, true for failed requests,
+     * guarded by this instance's monitor.
+     */
+    private final boolean[] window = new boolean[WINDOW_SIZE];
+
+    /**
+     * Position in the window where the next outcome is stored, guarded by
+     * this instance's monitor.
+     */
+    private int windowIndex;
+
+    /**
+     * Number of outcomes in the window, guarded by this instance's monitor.
+     */
+    private int windowCount;
+
+    /**
+     * Number of failed requests in the window, guarded by this instance's monitor.
+     */
+    private int windowFailures;
+
+    /**
+     * Current state of the circuit, guarded by this instance's monitor.
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * Number of state changes of the circuit, guarded by this instance's monitor.
+     */
+    private long generation;
+
+    /**
+     * Value of {@link System#nanoTime()} when the circuit last opened,
+     * guarded by this instance's monitor.
+     */
+    private long openedAtNanos;
+
+    /**
+     * Number of trial requests that can still be let through while half
+     * open, guarded by this instance's monitor.
+     */
+    private int trialPermits;
+
+    /**
+     * Number of trial requests that succeeded while half open, guarded by
+     * this instance's monitor.
+     */
+    private int trialSuccesses;
+
+    /**
+     * Number of requests rejected because the circuit was open.
+     */
+    private final AtomicLong circuitRejections = new AtomicLong();
+
+    /**
+     * Number of requests rejected because the bulkhead was full.
+     */
+    private final AtomicLong bulkheadRejections = new AtomicLong();
+
+    /**
+     * Creates a new instance with a closed circuit.
+     *
+     * @param endpoint scheme, host and port of the endpoint
+     * @param failureThreshold percentage of failed requests that opens the circuit or 0 to never open it
+     * @param slowCallDuration time after which a request counts as failed or 0 to ignore latency
+     * @param openDuration time that the circuit stays open
+     * @param unit unit of the slow call and open durations
+     * @param maxConcurrentRequests maximum number of requests in flight or 0 for no limit
+     */
+    public CircuitBreaker(final String endpoint,
+                          final int failureThreshold,
+                          final long slowCallDuration,
+                          final long openDuration,
+                          final TimeUnit unit,
+                          final int maxConcurrentRequests) {
+        checkSettings(failureThreshold, slowCallDuration, openDuration, maxConcurrentRequests);
+
+        this.endpoint = endpoint;
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = unit.toNanos(slowCallDuration);
+        this.openNanos = unit.toNanos(openDuration);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+
+        if (maxConcurrentRequests > 0) {
+            this.bulkhead = new Semaphore(maxConcurrentRequests);
+        } else {
+            this.bulkhead = null;
+        }
+    }
+
+    /**
+     * Checks that circuit breaker settings are within their valid ranges.
+     *
+     * @param failureThreshold percentage of failed requests that opens the circuit or 0 to never open it
+     * @param slowCallDuration time after which a request counts as failed or 0 to ignore latency
+     * @param openDuration time that the circuit stays open
+     * @param maxConcurrentRequests maximum number of requests in flight or 0 for no limit
+     * @throws IllegalArgumentException thrown when a setting is out of range
+     */
+    static void checkSettings(final int failureThreshold,
+                              final long slowCallDuration,
+                              final long openDuration,
+                              final int maxConcurrentRequests) {
+        if (failureThreshold < 0 || failureThreshold > PERCENT) {
+            throw new IllegalArgumentException("Failure threshold must be between 0 and 100");
+        }
+
+        if (slowCallDuration < 0) {
+            throw new IllegalArgumentException("Slow call duration must be 0 or greater");
+        }
+
+        if (openDuration < 0) {
+            throw new IllegalArgumentException("Open duration must be 0 or greater");
+        }
+
+        if (maxConcurrentRequests < 0) {
+            throw new IllegalArgumentException("Maximum concurrent requests must be 0 or greater");
+        }
+    }
+
+    /**
+     * Takes a permit to send a request to the endpoint without waiting.
+     * Every permit taken must be given back with
+     * {@link #release(Permit, boolean, long)} once the request completes.
+     *
+     * @return permit to send the request
+     * @throws CloudApiBulkheadFullException thrown when too many requests are in flight
+     * @throws CloudApiCircuitOpenException thrown when the circuit is open
+     * @throws CloudApiIOException thrown when the request is rejected
+     */
+    public Permit acquire() throws CloudApiIOException {
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            bulkheadRejections.incrementAndGet();
+            throw new CloudApiBulkheadFullException(endpoint, maxConcurrentRequests);
+        }
+
+        final long retryAfterNanos;
+        final Permit permit;
+
+        synchronized (this) {
+            retryAfterNanos = enterCircuit(System.nanoTime());
+            permit = new Permit(generation);
+        }
+
+        if (retryAfterNanos >= 0) {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+
+            circuitRejections.incrementAndGet();
+            throw new CloudApiCircuitOpenException(endpoint,
+                    TimeUnit.NANOSECONDS.toMillis(retryAfterNanos));
+        }
+
+        return permit;
+    }
+
+    /**
+     * Gives back a permit taken with {@link #acquire()} and records the
+     * outcome of the request.
+     *
+     * @param permit permit taken for the request
+     * @param failed flag indicating that the request failed without a usable response
+     * @param elapsedNanos time in nanoseconds that the request took
+     */
+    public void release(final Permit permit, final boolean failed, final long elapsedNanos) {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+
+        final boolean slow = slowCallNanos > 0 && elapsedNanos >= slowCallNanos;
+        record(permit, failed || slow, System.nanoTime());
+    }
+
+    /**
+     * Lets a request through the circuit if it isn't open.
+     *
+     * @param now current value of {@link System#nanoTime()}
+     * @return -1 if the request can be sent, otherwise the time in
+     *         nanoseconds until trial requests are let through
+     */
+    private synchronized long enterCircuit(final long now) {
+        if (failureThreshold == 0 || state == State.CLOSED) {
+            return -1L;
+        }
+
+        if (state == State.OPEN) {
+            final long openFor = now - openedAtNanos;
+
+            if (openFor < openNanos) {
+                return openNanos - openFor;
+            }
+
+            state = State.HALF_OPEN;
+            generation++;
+            trialPermits = TRIAL_REQUESTS;
+            trialSuccesses = 0;
+        }
+
+        if (trialPermits > 0) {
+            trialPermits--;
+            return -1L;
+        }
+
+        return 0L;
+    }
+
+    /**
+     * Records the outcome of a request and changes the state of the circuit
+     * if needed.
+     *
+     * @param permit permit taken for the request
+     * @param failed flag indicating that the request counts as failed
+     * @param now current value of {@link System#nanoTime()}
+     */
+    private synchronized void record(final Permit permit, final boolean failed, final long now) {
+        // Requests let through before the circuit last changed its state are ignored
+        if (failureThreshold == 0 || permit.generation != generation) {
+            return;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (failed) {
+                open(now);
+            } else if (++trialSuccesses >= TRIAL_REQUESTS) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            if (windowCount == WINDOW_SIZE && window[windowIndex]) {
+                windowFailures--;
+            }
+
+            window[windowIndex] = failed;
+            windowIndex = (windowIndex + 1) % WINDOW_SIZE;
+            windowCount = Math.min(windowCount + 1, WINDOW_SIZE);
+
+            if (failed) {
+                windowFailures++;
+            }
+
+            if (windowCount >= MINIMUM_REQUESTS
+                    && windowFailures * PERCENT >= failureThreshold * windowCount) {
+                open(now);
+            }
+        }
+    }
+
+    /**
+     * Opens the circuit.
+     *
+     * @param now current value of {@link System#nanoTime()}
+     */
+    private void open(final long now) {
+        state = State.OPEN;
+        generation++;
+        openedAtNanos = now;
+    }
+
+    /**
+     * Closes the circuit and forgets the outcomes recorded before it opened.
+     */
+    private void close() {
+        state = State.CLOSED;
+        generation++;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    /**
+     * Scheme, host and port of the endpoint.
+     * @return endpoint guarded by this instance
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Current state of the circuit. An open circuit is reported as open
+     * until the next request after the open duration lets it go half open.
+     * @return state of the circuit
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Number of requests in flight to the endpoint.
+     * @return requests in flight or 0 if there is no limit
+     */
+    public int getInFlight() {
+        if (bulkhead == null) {
+            return 0;
+        }
+
+        return maxConcurrentRequests - bulkhead.availablePermits();
+    }
+
+    /**
+     * Number of requests rejected because the circuit was open.
+     * @return number of rejected requests
+     */
+    public long getCircuitRejections() {
+        return circuitRejections.get();
+    }
+
+    /**
+     * Number of requests rejected because too many requests were in flight.
+     * @return number of rejected requests
+     */
+    public long getBulkheadRejections() {
+        return bulkheadRejections.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{"
+                + "endpoint='" + endpoint + '\''
+                + ", state=" + getState()
+                + ", inFlight=" + getInFlight()
+                + ", circuitRejections=" + getCircuitRejections()
+                + ", bulkheadRejections=" + getBulkheadRejections()
+                + '}';
+    }
+}
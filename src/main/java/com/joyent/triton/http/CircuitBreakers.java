@@ -0,0 +1,162 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.URIUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CircuitBreaker} instances for every endpoint that requests are sent
+ * to, created on first use with the same settings. A single instance is
+ * shared by all of the API sections of a {@link com.joyent.triton.CloudApi}.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class CircuitBreakers {
+    /**
+     * Percentage of failed requests that opens a circuit or 0 to never open it.
+     */
+    private final int failureThreshold;
+
+    /**
+     * Time in milliseconds after which a request counts as failed or 0 to
+     * ignore latency.
+     */
+    private final long slowCallMillis;
+
+    /**
+     * Time in milliseconds that a circuit stays open.
+     */
+    private final long openMillis;
+
+    /**
+     * Maximum number of requests in flight to an endpoint or 0 for no limit.
+     */
+    private final int maxConcurrentRequests;
+
+    /**
+     * Circuit breakers by endpoint.
+     */
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance without any circuit breakers.
+     *
+     * @param failureThreshold percentage of failed requests that opens a circuit or 0 to never open it
+     * @param slowCallDuration time after which a request counts as failed or 0 to ignore latency
+     * @param openDuration time that a circuit stays open
+     * @param unit unit of the slow call and open durations
+     * @param maxConcurrentRequests maximum number of requests in flight to an endpoint or 0 for no limit
+     */
+    public CircuitBreakers(final int failureThreshold,
+                           final long slowCallDuration,
+                           final long openDuration,
+                           final TimeUnit unit,
+                           final int maxConcurrentRequests) {
+        CircuitBreaker.checkSettings(failureThreshold, slowCallDuration, openDuration, maxConcurrentRequests);
+
+        this.failureThreshold = failureThreshold;
+        this.slowCallMillis = unit.toMillis(slowCallDuration);
+        this.openMillis = unit.toMillis(openDuration);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Creates a new instance configured by the circuit breaker settings of
+     * the passed configuration.
+     *
+     * @param config SDK configuration object
+     * @return a new instance or null if neither circuit breakers nor a
+     *         limit on requests in flight are enabled
+     */
+    public static CircuitBreakers fromConfig(final ConfigContext config) {
+        final int failureThreshold = ObjectUtils.firstNonNull(config.getCircuitBreakerFailureThreshold(),
+                DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+        final int maxConcurrentRequests = ObjectUtils.firstNonNull(config.getMaxConcurrentRequestsPerEndpoint(),
+                DefaultsConfigContext.DEFAULT_MAX_CONCURRENT_REQUESTS_PER_ENDPOINT);
+
+        if (failureThreshold <= 0 && maxConcurrentRequests <= 0) {
+            return null;
+        }
+
+        final int slowCallDuration = ObjectUtils.firstNonNull(config.getCircuitBreakerSlowCallDuration(),
+                DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION);
+        final int openDuration = ObjectUtils.firstNonNull(config.getCircuitBreakerOpenDuration(),
+                DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION);
+
+        return new CircuitBreakers(Math.max(failureThreshold, 0), Math.max(slowCallDuration, 0),
+                Math.max(openDuration, 0), TimeUnit.MILLISECONDS, Math.max(maxConcurrentRequests, 0));
+    }
+
+    /**
+     * Finds or creates the circuit breaker of the endpoint that a request is
+     * sent to.
+     *
+     * @param request HTTP request object
+     * @return circuit breaker of the request's endpoint
+     */
+    public CircuitBreaker forRequest(final HttpUriRequest request) {
+        Objects.requireNonNull(request, "Request must be present");
+
+        final HttpHost host = URIUtils.extractHost(request.getURI());
+
+        if (host == null) {
+            return forEndpoint("");
+        }
+
+        return forEndpoint(host.toURI());
+    }
+
+    /**
+     * Finds or creates the circuit breaker of an endpoint.
+     *
+     * @param endpoint scheme, host and port of the endpoint
+     * @return circuit breaker of the endpoint
+     */
+    public CircuitBreaker forEndpoint(final String endpoint) {
+        final CircuitBreaker existing = breakers.get(endpoint);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        final CircuitBreaker created = new CircuitBreaker(endpoint, failureThreshold,
+                slowCallMillis, openMillis, TimeUnit.MILLISECONDS, maxConcurrentRequests);
+        final CircuitBreaker raced = breakers.putIfAbsent(endpoint, created);
+
+        if (raced != null) {
+            return raced;
+        }
+
+        return created;
+    }
+
+    /**
+     * Circuit breakers of all of the endpoints that requests were sent to.
+     * @return snapshot of the circuit breakers
+     */
+    public Collection<CircuitBreaker> getAll() {
+        return new ArrayList<>(breakers.values());
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreakers{"
+                + "failureThreshold=" + failureThreshold
+                + ", slowCallMillis=" + slowCallMillis
+                + ", openMillis=" + openMillis
+                + ", maxConcurrentRequests=" + maxConcurrentRequests
+                + ", breakers=" + getAll()
+                + '}';
+    }
+}
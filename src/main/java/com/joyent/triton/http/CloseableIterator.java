@@ -0,0 +1,17 @@
+package com.joyent.triton.http;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * {@link Iterator} that holds resources (such as an open HTTP connection)
+ * until it is exhausted or closed. Callers that stop iterating early should
+ * close the iterator.
+ *
+ * @param <E> type of element returned
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public interface CloseableIterator<E> extends Iterator<E>, Closeable {
+}
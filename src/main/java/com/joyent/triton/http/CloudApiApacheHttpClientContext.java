@@ -35,7 +35,20 @@ public class CloudApiApacheHttpClientContext implements CloudApiConnectionContex
     private final HttpContext httpContext;
 
     /**
-     * Creates a new instance using the passed in factory class.
+     * Flag indicating that this context owns the HTTP client and closes it
+     * when the context is closed.
+     */
+    private final boolean closeHttpClient;
+
+    /**
+     * Deadline by which all requests made with this context must complete.
+     */
+    private volatile Deadline deadline;
+
+    /**
+     * Creates a new instance using the passed in factory class. The context
+     * creates its own connection pool that is shut down when it is closed.
+     *
      * @param connectionFactory factory class that creates configured connections
      */
     public CloudApiApacheHttpClientContext(final CloudApiConnectionFactory connectionFactory) {
@@ -44,6 +57,26 @@ public class CloudApiApacheHttpClientContext implements CloudApiConnectionContex
 
         this.httpClient = connectionFactory.createConnection();
         this.httpContext = buildHttpContext(connectionFactory.getSignatureConfigurator());
+        this.closeHttpClient = true;
+    }
+
+    /**
+     * Creates a new instance that borrows connections from a shared HTTP client.
+     * The shared client is left open when this context is closed.
+     *
+     * @param connectionFactory factory class that creates configured connections
+     * @param sharedHttpClient HTTP client shared between multiple contexts
+     */
+    public CloudApiApacheHttpClientContext(final CloudApiConnectionFactory connectionFactory,
+                                           final HttpClient sharedHttpClient) {
+        Objects.requireNonNull(connectionFactory,
+                "Connection factory must be present");
+        Objects.requireNonNull(sharedHttpClient,
+                "Shared HTTP client must be present");
+
+        this.httpClient = sharedHttpClient;
+        this.httpContext = buildHttpContext(connectionFactory.getSignatureConfigurator());
+        this.closeHttpClient = false;
     }
 
     /**
@@ -54,14 +87,28 @@ public class CloudApiApacheHttpClientContext implements CloudApiConnectionContex
      * @return configured HTTP context object
      */
     protected HttpContext buildHttpContext(final HttpSignatureConfigurator configurator) {
+        return newHttpClientContext(configurator);
+    }
+
+    /**
+     * Creates a new HTTP context object that is pre-configured for using HTTP
+     * Signature authentication.
+     *
+     * @param configurator HTTP Signatures configuration helper to pull properties from
+     * @return configured HTTP context object
+     */
+    static HttpClientContext newHttpClientContext(final HttpSignatureConfigurator configurator) {
         final HttpClientContext context = HttpClientContext.create();
 
         if (configurator != null) {
             AuthCache authCache = new BasicAuthCache();
             context.setAuthCache(authCache);
 
+            /* Requests are signed up front with the scheme seeded here, so it
+             * has to report signing to the active span itself. */
             AuthState authState = new AuthState();
-            authState.update(configurator.getAuthScheme(), configurator.getCredentials());
+            authState.update(new TracingAuthScheme(configurator.getAuthScheme()),
+                    configurator.getCredentials());
 
             context.setAttribute(HttpClientContext.TARGET_AUTH_STATE,
                     authState);
@@ -82,11 +129,29 @@ public class CloudApiApacheHttpClientContext implements CloudApiConnectionContex
         return httpContext;
     }
 
+    @Override
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Sets a deadline by which all requests made with this context must
+     * complete. The timeouts of each request are shortened to the time that
+     * is left before the deadline.
+     *
+     * @param deadline deadline or null to only use the configured timeouts
+     * @return the current instance of {@link CloudApiApacheHttpClientContext}
+     */
+    public CloudApiApacheHttpClientContext setDeadline(final Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     @Override
     public void close() throws IOException {
         MDC.remove(RequestIdInterceptor.MDC_REQUEST_ID_STRING);
 
-        if (httpClient instanceof CloseableHttpClient) {
+        if (closeHttpClient && httpClient instanceof CloseableHttpClient) {
             ((CloseableHttpClient)httpClient).close();
         }
     }
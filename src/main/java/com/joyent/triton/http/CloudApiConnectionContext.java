@@ -25,6 +25,12 @@ public interface CloudApiConnectionContext extends AutoCloseable {
      */
     HttpContext getHttpContext();
 
+    /**
+     * Deadline by which all requests made with this context must complete.
+     * @return deadline or null if requests are only limited by the configured timeouts
+     */
+    Deadline getDeadline();
+
     @Override
     void close() throws IOException;
 }
@@ -2,14 +2,22 @@ package com.joyent.triton.http;
 
 import com.joyent.http.signature.Signer;
 import com.joyent.http.signature.ThreadLocalSigner;
+import com.joyent.http.signature.apache.httpclient.HttpSignatureAuthenticationStrategy;
 import com.joyent.http.signature.apache.httpclient.HttpSignatureConfigurator;
 import com.joyent.triton.config.ConfigContext;
 import com.joyent.triton.config.ConfigurationException;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.metrics.CloudApiMetrics;
+import com.joyent.triton.metrics.NoOpCloudApiMetrics;
+import com.joyent.triton.tracing.TracePhase;
+import com.joyent.triton.tracing.TracingContext;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.NameValuePair;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -19,10 +27,11 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
-import org.apache.http.conn.DnsResolver;
+import org.apache.http.config.SocketConfig;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.entity.ContentType;
@@ -30,7 +39,18 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.reactor.ConnectingIOReactor;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HttpContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +59,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.ProxySelector;
+import java.net.Socket;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.KeyPair;
@@ -46,6 +67,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.commons.lang3.BooleanUtils.toBoolean;
 
@@ -63,11 +85,6 @@ public class CloudApiConnectionFactory {
      */
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    /**
-     * Default DNS resolver for all connections to the CloudAPI.
-     */
-    private static final DnsResolver DNS_RESOLVER = new ShufflingDnsResolver();
-
     /**
      * Default HTTP headers to send to all requests to the CloudAPI.
      */
@@ -90,14 +107,50 @@ public class CloudApiConnectionFactory {
      */
     private final HttpClientBuilder httpClientBuilder;
 
+    /**
+     * Default request configuration used by all requests to the CloudAPI.
+     */
+    private final RequestConfig requestConfig;
+
+    /**
+     * Metrics implementation that retries are reported to.
+     */
+    private final CloudApiMetrics metrics;
+
+    /**
+     * Rate limits shared by all clients created by this factory.
+     */
+    private final RateLimits rateLimits;
+
+    /**
+     * DNS resolver shared by all connection pools created by this factory.
+     */
+    private final CachingDnsResolver dnsResolver;
+
     /**
      * Create new instance using the passed configuration.
      * @param config configuration of the connection parameters
      */
     public CloudApiConnectionFactory(final ConfigContext config) {
+        this(config, NoOpCloudApiMetrics.INSTANCE);
+    }
+
+    /**
+     * Create new instance using the passed configuration that reports
+     * retries to the passed metrics implementation.
+     *
+     * @param config configuration of the connection parameters
+     * @param metrics metrics implementation that retries are reported to
+     */
+    public CloudApiConnectionFactory(final ConfigContext config,
+                                     final CloudApiMetrics metrics) {
         Objects.requireNonNull(config, "Configuration context must be present");
+        Objects.requireNonNull(metrics, "Metrics implementation must be present");
 
         this.config = config;
+        this.metrics = metrics;
+        this.rateLimits = RateLimits.fromConfig(config);
+        this.dnsResolver = CachingDnsResolver.fromConfig(config);
 
         if (config.getCloudAPIURL() == null) {
             throw new ConfigurationException("The CloudAPI URL setting must be set");
@@ -130,6 +183,7 @@ public class CloudApiConnectionFactory {
                     createKeyPair(), createCredentials(), useNativeCodeToSign);
         }
 
+        this.requestConfig = createRequestConfig();
         this.httpClientBuilder = createBuilder();
     }
 
@@ -142,18 +196,18 @@ public class CloudApiConnectionFactory {
     protected HttpClientBuilder createBuilder() {
         final boolean noAuth = ObjectUtils.firstNonNull(config.noAuth(), false);
 
-        final RequestConfig requestConfig = RequestConfig.custom()
-                .setAuthenticationEnabled(!noAuth)
-                .setContentCompressionEnabled(true)
-                .build();
-
         final HttpClientBuilder builder = HttpClients.custom()
                 .setDefaultHeaders(HEADERS)
                 .setDefaultRequestConfig(requestConfig)
-                .setRetryHandler(new CloudApiHttpRequestRetryHandler(config));
+                .setRetryHandler(new CloudApiHttpRequestRetryHandler(config, metrics))
+                .setServiceUnavailableRetryStrategy(new CloudApiServiceUnavailableRetryStrategy(config, metrics))
+                .setRequestExecutor(new CloudApiHttpRequestExecutor());
 
         if (!noAuth) {
-            signatureConfigurator.configure(builder);
+            // Same as HttpSignatureConfigurator.configure(), but signing is traced
+            builder.setTargetAuthenticationStrategy(new HttpSignatureAuthenticationStrategy(
+                    new TracingAuthScheme(signatureConfigurator.getAuthScheme()),
+                    signatureConfigurator.getCredentials()));
         }
 
         final HttpHost proxyHost = findProxyServer();
@@ -162,11 +216,98 @@ public class CloudApiConnectionFactory {
             builder.setProxy(proxyHost);
         }
 
-        builder.addInterceptorFirst(new RequestIdInterceptor());
+        builder.addInterceptorFirst(new RequestIdInterceptor(getRequestIdGenerator()));
+
+        final RateLimitInterceptor rateLimitInterceptor = new RateLimitInterceptor(rateLimits);
+        builder.addInterceptorLast((HttpRequestInterceptor)rateLimitInterceptor);
+        builder.addInterceptorLast((HttpResponseInterceptor)rateLimitInterceptor);
+
+        final int maxIdleTime = ObjectUtils.firstNonNull(config.getMaximumIdleTime(),
+                DefaultsConfigContext.DEFAULT_MAX_IDLE_TIME);
+
+        if (maxIdleTime > 0) {
+            builder.evictIdleConnections((long)maxIdleTime, TimeUnit.MILLISECONDS);
+        }
+
+        builder.evictExpiredConnections();
 
         return builder;
     }
 
+    /**
+     * Creates the default request configuration used by all requests to
+     * the CloudAPI. The configured timeout is used as the connect timeout,
+     * the socket read timeout and the timeout for leasing a connection
+     * from the pool.
+     *
+     * @return configured instance
+     */
+    protected RequestConfig createRequestConfig() {
+        final boolean noAuth = ObjectUtils.firstNonNull(config.noAuth(), false);
+        final int timeout = getTimeout();
+
+        return RequestConfig.custom()
+                .setAuthenticationEnabled(!noAuth)
+                .setContentCompressionEnabled(true)
+                .setConnectTimeout(timeout)
+                .setSocketTimeout(timeout)
+                .setConnectionRequestTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Default request configuration used by all requests to the CloudAPI.
+     *
+     * @return request configuration shared by all clients created by this factory
+     */
+    public RequestConfig getRequestConfig() {
+        return requestConfig;
+    }
+
+    /**
+     * Rate limits applied to the requests of all clients created by this
+     * factory. Limits for individual operations can be added to the
+     * returned instance at any time.
+     *
+     * @return rate limits shared by all clients created by this factory
+     */
+    public RateLimits getRateLimits() {
+        return rateLimits;
+    }
+
+    /**
+     * DNS resolver that caches the addresses of the CloudAPI and orders them
+     * by their observed health for every new connection.
+     *
+     * @return resolver shared by all connection pools created by this factory
+     */
+    public CachingDnsResolver getDnsResolver() {
+        return dnsResolver;
+    }
+
+    /**
+     * Configured strategy used to generate the id sent with each request.
+     *
+     * @return request id generator
+     */
+    protected RequestIdGenerator getRequestIdGenerator() {
+        return ObjectUtils.firstNonNull(config.getRequestIdGenerator(),
+                DefaultsConfigContext.DEFAULT_REQUEST_ID_GENERATOR);
+    }
+
+    /**
+     * Configured timeout in milliseconds for connecting to and reading
+     * from the CloudAPI.
+     *
+     * @return timeout in milliseconds, zero meaning no timeout
+     */
+    protected int getTimeout() {
+        final int timeout = ObjectUtils.firstNonNull(config.getTimeout(),
+                DefaultsConfigContext.DEFAULT_HTTP_TIMEOUT);
+
+        return Math.max(timeout, 0);
+    }
+
     /**
      * Creates a {@link Credentials} instance based on the stored
      * {@link ConfigContext}.
@@ -322,32 +463,195 @@ public class CloudApiConnectionFactory {
     }
 
     /**
-     * Creates a new configured instance of {@link CloseableHttpClient} based
-     * on the factory's configuration.
+     * Creates a new connection pool configured with the connection limits and
+     * lifetimes specified in the factory's configuration.
      *
-     * @return new connection object instance
+     * @return new connection pool instance
      */
-    public CloseableHttpClient createConnection() {
+    public PoolingHttpClientConnectionManager createConnectionManager() {
         final ConnectionSocketFactory socketFactory =
-                new CloudApiSSLConnectionSocketFactory(config);
+                new CloudApiSSLConnectionSocketFactory(config, dnsResolver);
 
         final RegistryBuilder<ConnectionSocketFactory> registryBuilder =
                 RegistryBuilder.create();
 
         final Registry<ConnectionSocketFactory> socketFactoryRegistry = registryBuilder
-                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("http", createPlainSocketFactory())
                 .register("https", socketFactory)
                 .build();
 
+        final int timeToLive = ObjectUtils.firstNonNull(config.getConnectionTimeToLive(),
+                DefaultsConfigContext.DEFAULT_CONNECTION_TTL);
+        final int maxConnections = ObjectUtils.firstNonNull(config.getMaximumConnections(),
+                DefaultsConfigContext.DEFAULT_MAX_CONNS);
+        final int maxConnectionsPerRoute = ObjectUtils.firstNonNull(config.getMaximumConnectionsPerRoute(),
+                DefaultsConfigContext.DEFAULT_MAX_CONNS_PER_ROUTE);
+
         final PoolingHttpClientConnectionManager connectionManager =
                 new PoolingHttpClientConnectionManager(socketFactoryRegistry,
-                        DNS_RESOLVER);
+                        null, null, dnsResolver, timeToLive, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSoTimeout(getTimeout())
+                .build());
+
+        return connectionManager;
+    }
+
+    /**
+     * Creates the factory for unencrypted connections, which reports the time
+     * spent connecting to the active {@link com.joyent.triton.tracing.CloudApiSpan}
+     * and every connection attempt to the DNS resolver.
+     *
+     * @return new socket factory instance
+     */
+    private ConnectionSocketFactory createPlainSocketFactory() {
+        return new PlainConnectionSocketFactory() {
+            @Override
+            public Socket connectSocket(final int connectTimeout,
+                                        final Socket socket,
+                                        final HttpHost host,
+                                        final InetSocketAddress remoteAddress,
+                                        final InetSocketAddress localAddress,
+                                        final HttpContext context) throws IOException {
+                final long start = System.nanoTime();
+
+                try {
+                    final Socket connected = super.connectSocket(connectTimeout, socket, host, remoteAddress,
+                            localAddress, context);
+                    dnsResolver.recordSuccess(remoteAddress.getAddress(), System.nanoTime() - start);
+
+                    return connected;
+                } catch (IOException e) {
+                    dnsResolver.recordFailure(remoteAddress.getAddress(), e);
+                    throw e;
+                } finally {
+                    TracingContext.activeSpan(context).recordPhase(TracePhase.CONNECT,
+                            start, System.nanoTime());
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a new configured instance of {@link CloseableHttpClient} based
+     * on the factory's configuration. The returned client owns a new
+     * connection pool that is shut down when the client is closed.
+     *
+     * @return new connection object instance
+     */
+    public CloseableHttpClient createConnection() {
+        return createConnection(createConnectionManager());
+    }
+
+    /**
+     * Creates a new configured instance of {@link CloseableHttpClient} based
+     * on the factory's configuration that leases connections from the passed
+     * connection pool. The pool is shut down when the client is closed.
+     *
+     * @param connectionManager connection pool to lease connections from
+     * @return new connection object instance
+     */
+    public synchronized CloseableHttpClient createConnection(
+            final PoolingHttpClientConnectionManager connectionManager) {
+        Objects.requireNonNull(connectionManager, "Connection manager must be present");
 
         httpClientBuilder.setConnectionManager(connectionManager);
 
         return httpClientBuilder.build();
     }
 
+    /**
+     * Creates a new configured instance of {@link CloseableHttpAsyncClient}
+     * based on the factory's configuration. The client uses non-blocking I/O
+     * and owns its own connection pool. It shares the TLS settings, rate
+     * limits and DNS resolver of the blocking clients, but its requests are
+     * not retried, recorded in metrics, traced or checked against circuit
+     * breakers. The returned client has not been started.
+     *
+     * @return new asynchronous connection object instance
+     */
+    public CloseableHttpAsyncClient createAsyncConnection() {
+        final boolean noAuth = ObjectUtils.firstNonNull(config.noAuth(), false);
+
+        final HttpAsyncClientBuilder builder = HttpAsyncClients.custom()
+                .setConnectionManager(createAsyncConnectionManager())
+                .setDefaultHeaders(HEADERS)
+                .setDefaultRequestConfig(requestConfig);
+
+        if (!noAuth) {
+            builder.setTargetAuthenticationStrategy(
+                    signatureConfigurator.getAuthenticationStrategy());
+        }
+
+        final HttpHost proxyHost = findProxyServer();
+
+        if (proxyHost != null) {
+            builder.setProxy(proxyHost);
+        }
+
+        builder.addInterceptorFirst(new RequestIdInterceptor(getRequestIdGenerator()));
+
+        /* Request interceptors run on the I/O dispatch threads, which must
+         * never block, so asynchronous requests wait for their tokens before
+         * they are submitted and only the responses are intercepted here. */
+        builder.addInterceptorLast((HttpResponseInterceptor)new RateLimitInterceptor(rateLimits));
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a new non-blocking connection pool configured with the
+     * connection limits specified in the factory's configuration.
+     *
+     * @return new non-blocking connection pool instance
+     */
+    protected PoolingNHttpClientConnectionManager createAsyncConnectionManager() {
+        final SchemeIOSessionStrategy sslStrategy = new CloudApiSSLIOSessionStrategy(config);
+
+        final Registry<SchemeIOSessionStrategy> sessionStrategyRegistry =
+                RegistryBuilder.<SchemeIOSessionStrategy>create()
+                        .register("http", NoopIOSessionStrategy.INSTANCE)
+                        .register("https", sslStrategy)
+                        .build();
+
+        final ConnectingIOReactor ioReactor;
+
+        try {
+            ioReactor = new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                    .setConnectTimeout(getTimeout())
+                    .setSoTimeout(getTimeout())
+                    .build());
+        } catch (IOReactorException e) {
+            throw new ConfigurationException("Unable to create non-blocking I/O reactor", e);
+        }
+
+        final int maxConnections = ObjectUtils.firstNonNull(config.getMaximumConnections(),
+                DefaultsConfigContext.DEFAULT_MAX_CONNS);
+        final int maxConnectionsPerRoute = ObjectUtils.firstNonNull(config.getMaximumConnectionsPerRoute(),
+                DefaultsConfigContext.DEFAULT_MAX_CONNS_PER_ROUTE);
+
+        final PoolingNHttpClientConnectionManager connectionManager =
+                new PoolingNHttpClientConnectionManager(ioReactor, null,
+                        sessionStrategyRegistry, dnsResolver);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        return connectionManager;
+    }
+
+    /**
+     * Creates a new HTTP context that is pre-configured for using HTTP
+     * Signature authentication. A context should only be used by a single
+     * request at a time.
+     *
+     * @return new HTTP context object
+     */
+    public HttpClientContext createHttpContext() {
+        return CloudApiApacheHttpClientContext.newHttpClientContext(signatureConfigurator);
+    }
+
     /**
      * Convenience method used for building DELETE operations.
      * @param path path to resource
@@ -0,0 +1,77 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.tracing.TracePhase;
+import com.joyent.triton.tracing.TracingContext;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+
+/**
+ * {@link HttpRequestExecutor} implementation that reports the time spent
+ * waiting for the CloudAPI to respond, from sending the request until the
+ * response headers arrive, to the active {@link com.joyent.triton.tracing.CloudApiSpan}.
+ * The duration of each attempt is also stored in the HTTP context, so that
+ * callers can judge how long the CloudAPI took to answer without counting
+ * the time spent waiting between retries.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class CloudApiHttpRequestExecutor extends HttpRequestExecutor {
+    /**
+     * HTTP context attribute holding the duration in nanoseconds of the
+     * latest attempt to send a request and receive its response.
+     */
+    public static final String ATTEMPT_NANOS_ATTRIBUTE = "triton.attempt_nanos";
+
+    @Override
+    public HttpResponse execute(final HttpRequest request,
+                                final HttpClientConnection conn,
+                                final HttpContext context)
+            throws IOException, HttpException {
+        final long start = System.nanoTime();
+
+        try {
+            return super.execute(request, conn, context);
+        } finally {
+            context.setAttribute(ATTEMPT_NANOS_ATTRIBUTE, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Duration of the latest attempt recorded in the passed context.
+     *
+     * @param context HTTP context of the request
+     * @param defaultNanos value returned when no attempt was recorded
+     * @return duration in nanoseconds of the latest attempt or the default
+     */
+    public static long attemptNanos(final HttpContext context, final long defaultNanos) {
+        final Object attemptNanos = context.getAttribute(ATTEMPT_NANOS_ATTRIBUTE);
+
+        if (attemptNanos instanceof Long) {
+            return (Long)attemptNanos;
+        }
+
+        return defaultNanos;
+    }
+
+    @Override
+    protected HttpResponse doReceiveResponse(final HttpRequest request,
+                                             final HttpClientConnection conn,
+                                             final HttpContext context)
+            throws HttpException, IOException {
+        final long start = System.nanoTime();
+
+        try {
+            return super.doReceiveResponse(request, conn, context);
+        } finally {
+            TracingContext.activeSpan(context).recordPhase(TracePhase.SERVER_WAIT,
+                    start, System.nanoTime());
+        }
+    }
+}
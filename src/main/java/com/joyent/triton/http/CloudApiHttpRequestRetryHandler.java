@@ -2,8 +2,14 @@ package com.joyent.triton.http;
 
 
 import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
 import com.joyent.triton.exceptions.CloudApiResponseException;
+import com.joyent.triton.metrics.CloudApiMetrics;
+import com.joyent.triton.metrics.NoOpCloudApiMetrics;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.http.HttpRequest;
 import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
 import org.apache.http.protocol.HttpContext;
 import org.slf4j.Logger;
@@ -15,11 +21,19 @@ import java.io.InterruptedIOException;
 import java.net.ConnectException;
 import java.net.UnknownHostException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Implementation of {@link HttpRequestRetryHandler} customized for use with the
- * CloudAPI.
+ * CloudAPI. Requests that failed with an I/O error are retried after a
+ * randomized, exponentially growing delay calculated by {@link RetryBackoff}.
+ * Requests that aren't idempotent, such as creating an instance, are only
+ * retried as allowed by the configured {@link NonIdempotentRetryPolicy}.
  *
  * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
  * @since 1.0.0
@@ -40,13 +54,74 @@ public class CloudApiHttpRequestRetryHandler extends DefaultHttpRequestRetryHand
             ConnectException.class,
             SSLException.class);
 
+    /**
+     * HTTP methods that can be repeated without changing their effect.
+     */
+    protected static final Set<String> IDEMPOTENT_METHODS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS", "TRACE")));
+
+    /**
+     * Metrics implementation that retries are reported to.
+     */
+    private final CloudApiMetrics metrics;
+
+    /**
+     * Calculates the delay before each retry.
+     */
+    private final RetryBackoff backoff;
+
     /**
      * Creates a new instance with the passed configuration.
      *
      * @param config configuration for retries
      */
     public CloudApiHttpRequestRetryHandler(final ConfigContext config) {
-        super(config.getRetries(), true, NON_RETRIABLE);
+        this(config, NoOpCloudApiMetrics.INSTANCE);
+    }
+
+    /**
+     * Creates a new instance with the passed configuration that reports
+     * retries to the passed metrics implementation.
+     *
+     * @param config configuration for retries
+     * @param metrics metrics implementation that retries are reported to
+     */
+    public CloudApiHttpRequestRetryHandler(final ConfigContext config,
+                                           final CloudApiMetrics metrics) {
+        super(config.getRetries(), retryNonIdempotent(config), NON_RETRIABLE);
+        Objects.requireNonNull(metrics, "Metrics implementation must be present");
+        this.metrics = metrics;
+        this.backoff = RetryBackoff.fromConfig(config);
+    }
+
+    /**
+     * Checks to see if requests that aren't idempotent may be retried after
+     * they were sent.
+     *
+     * @param config configuration for retries
+     * @return true if the {@link NonIdempotentRetryPolicy#ALWAYS} policy is configured
+     */
+    static boolean retryNonIdempotent(final ConfigContext config) {
+        final NonIdempotentRetryPolicy policy = ObjectUtils.firstNonNull(config.getNonIdempotentRetryPolicy(),
+                DefaultsConfigContext.DEFAULT_NON_IDEMPOTENT_RETRY_POLICY);
+
+        return policy == NonIdempotentRetryPolicy.ALWAYS;
+    }
+
+    /**
+     * Checks to see if a request can be repeated without changing its effect.
+     *
+     * @param request HTTP request
+     * @return true if the request method is idempotent
+     */
+    static boolean isIdempotent(final HttpRequest request) {
+        final String method = request.getRequestLine().getMethod().toUpperCase(Locale.ENGLISH);
+        return IDEMPOTENT_METHODS.contains(method);
+    }
+
+    @Override
+    protected boolean handleAsIdempotent(final HttpRequest request) {
+        return isIdempotent(request);
     }
 
     @Override
@@ -58,6 +133,41 @@ public class CloudApiHttpRequestRetryHandler extends DefaultHttpRequestRetryHand
             logger.debug(msg, exception);
         }
 
-        return super.retryRequest(exception, executionCount, context);
+        if (!super.retryRequest(exception, executionCount, context)) {
+            return false;
+        }
+
+        final long delay = backoff.nextDelay(executionCount);
+
+        if (!RetryBackoff.await(delay, context)) {
+            logger.debug("Not retrying request because its deadline would pass or the thread was interrupted");
+            return false;
+        }
+
+        metrics.recordRetry(operationName(context), executionCount);
+        return true;
+    }
+
+    /**
+     * Finds the name of the operation that a request was made for. Requests
+     * that weren't made by an API section are named after their method.
+     *
+     * @param context HTTP context of the request
+     * @return name of the operation
+     */
+    static String operationName(final HttpContext context) {
+        final Object operationName = context.getAttribute(CloudApiResponseHandler.OPERATION_NAME_ATTRIBUTE);
+
+        if (operationName instanceof String) {
+            return (String)operationName;
+        }
+
+        final HttpRequest request = HttpClientContext.adapt(context).getRequest();
+
+        if (request == null) {
+            return "unknown";
+        }
+
+        return request.getRequestLine().getMethod();
     }
 }
@@ -1,6 +1,8 @@
 package com.joyent.triton.http;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joyent.triton.CloudApiUtils;
 import com.joyent.triton.domain.ErrorDetail;
@@ -13,14 +15,17 @@ import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
@@ -42,6 +47,12 @@ import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToStrin
  * @since 1.0.0
  */
 public class CloudApiResponseHandler<T> implements ResponseHandler<T> {
+    /**
+     * Name of the {@link org.apache.http.protocol.HttpContext} attribute
+     * holding the operation name of the request being executed.
+     */
+    public static final String OPERATION_NAME_ATTRIBUTE = "triton.operation_name";
+
     /**
      * Logger instance.
      */
@@ -215,6 +226,186 @@ public class CloudApiResponseHandler<T> implements ResponseHandler<T> {
         }
     }
 
+    /**
+     * Plain text sting containing the operation name - used for logging,
+     * errors and metrics.
+     *
+     * @return name of the operation
+     */
+    public String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * Creates a handler for a single GET request that revalidates the last
+     * response stored in the passed cache for the same resource. The
+     * request is sent with {@code If-None-Match} and
+     * {@code If-Modified-Since} headers when a response is stored. A
+     * {@code 304 Not Modified} response is answered with a copy of the stored
+     * value without parsing, and other successful responses are handled by
+     * {@link #handleResponse(HttpResponse)} and stored with their validators.
+     * Collections are stored and returned as unmodifiable collections.
+     *
+     * @param request GET request that the handler will process the response of
+     * @param cache cache of validators and values by resource URI
+     * @return handler for the response of the passed request
+     */
+    public ResponseHandler<T> conditional(final HttpUriRequest request,
+                                          final ConditionalGetCache cache) {
+        Objects.requireNonNull(request, "Request must be present");
+        Objects.requireNonNull(cache, "Conditional GET cache must be present");
+
+        final String uri = request.getURI().toString();
+        final ConditionalGetCache.Entry previous = cache.prepare(request);
+
+        return new ResponseHandler<T>() {
+            @Override
+            public T handleResponse(final HttpResponse response) throws IOException {
+                return handleConditionalResponse(response, uri, previous, cache);
+            }
+        };
+    }
+
+    /**
+     * Processes the response to a conditional GET request.
+     *
+     * @param response The response to process
+     * @param uri resource URI that was requested
+     * @param previous stored entry that the request was revalidating or null
+     * @param cache cache of validators and values by resource URI
+     * @return the stored value if the resource wasn't modified, otherwise the
+     *         value determined by the response
+     * @throws IOException in case of a problem or the connection was aborted
+     */
+    protected T handleConditionalResponse(final HttpResponse response,
+                                          final String uri,
+                                          final ConditionalGetCache.Entry previous,
+                                          final ConditionalGetCache cache) throws IOException {
+        final int statusCode = response.getStatusLine().getStatusCode();
+
+        if (statusCode == HttpStatus.SC_NOT_MODIFIED && previous != null) {
+            logger.debug("Resource [{}] wasn't modified, reusing stored response for {}",
+                    uri, operationName);
+            cache.renew(uri, previous);
+
+            @SuppressWarnings("unchecked")
+            final T stored = (T)previous.copyValue();
+            return stored;
+        }
+
+        T result = handleResponse(response);
+
+        if (!statusCodeExpected(statusCode)) {
+            cache.invalidate(uri);
+            return result;
+        }
+
+        if (result instanceof HttpCollectionResponse) {
+            @SuppressWarnings("unchecked")
+            final T unmodifiable = (T)HttpCollectionResponse.unmodifiable(
+                    (HttpCollectionResponse<?>)result);
+            result = unmodifiable;
+        }
+
+        cache.put(uri, headerValue(response, HttpHeaders.ETAG),
+                headerValue(response, HttpHeaders.LAST_MODIFIED), result);
+
+        return result;
+    }
+
+    /**
+     * Finds the value of the first header with the passed name.
+     *
+     * @param response response to read the header from
+     * @param name name of the header
+     * @return value of the header or null if it isn't present
+     */
+    private static String headerValue(final HttpResponse response, final String name) {
+        final Header header = response.getFirstHeader(name);
+
+        if (header == null) {
+            return null;
+        }
+
+        return header.getValue();
+    }
+
+    /**
+     * Processes an {@link HttpResponse} containing a JSON array without
+     * reading the entity into memory. Elements are deserialized as they are
+     * requested from the returned iterator, which holds the connection open
+     * until it is exhausted or closed. Error responses are handled in the
+     * same way as {@link #handleResponse(HttpResponse)}.
+     *
+     * <p>This method is only supported when the deserialization type is a
+     * collection.</p>
+     *
+     * @param response The response to process
+     * @param <E> type of the elements in the collection
+     * @return iterator over the elements of the collection
+     * @throws IOException in case of a problem or the connection was aborted
+     */
+    public <E> StreamingCollectionIterator<E> handleStreamingResponse(final HttpResponse response)
+            throws IOException {
+        final JavaType elementType = mapper.getTypeFactory()
+                .constructType(deserializationType).getContentType();
+
+        if (elementType == null) {
+            final String msg = String.format("Streaming isn't supported for the type [%s]",
+                    deserializationType.getType());
+            throw new IllegalStateException(msg);
+        }
+
+        final int statusCode = response.getStatusLine().getStatusCode();
+
+        if (!statusCodeExpected(statusCode) || response.getEntity() == null) {
+            try {
+                // Throws the appropriate exception or returns null for 404s
+                handleResponse(response);
+            } finally {
+                closeQuietly(response);
+            }
+
+            // No results, such as a 404 that is treated as null
+            final MappingIterator<E> empty = mapper.readerFor(elementType).readValues("[]");
+            return new StreamingCollectionIterator<>(empty, response);
+        }
+
+        try {
+            final MappingIterator<E> iterator = mapper.readerFor(elementType)
+                    .readValues(response.getEntity().getContent());
+            return new StreamingCollectionIterator<>(iterator, response);
+        } catch (IOException e) {
+            closeQuietly(response);
+
+            final String msg = "Error deserializing entity";
+            final CloudApiIOException exception = new CloudApiIOException(msg, e);
+            exception.setContextValue("requestId", extractRequestId(response));
+            exception.setContextValue("operationName", operationName);
+            exception.setContextValue("deserializationType", deserializationType);
+            exception.setContextValue("responseHeaders", CloudApiUtils.asString(response.getAllHeaders()));
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Closes a response if it holds a connection, logging any errors.
+     *
+     * @param response response to close
+     */
+    private void closeQuietly(final HttpResponse response) {
+        if (!(response instanceof Closeable)) {
+            return;
+        }
+
+        try {
+            ((Closeable) response).close();
+        } catch (IOException e) {
+            logger.debug("Unable to close response", e);
+        }
+    }
+
     /**
      * Builds a new response exception.
      *
@@ -3,7 +3,12 @@ package com.joyent.triton.http;
 import com.joyent.triton.CloudApiUtils;
 import com.joyent.triton.config.ConfigContext;
 import com.joyent.triton.config.ConfigurationException;
+import com.joyent.triton.tracing.TracePhase;
+import com.joyent.triton.tracing.TracingContext;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.http.HttpHost;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLContexts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +16,8 @@ import org.slf4j.LoggerFactory;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocket;
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -18,7 +25,11 @@ import java.util.Set;
 
 /**
  * Custom {@link SSLConnectionSocketFactory} implementation that consumes CloudAPI
- * configuration and enforces the selection of protocols and ciphers.
+ * configuration and enforces the selection of protocols and ciphers. The
+ * time spent connecting and in the TLS handshake is reported to the active
+ * {@link com.joyent.triton.tracing.CloudApiSpan}. Only the TCP connection,
+ * not the handshake, is reported to the {@link CachingDnsResolver}, so that
+ * an address isn't judged by the time spent verifying certificates.
  *
  * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
  */
@@ -28,6 +39,13 @@ public class CloudApiSSLConnectionSocketFactory extends SSLConnectionSocketFacto
      */
     private static final Logger LOG = LoggerFactory.getLogger(CloudApiSSLConnectionSocketFactory.class);
 
+    /**
+     * Value of {@link System#nanoTime()} when the TLS handshake of the
+     * connection being established by the current thread started, which is
+     * when its TCP connection was established.
+     */
+    private static final ThreadLocal<Long> HANDSHAKE_START_NANOS = new ThreadLocal<>();
+
     /**
      * Set of supported TLS protocols.
      */
@@ -38,11 +56,29 @@ public class CloudApiSSLConnectionSocketFactory extends SSLConnectionSocketFacto
      */
     private final Set<String> supportedCipherSuites;
 
+    /**
+     * Resolver that connection attempts are reported to or null.
+     */
+    private final CachingDnsResolver dnsResolver;
+
     /**
      * Creates a new instance using the configuration parameters.
      * @param config configuration context containing SSL config params
      */
     public CloudApiSSLConnectionSocketFactory(final ConfigContext config) {
+        this(config, null);
+    }
+
+    /**
+     * Creates a new instance using the configuration parameters that reports
+     * the outcome and latency of every connection attempt to the passed
+     * resolver.
+     *
+     * @param config configuration context containing SSL config params
+     * @param dnsResolver resolver that connection attempts are reported to or null
+     */
+    public CloudApiSSLConnectionSocketFactory(final ConfigContext config,
+                                              final CachingDnsResolver dnsResolver) {
         super(buildContext(),
               CloudApiUtils.csv2array(config.getHttpsProtocols()),
               CloudApiUtils.csv2array(config.getHttpsCipherSuites()),
@@ -59,15 +95,71 @@ public class CloudApiSSLConnectionSocketFactory extends SSLConnectionSocketFacto
         } else {
             this.supportedCipherSuites = Collections.emptySet();
         }
+
+        this.dnsResolver = dnsResolver;
     }
 
     /**
      * @return reference to SSL Context
      */
-    private static SSLContext buildContext() {
+    static SSLContext buildContext() {
         return SSLContexts.createDefault();
     }
 
+    @Override
+    public Socket connectSocket(final int connectTimeout,
+                                final Socket socket,
+                                final HttpHost host,
+                                final InetSocketAddress remoteAddress,
+                                final InetSocketAddress localAddress,
+                                final HttpContext context) throws IOException {
+        final long start = System.nanoTime();
+        HANDSHAKE_START_NANOS.remove();
+        Long connectedAt = null;
+
+        try {
+            // Also performs the TLS handshake by calling createLayeredSocket()
+            final Socket connected = super.connectSocket(connectTimeout, socket, host, remoteAddress,
+                    localAddress, context);
+            connectedAt = ObjectUtils.defaultIfNull(HANDSHAKE_START_NANOS.get(), System.nanoTime());
+            return connected;
+        } catch (IOException e) {
+            connectedAt = HANDSHAKE_START_NANOS.get();
+
+            // Handshake failures say nothing about whether the address can be reached
+            if (connectedAt == null && dnsResolver != null) {
+                dnsResolver.recordFailure(remoteAddress.getAddress(), e);
+            }
+
+            throw e;
+        } finally {
+            HANDSHAKE_START_NANOS.remove();
+            final long end = ObjectUtils.defaultIfNull(connectedAt, System.nanoTime());
+
+            if (connectedAt != null && dnsResolver != null) {
+                dnsResolver.recordSuccess(remoteAddress.getAddress(), end - start);
+            }
+
+            TracingContext.activeSpan(context).recordPhase(TracePhase.CONNECT, start, end);
+        }
+    }
+
+    @Override
+    public Socket createLayeredSocket(final Socket socket,
+                                      final String target,
+                                      final int port,
+                                      final HttpContext context) throws IOException {
+        final long start = System.nanoTime();
+        HANDSHAKE_START_NANOS.set(start);
+
+        try {
+            return super.createLayeredSocket(socket, target, port, context);
+        } finally {
+            TracingContext.activeSpan(context).recordPhase(TracePhase.TLS_HANDSHAKE,
+                    start, System.nanoTime());
+        }
+    }
+
     @Override
     protected void prepareSocket(final SSLSocket socket) throws IOException {
         final Set<String> enabledProtocols = new LinkedHashSet<>(
@@ -80,12 +172,10 @@ public class CloudApiSSLConnectionSocketFactory extends SSLConnectionSocketFacto
             LOG.debug("Enabled cipher suites: {}", CloudApiUtils.asString(enabledCipherSuites));
         }
 
-        supportedCipherSuites.retainAll(enabledCipherSuites);
+        final String[] supportedCiphers = selectSupported(supportedCipherSuites, enabledCipherSuites);
 
-        if (!supportedCipherSuites.isEmpty()) {
+        if (supportedCiphers != null) {
             try {
-                String[] supportedCiphers = new String[supportedCipherSuites.size()];
-                supportedCipherSuites.toArray(supportedCiphers);
                 socket.setEnabledCipherSuites(supportedCiphers);
             } catch (IllegalArgumentException e) {
                 String msg = String.format("Unsupported encryption provider. Supported providers: %s",
@@ -94,17 +184,34 @@ public class CloudApiSSLConnectionSocketFactory extends SSLConnectionSocketFacto
             }
         }
 
-        supportedProtocols.retainAll(enabledProtocols);
+        final String[] supportedProtos = selectSupported(supportedProtocols, enabledProtocols);
 
-        if (!supportedProtocols.isEmpty()) {
-            String[] supportedProtos = new String[supportedProtocols.size()];
-            supportedProtocols.toArray(supportedProtos);
+        if (supportedProtos != null) {
             socket.setEnabledProtocols(supportedProtos);
         }
 
         if (LOG.isDebugEnabled()) {
-            LOG.debug("Supported TLS protocols: {}", CloudApiUtils.asString(supportedProtocols));
-            LOG.debug("Supported cipher suites: {}", CloudApiUtils.asString(supportedCipherSuites));
+            LOG.debug("Supported TLS protocols: {}", CloudApiUtils.asString(supportedProtos));
+            LOG.debug("Supported cipher suites: {}", CloudApiUtils.asString(supportedCiphers));
+        }
+    }
+
+    /**
+     * Selects the configured protocols or cipher suites that are also
+     * enabled by the JVM, keeping the configured order.
+     *
+     * @param configured configured values, empty if none were configured
+     * @param enabled values enabled by default for a socket or engine
+     * @return the values to enable or null to keep the defaults
+     */
+    static String[] selectSupported(final Set<String> configured, final Set<String> enabled) {
+        final Set<String> selected = new LinkedHashSet<>(configured);
+        selected.retainAll(enabled);
+
+        if (selected.isEmpty()) {
+            return null;
         }
+
+        return selected.toArray(new String[selected.size()]);
     }
 }
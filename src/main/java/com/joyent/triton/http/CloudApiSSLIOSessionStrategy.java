@@ -0,0 +1,96 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.CloudApiUtils;
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.ConfigurationException;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLEngine;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Custom {@link SSLIOSessionStrategy} implementation used by the non-blocking
+ * client that selects TLS protocols and ciphers from the CloudAPI
+ * configuration in the same way as {@link CloudApiSSLConnectionSocketFactory}
+ * does for blocking connections.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class CloudApiSSLIOSessionStrategy extends SSLIOSessionStrategy {
+    /**
+     * Logger instance.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(CloudApiSSLIOSessionStrategy.class);
+
+    /**
+     * Set of supported TLS protocols.
+     */
+    private final Set<String> supportedProtocols;
+
+    /**
+     * Set of supported TLS cipher suites.
+     */
+    private final Set<String> supportedCipherSuites;
+
+    /**
+     * Creates a new instance using the configuration parameters.
+     * @param config configuration context containing SSL config params
+     */
+    public CloudApiSSLIOSessionStrategy(final ConfigContext config) {
+        /* Protocols and cipher suites are passed as null so that they are
+         * only set by initializeEngine(), which ignores unsupported values. */
+        super(CloudApiSSLConnectionSocketFactory.buildContext(), null, null,
+              getDefaultHostnameVerifier());
+
+        if (config.getHttpsProtocols() != null) {
+            this.supportedProtocols = new LinkedHashSet<>(CloudApiUtils.fromCsv(config.getHttpsProtocols()));
+        } else {
+            this.supportedProtocols = Collections.emptySet();
+        }
+
+        if (config.getHttpsCipherSuites() != null) {
+            this.supportedCipherSuites = new LinkedHashSet<>(CloudApiUtils.fromCsv(config.getHttpsCipherSuites()));
+        } else {
+            this.supportedCipherSuites = Collections.emptySet();
+        }
+    }
+
+    @Override
+    protected void initializeEngine(final SSLEngine engine) {
+        final Set<String> enabledProtocols = new LinkedHashSet<>(
+                Arrays.asList(engine.getEnabledProtocols()));
+        final Set<String> enabledCipherSuites = new LinkedHashSet<>(
+                Arrays.asList(engine.getEnabledCipherSuites()));
+
+        final String[] supportedCiphers = CloudApiSSLConnectionSocketFactory.selectSupported(
+                supportedCipherSuites, enabledCipherSuites);
+
+        if (supportedCiphers != null) {
+            try {
+                engine.setEnabledCipherSuites(supportedCiphers);
+            } catch (IllegalArgumentException e) {
+                String msg = String.format("Unsupported encryption provider. Supported providers: %s",
+                        CloudApiUtils.asString(engine.getEnabledCipherSuites()));
+                throw new ConfigurationException(msg, e);
+            }
+        }
+
+        final String[] supportedProtos = CloudApiSSLConnectionSocketFactory.selectSupported(
+                supportedProtocols, enabledProtocols);
+
+        if (supportedProtos != null) {
+            engine.setEnabledProtocols(supportedProtos);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Supported TLS protocols: {}", CloudApiUtils.asString(supportedProtos));
+            LOG.debug("Supported cipher suites: {}", CloudApiUtils.asString(supportedCiphers));
+        }
+    }
+}
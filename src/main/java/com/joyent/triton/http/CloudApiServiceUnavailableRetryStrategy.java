@@ -0,0 +1,174 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.metrics.CloudApiMetrics;
+import com.joyent.triton.metrics.NoOpCloudApiMetrics;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.ServiceUnavailableRetryStrategy;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link ServiceUnavailableRetryStrategy} that retries
+ * requests that the CloudAPI answered with {@code 429 Too Many Requests} or
+ * {@code 503 Service Unavailable} before the response reaches a
+ * {@link CloudApiResponseHandler}. The delay before each retry is taken from
+ * the {@code Retry-After} header of the response or otherwise calculated by
+ * {@link RetryBackoff}. Responses asking to wait longer than the maximum
+ * retry delay, or past the deadline of the request, are returned without a
+ * retry.
+ *
+ * <p>A {@code 429} response means that the request was rejected before it
+ * was processed, so all requests are retried. A {@code 503} response is only
+ * retried for idempotent requests, unless the
+ * {@link NonIdempotentRetryPolicy#ALWAYS} policy is configured.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class CloudApiServiceUnavailableRetryStrategy implements ServiceUnavailableRetryStrategy {
+    /**
+     * Status code of responses to throttled requests.
+     */
+    public static final int SC_TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Logger instance.
+     */
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Maximum number of retries of a request.
+     */
+    private final int retries;
+
+    /**
+     * Flag indicating that requests that aren't idempotent are retried on
+     * {@code 503} responses.
+     */
+    private final boolean retryNonIdempotent;
+
+    /**
+     * Calculates the delay before each retry.
+     */
+    private final RetryBackoff backoff;
+
+    /**
+     * Metrics implementation that retries are reported to.
+     */
+    private final CloudApiMetrics metrics;
+
+    /**
+     * Delay decided by the last call to {@link #retryRequest} on the calling
+     * thread, which the HTTP client reads with {@link #getRetryInterval()}
+     * right afterwards.
+     */
+    private final ThreadLocal<Long> retryInterval = new ThreadLocal<>();
+
+    /**
+     * Creates a new instance with the passed configuration.
+     *
+     * @param config configuration for retries
+     */
+    public CloudApiServiceUnavailableRetryStrategy(final ConfigContext config) {
+        this(config, NoOpCloudApiMetrics.INSTANCE);
+    }
+
+    /**
+     * Creates a new instance with the passed configuration that reports
+     * retries to the passed metrics implementation.
+     *
+     * @param config configuration for retries
+     * @param metrics metrics implementation that retries are reported to
+     */
+    public CloudApiServiceUnavailableRetryStrategy(final ConfigContext config,
+                                                   final CloudApiMetrics metrics) {
+        Objects.requireNonNull(metrics, "Metrics implementation must be present");
+
+        this.retries = ObjectUtils.firstNonNull(config.getRetries(), DefaultsConfigContext.DEFAULT_HTTP_RETRIES);
+        this.retryNonIdempotent = CloudApiHttpRequestRetryHandler.retryNonIdempotent(config);
+        this.backoff = RetryBackoff.fromConfig(config);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean retryRequest(final HttpResponse response,
+                                final int executionCount,
+                                final HttpContext context) {
+        retryInterval.remove();
+
+        final int statusCode = response.getStatusLine().getStatusCode();
+
+        if (executionCount > retries || !isRetriable(statusCode, context)) {
+            return false;
+        }
+
+        final long delay = backoff.nextDelay(response, executionCount);
+
+        if (delay > backoff.getMaxDelayMs()) {
+            logger.debug("Not retrying request because the CloudAPI asked to wait {} ms", delay);
+            return false;
+        }
+
+        final Object deadline = context.getAttribute(Deadline.HTTP_CONTEXT_ATTRIBUTE);
+
+        if (deadline instanceof Deadline && ((Deadline)deadline).remaining(TimeUnit.MILLISECONDS) <= delay) {
+            logger.debug("Not retrying request because its deadline would pass");
+            return false;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Request answered with [{}], retry {} in {} ms", statusCode, executionCount, delay);
+        }
+
+        retryInterval.set(delay);
+        metrics.recordRetry(CloudApiHttpRequestRetryHandler.operationName(context), executionCount);
+        return true;
+    }
+
+    /**
+     * Checks to see if a response with the passed status code can be retried.
+     *
+     * @param statusCode status code of the response
+     * @param context HTTP context of the request
+     * @return true if the request can be sent again
+     */
+    private boolean isRetriable(final int statusCode, final HttpContext context) {
+        if (statusCode == SC_TOO_MANY_REQUESTS) {
+            return true;
+        }
+
+        if (statusCode != HttpStatus.SC_SERVICE_UNAVAILABLE) {
+            return false;
+        }
+
+        if (retryNonIdempotent) {
+            return true;
+        }
+
+        final HttpRequest request = HttpClientContext.adapt(context).getRequest();
+
+        return request != null && CloudApiHttpRequestRetryHandler.isIdempotent(request);
+    }
+
+    @Override
+    public long getRetryInterval() {
+        final Long interval = retryInterval.get();
+        retryInterval.remove();
+
+        if (interval == null) {
+            return 0L;
+        }
+
+        return interval;
+    }
+}
@@ -0,0 +1,365 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.domain.Entity;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores the validators ({@code ETag} and {@code Last-Modified}) and the
+ * deserialized value of the last successful response for each resource URI,
+ * so that repeated GET requests can be sent as conditional requests. When
+ * the CloudAPI responds with {@code 304 Not Modified}, the stored value is
+ * returned without transferring or parsing the response body again. The
+ * least recently used resource is dropped when the cache is full.
+ *
+ * <p>The store is also used by {@link com.joyent.triton.CatalogCache}, which
+ * answers requests from it without asking the CloudAPI until its entries
+ * expire. Such a store keeps responses without validators too.</p>
+ *
+ * <p>The domain objects in stored values are mutable, so a copy is stored
+ * and every caller that receives a {@code 304 Not Modified} response gets
+ * its own copy. Copying is much cheaper than transferring and parsing the
+ * response again.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class ConditionalGetCache {
+    /**
+     * Initial capacity of the map holding the entries.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Load factor of the map holding the entries.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Maximum number of resources stored.
+     */
+    private final int maxEntries;
+
+    /**
+     * Flag indicating that responses without validators are stored.
+     */
+    private final boolean storeUnvalidated;
+
+    /**
+     * Entries by resource URI in least recently used order, guarded by this
+     * instance's monitor.
+     */
+    private final Map<String, Entry> entries;
+
+    /**
+     * Number of requests answered with {@code 304 Not Modified}.
+     */
+    private final AtomicLong notModifiedCount = new AtomicLong();
+
+    /**
+     * Number of entries removed because the cache was full.
+     */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a new empty cache that only stores responses with validators.
+     *
+     * @param maxEntries maximum number of resources stored
+     */
+    public ConditionalGetCache(final int maxEntries) {
+        this(maxEntries, false);
+    }
+
+    /**
+     * Creates a new empty cache.
+     *
+     * @param maxEntries maximum number of resources stored
+     * @param storeUnvalidated true to also store responses without validators,
+     *                         which can be reused but not revalidated
+     */
+    public ConditionalGetCache(final int maxEntries, final boolean storeUnvalidated) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Maximum number of entries must be 1 or greater");
+        }
+
+        this.maxEntries = maxEntries;
+        this.storeUnvalidated = storeUnvalidated;
+        this.entries = new LinkedHashMap<String, Entry>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            private static final long serialVersionUID = 2238117453722904787L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                final boolean full = size() > ConditionalGetCache.this.maxEntries;
+
+                if (full) {
+                    evictionCount.incrementAndGet();
+                }
+
+                return full;
+            }
+        };
+    }
+
+    /**
+     * Adds the {@code If-None-Match} and {@code If-Modified-Since} headers to
+     * a request for a resource with a stored response.
+     *
+     * @param request request to add the headers to
+     * @return the stored entry for the resource or null if there isn't one
+     */
+    Entry prepare(final HttpUriRequest request) {
+        Objects.requireNonNull(request, "Request must be present");
+
+        final Entry entry = get(request.getURI().toString());
+
+        if (entry == null) {
+            return null;
+        }
+
+        setHeaderIfPresent(request, HttpHeaders.IF_NONE_MATCH, entry.getEtag());
+        setHeaderIfPresent(request, HttpHeaders.IF_MODIFIED_SINCE, entry.getLastModified());
+
+        return entry;
+    }
+
+    /**
+     * Sets a header if its value isn't null.
+     *
+     * @param request request to set the header on
+     * @param name name of the header
+     * @param value value of the header or null
+     */
+    private static void setHeaderIfPresent(final HttpRequest request,
+                                           final String name,
+                                           final String value) {
+        if (value != null) {
+            request.setHeader(name, value);
+        }
+    }
+
+    /**
+     * Finds the stored entry of a resource.
+     *
+     * @param uri resource URI
+     * @return the entry or null if there isn't one
+     */
+    public synchronized Entry get(final String uri) {
+        return entries.get(uri);
+    }
+
+    /**
+     * Stores the validators and a copy of the deserialized value of a
+     * response. Null values are removed instead, as are responses without
+     * validators unless this cache stores them.
+     *
+     * @param uri resource URI
+     * @param etag value of the {@code ETag} header or null
+     * @param lastModified value of the {@code Last-Modified} header or null
+     * @param value deserialized response
+     * @return the new entry or null if nothing was stored
+     */
+    public synchronized Entry put(final String uri, final String etag,
+                                  final String lastModified, final Object value) {
+        if (value == null || (!storeUnvalidated && etag == null && lastModified == null)) {
+            entries.remove(uri);
+            return null;
+        }
+
+        final Entry entry = new Entry(etag, lastModified, copyOf(value), System.nanoTime());
+        entries.put(uri, entry);
+        return entry;
+    }
+
+    /**
+     * Stores an entry again after the CloudAPI answered a request revalidating
+     * it with {@code 304 Not Modified}, which restarts its age.
+     *
+     * @param uri resource URI
+     * @param entry entry that was revalidated
+     */
+    synchronized void renew(final String uri, final Entry entry) {
+        notModifiedCount.incrementAndGet();
+        entries.put(uri, new Entry(entry.etag, entry.lastModified, entry.value, System.nanoTime()));
+    }
+
+    /**
+     * Removes the stored response of a resource.
+     *
+     * @param uri resource URI
+     */
+    public synchronized void invalidate(final String uri) {
+        entries.remove(uri);
+    }
+
+    /**
+     * Removes the stored responses of all resource URIs starting with the
+     * passed prefix.
+     *
+     * @param prefix prefix of the resource URIs to remove
+     */
+    public synchronized void invalidateStartingWith(final String prefix) {
+        final Iterator<String> itr = entries.keySet().iterator();
+
+        while (itr.hasNext()) {
+            if (itr.next().startsWith(prefix)) {
+                itr.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all stored responses.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Number of resources with a stored response.
+     * @return number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Number of requests answered with {@code 304 Not Modified}, which
+     * is the number of response bodies that didn't need to be parsed.
+     * @return number of not modified responses
+     */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    /**
+     * Number of resources dropped because the cache was full.
+     * @return number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ConditionalGetCache{"
+                + "maxEntries=" + maxEntries
+                + ", size=" + size()
+                + ", notModifiedCount=" + getNotModifiedCount()
+                + ", evictionCount=" + getEvictionCount()
+                + '}';
+    }
+
+    /**
+     * Copies a deserialized response so that changes to the copy aren't seen
+     * by other callers. Domain objects are deep copied and collections are
+     * copied element by element into an unmodifiable collection. Other values,
+     * which are immutable, are returned as they are.
+     *
+     * @param value deserialized response
+     * @return a copy of the response
+     */
+    static Object copyOf(final Object value) {
+        if (value instanceof HttpCollectionResponse) {
+            final HttpCollectionResponse<?> collection = (HttpCollectionResponse<?>)value;
+            final List<Object> copies = new ArrayList<>(collection.size());
+
+            for (final Object element : collection) {
+                copies.add(copyOf(element));
+            }
+
+            return HttpCollectionResponse.unmodifiable(
+                    new HttpCollectionResponse<>(copies, collection.getResponse()));
+        }
+
+        if (value instanceof Entity) {
+            return SerializationUtils.clone((Entity)value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Validators and deserialized value of the last successful response for
+     * a single resource.
+     */
+    public static final class Entry {
+        /**
+         * Value of the {@code ETag} header or null.
+         */
+        private final String etag;
+
+        /**
+         * Value of the {@code Last-Modified} header or null.
+         */
+        private final String lastModified;
+
+        /**
+         * Deserialized response.
+         */
+        private final Object value;
+
+        /**
+         * Value of {@link System#nanoTime()} when the response was stored or
+         * last revalidated.
+         */
+        private final long storedAtNanos;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param etag value of the {@code ETag} header or null
+         * @param lastModified value of the {@code Last-Modified} header or null
+         * @param value deserialized response
+         * @param storedAtNanos value of {@link System#nanoTime()} when the response was stored
+         */
+        private Entry(final String etag, final String lastModified, final Object value,
+                      final long storedAtNanos) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.value = value;
+            this.storedAtNanos = storedAtNanos;
+        }
+
+        /**
+         * Value of the {@code ETag} header.
+         * @return entity tag or null
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * Value of the {@code Last-Modified} header.
+         * @return last modified date or null
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Copy of the deserialized response that the caller may modify.
+         * @return a new copy of the deserialized response
+         */
+        public Object copyValue() {
+            return copyOf(value);
+        }
+
+        /**
+         * Time since the response was stored or last revalidated.
+         * @return age in nanoseconds
+         */
+        public long getAgeNanos() {
+            return System.nanoTime() - storedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.joyent.triton.http;
+
+import org.apache.http.client.config.RequestConfig;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which an operation against the CloudAPI must complete.
+ * A deadline is measured against {@link System#nanoTime()}, so it isn't
+ * affected by changes to the wall clock. A single deadline can span multiple
+ * HTTP requests (for example, all of the pages of a listing) when it is
+ * set on a {@link CloudApiConnectionContext}.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public final class Deadline {
+    /**
+     * Name of the {@link org.apache.http.protocol.HttpContext} attribute
+     * that stores the deadline of the request being executed.
+     */
+    public static final String HTTP_CONTEXT_ATTRIBUTE = "triton.deadline";
+
+    /**
+     * Value of {@link System#nanoTime()} at which the deadline expires.
+     */
+    private final long deadlineNanos;
+
+    /**
+     * Creates a new instance expiring at the passed nano time.
+     *
+     * @param deadlineNanos value of {@link System#nanoTime()} at which the deadline expires
+     */
+    private Deadline(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a new deadline that expires after the passed duration.
+     *
+     * @param duration amount of time until the deadline expires
+     * @param unit unit of the duration
+     * @return new deadline instance
+     */
+    public static Deadline after(final long duration, final TimeUnit unit) {
+        Objects.requireNonNull(unit, "Time unit must be present");
+
+        if (duration < 0) {
+            throw new IllegalArgumentException("Duration must not be negative");
+        }
+
+        return new Deadline(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    /**
+     * Amount of time left before the deadline expires.
+     *
+     * @param unit unit to return the remaining time in
+     * @return the remaining time or zero if the deadline has expired
+     */
+    public long remaining(final TimeUnit unit) {
+        final long remainingNanos = deadlineNanos - System.nanoTime();
+
+        if (remainingNanos <= 0) {
+            return 0L;
+        }
+
+        return unit.convert(remainingNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Flag indicating that there is no time left before the deadline.
+     *
+     * @return true if the deadline has passed
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Limits a timeout in milliseconds so that it doesn't extend past
+     * the deadline. Timeouts of zero or less mean "no timeout" to the
+     * Apache HTTP Client, so they are replaced by the remaining time.
+     *
+     * @param timeoutMillis timeout in milliseconds
+     * @return the smaller of the timeout and the remaining time, but at least one millisecond
+     */
+    public int clamp(final int timeoutMillis) {
+        final long remainingMillis = Math.max(remaining(TimeUnit.MILLISECONDS), 1L);
+
+        if (timeoutMillis > 0 && timeoutMillis <= remainingMillis) {
+            return timeoutMillis;
+        }
+
+        return (int)Math.min(remainingMillis, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a copy of the passed request configuration whose connect,
+     * socket and connection request timeouts don't extend past the deadline.
+     *
+     * @param requestConfig configuration to copy
+     * @return new configuration with limited timeouts
+     */
+    public RequestConfig clamp(final RequestConfig requestConfig) {
+        Objects.requireNonNull(requestConfig, "Request config must be present");
+
+        return RequestConfig.copy(requestConfig)
+                .setConnectTimeout(clamp(requestConfig.getConnectTimeout()))
+                .setSocketTimeout(clamp(requestConfig.getSocketTimeout()))
+                .setConnectionRequestTimeout(clamp(requestConfig.getConnectionRequestTimeout()))
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Deadline{remaining=%dms}", remaining(TimeUnit.MILLISECONDS));
+    }
+}
@@ -3,6 +3,7 @@ package com.joyent.triton.http;
 import org.apache.http.HttpResponse;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Objects;
 
@@ -41,6 +42,20 @@ public class HttpCollectionResponse<E> implements Collection<E> {
         this.response = response;
     }
 
+    /**
+     * Creates a new instance that wraps the collection of the passed instance
+     * so that it can't be modified.
+     *
+     * @param collection collection response to wrap
+     * @param <E> the type of elements in the collection
+     * @return a new collection response with an unmodifiable collection
+     */
+    public static <E> HttpCollectionResponse<E> unmodifiable(final HttpCollectionResponse<E> collection) {
+        return new HttpCollectionResponse<>(
+                Collections.unmodifiableCollection(collection.getWrapped()),
+                collection.getResponse());
+    }
+
     public HttpResponse getResponse() {
         return response;
     }
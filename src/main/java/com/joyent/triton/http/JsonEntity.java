@@ -15,6 +15,12 @@ import java.io.OutputStream;
 /**
  * Implementation of {@link HttpEntity} that specifically uses Jackson to
  * serialize content bodies (entities).
+ *
+ * <p>Entities created with the constructors are serialized each time they
+ * are written and are sent with chunked transfer encoding. Entities created
+ * with {@link #buffered(ObjectMapper, Object)} are serialized once, report
+ * their exact {@code Content-Length} and replay the same bytes every time
+ * they are written, such as when a request is retried.</p>
  */
 @SuppressWarnings("deprecation")
 public class JsonEntity implements HttpEntity {
@@ -33,6 +39,12 @@ public class JsonEntity implements HttpEntity {
      */
     private final Object sourceObject;
 
+    /**
+     * Serialized source object or null if the entity is serialized each
+     * time it is written.
+     */
+    private final byte[] buffer;
+
     /**
      * Creates a new instance.
      *
@@ -43,9 +55,25 @@ public class JsonEntity implements HttpEntity {
     public JsonEntity(final ObjectMapper mapper,
                       final boolean repeatable,
                       final Object sourceObject) {
+        this(mapper, repeatable, sourceObject, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param mapper backing Jackson object mapper implementation
+     * @param repeatable flag indicating that this entity can be redone
+     * @param sourceObject the source object that is serialized from
+     * @param buffer serialized source object or null to serialize on each write
+     */
+    private JsonEntity(final ObjectMapper mapper,
+                       final boolean repeatable,
+                       final Object sourceObject,
+                       final byte[] buffer) {
         this.mapper = mapper;
         this.repeatable = repeatable;
         this.sourceObject = sourceObject;
+        this.buffer = buffer;
     }
 
     /**
@@ -59,6 +87,33 @@ public class JsonEntity implements HttpEntity {
         this(mapper, true, sourceObject);
     }
 
+    /**
+     * Creates a new instance that serializes the source object immediately.
+     * Serialization uses the object mapper's recycled per-thread buffers, so
+     * only the final array of the exact size is allocated. The entity is
+     * sent with a {@code Content-Length} header instead of chunked transfer
+     * encoding, which lets small bodies go out in a single write.
+     *
+     * @param mapper backing Jackson object mapper implementation
+     * @param sourceObject the source object that is serialized from
+     * @return a new repeatable entity with a known length
+     * @throws IOException thrown when the source object can't be serialized
+     */
+    public static JsonEntity buffered(final ObjectMapper mapper,
+                                      final Object sourceObject) throws IOException {
+        return new JsonEntity(mapper, true, sourceObject, mapper.writeValueAsBytes(sourceObject));
+    }
+
+    /**
+     * Flag indicating that the source object was serialized when the entity
+     * was created.
+     *
+     * @return true if the entity has a known length
+     */
+    public boolean isBuffered() {
+        return buffer != null;
+    }
+
     @Override
     public boolean isRepeatable() {
         return repeatable;
@@ -66,12 +121,16 @@ public class JsonEntity implements HttpEntity {
 
     @Override
     public boolean isChunked() {
-        return true;
+        return buffer == null;
     }
 
     @Override
     public long getContentLength() {
-        return -1;
+        if (buffer == null) {
+            return -1;
+        }
+
+        return buffer.length;
     }
 
     @Override
@@ -89,12 +148,21 @@ public class JsonEntity implements HttpEntity {
 
     @Override
     public InputStream getContent() throws IOException, UnsupportedOperationException {
+        if (buffer != null) {
+            return new ByteArrayInputStream(buffer);
+        }
+
         final byte[] json = mapper.writeValueAsBytes(sourceObject);
         return new ByteArrayInputStream(json);
     }
 
     @Override
     public void writeTo(final OutputStream outstream) throws IOException {
+        if (buffer != null) {
+            outstream.write(buffer);
+            return;
+        }
+
         mapper.writeValue(outstream, sourceObject);
     }
 
@@ -0,0 +1,26 @@
+package com.joyent.triton.http;
+
+/**
+ * Policy deciding when requests that aren't idempotent, such as the
+ * {@code POST} sent to create an instance, may be sent again after they
+ * failed. Replaying such a request after the CloudAPI received it can
+ * repeat its effect, for example by creating a second instance.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public enum NonIdempotentRetryPolicy {
+    /**
+     * Requests are only retried when they weren't sent, because the
+     * connection failed before the request was written, or when the CloudAPI
+     * rejected them with {@code 429 Too Many Requests}.
+     */
+    UNSENT,
+
+    /**
+     * Requests are retried like idempotent requests. Only use this when
+     * repeating a request is known to be harmless, such as when every
+     * instance is created with a unique name.
+     */
+    ALWAYS
+}
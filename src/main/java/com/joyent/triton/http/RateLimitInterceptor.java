@@ -0,0 +1,70 @@
+package com.joyent.triton.http;
+
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor that holds back each request, including retries, until the
+ * {@link RateLimits} of the client allow it to be sent and that passes the
+ * status code of each response back to the limits so that they can adapt
+ * to throttling by the CloudAPI. A request with a {@link Deadline} fails
+ * with an {@link InterruptedIOException}, without taking any tokens, if it
+ * couldn't be sent before the deadline passes.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class RateLimitInterceptor implements HttpRequestInterceptor, HttpResponseInterceptor {
+    /**
+     * Rate limits applied to requests.
+     */
+    private final RateLimits rateLimits;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param rateLimits rate limits applied to requests
+     */
+    public RateLimitInterceptor(final RateLimits rateLimits) {
+        Objects.requireNonNull(rateLimits, "Rate limits must be present");
+        this.rateLimits = rateLimits;
+    }
+
+    @Override
+    public void process(final HttpRequest request, final HttpContext context) throws HttpException, IOException {
+        final String operationName = CloudApiHttpRequestRetryHandler.operationName(context);
+        final Object deadline = context.getAttribute(Deadline.HTTP_CONTEXT_ATTRIBUTE);
+
+        try {
+            if (!(deadline instanceof Deadline)) {
+                rateLimits.acquire(operationName);
+            } else if (!rateLimits.tryAcquire(operationName,
+                    ((Deadline)deadline).remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)) {
+                // Not retriable, unlike other I/O errors, so that no more time is spent on the call
+                throw new InterruptedIOException(
+                        "Deadline exceeded while waiting for the rate limit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException ioe = new InterruptedIOException(
+                    "Interrupted while waiting for the rate limit");
+            ioe.initCause(e);
+            throw ioe;
+        }
+    }
+
+    @Override
+    public void process(final HttpResponse response, final HttpContext context) throws HttpException, IOException {
+        rateLimits.onResponse(CloudApiHttpRequestRetryHandler.operationName(context),
+                response.getStatusLine().getStatusCode());
+    }
+}
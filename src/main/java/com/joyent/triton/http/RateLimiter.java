@@ -0,0 +1,208 @@
+package com.joyent.triton.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket that limits the rate at which requests are sent to the
+ * CloudAPI. Tokens are added at a steady rate up to a maximum burst size,
+ * and every request takes one token, waiting for it if the bucket is empty.
+ * A single instance can be shared by many threads.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class RateLimiter {
+    /**
+     * Number of nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+
+    /**
+     * Number of nanoseconds it takes to add one token to the bucket,
+     * guarded by this instance's monitor.
+     */
+    private double nanosPerToken;
+
+    /**
+     * Maximum number of tokens that can accumulate while idle.
+     */
+    private final double burst;
+
+    /**
+     * Number of tokens currently available, guarded by this instance's monitor.
+     */
+    private double tokens;
+
+    /**
+     * Value of {@link System#nanoTime()} when tokens were last added,
+     * guarded by this instance's monitor.
+     */
+    private long lastRefillNanos;
+
+    /**
+     * Creates a new instance that starts with a full bucket.
+     *
+     * @param requestsPerSecond sustained number of requests allowed per second
+     * @param burst maximum number of requests that can be sent at once after being idle
+     */
+    public RateLimiter(final double requestsPerSecond, final int burst) {
+        if (!(requestsPerSecond > 0)) {
+            throw new IllegalArgumentException("Requests per second must be greater than 0");
+        }
+
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be 1 or greater");
+        }
+
+        this.nanosPerToken = NANOS_PER_SECOND / requestsPerSecond;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes a token from the bucket, waiting until one is available.
+     *
+     * @throws InterruptedException thrown when the calling thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        final long waitNanos = reserve();
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes a token from the bucket if one becomes available within the
+     * passed time, waiting for it. No token is taken if none would be
+     * available in time.
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return true if a token was taken, false if none would be available in time
+     * @throws InterruptedException thrown when the calling thread is interrupted while waiting
+     */
+    public boolean tryAcquire(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long waitNanos = reserve(unit.toNanos(timeout));
+
+        if (waitNanos < 0) {
+            return false;
+        }
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+
+        return true;
+    }
+
+    /**
+     * Takes a token from the bucket without waiting for it, going into debt
+     * if none is available, so that callers that can't block can delay the
+     * request themselves.
+     *
+     * @return time in nanoseconds the caller must wait before using the token
+     */
+    public long reserve() {
+        return reserve(Long.MAX_VALUE);
+    }
+
+    /**
+     * Gives back a token taken with {@link #reserve()} that won't be used,
+     * so that it can be used by a later request.
+     */
+    public synchronized void refund() {
+        refill(System.nanoTime());
+        tokens = Math.min(burst, tokens + 1);
+    }
+
+    /**
+     * Takes a token from the bucket if one is available without waiting.
+     *
+     * @return true if a token was taken
+     */
+    public synchronized boolean tryAcquire() {
+        refill(System.nanoTime());
+
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Sustained number of requests allowed per second.
+     * @return requests per second
+     */
+    public synchronized double getRate() {
+        return NANOS_PER_SECOND / nanosPerToken;
+    }
+
+    /**
+     * Changes the sustained number of requests allowed per second. Tokens
+     * that accumulated before the change were added at the previous rate.
+     *
+     * @param requestsPerSecond sustained number of requests allowed per second
+     */
+    protected synchronized void setRate(final double requestsPerSecond) {
+        if (!(requestsPerSecond > 0)) {
+            throw new IllegalArgumentException("Requests per second must be greater than 0");
+        }
+
+        refill(System.nanoTime());
+        this.nanosPerToken = NANOS_PER_SECOND / requestsPerSecond;
+    }
+
+    /**
+     * Takes a token from the bucket, going into debt if none is available,
+     * so that concurrent callers queue up behind each other. No token is
+     * taken if the caller would have to wait longer than the passed time.
+     *
+     * @param maxWaitNanos maximum time in nanoseconds the caller is willing to wait
+     * @return time in nanoseconds the caller must wait before using the token
+     *         or -1 if no token was taken
+     */
+    synchronized long reserve(final long maxWaitNanos) {
+        refill(System.nanoTime());
+
+        final long waitNanos;
+
+        if (tokens >= 1) {
+            waitNanos = 0L;
+        } else {
+            waitNanos = (long)Math.ceil((1 - tokens) * nanosPerToken);
+        }
+
+        if (waitNanos > maxWaitNanos) {
+            return -1L;
+        }
+
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    /**
+     * Adds the tokens that accumulated since the last refill.
+     *
+     * @param now current value of {@link System#nanoTime()}
+     */
+    private void refill(final long now) {
+        final long elapsed = now - lastRefillNanos;
+
+        if (elapsed > 0) {
+            tokens = Math.min(burst, tokens + elapsed / nanosPerToken);
+            lastRefillNanos = now;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter{"
+                + "rate=" + getRate()
+                + ", burst=" + burst
+                + '}';
+    }
+}
@@ -0,0 +1,300 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import org.apache.commons.lang3.ObjectUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits applied to every request sent by the clients of a single
+ * {@link CloudApiConnectionFactory}, and therefore by all of the API
+ * sections and connection contexts of a {@link com.joyent.triton.CloudApi}.
+ * A request waits for a token from the client-wide limiter, configured by
+ * {@code triton.rate_limit}, and from the limiter of its operation (such as
+ * {@code create instance}) if one was set. Both limiters slow down when the
+ * CloudAPI answers with {@code 429 Too Many Requests} and recover gradually.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class RateLimits {
+    /**
+     * Status code of responses to throttled requests.
+     */
+    private static final int SC_TOO_MANY_REQUESTS = CloudApiServiceUnavailableRetryStrategy.SC_TOO_MANY_REQUESTS;
+
+    /**
+     * Limiter applied to all requests or null if there is no client-wide limit.
+     */
+    private final AdaptiveRateLimiter clientLimiter;
+
+    /**
+     * Limiters by operation name.
+     */
+    private final ConcurrentMap<String, AdaptiveRateLimiter> operationLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param clientLimiter limiter applied to all requests or null for no client-wide limit
+     */
+    public RateLimits(final AdaptiveRateLimiter clientLimiter) {
+        this.clientLimiter = clientLimiter;
+    }
+
+    /**
+     * Creates a new instance with the client-wide limit set by the rate
+     * limit settings of the passed configuration.
+     *
+     * @param config SDK configuration object
+     * @return a new instance without operation limits
+     */
+    public static RateLimits fromConfig(final ConfigContext config) {
+        final int rate = ObjectUtils.firstNonNull(config.getRateLimit(),
+                DefaultsConfigContext.DEFAULT_RATE_LIMIT);
+
+        if (rate <= 0) {
+            return new RateLimits(null);
+        }
+
+        final int burst = ObjectUtils.firstNonNull(config.getRateLimitBurst(),
+                DefaultsConfigContext.DEFAULT_RATE_LIMIT_BURST);
+
+        return new RateLimits(new AdaptiveRateLimiter(rate, Math.max(burst, 1)));
+    }
+
+    /**
+     * Limits the rate of requests made for an operation, in addition to the
+     * client-wide limit.
+     *
+     * @param operationName name of the operation, such as {@code list instances}
+     * @param requestsPerSecond sustained number of requests allowed per second
+     * @param burst maximum number of requests that can be sent at once after being idle
+     * @return the current instance
+     */
+    public RateLimits setOperationLimit(final String operationName,
+                                        final double requestsPerSecond,
+                                        final int burst) {
+        Objects.requireNonNull(operationName, "Operation name must be present");
+        operationLimiters.put(operationName, new AdaptiveRateLimiter(requestsPerSecond, burst));
+        return this;
+    }
+
+    /**
+     * Removes the rate limit of an operation.
+     *
+     * @param operationName name of the operation
+     * @return the current instance
+     */
+    public RateLimits removeOperationLimit(final String operationName) {
+        operationLimiters.remove(operationName);
+        return this;
+    }
+
+    /**
+     * Checks whether requests for the passed operation are subject to any
+     * limit, so that callers that can't block may skip waiting for a token.
+     *
+     * @param operationName name of the operation or null if it isn't known
+     * @return true if there is a client-wide limit or a limit for the operation
+     */
+    public boolean isLimited(final String operationName) {
+        return clientLimiter != null || getOperationLimiter(operationName) != null;
+    }
+
+    /**
+     * Waits until a request for the passed operation may be sent.
+     *
+     * @param operationName name of the operation or null if it isn't known
+     * @throws InterruptedException thrown when the calling thread is interrupted while waiting
+     */
+    public void acquire(final String operationName) throws InterruptedException {
+        final AdaptiveRateLimiter operationLimiter = getOperationLimiter(operationName);
+
+        // The operation's limit is usually the tighter one, so wait for it first
+        if (operationLimiter != null) {
+            operationLimiter.acquire();
+        }
+
+        if (clientLimiter != null) {
+            clientLimiter.acquire();
+        }
+    }
+
+    /**
+     * Waits until a request for the passed operation may be sent, but no
+     * longer than the passed time. No tokens are taken if the request
+     * couldn't be sent in time.
+     *
+     * @param operationName name of the operation or null if it isn't known
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return true if the request may be sent, false if it couldn't be sent in time
+     * @throws InterruptedException thrown when the calling thread is interrupted while waiting
+     */
+    public boolean tryAcquire(final String operationName, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        final AdaptiveRateLimiter operationLimiter = getOperationLimiter(operationName);
+        final long maxWaitNanos = unit.toNanos(timeout);
+        final long operationWaitNanos = reserve(operationLimiter, maxWaitNanos);
+
+        if (operationWaitNanos < 0) {
+            return false;
+        }
+
+        final long clientWaitNanos = reserve(clientLimiter, maxWaitNanos);
+
+        if (clientWaitNanos < 0) {
+            refund(operationLimiter);
+            return false;
+        }
+
+        final long waitNanos = Math.max(operationWaitNanos, clientWaitNanos);
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+
+        return true;
+    }
+
+    /**
+     * Takes the tokens for a request for the passed operation without
+     * waiting for them, so that callers that can't block can delay the
+     * request themselves. Tokens that won't be used should be given back
+     * with {@link #refund(String)}.
+     *
+     * @param operationName name of the operation or null if it isn't known
+     * @return time in nanoseconds the caller must wait before sending the request
+     */
+    public long reserve(final String operationName) {
+        final long operationWaitNanos = reserve(getOperationLimiter(operationName), Long.MAX_VALUE);
+        final long clientWaitNanos = reserve(clientLimiter, Long.MAX_VALUE);
+
+        return Math.max(operationWaitNanos, clientWaitNanos);
+    }
+
+    /**
+     * Gives back the tokens taken with {@link #reserve(String)} for a
+     * request that won't be sent.
+     *
+     * @param operationName name of the operation or null if it isn't known
+     */
+    public void refund(final String operationName) {
+        refund(getOperationLimiter(operationName));
+        refund(clientLimiter);
+    }
+
+    /**
+     * Adapts the limiters of an operation to the status code of a response.
+     *
+     * @param operationName name of the operation or null if it isn't known
+     * @param statusCode status code of the response
+     */
+    public void onResponse(final String operationName, final int statusCode) {
+        final AdaptiveRateLimiter operationLimiter = getOperationLimiter(operationName);
+
+        if (statusCode == SC_TOO_MANY_REQUESTS) {
+            onThrottled(operationLimiter);
+            onThrottled(clientLimiter);
+        } else {
+            onSuccess(operationLimiter);
+            onSuccess(clientLimiter);
+        }
+    }
+
+    /**
+     * Takes a token from a limiter unless the caller would have to wait
+     * longer than the passed time.
+     *
+     * @param limiter limiter or null
+     * @param maxWaitNanos maximum time in nanoseconds the caller is willing to wait
+     * @return time in nanoseconds to wait for the token, 0 for no limiter
+     *         or -1 if no token was taken
+     */
+    private static long reserve(final AdaptiveRateLimiter limiter, final long maxWaitNanos) {
+        if (limiter == null) {
+            return 0L;
+        }
+
+        return limiter.reserve(maxWaitNanos);
+    }
+
+    /**
+     * Gives back a token to a limiter.
+     *
+     * @param limiter limiter or null
+     */
+    private static void refund(final AdaptiveRateLimiter limiter) {
+        if (limiter != null) {
+            limiter.refund();
+        }
+    }
+
+    /**
+     * Lowers the rate of a limiter.
+     *
+     * @param limiter limiter or null
+     */
+    private static void onThrottled(final AdaptiveRateLimiter limiter) {
+        if (limiter != null) {
+            limiter.onThrottled();
+        }
+    }
+
+    /**
+     * Raises the rate of a limiter towards its configured rate.
+     *
+     * @param limiter limiter or null
+     */
+    private static void onSuccess(final AdaptiveRateLimiter limiter) {
+        if (limiter != null) {
+            limiter.onSuccess();
+        }
+    }
+
+    /**
+     * Limiter applied to all requests.
+     * @return the limiter or null if there is no client-wide limit
+     */
+    public AdaptiveRateLimiter getClientLimiter() {
+        return clientLimiter;
+    }
+
+    /**
+     * Limiter applied to the requests of an operation.
+     *
+     * @param operationName name of the operation or null
+     * @return the limiter or null if the operation has no limit
+     */
+    public AdaptiveRateLimiter getOperationLimiter(final String operationName) {
+        if (operationName == null) {
+            return null;
+        }
+
+        return operationLimiters.get(operationName);
+    }
+
+    /**
+     * Limiters of all operations with a limit.
+     * @return snapshot of the limiters by operation name
+     */
+    public Map<String, AdaptiveRateLimiter> getOperationLimiters() {
+        return Collections.unmodifiableMap(new HashMap<>(operationLimiters));
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimits{"
+                + "clientLimiter=" + clientLimiter
+                + ", operationLimiters=" + operationLimiters
+                + '}';
+    }
+}
@@ -0,0 +1,113 @@
+package com.joyent.triton.http;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Strategy used by {@link RequestIdInterceptor} to generate the id sent with
+ * every request to the CloudAPI. Request ids only need to be unique, not
+ * unpredictable, so the default generator uses the calling thread's
+ * {@link ThreadLocalRandom} instead of the {@link java.security.SecureRandom}
+ * shared by {@link UUID#randomUUID()}, which becomes contended when many
+ * threads make requests at once.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public enum RequestIdGenerator {
+    /**
+     * Random (version 4) UUIDs generated by {@link UUID#randomUUID()} from a
+     * shared {@link java.security.SecureRandom}.
+     */
+    SECURE_RANDOM {
+        @Override
+        public UUID nextUuid() {
+            return UUID.randomUUID();
+        }
+    },
+
+    /**
+     * Random (version 4) UUIDs generated from the calling thread's
+     * {@link ThreadLocalRandom}.
+     */
+    THREAD_LOCAL_RANDOM {
+        @Override
+        public UUID nextUuid() {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final long msb = (random.nextLong() & ~VERSION_MASK) | VERSION_4;
+            final long lsb = (random.nextLong() & ~VARIANT_MASK) | VARIANT_RFC_4122;
+
+            return new UUID(msb, lsb);
+        }
+    },
+
+    /**
+     * Time-ordered (version 7) UUIDs starting with the current Unix time in
+     * milliseconds followed by bits from the calling thread's
+     * {@link ThreadLocalRandom}. Ids sort in the order that the requests
+     * were made, which makes them easier to find in logs.
+     */
+    TIME_ORDERED {
+        @Override
+        public UUID nextUuid() {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final long timestamp = System.currentTimeMillis() << TIMESTAMP_SHIFT;
+            final long msb = timestamp | VERSION_7 | (random.nextLong() & RAND_A_MASK);
+            final long lsb = (random.nextLong() & ~VARIANT_MASK) | VARIANT_RFC_4122;
+
+            return new UUID(msb, lsb);
+        }
+    };
+
+    /**
+     * Bits of the most significant half of a UUID holding its version.
+     */
+    private static final long VERSION_MASK = 0xF000L;
+
+    /**
+     * Version bits of a random UUID.
+     */
+    private static final long VERSION_4 = 0x4000L;
+
+    /**
+     * Version bits of a time-ordered UUID.
+     */
+    private static final long VERSION_7 = 0x7000L;
+
+    /**
+     * Bits of the most significant half of a time-ordered UUID that follow
+     * its version.
+     */
+    private static final long RAND_A_MASK = 0x0FFFL;
+
+    /**
+     * Number of bits that the timestamp of a time-ordered UUID is shifted by.
+     */
+    private static final int TIMESTAMP_SHIFT = 16;
+
+    /**
+     * Bits of the least significant half of a UUID holding its variant.
+     */
+    private static final long VARIANT_MASK = 0xC000000000000000L;
+
+    /**
+     * Variant bits of a UUID as specified by RFC 4122.
+     */
+    private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+
+    /**
+     * Generates a new request id as a UUID.
+     *
+     * @return a new UUID
+     */
+    public abstract UUID nextUuid();
+
+    /**
+     * Generates a new request id.
+     *
+     * @return the string form of a new UUID
+     */
+    public String nextId() {
+        return nextUuid().toString();
+    }
+}
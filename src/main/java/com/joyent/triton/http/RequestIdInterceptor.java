@@ -1,5 +1,8 @@
 package com.joyent.triton.http;
 
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.tracing.CloudApiSpan;
+import com.joyent.triton.tracing.TracingContext;
 import org.apache.http.Header;
 import org.apache.http.HttpException;
 import org.apache.http.HttpRequest;
@@ -9,13 +12,17 @@ import org.apache.http.protocol.HttpContext;
 import org.slf4j.MDC;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Objects;
 
 /**
  * Add the request id for an HTTP header to the SLF4J MDC logging implementation. This
  * is useful because it allows us to view the request id in all of the logs associated
  * with the request.
  *
+ * <p>The request id is also added as a tag to the active
+ * {@link CloudApiSpan}, which injects its trace context into the request's
+ * headers.</p>
+ *
  * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
  * @since 1.0.0
  */
@@ -25,12 +32,39 @@ public class RequestIdInterceptor implements HttpRequestInterceptor {
      */
     public static final String MDC_REQUEST_ID_STRING = "cloudapi-request-id";
 
+    /**
+     * Strategy used to generate request ids.
+     */
+    private final RequestIdGenerator generator;
+
+    /**
+     * Creates a new instance that generates request ids with
+     * {@link DefaultsConfigContext#DEFAULT_REQUEST_ID_GENERATOR}.
+     */
+    public RequestIdInterceptor() {
+        this(DefaultsConfigContext.DEFAULT_REQUEST_ID_GENERATOR);
+    }
+
+    /**
+     * Creates a new instance that generates request ids with the passed strategy.
+     *
+     * @param generator strategy used to generate request ids
+     */
+    public RequestIdInterceptor(final RequestIdGenerator generator) {
+        Objects.requireNonNull(generator, "Request id generator must be present");
+        this.generator = generator;
+    }
+
     @Override
     public void process(final HttpRequest request, final HttpContext context) throws HttpException, IOException {
-        final String requestId = UUID.randomUUID().toString();
+        final String requestId = generator.nextId();
         final Header idHeader = new BasicHeader(CloudApiHttpHeaders.REQUEST_ID, requestId);
         request.addHeader(idHeader);
 
         MDC.put(MDC_REQUEST_ID_STRING, requestId);
+
+        final CloudApiSpan span = TracingContext.activeSpan(context);
+        span.setTag(CloudApiSpan.REQUEST_ID_TAG, requestId);
+        span.inject(request);
     }
 }
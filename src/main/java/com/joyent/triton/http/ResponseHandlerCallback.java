@@ -0,0 +1,161 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.CloudApiUtils;
+import com.joyent.triton.exceptions.CloudApiException;
+import com.joyent.triton.exceptions.CloudApiIOException;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Future;
+
+/**
+ * {@link FutureCallback} implementation that processes the {@link HttpResponse}
+ * of an asynchronous request with a {@link ResponseHandler} (typically a
+ * {@link CloudApiResponseHandler}) and completes a {@link Future} with the
+ * result. Errors are wrapped and annotated in the same way as they are for
+ * blocking requests. Cancelling the future also cancels the HTTP exchange,
+ * which releases its connection.
+ *
+ * @param <T> type returned by the response handler
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class ResponseHandlerCallback<T> implements FutureCallback<HttpResponse> {
+    /**
+     * HTTP request that the response is for - used to add context to errors.
+     */
+    private final HttpUriRequest request;
+
+    /**
+     * Handler that converts the response into the result type.
+     */
+    private final ResponseHandler<? extends T> responseHandler;
+
+    /**
+     * Future that is completed with the result of the response handler.
+     */
+    private final ExchangeFuture<T> future;
+
+    /**
+     * {@link BasicFuture} that also cancels the HTTP exchange producing its result.
+     *
+     * @param <T> type of the result
+     */
+    private static final class ExchangeFuture<T> extends BasicFuture<T> {
+        /**
+         * Future of the HTTP exchange or null if it wasn't submitted yet.
+         */
+        private volatile Future<?> exchange;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param callback optional callback notified when the result is available (may be null)
+         */
+        ExchangeFuture(final FutureCallback<T> callback) {
+            super(callback);
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            final Future<?> submitted = exchange;
+
+            if (cancelled && submitted != null) {
+                submitted.cancel(true);
+            }
+
+            return cancelled;
+        }
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param request HTTP request that the response is for
+     * @param responseHandler handler that converts the response into the result type
+     * @param callback optional callback notified when the result is available (may be null)
+     */
+    public ResponseHandlerCallback(final HttpUriRequest request,
+                                   final ResponseHandler<? extends T> responseHandler,
+                                   final FutureCallback<T> callback) {
+        Objects.requireNonNull(request, "Request must be present");
+        Objects.requireNonNull(responseHandler, "Response handler must be present");
+
+        this.request = request;
+        this.responseHandler = responseHandler;
+        this.future = new ExchangeFuture<>(callback);
+    }
+
+    /**
+     * Future that is completed with the result of the response handler.
+     * @return future result
+     */
+    public Future<T> getFuture() {
+        return future;
+    }
+
+    /**
+     * Links the future of the submitted HTTP exchange to the returned future,
+     * so that cancelling the returned future aborts the exchange. The
+     * exchange is cancelled at once if the returned future already was.
+     *
+     * @param exchange future returned by the HTTP client or null
+     */
+    public void setExchange(final Future<?> exchange) {
+        if (exchange == null) {
+            return;
+        }
+
+        future.exchange = exchange;
+
+        if (future.isCancelled()) {
+            exchange.cancel(true);
+        }
+    }
+
+    @Override
+    public void completed(final HttpResponse response) {
+        try {
+            final T result = responseHandler.handleResponse(response);
+            future.completed(result);
+        } catch (CloudApiIOException | CloudApiException e) {
+            CloudApiUtils.annotateContextedException(e, request, response);
+            future.failed(e);
+        } catch (IOException | RuntimeException e) {
+            failed(e);
+        } finally {
+            EntityUtils.consumeQuietly(response.getEntity());
+        }
+    }
+
+    @Override
+    public void failed(final Exception ex) {
+        if (ex instanceof CloudApiIOException || ex instanceof CloudApiException) {
+            future.failed(ex);
+            return;
+        }
+
+        if (ex instanceof IOException) {
+            final String msg = "Error making request to CloudAPI.";
+            final CloudApiIOException exception = new CloudApiIOException(msg, ex);
+            CloudApiUtils.annotateContextedException(exception, request);
+            future.failed(exception);
+            return;
+        }
+
+        future.failed(ex);
+    }
+
+    @Override
+    public void cancelled() {
+        future.cancel();
+    }
+}
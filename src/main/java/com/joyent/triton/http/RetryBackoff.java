@@ -0,0 +1,187 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates how long to wait before retrying a request. The delay doubles
+ * with every retry up to a maximum delay and is randomized between 0 and the
+ * calculated delay ("full jitter"), so that clients that failed at the same
+ * moment don't retry at the same moment. A {@code Retry-After} header sent by
+ * the CloudAPI takes precedence over the calculated delay.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class RetryBackoff {
+    /**
+     * Largest exponent used so that the doubled delay can't overflow.
+     */
+    private static final int MAX_EXPONENT = 30;
+
+    /**
+     * Delay in milliseconds before the first retry.
+     */
+    private final long baseDelayMs;
+
+    /**
+     * Upper bound of the delay in milliseconds.
+     */
+    private final long maxDelayMs;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param baseDelayMs delay in milliseconds before the first retry
+     * @param maxDelayMs upper bound of the delay in milliseconds
+     */
+    public RetryBackoff(final long baseDelayMs, final long maxDelayMs) {
+        if (baseDelayMs < 0) {
+            throw new IllegalArgumentException("Base delay must be 0 milliseconds or greater");
+        }
+
+        if (maxDelayMs < baseDelayMs) {
+            throw new IllegalArgumentException("Maximum delay must not be less than the base delay");
+        }
+
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    /**
+     * Creates a new instance configured by the retry delay settings of the
+     * passed configuration.
+     *
+     * @param config SDK configuration object
+     * @return a new instance
+     */
+    public static RetryBackoff fromConfig(final ConfigContext config) {
+        final int baseDelay = ObjectUtils.firstNonNull(config.getRetryBaseDelay(),
+                DefaultsConfigContext.DEFAULT_RETRY_BASE_DELAY);
+        final int maxDelay = ObjectUtils.firstNonNull(config.getRetryMaxDelay(),
+                DefaultsConfigContext.DEFAULT_RETRY_MAX_DELAY);
+
+        final long base = Math.max(baseDelay, 0);
+        return new RetryBackoff(base, Math.max(maxDelay, base));
+    }
+
+    /**
+     * Calculates a randomized delay before a retry.
+     *
+     * @param executionCount number of times the request has been executed
+     * @return delay in milliseconds
+     */
+    public long nextDelay(final int executionCount) {
+        final int exponent = Math.min(Math.max(executionCount - 1, 0), MAX_EXPONENT);
+        final long delay = Math.min(baseDelayMs << exponent, maxDelayMs);
+
+        if (delay == 0L) {
+            return 0L;
+        }
+
+        return ThreadLocalRandom.current().nextLong(delay + 1);
+    }
+
+    /**
+     * Calculates the delay before retrying a request that received the
+     * passed response, preferring the response's {@code Retry-After} header.
+     *
+     * @param response response to the previous attempt
+     * @param executionCount number of times the request has been executed
+     * @return delay in milliseconds, which is greater than the maximum delay
+     *         if the CloudAPI asked to wait longer than that
+     */
+    public long nextDelay(final HttpResponse response, final int executionCount) {
+        final Long retryAfter = retryAfterMillis(response, System.currentTimeMillis());
+
+        if (retryAfter == null) {
+            return nextDelay(executionCount);
+        }
+
+        return retryAfter;
+    }
+
+    /**
+     * Parses the {@code Retry-After} header of a response, which is either
+     * a number of seconds or a HTTP date.
+     *
+     * @param response HTTP response
+     * @param nowMillis current time in milliseconds since the epoch
+     * @return delay in milliseconds or null if there is no valid header
+     */
+    static Long retryAfterMillis(final HttpResponse response, final long nowMillis) {
+        final Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+
+        if (header == null || header.getValue() == null) {
+            return null;
+        }
+
+        final String value = header.getValue().trim();
+
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(Long.parseLong(value), 0L));
+        } catch (NumberFormatException e) {
+            final Date date = DateUtils.parseDate(value);
+
+            if (date == null) {
+                return null;
+            }
+
+            return Math.max(date.getTime() - nowMillis, 0L);
+        }
+    }
+
+    /**
+     * Waits before a retry without waiting past the deadline of the request.
+     *
+     * @param delayMs delay in milliseconds
+     * @param context HTTP context of the request
+     * @return true if the request can be retried, false if its deadline would
+     *         pass or the thread was interrupted while waiting
+     */
+    public static boolean await(final long delayMs, final HttpContext context) {
+        final Object deadline = context.getAttribute(Deadline.HTTP_CONTEXT_ATTRIBUTE);
+
+        if (deadline instanceof Deadline && ((Deadline)deadline).remaining(TimeUnit.MILLISECONDS) <= delayMs) {
+            return false;
+        }
+
+        if (delayMs <= 0L) {
+            return true;
+        }
+
+        try {
+            TimeUnit.MILLISECONDS.sleep(delayMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Upper bound of the calculated delay.
+     * @return maximum delay in milliseconds
+     */
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryBackoff{"
+                + "baseDelayMs=" + baseDelayMs
+                + ", maxDelayMs=" + maxDelayMs
+                + '}';
+    }
+}
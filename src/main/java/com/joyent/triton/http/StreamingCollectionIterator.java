@@ -0,0 +1,162 @@
+package com.joyent.triton.http;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.joyent.triton.exceptions.CloudApiException;
+import org.apache.http.HttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * {@link CloseableIterator} that deserializes the elements of a JSON array
+ * directly from a response entity as they are requested, so that only a
+ * single element is held in memory at a time. The underlying connection is
+ * released back to the pool when the iterator is exhausted. When the
+ * iterator is closed before it is exhausted, the connection is closed
+ * rather than reading the remainder of the entity.
+ *
+ * @param <E> type of element returned
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class StreamingCollectionIterator<E> implements CloseableIterator<E> {
+    /**
+     * Logger instance.
+     */
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Jackson iterator reading from the response entity.
+     */
+    private final MappingIterator<E> iterator;
+
+    /**
+     * Response whose entity is being read.
+     */
+    private final HttpResponse response;
+
+    /**
+     * Flag indicating that the response has been released.
+     */
+    private boolean closed = false;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param iterator Jackson iterator reading from the response entity
+     * @param response response whose entity is being read
+     */
+    public StreamingCollectionIterator(final MappingIterator<E> iterator,
+                                       final HttpResponse response) {
+        Objects.requireNonNull(iterator, "Mapping iterator must be present");
+        Objects.requireNonNull(response, "Response must be present");
+
+        this.iterator = iterator;
+        this.response = response;
+    }
+
+    /**
+     * Response whose entity is being read. The response headers are
+     * available, but the entity should not be read directly.
+     *
+     * @return HTTP response object
+     */
+    public HttpResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+
+        final boolean hasNext;
+
+        try {
+            hasNext = iterator.hasNextValue();
+        } catch (IOException e) {
+            abort();
+            throw new CloudApiException("Error deserializing entity", e);
+        }
+
+        if (!hasNext) {
+            release();
+        }
+
+        return hasNext;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            return iterator.nextValue();
+        } catch (IOException e) {
+            abort();
+            throw new CloudApiException("Error deserializing entity", e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Elements can't be removed from a response");
+    }
+
+    /**
+     * Closes the iterator. If the entity hasn't been read completely, the
+     * underlying connection is closed instead of being returned to the pool.
+     *
+     * @throws IOException thrown when the response can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            iterator.close();
+        } finally {
+            if (response instanceof Closeable) {
+                ((Closeable) response).close();
+            }
+        }
+    }
+
+    /**
+     * Reads the remainder of the entity so that the connection can be
+     * reused and then closes the iterator.
+     */
+    private void release() {
+        try {
+            EntityUtils.consume(response.getEntity());
+            close();
+        } catch (IOException e) {
+            logger.debug("Unable to release response", e);
+        }
+    }
+
+    /**
+     * Closes the iterator after an error without reading the remainder of
+     * the entity.
+     */
+    private void abort() {
+        try {
+            close();
+        } catch (IOException e) {
+            logger.debug("Unable to close response", e);
+        }
+    }
+}
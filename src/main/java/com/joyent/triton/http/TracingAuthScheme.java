@@ -0,0 +1,100 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.tracing.TracePhase;
+import com.joyent.triton.tracing.TracingContext;
+import org.apache.http.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.auth.AuthScheme;
+import org.apache.http.auth.AuthenticationException;
+import org.apache.http.auth.ContextAwareAuthScheme;
+import org.apache.http.auth.Credentials;
+import org.apache.http.auth.MalformedChallengeException;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.Objects;
+
+/**
+ * {@link AuthScheme} decorator that reports the time spent signing each
+ * request to the active {@link com.joyent.triton.tracing.CloudApiSpan}.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class TracingAuthScheme implements ContextAwareAuthScheme {
+    /**
+     * Authentication scheme that signs the requests.
+     */
+    private final AuthScheme delegate;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param delegate authentication scheme that signs the requests
+     */
+    public TracingAuthScheme(final AuthScheme delegate) {
+        Objects.requireNonNull(delegate, "Authentication scheme must be present");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Header authenticate(final Credentials credentials,
+                               final HttpRequest request,
+                               final HttpContext context) throws AuthenticationException {
+        final long start = System.nanoTime();
+
+        try {
+            if (delegate instanceof ContextAwareAuthScheme) {
+                return ((ContextAwareAuthScheme)delegate).authenticate(credentials, request, context);
+            }
+
+            return authenticate(credentials, request);
+        } finally {
+            TracingContext.activeSpan(context).recordPhase(TracePhase.SIGNING,
+                    start, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void processChallenge(final Header header) throws MalformedChallengeException {
+        delegate.processChallenge(header);
+    }
+
+    @Override
+    public String getSchemeName() {
+        return delegate.getSchemeName();
+    }
+
+    @Override
+    public String getParameter(final String name) {
+        return delegate.getParameter(name);
+    }
+
+    @Override
+    public String getRealm() {
+        return delegate.getRealm();
+    }
+
+    @Override
+    public boolean isConnectionBased() {
+        return delegate.isConnectionBased();
+    }
+
+    @Override
+    public boolean isComplete() {
+        return delegate.isComplete();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public Header authenticate(final Credentials credentials,
+                               final HttpRequest request) throws AuthenticationException {
+        return delegate.authenticate(credentials, request);
+    }
+
+    @Override
+    public String toString() {
+        return "TracingAuthScheme{"
+                + "delegate=" + delegate
+                + '}';
+    }
+}
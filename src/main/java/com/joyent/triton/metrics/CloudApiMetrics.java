@@ -0,0 +1,72 @@
+package com.joyent.triton.metrics;
+
+/**
+ * Service provider interface that receives measurements of every blocking
+ * request made to the CloudAPI. The SDK doesn't depend on a metrics library;
+ * implementations forward the measurements to one, for example by recording
+ * latencies with a Micrometer {@code Timer} and counting status codes with
+ * a {@code Counter} tagged by operation.
+ *
+ * <p>Operations are identified by the plain text operation name used in
+ * logs and errors, such as {@code "list instances"} or {@code "find image"}.
+ * Methods are called from the threads making the requests, so
+ * implementations must be thread-safe and should return quickly.</p>
+ *
+ * <p>Implementations that only need some of the measurements can extend
+ * {@link NoOpCloudApiMetrics}.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public interface CloudApiMetrics {
+    /**
+     * Records a request that received a response, whatever its status code.
+     * The network time runs from sending the request until the response
+     * headers arrive, including any retries. The deserialization time is the
+     * time spent reading and parsing the response body. Listings that are
+     * streamed are read lazily by the caller, so their deserialization time
+     * is reported as 0.
+     *
+     * @param operation name of the operation
+     * @param statusCode HTTP status code of the response
+     * @param networkNanos network time in nanoseconds
+     * @param deserializationNanos deserialization time in nanoseconds
+     */
+    void recordRequest(String operation, int statusCode, long networkNanos,
+                       long deserializationNanos);
+
+    /**
+     * Records a request that failed without receiving a response, such as
+     * after a connection error or timeout.
+     *
+     * @param operation name of the operation
+     * @param cause exception that the request failed with
+     * @param elapsedNanos time in nanoseconds until the request failed
+     */
+    void recordFailure(String operation, Exception cause, long elapsedNanos);
+
+    /**
+     * Records the size of the entities sent and received by a request.
+     *
+     * @param operation name of the operation
+     * @param bytesWritten number of bytes in the request entity
+     * @param bytesRead number of bytes read from the response entity
+     */
+    void recordBytes(String operation, long bytesWritten, long bytesRead);
+
+    /**
+     * Records that a request is being retried after an I/O error.
+     *
+     * @param operation name of the operation
+     * @param executionCount number of times the request has been executed so far
+     */
+    void recordRetry(String operation, int executionCount);
+
+    /**
+     * Called once when the connection pool is created, so that its state can
+     * be registered as gauges.
+     *
+     * @param stats live view of the connection pool
+     */
+    void bindConnectionPool(ConnectionPoolStats stats);
+}
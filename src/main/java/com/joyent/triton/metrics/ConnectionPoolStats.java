@@ -0,0 +1,36 @@
+package com.joyent.triton.metrics;
+
+/**
+ * Live view of the state of the connection pool shared by a
+ * {@link com.joyent.triton.CloudApi} instance. Every call reads the current
+ * state of the pool, so an instance can be registered once as the source of
+ * gauges.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public interface ConnectionPoolStats {
+    /**
+     * Number of connections currently leased by requests.
+     * @return number of leased connections
+     */
+    int getLeased();
+
+    /**
+     * Number of idle connections that are available to be leased.
+     * @return number of available connections
+     */
+    int getAvailable();
+
+    /**
+     * Number of requests waiting for a connection to be leased.
+     * @return number of pending requests
+     */
+    int getPending();
+
+    /**
+     * Maximum number of connections held by the pool.
+     * @return maximum number of connections
+     */
+    int getMax();
+}
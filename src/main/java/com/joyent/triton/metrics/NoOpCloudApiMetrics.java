@@ -0,0 +1,39 @@
+package com.joyent.triton.metrics;
+
+/**
+ * {@link CloudApiMetrics} implementation that discards all measurements. It
+ * is used when no metrics implementation is configured and can be extended
+ * by implementations that only need some of the measurements.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class NoOpCloudApiMetrics implements CloudApiMetrics {
+    /**
+     * Shared instance.
+     */
+    public static final CloudApiMetrics INSTANCE = new NoOpCloudApiMetrics();
+
+    @Override
+    public void recordRequest(final String operation, final int statusCode,
+                              final long networkNanos, final long deserializationNanos) {
+    }
+
+    @Override
+    public void recordFailure(final String operation, final Exception cause,
+                              final long elapsedNanos) {
+    }
+
+    @Override
+    public void recordBytes(final String operation, final long bytesWritten,
+                            final long bytesRead) {
+    }
+
+    @Override
+    public void recordRetry(final String operation, final int executionCount) {
+    }
+
+    @Override
+    public void bindConnectionPool(final ConnectionPoolStats stats) {
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Package containing the service provider interface used to report
+ * metrics about requests made to the CloudAPI to a metrics library.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+package com.joyent.triton.metrics;
@@ -0,0 +1,113 @@
+package com.joyent.triton.polling;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link PollingStrategy} implementation that multiplies the delay between
+ * polls after every poll up to a maximum delay. A random part of each delay
+ * (the jitter) is subtracted so that many concurrent waits don't poll the
+ * CloudAPI at the same moments.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class ExponentialBackoffPollingStrategy implements PollingStrategy {
+    /**
+     * Default multiplier applied to the delay after each poll.
+     */
+    public static final double DEFAULT_MULTIPLIER = 2.0;
+
+    /**
+     * Default fraction of each delay that is randomized.
+     */
+    public static final double DEFAULT_JITTER = 0.5;
+
+    /**
+     * Delay before the second poll in milliseconds.
+     */
+    private final long initialDelayMs;
+
+    /**
+     * Upper bound of the delay in milliseconds.
+     */
+    private final long maxDelayMs;
+
+    /**
+     * Multiplier applied to the delay after each poll.
+     */
+    private final double multiplier;
+
+    /**
+     * Fraction of each delay that is randomized, between 0 and 1.
+     */
+    private final double jitter;
+
+    /**
+     * Creates a new instance that doubles the delay after each poll and
+     * randomizes half of each delay.
+     *
+     * @param initialDelayMs delay before the second poll in milliseconds
+     * @param maxDelayMs upper bound of the delay in milliseconds
+     */
+    public ExponentialBackoffPollingStrategy(final long initialDelayMs, final long maxDelayMs) {
+        this(initialDelayMs, maxDelayMs, DEFAULT_MULTIPLIER, DEFAULT_JITTER);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param initialDelayMs delay before the second poll in milliseconds
+     * @param maxDelayMs upper bound of the delay in milliseconds
+     * @param multiplier multiplier applied to the delay after each poll, 1 or greater
+     * @param jitter fraction of each delay that is randomized, between 0 (none) and 1 (all)
+     */
+    public ExponentialBackoffPollingStrategy(final long initialDelayMs,
+                                             final long maxDelayMs,
+                                             final double multiplier,
+                                             final double jitter) {
+        if (initialDelayMs < 0) {
+            throw new IllegalArgumentException("Initial delay must be 0 milliseconds or greater");
+        }
+
+        if (maxDelayMs < initialDelayMs) {
+            throw new IllegalArgumentException("Maximum delay must not be less than the initial delay");
+        }
+
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("Multiplier must be 1 or greater");
+        }
+
+        if (!(jitter >= 0.0 && jitter <= 1.0)) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1");
+        }
+
+        this.initialDelayMs = initialDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public long nextDelay(final String state, final int attempt, final long elapsedMs) {
+        final int exponent = Math.max(attempt - 1, 0);
+        final double delay = Math.min(initialDelayMs * Math.pow(multiplier, exponent), maxDelayMs);
+
+        if (jitter == 0.0) {
+            return (long)delay;
+        }
+
+        final double random = ThreadLocalRandom.current().nextDouble();
+
+        return (long)(delay * (1.0 - jitter * random));
+    }
+
+    @Override
+    public String toString() {
+        return "ExponentialBackoffPollingStrategy{"
+                + "initialDelayMs=" + initialDelayMs
+                + ", maxDelayMs=" + maxDelayMs
+                + ", multiplier=" + multiplier
+                + ", jitter=" + jitter
+                + '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.joyent.triton.polling;
+
+/**
+ * {@link PollingStrategy} implementation that waits the same amount of time
+ * between every poll.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class FixedIntervalPollingStrategy implements PollingStrategy {
+    /**
+     * Time to wait between polls in milliseconds.
+     */
+    private final long intervalMs;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param intervalMs time to wait between polls in milliseconds
+     */
+    public FixedIntervalPollingStrategy(final long intervalMs) {
+        if (intervalMs < 0) {
+            throw new IllegalArgumentException("Interval must be 0 milliseconds or greater");
+        }
+
+        this.intervalMs = intervalMs;
+    }
+
+    @Override
+    public long nextDelay(final String state, final int attempt, final long elapsedMs) {
+        return intervalMs;
+    }
+
+    @Override
+    public String toString() {
+        return "FixedIntervalPollingStrategy{"
+                + "intervalMs=" + intervalMs
+                + '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.joyent.triton.polling;
+
+/**
+ * Strategy that decides how long to wait between polls of the CloudAPI, for
+ * example while waiting for the state of an instance to change.
+ * Implementations must be thread-safe, because a single strategy can be
+ * shared by many concurrent waits.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public interface PollingStrategy {
+    /**
+     * Calculates how long to wait before the next poll.
+     *
+     * @param state state returned by the last poll
+     * @param attempt number of polls made so far, starting at 1 after the first poll
+     * @param elapsedMs time elapsed since waiting started in milliseconds
+     * @return time to wait before the next poll in milliseconds
+     */
+    long nextDelay(String state, int attempt, long elapsedMs);
+}
@@ -0,0 +1,86 @@
+package com.joyent.triton.polling;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link PollingStrategy} implementation that uses the expected duration of
+ * each state to avoid polling while a change is unlikely. While the elapsed
+ * time is less than the expected duration of the current state, it waits
+ * until the expected duration has passed. After that, or for states without
+ * an expected duration, it delegates to another strategy, counting attempts
+ * from the first poll after the expected duration.
+ *
+ * <p>For example, provisioning typically takes a while before anything
+ * happens and then completes quickly, so
+ * {@code new StateAwarePollingStrategy(new FixedIntervalPollingStrategy(1000))
+ * .expect("provisioning", 30000)} polls once after 30 seconds and then every
+ * second.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class StateAwarePollingStrategy implements PollingStrategy {
+    /**
+     * Strategy used once the expected duration of a state has passed.
+     */
+    private final PollingStrategy delegate;
+
+    /**
+     * Expected duration of each state in milliseconds.
+     */
+    private final Map<String, Long> expectedDurations = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param delegate strategy used once the expected duration of a state has passed
+     */
+    public StateAwarePollingStrategy(final PollingStrategy delegate) {
+        Objects.requireNonNull(delegate, "Delegate polling strategy must be present");
+        this.delegate = delegate;
+    }
+
+    /**
+     * Sets the time an instance is expected to stay in a state.
+     *
+     * @param state state of the instance
+     * @param durationMs expected duration in milliseconds
+     * @return the current instance of {@link StateAwarePollingStrategy}
+     */
+    public StateAwarePollingStrategy expect(final String state, final long durationMs) {
+        Objects.requireNonNull(state, "State must be present");
+
+        if (durationMs < 0) {
+            throw new IllegalArgumentException("Expected duration must be 0 milliseconds or greater");
+        }
+
+        expectedDurations.put(state, durationMs);
+        return this;
+    }
+
+    @Override
+    public long nextDelay(final String state, final int attempt, final long elapsedMs) {
+        final Long expected = expectedDurations.get(state);
+
+        if (expected == null) {
+            return delegate.nextDelay(state, attempt, elapsedMs);
+        }
+
+        if (elapsedMs < expected) {
+            return expected - elapsedMs;
+        }
+
+        // Only the first poll is made before the expected duration has passed
+        return delegate.nextDelay(state, Math.max(attempt - 1, 1), elapsedMs);
+    }
+
+    @Override
+    public String toString() {
+        return "StateAwarePollingStrategy{"
+                + "delegate=" + delegate
+                + ", expectedDurations=" + expectedDurations
+                + '}';
+    }
+}
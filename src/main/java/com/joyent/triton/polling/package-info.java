@@ -0,0 +1,8 @@
+/**
+ * Package containing strategies that decide how often the CloudAPI is
+ * polled while waiting for a change.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+package com.joyent.triton.polling;
@@ -5,6 +5,7 @@ import com.joyent.triton.domain.Taggable;
 import com.joyent.triton.domain.Instance;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -84,6 +85,31 @@ public class InstanceFilter implements QueryFilter, Taggable<InstanceFilter> {
     public InstanceFilter() {
     }
 
+    /**
+     * Creates a new instance with the same criteria as the passed filter.
+     * Tags are copied so that the new instance can be modified independently.
+     *
+     * @param filter filter to copy criteria from
+     */
+    public InstanceFilter(final InstanceFilter filter) {
+        Objects.requireNonNull(filter, "Filter to copy must be present");
+
+        this.brand = filter.brand;
+        this.name = filter.name;
+        this.image = filter.image;
+        this.state = filter.state;
+        this.memory = filter.memory;
+        this.tombstone = filter.tombstone;
+        this.limit = filter.limit;
+        this.offset = filter.offset;
+        this.listOnlyDocker = filter.listOnlyDocker;
+        this.includeCredentials = filter.includeCredentials;
+
+        if (filter.tags != null) {
+            this.tags = new LinkedHashMap<>(filter.tags);
+        }
+    }
+
     public String getBrand() {
         return brand;
     }
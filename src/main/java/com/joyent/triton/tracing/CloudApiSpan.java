@@ -0,0 +1,76 @@
+package com.joyent.triton.tracing;
+
+import org.apache.http.HttpRequest;
+
+/**
+ * A single traced call to the CloudAPI, created by a {@link CloudApiTracer}.
+ * A span covers all of the attempts made for the call, including retries.
+ *
+ * <p>Methods are called from the thread making the request and the span is
+ * finished exactly once.</p>
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public interface CloudApiSpan {
+    /**
+     * Tag holding the operation name, such as {@code "list instances"}.
+     */
+    String OPERATION_TAG = "triton.operation";
+
+    /**
+     * Tag holding the value of the {@code request-id} header sent with the
+     * last attempt.
+     */
+    String REQUEST_ID_TAG = "triton.request_id";
+
+    /**
+     * Tag holding the HTTP method of the request.
+     */
+    String HTTP_METHOD_TAG = "http.method";
+
+    /**
+     * Tag holding the HTTP status code of the response.
+     */
+    String HTTP_STATUS_CODE_TAG = "http.status_code";
+
+    /**
+     * Adds or replaces a tag of the span.
+     *
+     * @param key name of the tag
+     * @param value value of the tag
+     */
+    void setTag(String key, String value);
+
+    /**
+     * Records the time spent in a phase of the request. A phase can be
+     * recorded more than once when a request is retried.
+     *
+     * @param phase phase of the request
+     * @param startNanos value of {@link System#nanoTime()} when the phase started
+     * @param endNanos value of {@link System#nanoTime()} when the phase ended
+     */
+    void recordPhase(TracePhase phase, long startNanos, long endNanos);
+
+    /**
+     * Adds the headers that propagate the trace context, such as the W3C
+     * {@code traceparent} header, to an outgoing request. This is called
+     * for every attempt, so implementations should replace the headers
+     * rather than add to them.
+     *
+     * @param request outgoing HTTP request
+     */
+    void inject(HttpRequest request);
+
+    /**
+     * Records the error that the call failed with.
+     *
+     * @param error exception thrown by the call
+     */
+    void recordError(Throwable error);
+
+    /**
+     * Ends the span.
+     */
+    void finish();
+}
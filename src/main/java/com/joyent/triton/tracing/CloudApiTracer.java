@@ -0,0 +1,21 @@
+package com.joyent.triton.tracing;
+
+/**
+ * Service provider interface that opens a {@link CloudApiSpan} for every
+ * blocking call made to the CloudAPI. The SDK doesn't depend on a tracing
+ * library; implementations adapt a tracer such as OpenTelemetry or Zipkin,
+ * typically starting a child of the span that is current on the calling
+ * thread.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public interface CloudApiTracer {
+    /**
+     * Starts a new span for a call to the CloudAPI.
+     *
+     * @param operationName name of the operation, such as {@code "list instances"}
+     * @return a new span that is finished when the call completes
+     */
+    CloudApiSpan startSpan(String operationName);
+}
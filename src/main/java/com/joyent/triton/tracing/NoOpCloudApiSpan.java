@@ -0,0 +1,42 @@
+package com.joyent.triton.tracing;
+
+import org.apache.http.HttpRequest;
+
+/**
+ * {@link CloudApiSpan} implementation that discards everything.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+final class NoOpCloudApiSpan implements CloudApiSpan {
+    /**
+     * Shared instance.
+     */
+    static final CloudApiSpan INSTANCE = new NoOpCloudApiSpan();
+
+    /**
+     * Use the shared instance.
+     */
+    private NoOpCloudApiSpan() {
+    }
+
+    @Override
+    public void setTag(final String key, final String value) {
+    }
+
+    @Override
+    public void recordPhase(final TracePhase phase, final long startNanos, final long endNanos) {
+    }
+
+    @Override
+    public void inject(final HttpRequest request) {
+    }
+
+    @Override
+    public void recordError(final Throwable error) {
+    }
+
+    @Override
+    public void finish() {
+    }
+}
@@ -0,0 +1,20 @@
+package com.joyent.triton.tracing;
+
+/**
+ * {@link CloudApiTracer} implementation whose spans discard everything. It
+ * is used when no tracer is configured.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public class NoOpCloudApiTracer implements CloudApiTracer {
+    /**
+     * Shared instance.
+     */
+    public static final CloudApiTracer INSTANCE = new NoOpCloudApiTracer();
+
+    @Override
+    public CloudApiSpan startSpan(final String operationName) {
+        return NoOpCloudApiSpan.INSTANCE;
+    }
+}
@@ -0,0 +1,37 @@
+package com.joyent.triton.tracing;
+
+/**
+ * Phases of a request to the CloudAPI that are timed and reported to its
+ * {@link CloudApiSpan}.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public enum TracePhase {
+    /**
+     * Opening a new connection to the CloudAPI. For HTTPS connections this
+     * includes the TLS handshake, which is also reported separately. Pooled
+     * connections that are reused don't have this phase.
+     */
+    CONNECT,
+
+    /**
+     * TLS handshake of a new HTTPS connection.
+     */
+    TLS_HANDSHAKE,
+
+    /**
+     * Signing the request with the HTTP signature of the configured key.
+     */
+    SIGNING,
+
+    /**
+     * Waiting for the response headers after the request was sent.
+     */
+    SERVER_WAIT,
+
+    /**
+     * Reading and deserializing the response body.
+     */
+    DESERIALIZATION
+}
@@ -0,0 +1,58 @@
+package com.joyent.triton.tracing;
+
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Utility methods for passing the {@link CloudApiSpan} of a call through
+ * the {@link HttpContext} of its requests, so that the components of the
+ * HTTP client that connect, sign and send requests can report their phases.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+public final class TracingContext {
+    /**
+     * Name of the {@link HttpContext} attribute holding the active span.
+     */
+    public static final String HTTP_CONTEXT_ATTRIBUTE = "triton.span";
+
+    /**
+     * This class is used only for static methods.
+     */
+    private TracingContext() {
+    }
+
+    /**
+     * Finds the span of the call that a request is made for.
+     *
+     * @param context HTTP context of the request
+     * @return the active span or a span that discards everything if there isn't one
+     */
+    public static CloudApiSpan activeSpan(final HttpContext context) {
+        if (context == null) {
+            return NoOpCloudApiSpan.INSTANCE;
+        }
+
+        final Object span = context.getAttribute(HTTP_CONTEXT_ATTRIBUTE);
+
+        if (span instanceof CloudApiSpan) {
+            return (CloudApiSpan)span;
+        }
+
+        return NoOpCloudApiSpan.INSTANCE;
+    }
+
+    /**
+     * Sets the span of the call that the requests made with a context are for.
+     *
+     * @param context HTTP context of the requests
+     * @param span active span or null to clear it
+     */
+    public static void setActiveSpan(final HttpContext context, final CloudApiSpan span) {
+        if (span == null) {
+            context.removeAttribute(HTTP_CONTEXT_ATTRIBUTE);
+        } else {
+            context.setAttribute(HTTP_CONTEXT_ATTRIBUTE, span);
+        }
+    }
+}
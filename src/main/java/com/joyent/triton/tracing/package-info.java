@@ -0,0 +1,8 @@
+/**
+ * Package containing the service provider interface used to report a
+ * tracing span for each request made to the CloudAPI to a tracing library.
+ *
+ * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
+ * @since 1.0.0
+ */
+package com.joyent.triton.tracing;
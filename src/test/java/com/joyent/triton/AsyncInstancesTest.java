@@ -0,0 +1,301 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.exceptions.CloudApiIOException;
+import com.joyent.triton.exceptions.CloudApiResponseException;
+import com.joyent.triton.http.CloudApiResponseHandler;
+import com.joyent.triton.json.CloudApiObjectMapper;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(groups = { "unit" })
+public class AsyncInstancesTest {
+    private static final ProtocolVersion HTTP_1_1 = new HttpVersion(1, 1);
+
+    private CloudApi cloudApi = null;
+
+    @BeforeClass
+    public void setup() {
+        final ConfigContext config = new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext()
+                        .setNoAuth(true)
+        );
+        this.cloudApi = new CloudApi(config);
+    }
+
+    @AfterClass
+    public void cleanUp() throws IOException {
+        cloudApi.close();
+    }
+
+    public void canFindInstanceById() throws Exception {
+        final HttpResponse response = response(HttpStatus.SC_OK, "OK",
+                "src/test/data/domain/instance.json");
+        final AsyncInstances instances = asyncInstances(completingClient(response));
+        final AtomicReference<Instance> callbackResult = new AtomicReference<>();
+
+        final UUID instanceId = UUID.fromString("c872d3bf-cbaa-4165-8e18-f6e3e1d94da9");
+        final Future<Instance> future = instances.findById(instanceId, new FutureCallback<Instance>() {
+            @Override
+            public void completed(final Instance result) {
+                callbackResult.set(result);
+            }
+
+            @Override
+            public void failed(final Exception ex) {
+                fail("Callback shouldn't have failed", ex);
+            }
+
+            @Override
+            public void cancelled() {
+                fail("Callback shouldn't have been cancelled");
+            }
+        });
+
+        final Instance instance = future.get();
+        assertEquals(instance.getId(), instanceId);
+        assertEquals(instance.getState(), "running");
+        assertSame(callbackResult.get(), instance);
+    }
+
+    public void canListInstances() throws Exception {
+        final HttpResponse response = response(HttpStatus.SC_OK, "OK",
+                "src/test/data/instances/list_under_limit.json");
+        final AsyncInstances instances = asyncInstances(completingClient(response));
+
+        final Collection<Instance> list = instances.list().get();
+        assertFalse(list.isEmpty(), "Expected instances to be listed");
+    }
+
+    public void returnsNullWhenInstanceIsGone() throws Exception {
+        final HttpResponse response = new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, HttpStatus.SC_NOT_FOUND, "Not Found"));
+        final AsyncInstances instances = asyncInstances(completingClient(response));
+
+        assertNull(instances.findById(new UUID(0L, 0L)).get());
+    }
+
+    public void failsFutureWithResponseException() throws Exception {
+        final HttpResponse response = response(HttpStatus.SC_NOT_FOUND, "Not Found",
+                "src/test/data/error/not_found.json");
+        final AsyncInstances instances = asyncInstances(completingClient(response));
+
+        try {
+            instances.delete(new UUID(512L, 1024L)).get();
+            fail("ExecutionException never thrown");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof CloudApiResponseException,
+                    "Unexpected cause: " + e.getCause());
+            assertTrue(e.getCause().getMessage().contains("VM not found"),
+                    "Unexpected message on exception");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void wrapsIOExceptionsFromTheClient() throws Exception {
+        final HttpAsyncClient client = mock(HttpAsyncClient.class);
+        when(client.execute(any(HttpUriRequest.class), any(HttpContext.class), any(FutureCallback.class)))
+                .thenAnswer(new Answer<Future<HttpResponse>>() {
+                    @Override
+                    public Future<HttpResponse> answer(final InvocationOnMock invocation) {
+                        final FutureCallback<HttpResponse> callback =
+                                (FutureCallback<HttpResponse>) invocation.getArguments()[2];
+                        callback.failed(new NoHttpResponseException("no response"));
+                        return null;
+                    }
+                });
+
+        try {
+            asyncInstances(client).findById(new UUID(0L, 0L)).get();
+            fail("ExecutionException never thrown");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof CloudApiIOException,
+                    "Unexpected cause: " + e.getCause());
+        }
+    }
+
+    public void rateLimitedRequestsAreDelayedWithoutBlocking() throws Exception {
+        final HttpResponse response = response(HttpStatus.SC_OK, "OK",
+                "src/test/data/instances/list_under_limit.json");
+        final List<String> submittingThreads = Collections.synchronizedList(new ArrayList<String>());
+        final AsyncInstances instances = asyncInstances(
+                recordingClient(completingClient(response), submittingThreads));
+
+        cloudApi.getRateLimits().setOperationLimit("list instances", 10.0, 1);
+
+        try {
+            final long start = System.nanoTime();
+            final List<Future<Collection<Instance>>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 3; i++) {
+                futures.add(instances.list());
+            }
+
+            for (Future<Collection<Instance>> future : futures) {
+                assertFalse(future.get().isEmpty(), "Expected instances to be listed");
+            }
+
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(elapsedMillis >= 150L, "Requests weren't limited: " + elapsedMillis + "ms");
+        } finally {
+            cloudApi.getRateLimits().removeOperationLimit("list instances");
+        }
+
+        assertEquals(submittingThreads.size(), 3);
+        assertEquals(submittingThreads.get(0), Thread.currentThread().getName(),
+                "The first request had a token and should have been submitted at once");
+
+        for (String threadName : submittingThreads.subList(1, 3)) {
+            assertTrue(threadName.startsWith("triton-rate-limit-"),
+                    "Request submitted from unexpected thread: " + threadName);
+        }
+    }
+
+    public void cancelledRequestsAreNotSubmittedAndReturnTheirTokens() throws Exception {
+        final HttpResponse response = response(HttpStatus.SC_OK, "OK",
+                "src/test/data/instances/list_under_limit.json");
+        final List<String> submittingThreads = Collections.synchronizedList(new ArrayList<String>());
+        final AsyncInstances instances = asyncInstances(
+                recordingClient(completingClient(response), submittingThreads));
+
+        cloudApi.getRateLimits().setOperationLimit("list instances", 5.0, 1);
+
+        try {
+            instances.list().get();
+
+            final Future<Collection<Instance>> delayed = instances.list();
+            assertTrue(delayed.cancel(true));
+
+            /* The cancelled request was due after 200ms. Without giving its
+             * token back, the bucket would only hold half a token at 300ms. */
+            Thread.sleep(300L);
+            assertEquals(submittingThreads.size(), 1);
+            assertTrue(cloudApi.getRateLimits().getOperationLimiter("list instances").reserve() <= 0L,
+                    "The cancelled request should have given its token back");
+        } finally {
+            cloudApi.getRateLimits().removeOperationLimit("list instances");
+        }
+    }
+
+    public void unlimitedRequestsAreSubmittedFromTheCallingThread() throws Exception {
+        final HttpResponse response = response(HttpStatus.SC_OK, "OK",
+                "src/test/data/instances/list_under_limit.json");
+        final List<String> submittingThreads = Collections.synchronizedList(new ArrayList<String>());
+        final AsyncInstances instances = asyncInstances(
+                recordingClient(completingClient(response), submittingThreads));
+
+        instances.list().get();
+
+        assertEquals(submittingThreads, Collections.singletonList(Thread.currentThread().getName()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void cancellingTheFutureCancelsTheExchange() throws Exception {
+        final BasicFuture<HttpResponse> exchange = new BasicFuture<>(null);
+        final HttpAsyncClient client = mock(HttpAsyncClient.class);
+        when(client.execute(any(HttpUriRequest.class), any(HttpContext.class), any(FutureCallback.class)))
+                .thenReturn(exchange);
+
+        final Future<Instance> future = asyncInstances(client).findById(new UUID(0L, 0L));
+
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+        assertTrue(exchange.isCancelled(), "The HTTP exchange should have been cancelled");
+    }
+
+    private AsyncInstances asyncInstances(final HttpAsyncClient client) {
+        return new AsyncCloudApi(cloudApi, client, new CloudApiObjectMapper()).instances();
+    }
+
+    private static HttpResponse response(final int status, final String reason,
+                                         final String path) {
+        final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, status, reason);
+        final HttpResponse response = new BasicHttpResponse(statusLine);
+        final HttpEntity entity = new FileEntity(new File(path));
+        response.setEntity(entity);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpAsyncClient recordingClient(final HttpAsyncClient delegate,
+                                                   final List<String> submittingThreads) {
+        final HttpAsyncClient client = mock(HttpAsyncClient.class);
+        when(client.execute(any(HttpUriRequest.class), any(HttpContext.class), any(FutureCallback.class)))
+                .thenAnswer(new Answer<Future<HttpResponse>>() {
+                    @Override
+                    public Future<HttpResponse> answer(final InvocationOnMock invocation) {
+                        final HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+                        final HttpContext context = (HttpContext) invocation.getArguments()[1];
+                        final FutureCallback<HttpResponse> callback =
+                                (FutureCallback<HttpResponse>) invocation.getArguments()[2];
+
+                        assertEquals(context.getAttribute(CloudApiResponseHandler.OPERATION_NAME_ATTRIBUTE),
+                                "list instances");
+                        submittingThreads.add(Thread.currentThread().getName());
+                        return delegate.execute(request, context, callback);
+                    }
+                });
+        return client;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpAsyncClient completingClient(final HttpResponse response) {
+        final HttpAsyncClient client = mock(HttpAsyncClient.class);
+        when(client.execute(any(HttpUriRequest.class), any(HttpContext.class), any(FutureCallback.class)))
+                .thenAnswer(new Answer<Future<HttpResponse>>() {
+                    @Override
+                    public Future<HttpResponse> answer(final InvocationOnMock invocation) {
+                        final FutureCallback<HttpResponse> callback =
+                                (FutureCallback<HttpResponse>) invocation.getArguments()[2];
+                        callback.completed(response);
+                        return null;
+                    }
+                });
+        return client;
+    }
+}
@@ -0,0 +1,343 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.exceptions.CloudApiIOException;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.http.RateLimiter;
+import com.joyent.triton.json.CloudApiObjectMapper;
+import com.joyent.triton.queryfilters.InstanceFilter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class BulkInstancesTest {
+    private CloudApi cloudApi = null;
+
+    @BeforeClass
+    public void setup() {
+        this.cloudApi = new CloudApi(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext().setNoAuth(true)));
+    }
+
+    @AfterClass
+    public void cleanUp() throws IOException {
+        cloudApi.close();
+    }
+
+    public void createsAllInstancesWithBoundedConcurrency() {
+        final FakeInstances instances = new FakeInstances(cloudApi, 0);
+        final BulkResult<Instance, Instance> result = instances.createAll(requests(20, -1), 4);
+
+        assertTrue(result.isSuccessful());
+        assertEquals(result.getResults().size(), 20);
+        assertTrue(instances.maxInFlight.get() <= 4,
+                "At most 4 requests should be in flight: " + instances.maxInFlight.get());
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(result.getItems().get(i).getKey().getName(), "node-" + i,
+                    "Items should be returned in submission order");
+        }
+    }
+
+    public void failuresDontAbortTheBatch() {
+        final FakeInstances instances = new FakeInstances(cloudApi, 0);
+        final BulkResult<Instance, Instance> result = instances.createAll(requests(10, 3), 3);
+
+        assertFalse(result.isSuccessful());
+        assertEquals(result.getResults().size(), 9);
+        assertEquals(result.getFailures().size(), 1);
+
+        final BulkResult.Item<Instance, Instance> failure = result.getFailures().get(0);
+        assertEquals(failure.getKey().getName(), "fail");
+        assertEquals(result.getItems().indexOf(failure), 3);
+        assertTrue(failure.getError() instanceof CloudApiIOException);
+    }
+
+    public void waitsForRunningWithOnePollPerInterval() {
+        final FakeInstances instances = new FakeInstances(cloudApi, 2);
+        final BulkResult<Instance, Instance> result = instances.createAll(requests(8, -1), 4, 10000L, 1L);
+
+        assertTrue(result.isSuccessful(), result.toString());
+
+        for (Instance instance : result.getResults()) {
+            assertEquals(instance.getState(), "running");
+        }
+
+        assertEquals(instances.listCalls.get(), 2, "Each poll should list instances once");
+        assertEquals(instances.findCalls.get(), 8, "Each instance should be looked up once when it changes");
+    }
+
+    public void instancesThatDontStartInTimeAreFailures() {
+        final FakeInstances instances = new FakeInstances(cloudApi, Integer.MAX_VALUE);
+        final BulkResult<Instance, Instance> result = instances.createAll(requests(2, -1), 2, 0L, 1L);
+
+        assertEquals(result.getFailures().size(), 2);
+
+        for (BulkResult.Item<Instance, Instance> item : result.getFailures()) {
+            assertNotNull(item.getResult(), "Failed items should carry the last known instance");
+            assertEquals(item.getResult().getState(), "provisioning");
+        }
+    }
+
+    public void deletesAllInstancesAndReportsProgress() {
+        final FakeInstances instances = new FakeInstances(cloudApi, 0);
+        final List<UUID> ids = instances.seed(50, 7);
+        final AtomicInteger progress = new AtomicInteger();
+        final AtomicInteger lastTotal = new AtomicInteger();
+
+        final BulkOptions options = new BulkOptions()
+                .setParallelism(5)
+                .setProgressListener(new BulkProgressListener() {
+                    @Override
+                    public void itemCompleted(final BulkResult.Item<?, ?> item,
+                                              final int completed,
+                                              final int total) {
+                        progress.incrementAndGet();
+                        lastTotal.set(total);
+                    }
+                });
+
+        final BulkResult<UUID, Void> result = instances.deleteAll(ids, options);
+
+        assertEquals(result.getItems().size(), 50);
+        assertEquals(result.getFailures().size(), 1);
+        assertEquals(result.getFailures().get(0).getKey(), ids.get(7));
+        assertEquals(progress.get(), 50);
+        assertEquals(lastTotal.get(), 50);
+        assertEquals(instances.names.size(), 1, "Only the failed instance should be left");
+        assertTrue(instances.contexts.size() <= 5,
+                "Each worker should reuse its connection context: " + instances.contexts.size());
+    }
+
+    public void deletesInstancesMatchingFilter() throws IOException {
+        final FakeInstances instances = new FakeInstances(cloudApi, 0);
+        instances.seed(12, -1);
+
+        final BulkResult<UUID, Void> result = instances.deleteAll(
+                new InstanceFilter().setState("stopped"), new BulkOptions().setParallelism(3));
+
+        assertTrue(result.isSuccessful());
+        assertEquals(result.getItems().size(), 12);
+        assertTrue(instances.names.isEmpty());
+    }
+
+    public void tagsAllInstances() throws IOException {
+        final FakeInstances instances = new FakeInstances(cloudApi, 0);
+        final List<UUID> ids = instances.seed(6, -1);
+        final Map<String, String> tags = Collections.singletonMap("env", "test");
+
+        final BulkResult<UUID, Map<String, String>> added = instances.addTagsToAll(
+                new InstanceFilter().setState("running"), tags, new BulkOptions());
+        assertTrue(added.isSuccessful());
+        assertEquals(added.getItems().size(), 6);
+
+        for (Map<String, String> result : added.getResults()) {
+            assertEquals(result.get("env"), "test");
+        }
+
+        final BulkResult<UUID, Map<String, String>> replaced = instances.replaceTagsOnAll(
+                ids, tags, new BulkOptions().setParallelism(2));
+        assertTrue(replaced.isSuccessful());
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(replaced.getItems().get(i).getKey(), ids.get(i));
+            assertEquals(replaced.getItems().get(i).getResult(), tags);
+        }
+    }
+
+    public void requestsAreRateLimited() {
+        final FakeInstances instances = new FakeInstances(cloudApi, 0);
+        final List<UUID> ids = instances.seed(10, -1);
+        final BulkOptions options = new BulkOptions()
+                .setParallelism(10)
+                .setRateLimiter(new RateLimiter(100.0, 1));
+
+        final long start = System.nanoTime();
+        final BulkResult<UUID, Void> result = instances.deleteAll(ids, options);
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(result.isSuccessful());
+        assertTrue(elapsedMs >= 80L, "10 requests at 100/s should take about 90ms: " + elapsedMs);
+    }
+
+    private static List<Instance> requests(final int count, final int failAt) {
+        final List<Instance> requests = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final String name;
+
+            if (i == failAt) {
+                name = "fail";
+            } else {
+                name = "node-" + i;
+            }
+
+            requests.add(new Instance()
+                    .setName(name)
+                    .setPackageId(new UUID(12L, 24L))
+                    .setImage(new UUID(8L, 16L)));
+        }
+
+        return requests;
+    }
+
+    private static Instance instance(final UUID id, final String name, final String state) {
+        final String json = String.format("{\"id\":\"%s\",\"name\":\"%s\",\"state\":\"%s\"}",
+                id, name, state);
+
+        try {
+            return new CloudApiObjectMapper().readValue(json, Instance.class);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Instances implementation that provisions instances in memory. Created
+     * instances are listed as provisioning for a number of polls.
+     */
+    private static class FakeInstances extends Instances {
+        private final int pollsUntilRunning;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final AtomicInteger listCalls = new AtomicInteger();
+        private final AtomicInteger findCalls = new AtomicInteger();
+        private final Map<UUID, String> names = new ConcurrentHashMap<>();
+        private final Set<CloudApiConnectionContext> contexts =
+                Collections.newSetFromMap(new ConcurrentHashMap<CloudApiConnectionContext, Boolean>());
+
+        FakeInstances(final CloudApi cloudApi, final int pollsUntilRunning) {
+            super(cloudApi, new CloudApiObjectMapper());
+            this.pollsUntilRunning = pollsUntilRunning;
+        }
+
+        @Override
+        public Instance create(final CloudApiConnectionContext context,
+                               final Instance instance) throws IOException {
+            final int current = inFlight.incrementAndGet();
+
+            try {
+                synchronized (maxInFlight) {
+                    maxInFlight.set(Math.max(maxInFlight.get(), current));
+                }
+
+                Thread.sleep(2L);
+
+                if ("fail".equals(instance.getName())) {
+                    throw new CloudApiIOException("Simulated failure");
+                }
+
+                final UUID id = UUID.randomUUID();
+                names.put(id, instance.getName());
+
+                return instance(id, instance.getName(), "provisioning");
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Iterator<Instance> list(final CloudApiConnectionContext context,
+                                       final InstanceFilter filter) throws IOException {
+            if (!"provisioning".equals(filter.getState())) {
+                final List<Instance> matching = new ArrayList<>();
+
+                for (Map.Entry<UUID, String> entry : names.entrySet()) {
+                    matching.add(instance(entry.getKey(), entry.getValue(), filter.getState()));
+                }
+
+                return matching.iterator();
+            }
+
+            final List<Instance> provisioning = new ArrayList<>();
+
+            if (listCalls.incrementAndGet() < pollsUntilRunning) {
+                for (Map.Entry<UUID, String> entry : names.entrySet()) {
+                    provisioning.add(instance(entry.getKey(), entry.getValue(), "provisioning"));
+                }
+            }
+
+            return provisioning.iterator();
+        }
+
+        @Override
+        public Instance findById(final CloudApiConnectionContext context,
+                                 final UUID instanceId) throws IOException {
+            findCalls.incrementAndGet();
+            return instance(instanceId, names.get(instanceId), "running");
+        }
+
+        @Override
+        public void delete(final CloudApiConnectionContext context,
+                           final UUID instanceId) throws IOException {
+            contexts.add(context);
+
+            if ("fail".equals(names.get(instanceId))) {
+                throw new CloudApiIOException("Simulated failure");
+            }
+
+            names.remove(instanceId);
+        }
+
+        @Override
+        public Map<String, String> addTags(final CloudApiConnectionContext context,
+                                           final UUID instanceId,
+                                           final Map<String, String> tags) throws IOException {
+            contexts.add(context);
+            final Map<String, String> all = new HashMap<>(tags);
+            all.put("name", names.get(instanceId));
+            return all;
+        }
+
+        @Override
+        public Map<String, String> replaceTags(final CloudApiConnectionContext context,
+                                               final UUID instanceId,
+                                               final Map<String, String> tags) throws IOException {
+            contexts.add(context);
+            return new HashMap<>(tags);
+        }
+
+        private List<UUID> seed(final int count, final int failAt) {
+            final List<UUID> ids = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                final UUID id = new UUID(0L, i);
+
+                if (i == failAt) {
+                    names.put(id, "fail");
+                } else {
+                    names.put(id, "node-" + i);
+                }
+
+                ids.add(id);
+            }
+
+            return ids;
+        }
+    }
+}
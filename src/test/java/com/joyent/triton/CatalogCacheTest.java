@@ -0,0 +1,62 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.StandardConfigContext;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class CatalogCacheTest {
+    public void evictsLeastRecentlyUsedEntry() {
+        final CatalogCache cache = new CatalogCache(1L, TimeUnit.HOURS, 2);
+        cache.getStore().put("a", null, null, "A");
+        cache.getStore().put("b", null, null, "B");
+
+        // Reading "a" makes "b" the least recently used entry
+        assertNotNull(cache.getFresh("a"));
+        cache.getStore().put("c", null, null, "C");
+
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.getEvictions(), 1L);
+        assertNotNull(cache.getFresh("a"));
+        assertNull(cache.getFresh("b"));
+        assertNotNull(cache.getFresh("c"));
+    }
+
+    public void entriesExpireButAreKeptForRevalidation() throws InterruptedException {
+        final CatalogCache cache = new CatalogCache(1L, TimeUnit.MILLISECONDS, 10);
+        cache.getStore().put("a", "\"v1\"", null, "A");
+
+        Thread.sleep(5L);
+
+        assertNull(cache.getFresh("a"));
+        assertEquals(cache.getStore().get("a").getEtag(), "\"v1\"");
+        assertEquals(cache.size(), 1);
+    }
+
+    public void canInvalidateByPrefix() {
+        final CatalogCache cache = new CatalogCache(1L, TimeUnit.HOURS, 10);
+        cache.getStore().put("/user/images", null, null, "all");
+        cache.getStore().put("/user/images?os=smartos", null, null, "smartos");
+        cache.getStore().put("/user/packages", null, null, "packages");
+
+        cache.invalidate("/user/images");
+        cache.invalidateStartingWith("/user/images?");
+
+        assertEquals(cache.size(), 1);
+        assertNotNull(cache.getFresh("/user/packages"));
+
+        cache.invalidateAll();
+        assertEquals(cache.size(), 0);
+    }
+
+    public void isDisabledByDefault() {
+        assertNull(CatalogCache.fromConfig(new StandardConfigContext()));
+        assertTrue(CatalogCache.fromConfig(new StandardConfigContext().setCatalogCacheTtl(1000)) != null);
+    }
+}
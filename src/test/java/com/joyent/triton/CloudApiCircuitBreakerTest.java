@@ -0,0 +1,73 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.exceptions.CloudApiCircuitOpenException;
+import com.joyent.triton.http.CircuitBreaker;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.UUID;
+
+import static com.joyent.triton.FakeHttpClient.createMockContext;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(groups = { "unit" })
+public class CloudApiCircuitBreakerTest {
+    private static final ProtocolVersion HTTP_1_1 = new HttpVersion(1, 1);
+
+    public void circuitBreakersAreDisabledByDefault() throws IOException {
+        try (CloudApi cloudApi = new CloudApi(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext().setNoAuth(true)))) {
+            assertNull(cloudApi.getCircuitBreakers());
+        }
+    }
+
+    public void requestsFailFastOnceTheCircuitOpens() throws IOException {
+        final StandardConfigContext config = new StandardConfigContext();
+        config.setNoAuth(true);
+        config.setCircuitBreakerFailureThreshold(50);
+
+        final Queue<HttpResponse> responses = new LinkedList<>();
+
+        for (int i = 0; i < CircuitBreaker.MINIMUM_REQUESTS; i++) {
+            responses.add(new BasicHttpResponse(new BasicStatusLine(HTTP_1_1,
+                    HttpStatus.SC_SERVICE_UNAVAILABLE, "Service Unavailable")));
+        }
+
+        try (CloudApi cloudApi = new CloudApi(new ChainedConfigContext(new DefaultsConfigContext(), config));
+             CloudApiConnectionContext context = createMockContext(responses)) {
+            for (int i = 0; i < CircuitBreaker.MINIMUM_REQUESTS; i++) {
+                try {
+                    cloudApi.packages().findById(context, new UUID(1L, 1L));
+                    fail("Expected the server error to be thrown");
+                } catch (IOException e) {
+                    assertTrue(!(e instanceof CloudApiCircuitOpenException));
+                }
+            }
+
+            try {
+                cloudApi.packages().findById(context, new UUID(1L, 1L));
+                fail("Expected the request to be rejected");
+            } catch (CloudApiCircuitOpenException e) {
+                final CircuitBreaker breaker = cloudApi.getCircuitBreakers().getAll().iterator().next();
+                assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+                assertEquals(breaker.getCircuitRejections(), 1L);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.domain.Package;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.http.CloudApiHttpRequestRetryHandler;
+import com.joyent.triton.http.CloudApiResponseHandler;
+import com.joyent.triton.metrics.ConnectionPoolStats;
+import com.joyent.triton.metrics.NoOpCloudApiMetrics;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.protocol.HttpContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static com.joyent.triton.FakeHttpClient.createMockContext;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(groups = { "unit" })
+public class CloudApiMetricsTest {
+    private static final ProtocolVersion HTTP_1_1 = new HttpVersion(1, 1);
+
+    private final RecordingMetrics metrics = new RecordingMetrics();
+    private ConfigContext config = null;
+    private CloudApi cloudApi = null;
+
+    @BeforeClass
+    public void setup() {
+        this.config = new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext().setNoAuth(true));
+        this.cloudApi = new CloudApi(config, metrics);
+    }
+
+    @AfterClass
+    public void cleanUp() throws IOException {
+        cloudApi.close();
+    }
+
+    @BeforeMethod
+    public void reset() {
+        metrics.requests.clear();
+        metrics.failures.clear();
+        metrics.bytes.clear();
+        metrics.retries.clear();
+    }
+
+    public void connectionPoolIsBoundOnCreation() {
+        final ConnectionPoolStats pool = metrics.pool;
+
+        assertNotNull(pool);
+        assertEquals(pool.getLeased(), 0);
+        assertEquals(pool.getPending(), 0);
+        assertTrue(pool.getMax() > 0);
+    }
+
+    public void successfulRequestIsRecordedWithItsSize() throws IOException {
+        final File file = new File("src/test/data/domain/package.json");
+        final HttpResponse response = response(HttpStatus.SC_OK, "OK");
+        response.setEntity(new FileEntity(file));
+
+        try (CloudApiConnectionContext context = createMockContext(response)) {
+            assertNotNull(cloudApi.packages().findById(context, new UUID(1L, 1L)));
+        }
+
+        assertEquals(metrics.requests, Collections.singletonList("find package 200"));
+        assertEquals(metrics.bytes, Collections.singletonList("find package 0 " + file.length()));
+        assertTrue(metrics.failures.isEmpty());
+    }
+
+    public void errorStatusCodesAreRecorded() throws IOException {
+        final HttpResponse response = response(HttpStatus.SC_NOT_FOUND, "Not Found");
+
+        try (CloudApiConnectionContext context = createMockContext(response)) {
+            assertNull(cloudApi.packages().findById(context, new UUID(1L, 1L)));
+        }
+
+        assertEquals(metrics.requests, Collections.singletonList("find package 404"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void requestsWithoutAResponseAreRecordedAsFailures() throws IOException {
+        final HttpClient client = mock(HttpClient.class);
+        when(client.execute(any(HttpUriRequest.class), any(ResponseHandler.class), any(HttpContext.class)))
+                .thenThrow(new ConnectException("Connection refused"));
+
+        final CloudApiConnectionContext context = mock(CloudApiConnectionContext.class);
+        when(context.getHttpClient()).thenReturn(client);
+        when(context.getHttpContext()).thenReturn(new HttpClientContext());
+
+        try {
+            cloudApi.packages().findById(context, new UUID(1L, 1L));
+            fail("Expected the request to fail");
+        } catch (IOException e) {
+            assertEquals(metrics.failures, Collections.singletonList("find package ConnectException"));
+            assertTrue(metrics.requests.isEmpty());
+        }
+    }
+
+    public void retriesAreRecordedWithTheirOperation() {
+        final CloudApiHttpRequestRetryHandler retryHandler =
+                new CloudApiHttpRequestRetryHandler(config, metrics);
+        final HttpClientContext context = new HttpClientContext();
+        context.setAttribute(HttpClientContext.HTTP_REQUEST, new HttpGet("https://localhost/my/packages"));
+        context.setAttribute(CloudApiResponseHandler.OPERATION_NAME_ATTRIBUTE, "list packages");
+
+        assertTrue(retryHandler.retryRequest(new NoHttpResponseException("No response"), 1, context));
+        assertEquals(metrics.retries, Collections.singletonList("list packages 1"));
+    }
+
+    private static HttpResponse response(final int statusCode, final String reason) {
+        final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, statusCode, reason);
+        return new BasicHttpResponse(statusLine);
+    }
+
+    private static class RecordingMetrics extends NoOpCloudApiMetrics {
+        private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+        private final List<String> failures = Collections.synchronizedList(new ArrayList<String>());
+        private final List<String> bytes = Collections.synchronizedList(new ArrayList<String>());
+        private final List<String> retries = Collections.synchronizedList(new ArrayList<String>());
+        private volatile ConnectionPoolStats pool;
+
+        @Override
+        public void recordRequest(final String operation, final int statusCode,
+                                  final long networkNanos, final long deserializationNanos) {
+            assertTrue(networkNanos >= 0);
+            assertTrue(deserializationNanos >= 0);
+            requests.add(operation + " " + statusCode);
+        }
+
+        @Override
+        public void recordFailure(final String operation, final Exception cause,
+                                  final long elapsedNanos) {
+            failures.add(operation + " " + cause.getClass().getSimpleName());
+        }
+
+        @Override
+        public void recordBytes(final String operation, final long bytesWritten,
+                                final long bytesRead) {
+            bytes.add(operation + " " + bytesWritten + " " + bytesRead);
+        }
+
+        @Override
+        public void recordRetry(final String operation, final int executionCount) {
+            retries.add(operation + " " + executionCount);
+        }
+
+        @Override
+        public void bindConnectionPool(final ConnectionPoolStats stats) {
+            this.pool = stats;
+        }
+    }
+}
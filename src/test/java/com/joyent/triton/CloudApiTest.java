@@ -0,0 +1,102 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.ConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.http.Deadline;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+
+@Test(groups = { "unit" })
+public class CloudApiTest {
+    private static ConfigContext config() {
+        return new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext()
+                        .setNoAuth(true)
+                        .setMaximumConnections(12)
+                        .setMaximumConnectionsPerRoute(6)
+        );
+    }
+
+    public void contextsShareTheSameHttpClient() throws IOException {
+        try (CloudApi cloudApi = new CloudApi(config());
+             CloudApiConnectionContext context1 = cloudApi.createConnectionContext();
+             CloudApiConnectionContext context2 = cloudApi.createConnectionContext()) {
+            assertNotNull(context1.getHttpClient());
+            assertSame(context1.getHttpClient(), context2.getHttpClient(),
+                    "Contexts should borrow the same shared client");
+        }
+    }
+
+    public void closingContextLeavesPoolOpen() throws IOException {
+        try (CloudApi cloudApi = new CloudApi(config())) {
+            final CloudApiConnectionContext context = cloudApi.createConnectionContext();
+            context.close();
+
+            // A closed pool throws IllegalStateException when its stats are requested
+            final PoolStats stats = cloudApi.getConnectionManager().getTotalStats();
+            assertEquals(stats.getMax(), 12);
+        }
+    }
+
+    public void apiSectionsShareTheConnectionFactory() throws IOException {
+        try (CloudApi cloudApi = new CloudApi(config())) {
+            assertSame(cloudApi.instances().getConnectionFactory(), cloudApi.getConnectionFactory());
+            assertSame(cloudApi.packages().getConnectionFactory(), cloudApi.getConnectionFactory());
+            assertSame(cloudApi.images().getConnectionFactory(), cloudApi.getConnectionFactory());
+        }
+    }
+
+    public void poolIsConfiguredFromConfig() throws IOException {
+        try (CloudApi cloudApi = new CloudApi(config())) {
+            final PoolingHttpClientConnectionManager connectionManager =
+                    cloudApi.getConnectionManager();
+
+            assertEquals(connectionManager.getMaxTotal(), 12);
+            assertEquals(connectionManager.getDefaultMaxPerRoute(), 6);
+        }
+    }
+
+    public void requestTimeoutsAreConfiguredFromConfig() throws IOException {
+        final ConfigContext timeoutConfig = new ChainedConfigContext(config(),
+                new StandardConfigContext().setTimeout(1500));
+
+        try (CloudApi cloudApi = new CloudApi(timeoutConfig)) {
+            final RequestConfig requestConfig = cloudApi.getConnectionFactory().getRequestConfig();
+
+            assertEquals(requestConfig.getConnectTimeout(), 1500);
+            assertEquals(requestConfig.getSocketTimeout(), 1500);
+            assertEquals(requestConfig.getConnectionRequestTimeout(), 1500);
+            assertEquals(cloudApi.getConnectionManager().getDefaultSocketConfig().getSoTimeout(), 1500);
+        }
+    }
+
+    public void contextCarriesDeadline() throws IOException {
+        final Deadline deadline = Deadline.after(1L, TimeUnit.MINUTES);
+
+        try (CloudApi cloudApi = new CloudApi(config());
+             CloudApiConnectionContext context = cloudApi.createConnectionContext(deadline)) {
+            assertSame(context.getDeadline(), deadline);
+        }
+    }
+
+    public void asyncApiIsCreatedOnce() throws IOException {
+        try (CloudApi cloudApi = new CloudApi(config())) {
+            final AsyncCloudApi async = cloudApi.async();
+            assertSame(cloudApi.async(), async);
+            assertSame(async.instances().getConnectionFactory(), cloudApi.getConnectionFactory());
+        }
+    }
+}
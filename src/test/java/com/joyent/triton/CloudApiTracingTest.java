@@ -0,0 +1,291 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.http.CloudApiHttpHeaders;
+import com.joyent.triton.http.CloudApiHttpRequestExecutor;
+import com.joyent.triton.http.RequestIdInterceptor;
+import com.joyent.triton.http.TracingAuthScheme;
+import com.joyent.triton.metrics.NoOpCloudApiMetrics;
+import com.joyent.triton.tracing.CloudApiSpan;
+import com.joyent.triton.tracing.CloudApiTracer;
+import com.joyent.triton.tracing.TracePhase;
+import com.joyent.triton.tracing.TracingContext;
+import org.apache.http.Header;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.auth.ContextAwareAuthScheme;
+import org.apache.http.auth.Credentials;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.impl.bootstrap.HttpServer;
+import org.apache.http.impl.bootstrap.ServerBootstrap;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestHandler;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.SocketTimeoutException;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.joyent.triton.FakeHttpClient.createMockContext;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(groups = { "unit" })
+public class CloudApiTracingTest {
+    private static final ProtocolVersion HTTP_1_1 = new HttpVersion(1, 1);
+
+    private final RecordingTracer tracer = new RecordingTracer();
+    private CloudApi cloudApi = null;
+
+    @BeforeClass
+    public void setup() {
+        this.cloudApi = new CloudApi(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext().setNoAuth(true)),
+                NoOpCloudApiMetrics.INSTANCE, tracer);
+    }
+
+    @AfterClass
+    public void cleanUp() throws IOException {
+        cloudApi.close();
+    }
+
+    @BeforeMethod
+    public void reset() {
+        tracer.spans.clear();
+    }
+
+    public void callsAreTracedWithTheirOutcome() throws IOException {
+        final HttpResponse response = new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK"));
+        response.setEntity(new FileEntity(new File("src/test/data/domain/package.json")));
+
+        final CloudApiConnectionContext context = createMockContext(response);
+
+        try {
+            assertNotNull(cloudApi.packages().findById(context, new UUID(1L, 1L)));
+        } finally {
+            context.close();
+        }
+
+        assertEquals(tracer.spans.size(), 1);
+
+        final RecordingSpan span = tracer.spans.get(0);
+        assertEquals(span.operationName, "find package");
+        assertEquals(span.tags.get(CloudApiSpan.OPERATION_TAG), "find package");
+        assertEquals(span.tags.get(CloudApiSpan.HTTP_METHOD_TAG), "GET");
+        assertEquals(span.tags.get(CloudApiSpan.HTTP_STATUS_CODE_TAG), "200");
+        assertEquals(span.phases, EnumSet.of(TracePhase.DESERIALIZATION));
+        assertNull(span.error);
+        assertEquals(span.finished, 1);
+        assertNull(context.getHttpContext().getAttribute(TracingContext.HTTP_CONTEXT_ATTRIBUTE),
+                "Span should only be active during the call");
+    }
+
+    @SuppressWarnings("unchecked")
+    public void failedCallsRecordTheirError() throws IOException {
+        final HttpClient client = mock(HttpClient.class);
+        when(client.execute(any(HttpUriRequest.class), any(ResponseHandler.class), any(HttpContext.class)))
+                .thenThrow(new SocketTimeoutException("Read timed out"));
+
+        final CloudApiConnectionContext context = mock(CloudApiConnectionContext.class);
+        when(context.getHttpClient()).thenReturn(client);
+        when(context.getHttpContext()).thenReturn(new HttpClientContext());
+
+        try {
+            cloudApi.packages().findById(context, new UUID(1L, 1L));
+            fail("Expected the call to fail");
+        } catch (IOException e) {
+            final RecordingSpan span = tracer.spans.get(0);
+            assertTrue(span.error instanceof SocketTimeoutException);
+            assertNull(span.tags.get(CloudApiSpan.HTTP_STATUS_CODE_TAG));
+            assertEquals(span.finished, 1);
+        }
+    }
+
+    public void requestIdIsTaggedAndTraceContextInjected() throws Exception {
+        final RecordingSpan span = new RecordingSpan("list instances");
+        final HttpClientContext context = new HttpClientContext();
+        TracingContext.setActiveSpan(context, span);
+
+        final HttpGet request = new HttpGet("https://localhost/my/machines");
+        new RequestIdInterceptor().process(request, context);
+
+        final String requestId = request.getFirstHeader(CloudApiHttpHeaders.REQUEST_ID).getValue();
+        assertEquals(span.tags.get(CloudApiSpan.REQUEST_ID_TAG), requestId);
+        assertEquals(request.getFirstHeader("traceparent").getValue(), "00-trace-span-01");
+    }
+
+    public void serverWaitIsRecordedByTheRequestExecutor() throws Exception {
+        final RecordingSpan span = new RecordingSpan("list instances");
+        final HttpClientContext context = new HttpClientContext();
+        TracingContext.setActiveSpan(context, span);
+
+        final HttpClientConnection connection = mock(HttpClientConnection.class);
+        when(connection.receiveResponseHeader()).thenReturn(new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, HttpStatus.SC_NO_CONTENT, "No Content")));
+
+        final HttpResponse response = new CloudApiHttpRequestExecutor().execute(
+                new HttpGet("https://localhost/my/machines"), connection, context);
+
+        assertEquals(response.getStatusLine().getStatusCode(), HttpStatus.SC_NO_CONTENT);
+        assertEquals(span.phases, EnumSet.of(TracePhase.SERVER_WAIT));
+    }
+
+    public void signingIsRecordedByTheAuthScheme() throws Exception {
+        final RecordingSpan span = new RecordingSpan("list instances");
+        final HttpClientContext context = new HttpClientContext();
+        TracingContext.setActiveSpan(context, span);
+
+        final Header signature = new BasicHeader("Authorization", "Signature keyId=\"key\"");
+        final Credentials credentials = new UsernamePasswordCredentials("user", "key");
+        final HttpRequest request = new HttpGet("https://localhost/my/machines");
+
+        final ContextAwareAuthScheme delegate = mock(ContextAwareAuthScheme.class);
+        when(delegate.authenticate(credentials, request, context)).thenReturn(signature);
+
+        assertSame(new TracingAuthScheme(delegate).authenticate(credentials, request, context), signature);
+        assertEquals(span.phases, EnumSet.of(TracePhase.SIGNING));
+    }
+
+    public void signingIsRecordedForRequestsSentByTheClient() throws Exception {
+        final AtomicReference<String> authorization = new AtomicReference<>();
+        final HttpServer server = ServerBootstrap.bootstrap()
+                .setListenerPort(0)
+                .registerHandler("*", new HttpRequestHandler() {
+                    @Override
+                    public void handle(final HttpRequest request, final HttpResponse response,
+                                       final HttpContext context) throws HttpException, IOException {
+                        final Header header = request.getFirstHeader(HttpHeaders.AUTHORIZATION);
+
+                        if (header != null) {
+                            authorization.set(header.getValue());
+                        }
+
+                        response.setStatusCode(HttpStatus.SC_OK);
+                        response.setEntity(new FileEntity(new File("src/test/data/domain/package.json"),
+                                ContentType.APPLICATION_JSON));
+                    }
+                })
+                .create();
+        server.start();
+
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final StringWriter privateKey = new StringWriter();
+
+        try (JcaPEMWriter writer = new JcaPEMWriter(privateKey)) {
+            writer.writeObject(generator.generateKeyPair().getPrivate());
+        }
+
+        final StandardConfigContext config = new StandardConfigContext();
+        config.setCloudAPIURL("http://localhost:" + server.getLocalPort());
+        config.setUser("user");
+        config.setKeyId("00:00:00:00:00:00:00:00:00:00:00:00:00:00:00:00");
+        config.setPrivateKeyContent(privateKey.toString());
+
+        try (CloudApi signingApi = new CloudApi(new ChainedConfigContext(new DefaultsConfigContext(), config),
+                NoOpCloudApiMetrics.INSTANCE, tracer)) {
+            assertNotNull(signingApi.packages().findById(new UUID(1L, 1L)));
+        } finally {
+            server.shutdown(0L, TimeUnit.MILLISECONDS);
+        }
+
+        assertNotNull(authorization.get(), "Request wasn't signed");
+        assertTrue(authorization.get().startsWith("Signature "), "Unexpected header: " + authorization.get());
+        assertEquals(tracer.spans.size(), 1);
+        assertTrue(tracer.spans.get(0).phases.contains(TracePhase.SIGNING),
+                "Signing wasn't traced: " + tracer.spans.get(0).phases);
+    }
+
+    private static class RecordingTracer implements CloudApiTracer {
+        private final List<RecordingSpan> spans = Collections.synchronizedList(new ArrayList<RecordingSpan>());
+
+        @Override
+        public CloudApiSpan startSpan(final String operationName) {
+            final RecordingSpan span = new RecordingSpan(operationName);
+            spans.add(span);
+            return span;
+        }
+    }
+
+    private static class RecordingSpan implements CloudApiSpan {
+        private final String operationName;
+        private final Map<String, String> tags = new LinkedHashMap<>();
+        private final Set<TracePhase> phases = EnumSet.noneOf(TracePhase.class);
+        private Throwable error;
+        private int finished;
+
+        RecordingSpan(final String operationName) {
+            this.operationName = operationName;
+        }
+
+        @Override
+        public void setTag(final String key, final String value) {
+            tags.put(key, value);
+        }
+
+        @Override
+        public void recordPhase(final TracePhase phase, final long startNanos, final long endNanos) {
+            assertTrue(endNanos >= startNanos);
+            phases.add(phase);
+        }
+
+        @Override
+        public void inject(final HttpRequest request) {
+            request.setHeader("traceparent", "00-trace-span-01");
+        }
+
+        @Override
+        public void recordError(final Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void finish() {
+            finished++;
+        }
+    }
+}
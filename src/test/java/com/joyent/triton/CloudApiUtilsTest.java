@@ -251,6 +251,23 @@ public class CloudApiUtilsTest {
         assertEquals(actual, expected, "expecting collection to match CSV value");
     }
 
+    public void parseEnumOrNullReturnsNullWhenPassedNull() {
+        assertNull(CloudApiUtils.parseEnumOrNull(null, ListingStrategy.class),
+                "null should always return null");
+    }
+
+    public void parseEnumOrNullReturnsNullWhenPassedUnknownValue() {
+        assertNull(CloudApiUtils.parseEnumOrNull("sideways", ListingStrategy.class),
+                "unknown values should return null");
+    }
+
+    public void parseEnumOrNullIgnoresCaseAndDashes() {
+        assertEquals(CloudApiUtils.parseEnumOrNull(" head-then-get ", ListingStrategy.class),
+                ListingStrategy.HEAD_THEN_GET);
+        assertEquals(CloudApiUtils.parseEnumOrNull(ListingStrategy.GET_ONLY, ListingStrategy.class),
+                ListingStrategy.GET_ONLY);
+    }
+
     public void canCreateStringMapFromObjectMap() {
         Map<String, ?> objectMap = ImmutableMap.of(
                 "key1", 12,
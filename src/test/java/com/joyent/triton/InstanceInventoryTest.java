@@ -0,0 +1,120 @@
+package com.joyent.triton;
+
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.json.CloudApiObjectMapper;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class InstanceInventoryTest {
+    private static final UUID NODE_A = new UUID(10L, 1L);
+    private static final UUID NODE_B = new UUID(10L, 2L);
+    private static final UUID IMAGE = new UUID(20L, 1L);
+
+    private InstanceInventory inventory;
+
+    @BeforeMethod
+    public void setup() {
+        final List<Instance> instances = new ArrayList<>();
+        instances.add(instance(1, "running", "db", 8192, NODE_A, "10.0.0.1"));
+        instances.add(instance(2, "running", "db", 4096, NODE_A, "10.0.0.2"));
+        instances.add(instance(3, "running", "web", 8192, NODE_A, "10.0.0.3"));
+        instances.add(instance(4, "stopped", "db", 16384, NODE_A, "10.0.0.4"));
+        instances.add(instance(5, "running", "db", 16384, NODE_B, "10.0.0.5"));
+        instances.add(instance(6, "running", null, 8192, NODE_A, "10.0.0.6"));
+
+        inventory = new InstanceInventory(instances);
+    }
+
+    public void emptyQueryMatchesEverything() {
+        assertEquals(inventory.query().count(), 6);
+        assertEquals(inventory.size(), 6);
+    }
+
+    public void canAnswerCompoundQueries() {
+        final List<Instance> found = inventory.query()
+                .state("running")
+                .tag("role", "db")
+                .minMemory(8192)
+                .computeNode(NODE_A)
+                .list();
+
+        assertEquals(found.size(), 1);
+        assertEquals(found.get(0).getId(), new UUID(0L, 1L));
+    }
+
+    public void canQueryByMemoryRange() {
+        assertEquals(inventory.query().minMemory(8192).maxMemory(8192).ids(),
+                new HashSet<>(ids(1, 3, 6)));
+        assertEquals(inventory.query().minMemory(16384).maxMemory(8192).count(), 0);
+    }
+
+    public void canQueryByTagPresenceAndIp() throws IOException {
+        assertEquals(inventory.query().hasTag("role").count(), 5);
+        assertEquals(inventory.query().ip(InetAddress.getByName("10.0.0.5")).ids(),
+                new HashSet<>(ids(5)));
+        assertEquals(inventory.query().image(IMAGE).packageName("g4-highcpu-8G").count(), 6);
+    }
+
+    public void unknownValuesMatchNothing() {
+        assertEquals(inventory.query().state("deleted").count(), 0);
+        assertEquals(inventory.query().tag("role", "cache").count(), 0);
+        assertEquals(inventory.query().tag("missing", "x").state("running").count(), 0);
+    }
+
+    public void replacingAnInstanceUpdatesIndexes() {
+        inventory.put(instance(2, "stopped", "web", 4096, NODE_B, "10.0.0.2"));
+
+        assertEquals(inventory.size(), 6);
+        assertEquals(inventory.query().state("stopped").ids(), new HashSet<>(ids(2, 4)));
+        assertEquals(inventory.query().tag("role", "db").state("running").ids(),
+                new HashSet<>(ids(1, 5)));
+
+        inventory.remove(new UUID(0L, 2L));
+
+        assertNull(inventory.get(new UUID(0L, 2L)));
+        assertEquals(inventory.query().tag("role", "web").ids(), new HashSet<>(ids(3)));
+        assertTrue(inventory.query().computeNode(NODE_B).ids().equals(new HashSet<>(ids(5))));
+    }
+
+    private static List<UUID> ids(final int... ids) {
+        final List<UUID> list = new ArrayList<>();
+
+        for (int id : ids) {
+            list.add(new UUID(0L, id));
+        }
+
+        return list;
+    }
+
+    private static Instance instance(final int id, final String state, final String role,
+                                     final long memory, final UUID computeNode, final String ip) {
+        String tags = "{}";
+
+        if (role != null) {
+            tags = String.format("{\"role\":\"%s\"}", role);
+        }
+
+        final String json = String.format("{\"id\":\"%s\",\"state\":\"%s\",\"tags\":%s,"
+                        + "\"memory\":%d,\"compute_node\":\"%s\",\"ips\":[\"%s\"],"
+                        + "\"image\":\"%s\",\"package\":\"g4-highcpu-8G\"}",
+                new UUID(0L, id), state, tags, memory, computeNode, ip, IMAGE);
+
+        try {
+            return new CloudApiObjectMapper().readValue(json, Instance.class);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
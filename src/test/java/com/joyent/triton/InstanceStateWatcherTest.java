@@ -0,0 +1,192 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.exceptions.InstanceGoneMissingException;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.json.CloudApiObjectMapper;
+import com.joyent.triton.queryfilters.InstanceFilter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(groups = { "unit" })
+public class InstanceStateWatcherTest {
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1L);
+
+    private CloudApi cloudApi = null;
+
+    @BeforeClass
+    public void setup() {
+        this.cloudApi = new CloudApi(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext().setNoAuth(true)));
+    }
+
+    @AfterClass
+    public void cleanUp() throws IOException {
+        cloudApi.close();
+    }
+
+    public void oneListingPerStatePerPoll() throws Exception {
+        final FakeInstances instances = new FakeInstances(cloudApi);
+        final List<Future<Instance>> futures = new ArrayList<>();
+
+        try (InstanceStateWatcher watcher = new InstanceStateWatcher(instances, NEVER)) {
+            for (int i = 0; i < 300; i++) {
+                final UUID id = new UUID(0L, i);
+                instances.states.put(id, "provisioning");
+                futures.add(watcher.watch(id, "provisioning"));
+            }
+
+            watcher.poll();
+
+            assertEquals(instances.listCalls.get(), 1);
+            assertEquals(instances.findCalls.get(), 0);
+            assertFalse(futures.get(0).isDone());
+
+            instances.states.put(new UUID(0L, 0L), "running");
+            instances.states.put(new UUID(0L, 1L), "failed");
+            watcher.poll();
+
+            assertEquals(instances.listCalls.get(), 2);
+            assertEquals(instances.findCalls.get(), 2, "Only changed instances should be looked up");
+            assertEquals(futures.get(0).get().getState(), "running");
+            assertEquals(futures.get(1).get().getState(), "failed");
+            assertFalse(futures.get(2).isDone());
+            assertEquals(watcher.size(), 298);
+        }
+    }
+
+    public void instancesInDifferentStatesAreListedSeparately() throws Exception {
+        final FakeInstances instances = new FakeInstances(cloudApi);
+
+        try (InstanceStateWatcher watcher = new InstanceStateWatcher(instances, NEVER)) {
+            final UUID starting = new UUID(1L, 1L);
+            final UUID stopping = new UUID(1L, 2L);
+            instances.states.put(starting, "provisioning");
+            instances.states.put(stopping, "stopping");
+
+            final Future<Instance> started = watcher.watch(starting, "provisioning");
+            final Future<Instance> stopped = watcher.watch(stopping, "stopping");
+
+            instances.states.put(stopping, "stopped");
+            watcher.poll();
+
+            assertEquals(instances.listCalls.get(), 2);
+            assertFalse(started.isDone());
+            assertEquals(stopped.get().getState(), "stopped");
+        }
+    }
+
+    public void deletedInstanceFailsItsFuture() throws Exception {
+        final FakeInstances instances = new FakeInstances(cloudApi);
+
+        try (InstanceStateWatcher watcher = new InstanceStateWatcher(instances, NEVER)) {
+            final UUID id = new UUID(2L, 1L);
+            instances.states.put(id, "provisioning");
+            final Future<Instance> future = watcher.watch(id, "provisioning");
+
+            instances.states.remove(id);
+            watcher.poll();
+
+            try {
+                future.get();
+                fail("Expected the instance to be missing");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof InstanceGoneMissingException);
+            }
+        }
+    }
+
+    public void closingCancelsPendingFutures() {
+        final FakeInstances instances = new FakeInstances(cloudApi);
+        final InstanceStateWatcher watcher = new InstanceStateWatcher(instances, NEVER);
+        final Future<Instance> future = watcher.watch(new UUID(3L, 1L), "provisioning");
+
+        watcher.close();
+
+        assertTrue(future.isCancelled());
+        assertEquals(watcher.size(), 0);
+    }
+
+    public void pollerCompletesFuturesInTheBackground() throws Exception {
+        final FakeInstances instances = new FakeInstances(cloudApi);
+        final UUID id = new UUID(4L, 1L);
+        instances.states.put(id, "running");
+
+        try (InstanceStateWatcher watcher = new InstanceStateWatcher(instances, 5L)) {
+            final Future<Instance> future = watcher.watch(id, "provisioning");
+            assertEquals(future.get(5L, TimeUnit.SECONDS).getState(), "running");
+        }
+    }
+
+    private static Instance instance(final UUID id, final String state) {
+        final String json = String.format("{\"id\":\"%s\",\"state\":\"%s\"}", id, state);
+
+        try {
+            return new CloudApiObjectMapper().readValue(json, Instance.class);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static class FakeInstances extends Instances {
+        private final Map<UUID, String> states = new ConcurrentHashMap<>();
+        private final AtomicInteger listCalls = new AtomicInteger();
+        private final AtomicInteger findCalls = new AtomicInteger();
+
+        FakeInstances(final CloudApi cloudApi) {
+            super(cloudApi, new CloudApiObjectMapper());
+        }
+
+        @Override
+        public Iterator<Instance> list(final CloudApiConnectionContext context,
+                                       final InstanceFilter filter) throws IOException {
+            listCalls.incrementAndGet();
+
+            final List<Instance> matching = new ArrayList<>();
+
+            for (Map.Entry<UUID, String> entry : states.entrySet()) {
+                if (entry.getValue().equals(filter.getState())) {
+                    matching.add(instance(entry.getKey(), entry.getValue()));
+                }
+            }
+
+            return matching.iterator();
+        }
+
+        @Override
+        public Instance findById(final CloudApiConnectionContext context,
+                                 final UUID instanceId) throws IOException {
+            findCalls.incrementAndGet();
+
+            final String state = states.get(instanceId);
+
+            if (state == null) {
+                return null;
+            }
+
+            return instance(instanceId, state);
+        }
+    }
+}
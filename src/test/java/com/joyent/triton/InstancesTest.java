@@ -9,8 +9,12 @@ import com.joyent.triton.config.StandardConfigContext;
 import com.joyent.triton.domain.Instance;
 import com.joyent.triton.exceptions.CloudApiIOException;
 import com.joyent.triton.exceptions.CloudApiResponseException;
+import com.joyent.triton.http.CloseableIterator;
 import com.joyent.triton.http.CloudApiConnectionContext;
 import com.joyent.triton.http.CloudApiHttpHeaders;
+import com.joyent.triton.http.Deadline;
+import com.joyent.triton.polling.FixedIntervalPollingStrategy;
+import com.joyent.triton.queryfilters.InstanceFilter;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
@@ -20,33 +24,44 @@ import org.apache.http.ProtocolVersion;
 import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.FileEntity;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.message.BasicStatusLine;
 import org.apache.http.protocol.HttpContext;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static com.joyent.triton.FakeHttpClient.createMockContext;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -88,6 +103,53 @@ public class InstancesTest {
         instanceApi.findById(mockContext, new UUID(0L, 0L));
     }
 
+    public void wontSendRequestAfterDeadline() throws IOException {
+        final CloudApiConnectionContext mockContext = mock(CloudApiConnectionContext.class);
+        when(mockContext.getHttpContext()).thenReturn(new HttpClientContext());
+        when(mockContext.getDeadline()).thenReturn(Deadline.after(0L, TimeUnit.SECONDS));
+        final HttpClient mockClient = mock(HttpClient.class);
+        when(mockContext.getHttpClient()).thenReturn(mockClient);
+
+        try {
+            instanceApi.findById(mockContext, new UUID(0L, 0L));
+            fail("Expected deadline to be exceeded");
+        } catch (CloudApiIOException e) {
+            verifyZeroInteractions(mockClient);
+        }
+    }
+
+    public void requestTimeoutsAreLimitedByDeadline() throws IOException {
+        final CloudApiConnectionContext mockContext = mock(CloudApiConnectionContext.class);
+        when(mockContext.getHttpContext()).thenReturn(new HttpClientContext());
+        when(mockContext.getDeadline()).thenReturn(Deadline.after(2L, TimeUnit.SECONDS));
+        final HttpClient mockClient = mock(HttpClient.class);
+        when(mockContext.getHttpClient()).thenReturn(mockClient);
+
+        final List<RequestConfig> requestConfigs = new ArrayList<>();
+
+        when(mockClient.execute(
+                isA(HttpUriRequest.class),
+                (ResponseHandler<?>)isA(ResponseHandler.class),
+                isA(HttpContext.class)
+        )).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                final HttpRequestBase request = (HttpRequestBase)invocation.getArguments()[0];
+                requestConfigs.add(request.getConfig());
+                return null;
+            }
+        });
+
+        instanceApi.findById(mockContext, new UUID(0L, 0L));
+
+        assertEquals(requestConfigs.size(), 1);
+        final RequestConfig requestConfig = requestConfigs.get(0);
+        assertTrue(requestConfig.getSocketTimeout() <= 2000);
+        assertTrue(requestConfig.getConnectTimeout() <= 2000);
+        assertTrue(requestConfig.getConnectionRequestTimeout() <= 2000);
+        assertTrue(requestConfig.getSocketTimeout() > 0);
+    }
+
     public void canCreateInstance() throws IOException {
         final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_CREATED, "Created");
         final HttpResponse response = new BasicHttpResponse(statusLine);
@@ -169,6 +231,7 @@ public class InstancesTest {
         final HttpResponse response = new BasicHttpResponse(statusLine);
         response.setHeader(CloudApiHttpHeaders.X_RESOURCE_COUNT, "0");
         response.setHeader(CloudApiHttpHeaders.X_QUERY_LIMIT, "1000");
+        response.setEntity(new StringEntity("[]", ContentType.APPLICATION_JSON));
 
         try (CloudApiConnectionContext context = createMockContext(response)) {
             Iterator<Instance> itr = instanceApi.list(context);
@@ -176,7 +239,53 @@ public class InstancesTest {
         }
     }
 
+    public void canListWithNoInstancesUsingHeadThenGet() throws IOException {
+        final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK");
+        final HttpResponse response = new BasicHttpResponse(statusLine);
+        response.setHeader(CloudApiHttpHeaders.X_RESOURCE_COUNT, "0");
+        response.setHeader(CloudApiHttpHeaders.X_QUERY_LIMIT, "1000");
+
+        try (CloudApi headThenGetApi = new CloudApi(headThenGetConfig());
+             CloudApiConnectionContext context = createMockContext(response)) {
+            final Instances instances = headThenGetApi.instances();
+            Iterator<Instance> itr = instances.list(context);
+            assertFalse(itr.hasNext(), "This should be an empty iterator");
+            assertEquals(instances.getGetRequestsSkipped(), 1L);
+            assertEquals(instances.getHeadRequestsSkipped(), 0L);
+        }
+    }
+
+    public void canCountInstancesWithHead() throws IOException {
+        final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK");
+        final HttpResponse response = new BasicHttpResponse(statusLine);
+        response.setHeader(CloudApiHttpHeaders.X_RESOURCE_COUNT, "42");
+
+        try (CloudApiConnectionContext context = createMockContext(response)) {
+            assertEquals(instanceApi.count(context, new InstanceFilter()), 42);
+        }
+    }
+
     public void canListWithInstancesUnderQueryLimit() throws IOException {
+        final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK");
+        final HttpResponse response = new BasicHttpResponse(statusLine);
+        response.setHeader(CloudApiHttpHeaders.X_RESOURCE_COUNT, "2");
+        response.setHeader(CloudApiHttpHeaders.X_QUERY_LIMIT, "1000");
+        response.setEntity(new FileEntity(new File("src/test/data/instances/list_under_limit.json")));
+
+        final long headRequestsSkipped = instanceApi.getHeadRequestsSkipped();
+
+        try (CloudApiConnectionContext context = createMockContext(response)) {
+            Iterator<Instance> itr = instanceApi.list(context);
+
+            assertNotNull(itr.next());
+            assertNotNull(itr.next());
+            assertFalse(itr.hasNext(), "This should be the end of the iterator");
+        }
+
+        assertEquals(instanceApi.getHeadRequestsSkipped(), headRequestsSkipped + 1);
+    }
+
+    public void canListWithInstancesUnderQueryLimitUsingHeadThenGet() throws IOException {
         final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK");
         final HttpResponse response1 = new BasicHttpResponse(statusLine);
         response1.setHeader(CloudApiHttpHeaders.X_RESOURCE_COUNT, "2");
@@ -193,8 +302,9 @@ public class InstancesTest {
                 ImmutableList.of(response1, response2)
         );
 
-        try (CloudApiConnectionContext context = createMockContext(responses)) {
-            Iterator<Instance> itr = instanceApi.list(context);
+        try (CloudApi headThenGetApi = new CloudApi(headThenGetConfig());
+             CloudApiConnectionContext context = createMockContext(responses)) {
+            Iterator<Instance> itr = headThenGetApi.instances().list(context);
             assertTrue(itr.hasNext(), "This shouldn't be an empty iterator");
 
             assertNotNull(itr.next());
@@ -204,6 +314,87 @@ public class InstancesTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    public void canListAcrossMultiplePages() throws IOException {
+        final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK");
+        final HttpResponse page1 = new BasicHttpResponse(statusLine);
+        page1.setHeader(CloudApiHttpHeaders.X_RESOURCE_COUNT, "3");
+        page1.setHeader(CloudApiHttpHeaders.X_QUERY_LIMIT, "2");
+        page1.setEntity(new FileEntity(new File("src/test/data/instances/list_under_limit.json")));
+
+        final HttpResponse page2 = new BasicHttpResponse(statusLine);
+        page2.setHeader(CloudApiHttpHeaders.X_RESOURCE_COUNT, "3");
+        page2.setHeader(CloudApiHttpHeaders.X_QUERY_LIMIT, "2");
+        page2.setEntity(new FileEntity(new File("src/test/data/instances/list_single.json")));
+
+        final Queue<HttpResponse> responses = new LinkedList<>(
+                ImmutableList.of(page1, page2)
+        );
+        final List<String> requestedUris = new ArrayList<>();
+
+        final HttpClient mockClient = mock(HttpClient.class);
+        when(mockClient.execute(
+                isA(HttpUriRequest.class),
+                (ResponseHandler<?>)isA(ResponseHandler.class),
+                isA(HttpContext.class)
+        )).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                final HttpUriRequest request = (HttpUriRequest)invocation.getArguments()[0];
+                final ResponseHandler<?> handler = (ResponseHandler<?>)invocation.getArguments()[1];
+                requestedUris.add(request.getMethod() + " " + request.getURI());
+                return handler.handleResponse(responses.remove());
+            }
+        });
+
+        final CloudApiConnectionContext mockContext = mock(CloudApiConnectionContext.class);
+        when(mockContext.getHttpContext()).thenReturn(new HttpClientContext());
+        when(mockContext.getHttpClient()).thenReturn(mockClient);
+
+        final Iterator<Instance> itr = instanceApi.list(mockContext);
+
+        assertNotNull(itr.next());
+        assertNotNull(itr.next());
+        assertEquals(requestedUris.size(), 1, "Second page shouldn't be requested until needed");
+
+        assertTrue(itr.hasNext(), "Second page should have been fetched");
+        assertNotNull(itr.next());
+        assertFalse(itr.hasNext(), "This should be the end of the iterator");
+
+        assertEquals(requestedUris.size(), 2);
+        assertTrue(requestedUris.get(1).startsWith("GET "), "Unexpected request: " + requestedUris.get(1));
+        assertTrue(requestedUris.get(1).contains("limit=2"), "Unexpected request: " + requestedUris.get(1));
+        assertTrue(requestedUris.get(1).contains("offset=2"), "Unexpected request: " + requestedUris.get(1));
+    }
+
+    public void canStreamAcrossMultiplePages() throws IOException {
+        final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK");
+        final HttpResponse page1 = new BasicHttpResponse(statusLine);
+        page1.setHeader(CloudApiHttpHeaders.X_RESOURCE_COUNT, "3");
+        page1.setHeader(CloudApiHttpHeaders.X_QUERY_LIMIT, "2");
+        page1.setEntity(new FileEntity(new File("src/test/data/instances/list_under_limit.json")));
+
+        final HttpResponse page2 = new BasicHttpResponse(statusLine);
+        page2.setHeader(CloudApiHttpHeaders.X_RESOURCE_COUNT, "3");
+        page2.setHeader(CloudApiHttpHeaders.X_QUERY_LIMIT, "2");
+        page2.setEntity(new FileEntity(new File("src/test/data/instances/list_single.json")));
+
+        final Queue<HttpResponse> responses = new LinkedList<>(
+                ImmutableList.of(page1, page2)
+        );
+
+        try (CloudApiConnectionContext context = createMockContext(responses);
+             CloseableIterator<Instance> itr = instanceApi.listStreaming(context, new InstanceFilter())) {
+            assertNotNull(itr.next());
+            assertNotNull(itr.next());
+            assertEquals(responses.size(), 1, "Second page shouldn't be requested until needed");
+
+            assertNotNull(itr.next());
+            assertFalse(itr.hasNext(), "This should be the end of the iterator");
+            assertTrue(responses.isEmpty());
+        }
+    }
+
     public void canDeleteInstance() throws IOException {
         final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_NO_CONTENT, "No Content");
         final HttpResponse response = new BasicHttpResponse(statusLine);
@@ -295,6 +486,32 @@ public class InstancesTest {
         }
     }
 
+    public void waitForStateChangeStopsAtMaximumWaitTime() throws IOException {
+        final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK");
+        final Queue<HttpResponse> responses = new LinkedList<>();
+        final HttpResponse response = new BasicHttpResponse(statusLine);
+        response.setEntity(new FileEntity(new File("src/test/data/instances/created.json")));
+
+        for (int i = 0; i < 20; i++) {
+            responses.add(response);
+        }
+
+        final UUID instanceId = UUID.fromString("67038dfb-323d-4990-8c58-3ce7c254b99b");
+
+        try (CloudApiConnectionContext context = createMockContext(responses)) {
+            final long start = System.nanoTime();
+            final Instance provisioning = instanceApi.waitForStateChange(
+                    context, instanceId, "provisioning", 120L,
+                    new FixedIntervalPollingStrategy(50L));
+            final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(provisioning.getState(), "provisioning");
+            assertTrue(elapsedMs >= 120L, "Should wait for the maximum wait time: " + elapsedMs);
+            assertTrue(elapsedMs < 1000L, "Last sleep should be shortened to the deadline: " + elapsedMs);
+            assertTrue(responses.size() >= 16, "Should poll about every 50ms: " + responses.size());
+        }
+    }
+
     public void canFindRunningInstanceById() throws IOException {
         final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK");
         final HttpResponse response = new BasicHttpResponse(statusLine);
@@ -312,6 +529,39 @@ public class InstancesTest {
         }
     }
 
+    public void findByIdRevalidatesWithConditionalRequests() throws IOException {
+        final CloudApi conditionalApi = new CloudApi(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext()
+                        .setNoAuth(true)
+                        .setConditionalGetCacheSize(10)));
+
+        final HttpResponse ok = new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK"));
+        ok.setHeader("ETag", "\"1\"");
+        ok.setEntity(new FileEntity(new File("src/test/data/domain/instance.json")));
+        final HttpResponse notModified = new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, HttpStatus.SC_NOT_MODIFIED, "Not Modified"));
+
+        final Queue<HttpResponse> responses = new LinkedList<>();
+        responses.add(ok);
+        responses.add(notModified);
+
+        final UUID instanceId = UUID.fromString("c872d3bf-cbaa-4165-8e18-f6e3e1d94da9");
+
+        try (CloudApiConnectionContext context = createMockContext(responses)) {
+            final Instance first = conditionalApi.instances().findById(context, instanceId);
+            final Instance second = conditionalApi.instances().findById(context, instanceId);
+
+            assertNotNull(first);
+            assertEquals(second, first);
+            assertNotSame(second, first, "Each caller should get its own copy");
+            assertEquals(conditionalApi.getConditionalGetCache().getNotModifiedCount(), 1L);
+        } finally {
+            conditionalApi.close();
+        }
+    }
+
     public void canHandleMissingInstanceWhenFindingById() throws IOException {
         final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_NOT_FOUND, "Not Found");
         final HttpResponse response = new BasicHttpResponse(statusLine);
@@ -363,4 +613,13 @@ public class InstancesTest {
             assertEquals(tags.get("additional_2"), "val2");
         }
     }
+
+    private static ConfigContext headThenGetConfig() {
+        return new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext()
+                        .setNoAuth(true)
+                        .setListingStrategy(ListingStrategy.HEAD_THEN_GET)
+        );
+    }
 }
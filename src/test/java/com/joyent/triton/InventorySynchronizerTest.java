@@ -0,0 +1,140 @@
+package com.joyent.triton;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.http.CloudApiConnectionContext;
+import com.joyent.triton.json.CloudApiObjectMapper;
+import com.joyent.triton.queryfilters.InstanceFilter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class InventorySynchronizerTest {
+    private CloudApi cloudApi = null;
+
+    @BeforeClass
+    public void setup() {
+        this.cloudApi = new CloudApi(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext().setNoAuth(true)));
+    }
+
+    @AfterClass
+    public void cleanUp() throws IOException {
+        cloudApi.close();
+    }
+
+    public void firstSyncAddsEverything() throws IOException {
+        final FakeInstances instances = new FakeInstances(cloudApi);
+        instances.put(1, "running", "2016-03-31T15:17:19.000Z");
+        instances.put(2, "running", "2016-03-31T15:18:19.000Z");
+
+        final InventorySynchronizer synchronizer = new InventorySynchronizer(instances);
+        final InventoryDelta delta = synchronizer.sync();
+
+        assertEquals(delta.getAdded().size(), 2);
+        assertTrue(delta.getChanged().isEmpty());
+        assertTrue(delta.getRemoved().isEmpty());
+        assertEquals(synchronizer.getInventory().size(), 2);
+        assertEquals(synchronizer.getWatermark().toString(), "2016-03-31T15:18:19Z");
+        assertNull(instances.filters.get(0).getTombstone(), "First sync shouldn't list tombstones");
+    }
+
+    public void laterSyncsOnlyReportChanges() throws IOException {
+        final FakeInstances instances = new FakeInstances(cloudApi);
+        instances.put(1, "running", "2016-03-31T15:17:19.000Z");
+        instances.put(2, "running", "2016-03-31T15:17:19.000Z");
+        instances.put(3, "running", "2016-03-31T15:17:19.000Z");
+
+        final InventorySynchronizer synchronizer = new InventorySynchronizer(instances);
+        final List<InventoryDelta> events = new ArrayList<>();
+        synchronizer.addListener(new InventoryListener() {
+            @Override
+            public void inventoryChanged(final InventoryDelta delta) {
+                events.add(delta);
+            }
+        });
+
+        synchronizer.sync();
+        final Instance unchanged = synchronizer.getInventory().get(new UUID(0L, 1L));
+
+        instances.put(2, "stopped", "2016-04-01T10:00:00.000Z");
+        instances.put(3, "deleted", "2016-04-01T10:00:00.000Z");
+        instances.put(4, "provisioning", "2016-04-01T10:00:00.000Z");
+
+        final InventoryDelta delta = synchronizer.sync();
+
+        assertNotNull(instances.filters.get(1).getTombstone(), "Later syncs should list tombstones");
+        assertEquals(delta.getAdded().get(0).getId(), new UUID(0L, 4L));
+        assertEquals(delta.getChanged().get(0).getState(), "stopped");
+        assertEquals(delta.getRemoved().get(0).getId(), new UUID(0L, 3L));
+        assertEquals(synchronizer.getInventory().query().state("stopped").count(), 1);
+        assertNull(synchronizer.getInventory().get(new UUID(0L, 3L)));
+        assertTrue(synchronizer.getInventory().get(new UUID(0L, 1L)) == unchanged,
+                "Unchanged instances shouldn't be replaced");
+        assertEquals(events.size(), 2);
+
+        assertTrue(synchronizer.sync().isEmpty());
+        assertEquals(events.size(), 2, "Listeners shouldn't be notified when nothing changed");
+    }
+
+    public void instancesNoLongerListedAreRemoved() throws IOException {
+        final FakeInstances instances = new FakeInstances(cloudApi);
+        instances.put(1, "running", "2016-03-31T15:17:19.000Z");
+        instances.put(2, "running", "2016-03-31T15:17:19.000Z");
+
+        final InventorySynchronizer synchronizer = new InventorySynchronizer(instances);
+        synchronizer.sync();
+
+        instances.listed.remove(new UUID(0L, 2L));
+        final InventoryDelta delta = synchronizer.sync();
+
+        assertEquals(delta.getRemoved().size(), 1);
+        assertEquals(delta.getRemoved().get(0).getId(), new UUID(0L, 2L));
+        assertEquals(synchronizer.getInventory().size(), 1);
+    }
+
+    private static class FakeInstances extends Instances {
+        private final Map<UUID, Instance> listed = new LinkedHashMap<>();
+        private final List<InstanceFilter> filters = new ArrayList<>();
+
+        FakeInstances(final CloudApi cloudApi) {
+            super(cloudApi, new CloudApiObjectMapper());
+        }
+
+        void put(final int id, final String state, final String updated) {
+            final String json = String.format("{\"id\":\"%s\",\"state\":\"%s\",\"updated\":\"%s\"}",
+                    new UUID(0L, id), state, updated);
+
+            try {
+                final Instance instance = new CloudApiObjectMapper().readValue(json, Instance.class);
+                listed.put(instance.getId(), instance);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        @Override
+        public Iterator<Instance> list(final CloudApiConnectionContext context,
+                                       final InstanceFilter filter) throws IOException {
+            filters.add(filter);
+            return new ArrayList<>(listed.values()).iterator();
+        }
+    }
+}
@@ -21,7 +21,9 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Queue;
 import java.util.UUID;
 
 import static com.joyent.triton.FakeHttpClient.createMockContext;
@@ -29,6 +31,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertTrue;
 
 @Test(groups = "unit")
@@ -117,4 +120,68 @@ public class PackagesTest {
                     "Package name is unexpected. Actual package:\n" + pkg);
         }
     }
+
+    public void cachedListingsAreReused() throws IOException {
+        final CloudApi cachingApi = new CloudApi(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext()
+                        .setNoAuth(true)
+                        .setCatalogCacheTtl(60000)));
+        final Packages packages = cachingApi.packages();
+
+        final StatusLine statusLine = new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK");
+        final HttpResponse response = new BasicHttpResponse(statusLine);
+        response.setEntity(new FileEntity(new File("src/test/data/packages/packages.json")));
+
+        try (CloudApiConnectionContext context = createMockContext(response)) {
+            final Collection<Package> first = packages.list(context);
+            final Collection<Package> second = packages.smallestMemory(context);
+
+            assertEquals(first.size(), 70);
+            assertEquals(second.size(), 1);
+            assertEquals(packages.getCache().getMisses(), 1L);
+            assertEquals(packages.getCache().getHits(), 1L);
+        }
+
+        packages.invalidateCache();
+        assertEquals(packages.getCache().size(), 0);
+        cachingApi.close();
+    }
+
+    public void expiredPackagesAreRevalidatedWithETag() throws Exception {
+        final CloudApi cachingApi = new CloudApi(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext()
+                        .setNoAuth(true)
+                        .setCatalogCacheTtl(1)));
+        final Packages packages = cachingApi.packages();
+
+        final HttpResponse ok = new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, HttpStatus.SC_OK, "OK"));
+        ok.setHeader("ETag", "\"1\"");
+        ok.setEntity(new FileEntity(new File("src/test/data/domain/package.json")));
+        final HttpResponse notModified = new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, HttpStatus.SC_NOT_MODIFIED, "Not Modified"));
+
+        final Queue<HttpResponse> responses = new ArrayDeque<>();
+        responses.add(ok);
+        responses.add(notModified);
+
+        try (CloudApiConnectionContext context = createMockContext(responses)) {
+            final UUID id = new UUID(1, 1);
+            final Package first = packages.findById(context, id);
+            Thread.sleep(5L);
+            final Package second = packages.findById(context, id);
+
+            assertNotNull(first);
+            assertEquals(second, first);
+            assertNotSame(second, first, "Each caller should get its own copy");
+            assertEquals(packages.getCache().getRevalidations(), 1L);
+
+            packages.invalidateCache(id);
+            assertEquals(packages.getCache().size(), 0);
+        }
+
+        cachingApi.close();
+    }
 }
@@ -0,0 +1,127 @@
+package com.joyent.triton;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import com.joyent.triton.domain.Instance;
+import com.joyent.triton.exceptions.CloudApiException;
+import com.joyent.triton.json.CloudApiObjectMapper;
+import com.joyent.triton.queryfilters.InstanceFilter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+@Test(groups = { "unit" })
+public class PrefetchingInstanceIteratorTest {
+    private static final int PAGE_SIZE = 3;
+
+    private final ExecutorService directExecutor = MoreExecutors.newDirectExecutorService();
+    private CloudApi cloudApi = null;
+
+    @BeforeClass
+    public void setup() {
+        this.cloudApi = new CloudApi(new ChainedConfigContext(
+                new DefaultsConfigContext(),
+                new StandardConfigContext().setNoAuth(true)));
+    }
+
+    @AfterClass
+    public void cleanUp() throws IOException {
+        cloudApi.close();
+    }
+
+    public void returnsAllInstancesInOrder() {
+        final RecordingInstances instances = new RecordingInstances(11, -1);
+        final Iterator<Instance> itr = new PrefetchingInstanceIterator(instances,
+                cloudApi.getBackgroundExecutor(), new InstanceFilter(), page(0, PAGE_SIZE),
+                PAGE_SIZE, 11, 2);
+
+        for (int i = 0; i < 11; i++) {
+            assertEquals(itr.next().getName(), String.valueOf(i));
+        }
+
+        assertFalse(itr.hasNext());
+        assertEquals(instances.requestedOffsets.size(), 3);
+    }
+
+    public void onlyRequestsUpToPrefetchLimitAhead() {
+        final RecordingInstances instances = new RecordingInstances(30, -1);
+        final Iterator<Instance> itr = new PrefetchingInstanceIterator(instances,
+                directExecutor, new InstanceFilter(), page(0, PAGE_SIZE),
+                PAGE_SIZE, 30, 2);
+
+        assertEquals(instances.requestedOffsets.size(), 2,
+                "Only the prefetch limit of pages should be requested up front");
+
+        for (int i = 0; i < PAGE_SIZE + 1; i++) {
+            itr.next();
+        }
+
+        assertEquals(instances.requestedOffsets.size(), 3,
+                "One more page should be requested when a page is consumed");
+        assertEquals(instances.requestedOffsets.get(2), Integer.valueOf(9));
+    }
+
+    public void failedPageIsReportedToConsumer() {
+        final RecordingInstances instances = new RecordingInstances(9, 6);
+        final Iterator<Instance> itr = new PrefetchingInstanceIterator(instances,
+                directExecutor, new InstanceFilter(), page(0, PAGE_SIZE),
+                PAGE_SIZE, 9, 2);
+
+        for (int i = 0; i < 2 * PAGE_SIZE; i++) {
+            itr.next();
+        }
+
+        try {
+            itr.hasNext();
+            fail("CloudApiException never thrown");
+        } catch (CloudApiException e) {
+            assertEquals(e.getCause().getMessage(), "Simulated failure");
+        }
+    }
+
+    private static Collection<Instance> page(final int offset, final int size) {
+        final List<Instance> page = new ArrayList<>(size);
+
+        for (int i = offset; i < offset + size; i++) {
+            page.add(new Instance().setName(String.valueOf(i)));
+        }
+
+        return page;
+    }
+
+    private class RecordingInstances extends Instances {
+        private final List<Integer> requestedOffsets = new ArrayList<>();
+        private final int total;
+        private final int failingOffset;
+
+        RecordingInstances(final int total, final int failingOffset) {
+            super(cloudApi, new CloudApiObjectMapper());
+            this.total = total;
+            this.failingOffset = failingOffset;
+        }
+
+        @Override
+        synchronized Collection<Instance> listPage(final InstanceFilter filter) throws IOException {
+            requestedOffsets.add(filter.getOffset());
+
+            if (filter.getOffset() == failingOffset) {
+                throw new IOException("Simulated failure");
+            }
+
+            return page(filter.getOffset(), Math.min(filter.getLimit(), total - filter.getOffset()));
+        }
+    }
+}
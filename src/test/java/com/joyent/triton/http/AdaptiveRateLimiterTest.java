@@ -0,0 +1,59 @@
+package com.joyent.triton.http;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+@Test(groups = { "unit" })
+public class AdaptiveRateLimiterTest {
+    public void throttlingHalvesTheRate() {
+        final AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(40.0, 1);
+
+        limiter.onThrottled();
+
+        assertEquals(limiter.getRate(), 20.0, 0.0001);
+        assertEquals(limiter.getMaxRate(), 40.0, 0.0001);
+    }
+
+    public void throttlingWithinCooldownIsIgnored() {
+        final AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(40.0, 1);
+
+        limiter.onThrottled();
+        limiter.onThrottled();
+        limiter.onThrottled();
+
+        assertEquals(limiter.getRate(), 20.0, 0.0001,
+                "Responses throttled in the same burst should only lower the rate once");
+    }
+
+    public void successRecoversGraduallyToTheConfiguredRate() {
+        final AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(40.0, 1);
+
+        limiter.onThrottled();
+        limiter.onSuccess();
+
+        assertEquals(limiter.getRate(), 22.0, 0.0001);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess();
+        }
+
+        assertEquals(limiter.getRate(), 40.0, 0.0001, "Rate should never exceed the configured rate");
+    }
+
+    public void rateIsNotLoweredBelowTheFloor() throws InterruptedException {
+        final AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(40.0, 1) {
+            @Override
+            public synchronized void onThrottled() {
+                // Lower the rate directly to skip the cooldown between decreases
+                setRate(Math.max(getRate() * DECREASE_FACTOR, getMaxRate() * MINIMUM_FRACTION));
+            }
+        };
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onThrottled();
+        }
+
+        assertEquals(limiter.getRate(), 4.0, 0.0001);
+    }
+}
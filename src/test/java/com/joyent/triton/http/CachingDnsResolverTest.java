@@ -0,0 +1,166 @@
+package com.joyent.triton.http;
+
+import org.testng.annotations.Test;
+
+import javax.net.ssl.SSLHandshakeException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class CachingDnsResolverTest {
+    private static final InetAddress FIRST = address(1);
+    private static final InetAddress SECOND = address(2);
+    private static final InetAddress THIRD = address(3);
+
+    private static InetAddress address(final int lastOctet) {
+        try {
+            return InetAddress.getByAddress("cloudapi.test", new byte[] { 10, 0, 0, (byte)lastOctet });
+        } catch (UnknownHostException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Resolver that counts lookups and returns three fixed addresses.
+     */
+    private static class CountingResolver extends CachingDnsResolver {
+        private final AtomicInteger lookups = new AtomicInteger();
+        private volatile boolean failing;
+
+        CountingResolver(final long ttlMs, final long quarantineMs) {
+            super(ttlMs, quarantineMs);
+        }
+
+        @Override
+        protected InetAddress[] lookup(final String host) throws UnknownHostException {
+            lookups.incrementAndGet();
+
+            if (failing) {
+                throw new UnknownHostException(host);
+            }
+
+            return new InetAddress[] { FIRST, SECOND, THIRD };
+        }
+    }
+
+    public void lookupsAreCachedWithinTheTtl() throws Exception {
+        final CountingResolver resolver = new CountingResolver(60000L, 30000L);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(new HashSet<>(Arrays.asList(resolver.resolve("cloudapi.test"))),
+                    new HashSet<>(Arrays.asList(FIRST, SECOND, THIRD)));
+        }
+
+        assertEquals(resolver.lookups.get(), 1);
+    }
+
+    public void zeroTtlLooksUpEveryTime() throws Exception {
+        final CountingResolver resolver = new CountingResolver(0L, 30000L);
+
+        resolver.resolve("cloudapi.test");
+        resolver.resolve("cloudapi.test");
+
+        assertEquals(resolver.lookups.get(), 2);
+    }
+
+    public void staleLookupsAreRefreshedInTheBackground() throws Exception {
+        final CountingResolver resolver = new CountingResolver(200L, 30000L);
+        resolver.resolve("cloudapi.test");
+        resolver.failing = true;
+
+        TimeUnit.MILLISECONDS.sleep(250L);
+
+        assertEquals(resolver.resolve("cloudapi.test").length, 3,
+                "Stale addresses should be returned while looking up again");
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+
+        while (resolver.lookups.get() < 2 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10L);
+        }
+
+        assertEquals(resolver.lookups.get(), 2);
+    }
+
+    @Test(expectedExceptions = UnknownHostException.class)
+    public void unknownHostsAreNotCached() throws Exception {
+        final CountingResolver resolver = new CountingResolver(60000L, 30000L);
+        resolver.failing = true;
+
+        resolver.resolve("cloudapi.test");
+    }
+
+    public void unreachableAddressesAreTriedLast() throws Exception {
+        final CountingResolver resolver = new CountingResolver(60000L, 30000L);
+        resolver.recordFailure(FIRST, new ConnectException("Connection refused"));
+
+        assertTrue(resolver.isQuarantined(FIRST));
+
+        for (int i = 0; i < 20; i++) {
+            final InetAddress[] addresses = resolver.resolve("cloudapi.test");
+            assertEquals(addresses[addresses.length - 1], FIRST);
+        }
+
+        resolver.recordSuccess(FIRST, 1000L);
+
+        assertFalse(resolver.isQuarantined(FIRST), "A successful connection should end the quarantine");
+    }
+
+    public void handshakeFailuresDontQuarantine() {
+        final CountingResolver resolver = new CountingResolver(60000L, 30000L);
+        resolver.recordFailure(FIRST, new SSLHandshakeException("bad certificate"));
+
+        assertFalse(resolver.isQuarantined(FIRST));
+    }
+
+    public void quarantineEnds() throws Exception {
+        final CountingResolver resolver = new CountingResolver(60000L, 20L);
+        resolver.recordFailure(FIRST, new ConnectException("Connection refused"));
+
+        TimeUnit.MILLISECONDS.sleep(50L);
+
+        assertFalse(resolver.isQuarantined(FIRST));
+    }
+
+    public void fasterAddressesArePreferred() throws Exception {
+        final CountingResolver resolver = new CountingResolver(60000L, 30000L);
+        resolver.recordSuccess(FIRST, TimeUnit.MILLISECONDS.toNanos(1L));
+        resolver.recordSuccess(SECOND, TimeUnit.MILLISECONDS.toNanos(100L));
+        resolver.recordSuccess(THIRD, TimeUnit.MILLISECONDS.toNanos(100L));
+
+        int firstPicked = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            final InetAddress picked = resolver.resolve("cloudapi.test")[0];
+
+            if (picked.equals(FIRST)) {
+                firstPicked++;
+            }
+        }
+
+        assertTrue(firstPicked > 900, "Fastest address should usually be first: " + firstPicked);
+    }
+
+    public void unmeasuredAddressesAreSpreadEvenly() throws Exception {
+        final CountingResolver resolver = new CountingResolver(60000L, 30000L);
+        final AtomicInteger firstPicked = new AtomicInteger();
+
+        for (int i = 0; i < 900; i++) {
+            if (resolver.resolve("cloudapi.test")[0].equals(FIRST)) {
+                firstPicked.incrementAndGet();
+            }
+        }
+
+        assertTrue(firstPicked.get() > 200 && firstPicked.get() < 400,
+                "Each address should be first about a third of the time: " + firstPicked.get());
+    }
+}
@@ -0,0 +1,158 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.exceptions.CloudApiBulkheadFullException;
+import com.joyent.triton.exceptions.CloudApiCircuitOpenException;
+import com.joyent.triton.exceptions.CloudApiIOException;
+import org.apache.http.client.methods.HttpGet;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+@Test(groups = { "unit" })
+public class CircuitBreakerTest {
+    private static final String ENDPOINT = "https://localhost";
+
+    public void circuitOpensWhenFailureRateReachesThreshold() throws CloudApiIOException {
+        final CircuitBreaker breaker = new CircuitBreaker(ENDPOINT, 50, 0L, 1L, TimeUnit.HOURS, 0);
+
+        for (int i = 0; i < CircuitBreaker.MINIMUM_REQUESTS - 1; i++) {
+            breaker.release(breaker.acquire(), true, 0L);
+        }
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED,
+                "Circuit shouldn't open before the minimum number of requests");
+
+        breaker.release(breaker.acquire(), false, 0L);
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+
+        try {
+            breaker.acquire();
+            fail("Expected the request to be rejected");
+        } catch (CloudApiCircuitOpenException e) {
+            assertEquals(e.getFirstContextValue("endpoint"), ENDPOINT);
+            assertEquals(breaker.getCircuitRejections(), 1L);
+        }
+    }
+
+    public void slowRequestsCountAsFailures() throws CloudApiIOException {
+        final CircuitBreaker breaker = new CircuitBreaker(ENDPOINT, 100, 1L, 1L, TimeUnit.SECONDS, 0);
+
+        for (int i = 0; i < CircuitBreaker.MINIMUM_REQUESTS; i++) {
+            breaker.release(breaker.acquire(), false, TimeUnit.SECONDS.toNanos(2L));
+        }
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+    }
+
+    public void successfulTrialRequestsCloseTheCircuit() throws CloudApiIOException {
+        final CircuitBreaker breaker = openedBreaker();
+
+        final List<CircuitBreaker.Permit> trials = new ArrayList<>();
+
+        for (int i = 0; i < CircuitBreaker.TRIAL_REQUESTS; i++) {
+            trials.add(breaker.acquire());
+        }
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+
+        try {
+            breaker.acquire();
+            fail("Expected requests beyond the trial requests to be rejected");
+        } catch (CloudApiCircuitOpenException e) {
+            // expected
+        }
+
+        for (CircuitBreaker.Permit trial : trials) {
+            breaker.release(trial, false, 0L);
+        }
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    public void failedTrialRequestOpensTheCircuitAgain() throws CloudApiIOException {
+        final CircuitBreaker breaker = openedBreaker();
+
+        breaker.release(breaker.acquire(), true, 0L);
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+    }
+
+    public void requestsSentBeforeTheCircuitOpenedAreNotTrials() throws CloudApiIOException {
+        final CircuitBreaker breaker = new CircuitBreaker(ENDPOINT, 50, 0L, 0L, TimeUnit.SECONDS, 0);
+        final List<CircuitBreaker.Permit> late = new ArrayList<>();
+
+        for (int i = 0; i < CircuitBreaker.TRIAL_REQUESTS; i++) {
+            late.add(breaker.acquire());
+        }
+
+        for (int i = 0; i < CircuitBreaker.MINIMUM_REQUESTS; i++) {
+            breaker.release(breaker.acquire(), true, 0L);
+        }
+
+        final CircuitBreaker.Permit trial = breaker.acquire();
+        assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+
+        for (CircuitBreaker.Permit permit : late) {
+            breaker.release(permit, false, 0L);
+        }
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN,
+                "Late successes of requests sent while closed shouldn't close the circuit");
+
+        breaker.release(trial, true, 0L);
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+    }
+
+    public void bulkheadRejectsRequestsBeyondTheLimit() throws CloudApiIOException {
+        final CircuitBreaker breaker = new CircuitBreaker(ENDPOINT, 0, 0L, 0L, TimeUnit.SECONDS, 2);
+
+        final CircuitBreaker.Permit first = breaker.acquire();
+        breaker.acquire();
+        assertEquals(breaker.getInFlight(), 2);
+
+        try {
+            breaker.acquire();
+            fail("Expected the request to be rejected");
+        } catch (CloudApiBulkheadFullException e) {
+            assertEquals(breaker.getBulkheadRejections(), 1L);
+        }
+
+        breaker.release(first, false, 0L);
+        breaker.acquire();
+        assertEquals(breaker.getInFlight(), 2);
+    }
+
+    public void requestsToTheSameEndpointShareABreaker() {
+        final CircuitBreakers breakers = new CircuitBreakers(50, 0L, 1L, TimeUnit.SECONDS, 0);
+
+        final CircuitBreaker breaker = breakers.forRequest(new HttpGet("https://localhost/my/machines"));
+
+        assertSame(breakers.forRequest(new HttpGet("https://localhost/my/packages?memory=128")), breaker);
+        assertEquals(breaker.getEndpoint(), ENDPOINT);
+        assertEquals(breakers.getAll().size(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void thresholdAboveOneHundredIsRejected() {
+        new CircuitBreaker(ENDPOINT, 101, 0L, 0L, TimeUnit.SECONDS, 0);
+    }
+
+    private static CircuitBreaker openedBreaker() throws CloudApiIOException {
+        final CircuitBreaker breaker = new CircuitBreaker(ENDPOINT, 50, 0L, 0L, TimeUnit.SECONDS, 0);
+
+        for (int i = 0; i < CircuitBreaker.MINIMUM_REQUESTS; i++) {
+            breaker.release(breaker.acquire(), true, 0L);
+        }
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+}
@@ -0,0 +1,47 @@
+package com.joyent.triton.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpRequest;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class CloudApiHttpRequestExecutorTest {
+    public void recordsTheDurationOfEachAttempt() throws Exception {
+        final HttpClientConnection conn = mock(HttpClientConnection.class);
+        when(conn.receiveResponseHeader()).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(final InvocationOnMock invocation) throws Exception {
+                Thread.sleep(50L);
+                return new BasicHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1,
+                        HttpStatus.SC_NO_CONTENT, "No Content"));
+            }
+        });
+
+        final HttpContext context = new BasicHttpContext();
+        new CloudApiHttpRequestExecutor().execute(new BasicHttpRequest("DELETE", "/"), conn, context);
+
+        final long attemptNanos = CloudApiHttpRequestExecutor.attemptNanos(context, -1L);
+        assertTrue(attemptNanos >= TimeUnit.MILLISECONDS.toNanos(50L),
+                "Attempt wasn't timed: " + attemptNanos + "ns");
+    }
+
+    public void fallsBackToTheDefaultWithoutAnAttempt() {
+        assertEquals(CloudApiHttpRequestExecutor.attemptNanos(new BasicHttpContext(), 42L), 42L);
+    }
+}
@@ -1,12 +1,16 @@
 package com.joyent.triton.http;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.joyent.triton.domain.Instance;
 import com.joyent.triton.exceptions.CloudApiResponseException;
 import com.joyent.triton.json.CloudApiObjectMapper;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.entity.FileEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHeader;
@@ -16,14 +20,20 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 
 import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
 import static org.apache.http.HttpStatus.SC_INTERNAL_SERVER_ERROR;
+import static org.apache.http.HttpStatus.SC_NOT_FOUND;
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.apache.http.HttpVersion.HTTP_1_1;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.*;
 import static org.testng.AssertJUnit.assertEquals;
 
@@ -112,4 +122,150 @@ public class CloudApiResponseHandlerTest {
 
         assertTrue(thrown, "Expected CloudApiResponseException to be thrown");
     }
+
+    public void canStreamCollection() throws IOException {
+        CloudApiResponseHandler<List<Instance>> handler = new CloudApiResponseHandler<>(
+                "stream test", mapper, new TypeReference<List<Instance>>() {}, SC_OK, false
+        );
+
+        HttpResponse response = new BasicHttpResponse(new BasicStatusLine(HTTP_1_1, SC_OK, "OK"));
+        response.setEntity(new FileEntity(new File("src/test/data/instances/list_under_limit.json")));
+
+        try (StreamingCollectionIterator<Instance> itr = handler.handleStreamingResponse(response)) {
+            assertEquals(itr.next().getId(), UUID.fromString("fef6af0c-3b74-4a67-8c09-8ab181941f06"));
+            assertEquals(itr.next().getId(), UUID.fromString("796c95ea-a386-4c7d-a29e-ae159e9184e9"));
+            assertFalse(itr.hasNext(), "This should be the end of the iterator");
+        }
+    }
+
+    public void streamingReleasesConnectionWhenExhausted() throws IOException {
+        CloudApiResponseHandler<List<Instance>> handler = new CloudApiResponseHandler<>(
+                "stream test", mapper, new TypeReference<List<Instance>>() {}, SC_OK, false
+        );
+
+        CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        when(response.getStatusLine()).thenReturn(new BasicStatusLine(HTTP_1_1, SC_OK, "OK"));
+        when(response.getEntity()).thenReturn(new StringEntity("[]"));
+
+        StreamingCollectionIterator<Instance> itr = handler.handleStreamingResponse(response);
+        assertFalse(itr.hasNext(), "This should be an empty iterator");
+
+        verify(response).close();
+    }
+
+    public void streamingClosesConnectionWhenClosedEarly() throws IOException {
+        CloudApiResponseHandler<List<Instance>> handler = new CloudApiResponseHandler<>(
+                "stream test", mapper, new TypeReference<List<Instance>>() {}, SC_OK, false
+        );
+
+        CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        when(response.getStatusLine()).thenReturn(new BasicStatusLine(HTTP_1_1, SC_OK, "OK"));
+        when(response.getEntity()).thenReturn(
+                new FileEntity(new File("src/test/data/instances/list_under_limit.json")));
+
+        StreamingCollectionIterator<Instance> itr = handler.handleStreamingResponse(response);
+        assertNotNull(itr.next());
+        itr.close();
+
+        verify(response).close();
+        assertFalse(itr.hasNext(), "A closed iterator should have no more elements");
+    }
+
+    @Test(expectedExceptions = CloudApiResponseException.class)
+    public void streamingThrowsOnRestErrors() throws IOException {
+        CloudApiResponseHandler<List<Instance>> handler = new CloudApiResponseHandler<>(
+                "stream error test", mapper, new TypeReference<List<Instance>>() {}, SC_OK, false
+        );
+
+        StatusLine statusLine = new BasicStatusLine(HTTP_1_1, SC_BAD_REQUEST, "Bad Request");
+        HttpResponse response = new BasicHttpResponse(statusLine);
+        response.setEntity(new FileEntity(new File("src/test/data/error/bad_request.json")));
+
+        handler.handleStreamingResponse(response);
+    }
+
+    public void conditionalRequestReusesValueWhenNotModified() throws IOException {
+        final CloudApiResponseHandler<Instance> handler = new CloudApiResponseHandler<>(
+                "conditional test", mapper, new TypeReference<Instance>() {}, SC_OK, true
+        );
+        final ConditionalGetCache cache = new ConditionalGetCache(10);
+        final String uri = "https://localhost/user/machines/c872d3bf-cbaa-4165-8e18-f6e3e1d94da9";
+
+        final HttpGet first = new HttpGet(uri);
+        final ResponseHandler<Instance> firstHandler = handler.conditional(first, cache);
+        assertNull(first.getFirstHeader("If-None-Match"), "No validators are stored yet");
+
+        final HttpResponse ok = new BasicHttpResponse(new BasicStatusLine(HTTP_1_1, SC_OK, "OK"));
+        ok.setHeader("ETag", "\"abc\"");
+        ok.setHeader("Last-Modified", "Tue, 03 May 2016 18:32:01 GMT");
+        ok.setEntity(new FileEntity(new File("src/test/data/domain/instance.json")));
+        final Instance instance = firstHandler.handleResponse(ok);
+        assertNotNull(instance);
+        assertEquals(cache.size(), 1);
+
+        final HttpGet second = new HttpGet(uri);
+        final ResponseHandler<Instance> secondHandler = handler.conditional(second, cache);
+        assertEquals(second.getFirstHeader("If-None-Match").getValue(), "\"abc\"");
+        assertEquals(second.getFirstHeader("If-Modified-Since").getValue(), "Tue, 03 May 2016 18:32:01 GMT");
+
+        final HttpResponse notModified = new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, SC_NOT_MODIFIED, "Not Modified"));
+        final Instance reused = secondHandler.handleResponse(notModified);
+        assertEquals(reused, instance);
+        assertNotSame(reused, instance);
+        assertEquals(cache.getNotModifiedCount(), 1L);
+    }
+
+    public void reusedValuesCanBeModifiedWithoutAffectingOtherCallers() throws IOException {
+        final CloudApiResponseHandler<Instance> handler = new CloudApiResponseHandler<>(
+                "conditional test", mapper, new TypeReference<Instance>() {}, SC_OK, true
+        );
+        final ConditionalGetCache cache = new ConditionalGetCache(10);
+        final String uri = "https://localhost/user/machines/c872d3bf-cbaa-4165-8e18-f6e3e1d94da9";
+
+        final HttpResponse ok = new BasicHttpResponse(new BasicStatusLine(HTTP_1_1, SC_OK, "OK"));
+        ok.setHeader("ETag", "\"abc\"");
+        ok.setEntity(new FileEntity(new File("src/test/data/domain/instance.json")));
+        final Instance first = handler.conditional(new HttpGet(uri), cache).handleResponse(ok);
+        final String name = first.getName();
+        first.setName("changed by the first caller");
+
+        final HttpResponse notModified = new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, SC_NOT_MODIFIED, "Not Modified"));
+        final Instance second = handler.conditional(new HttpGet(uri), cache).handleResponse(notModified);
+        second.setName("changed by the second caller");
+
+        final Instance third = handler.conditional(new HttpGet(uri), cache).handleResponse(notModified);
+        assertEquals(third.getName(), name);
+    }
+
+    public void conditionalRequestForgetsMissingResource() throws IOException {
+        final CloudApiResponseHandler<Instance> handler = new CloudApiResponseHandler<>(
+                "conditional test", mapper, new TypeReference<Instance>() {}, SC_OK, true
+        );
+        final ConditionalGetCache cache = new ConditionalGetCache(10);
+        final String uri = "https://localhost/user/machines/c872d3bf-cbaa-4165-8e18-f6e3e1d94da9";
+
+        final HttpResponse ok = new BasicHttpResponse(new BasicStatusLine(HTTP_1_1, SC_OK, "OK"));
+        ok.setHeader("ETag", "\"abc\"");
+        ok.setEntity(new FileEntity(new File("src/test/data/domain/instance.json")));
+        handler.conditional(new HttpGet(uri), cache).handleResponse(ok);
+
+        final HttpResponse missing = new BasicHttpResponse(
+                new BasicStatusLine(HTTP_1_1, SC_NOT_FOUND, "Not Found"));
+        assertNull(handler.conditional(new HttpGet(uri), cache).handleResponse(missing));
+        assertEquals(cache.size(), 0);
+    }
+
+    public void responsesWithoutValidatorsAreNotStored() throws IOException {
+        final CloudApiResponseHandler<Instance> handler = new CloudApiResponseHandler<>(
+                "conditional test", mapper, new TypeReference<Instance>() {}, SC_OK, true
+        );
+        final ConditionalGetCache cache = new ConditionalGetCache(10);
+
+        final HttpResponse ok = new BasicHttpResponse(new BasicStatusLine(HTTP_1_1, SC_OK, "OK"));
+        ok.setEntity(new FileEntity(new File("src/test/data/domain/instance.json")));
+        assertNotNull(handler.conditional(new HttpGet("https://localhost/a"), cache).handleResponse(ok));
+        assertEquals(cache.size(), 0);
+    }
 }
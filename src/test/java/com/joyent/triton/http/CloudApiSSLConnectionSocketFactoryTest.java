@@ -0,0 +1,50 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import org.apache.http.HttpHost;
+import org.apache.http.protocol.BasicHttpContext;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(groups = { "unit" })
+public class CloudApiSSLConnectionSocketFactoryTest {
+    public void handshakeTimeoutsDontQuarantineAddressesThatConnected() throws Exception {
+        final InetAddress loopback = InetAddress.getLoopbackAddress();
+        final CachingDnsResolver resolver = new CachingDnsResolver(60000L, 30000L);
+        resolver.recordFailure(loopback, new ConnectException("Connection refused"));
+        assertTrue(resolver.isQuarantined(loopback));
+
+        final CloudApiSSLConnectionSocketFactory factory = new CloudApiSSLConnectionSocketFactory(
+                new ChainedConfigContext(new DefaultsConfigContext()), resolver);
+
+        // Accepts TCP connections but never answers the TLS handshake
+        try (ServerSocket server = new ServerSocket(0, 1, loopback)) {
+            final Socket socket = factory.createSocket(new BasicHttpContext());
+            socket.setSoTimeout(200);
+
+            try {
+                factory.connectSocket(1000, socket, new HttpHost("localhost", server.getLocalPort(), "https"),
+                        new InetSocketAddress(loopback, server.getLocalPort()), null, new BasicHttpContext());
+                fail("Expected the handshake to time out");
+            } catch (IOException e) {
+                // expected, thrown as an SSLException by some JDKs
+            } finally {
+                socket.close();
+            }
+        }
+
+        assertFalse(resolver.isQuarantined(loopback),
+                "The TCP connection succeeded, so the address should have left the quarantine");
+    }
+}
@@ -0,0 +1,104 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.ChainedConfigContext;
+import com.joyent.triton.config.DefaultsConfigContext;
+import com.joyent.triton.config.StandardConfigContext;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.message.BasicHttpResponse;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class CloudApiServiceUnavailableRetryStrategyTest {
+    private static final String URL = "https://localhost/my/machines";
+
+    public void throttledRequestsAreRetriedAfterRetryAfter() {
+        final CloudApiServiceUnavailableRetryStrategy strategy =
+                new CloudApiServiceUnavailableRetryStrategy(config(null));
+        final HttpResponse response = response(CloudApiServiceUnavailableRetryStrategy.SC_TOO_MANY_REQUESTS);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+
+        assertTrue(strategy.retryRequest(response, 1, context(new HttpPost(URL))),
+                "Throttled requests weren't processed, so even POST is retried");
+        assertEquals(strategy.getRetryInterval(), 1000L);
+    }
+
+    public void unavailableResponsesToIdempotentRequestsAreRetried() {
+        final CloudApiServiceUnavailableRetryStrategy strategy =
+                new CloudApiServiceUnavailableRetryStrategy(config(null));
+        final HttpResponse response = response(HttpStatus.SC_SERVICE_UNAVAILABLE);
+
+        assertTrue(strategy.retryRequest(response, 1, context(new HttpGet(URL))));
+        assertTrue(strategy.getRetryInterval() <= 10L);
+        assertFalse(strategy.retryRequest(response, 4, context(new HttpGet(URL))),
+                "Retries should stop after the configured number");
+    }
+
+    public void unavailableResponsesToPostAreOnlyRetriedWhenConfigured() {
+        final HttpResponse response = response(HttpStatus.SC_SERVICE_UNAVAILABLE);
+
+        assertFalse(new CloudApiServiceUnavailableRetryStrategy(config(null))
+                .retryRequest(response, 1, context(new HttpPost(URL))));
+        assertTrue(new CloudApiServiceUnavailableRetryStrategy(config(NonIdempotentRetryPolicy.ALWAYS))
+                .retryRequest(response, 1, context(new HttpPost(URL))));
+    }
+
+    public void retryAfterBeyondTheMaximumDelayIsNotWaitedFor() {
+        final CloudApiServiceUnavailableRetryStrategy strategy =
+                new CloudApiServiceUnavailableRetryStrategy(config(null));
+        final HttpResponse response = response(CloudApiServiceUnavailableRetryStrategy.SC_TOO_MANY_REQUESTS);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "3600");
+
+        assertFalse(strategy.retryRequest(response, 1, context(new HttpGet(URL))));
+    }
+
+    public void otherErrorsAreNotRetried() {
+        final CloudApiServiceUnavailableRetryStrategy strategy =
+                new CloudApiServiceUnavailableRetryStrategy(config(null));
+
+        assertFalse(strategy.retryRequest(response(HttpStatus.SC_INTERNAL_SERVER_ERROR), 1,
+                context(new HttpGet(URL))));
+    }
+
+    public void sentPostIsNotReplayedAfterAnIOError() {
+        final CloudApiHttpRequestRetryHandler retryHandler = new CloudApiHttpRequestRetryHandler(config(null));
+        final HttpClientContext sent = context(new HttpPost(URL));
+        sent.setAttribute(HttpClientContext.HTTP_REQ_SENT, true);
+
+        assertFalse(retryHandler.retryRequest(new NoHttpResponseException("No response"), 1, sent));
+
+        final HttpClientContext unsent = context(new HttpPost(URL));
+        unsent.setAttribute(HttpClientContext.HTTP_REQ_SENT, false);
+
+        assertTrue(retryHandler.retryRequest(new NoHttpResponseException("No response"), 1, unsent));
+    }
+
+    private static ChainedConfigContext config(final NonIdempotentRetryPolicy policy) {
+        return new ChainedConfigContext(new DefaultsConfigContext(),
+                new StandardConfigContext()
+                        .setRetryBaseDelay(10)
+                        .setRetryMaxDelay(2000)
+                        .setNonIdempotentRetryPolicy(policy));
+    }
+
+    private static HttpClientContext context(final HttpUriRequest request) {
+        final HttpClientContext context = new HttpClientContext();
+        context.setAttribute(HttpClientContext.HTTP_REQUEST, request);
+        return context;
+    }
+
+    private static HttpResponse response(final int statusCode) {
+        return new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+    }
+}
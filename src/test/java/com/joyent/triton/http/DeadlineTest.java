@@ -0,0 +1,76 @@
+package com.joyent.triton.http;
+
+import org.apache.http.client.config.RequestConfig;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class DeadlineTest {
+    public void deadlineInThePastIsExpired() {
+        final Deadline deadline = Deadline.after(0L, TimeUnit.MILLISECONDS);
+
+        assertTrue(deadline.isExpired());
+        assertEquals(deadline.remaining(TimeUnit.MILLISECONDS), 0L);
+    }
+
+    public void deadlineInTheFutureIsNotExpired() {
+        final Deadline deadline = Deadline.after(1L, TimeUnit.HOURS);
+
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.remaining(TimeUnit.MINUTES) > 58L);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativeDurationIsRejected() {
+        Deadline.after(-1L, TimeUnit.SECONDS);
+    }
+
+    public void shorterTimeoutsAreKept() {
+        final Deadline deadline = Deadline.after(1L, TimeUnit.HOURS);
+
+        assertEquals(deadline.clamp(20000), 20000);
+    }
+
+    public void longerTimeoutsAreShortenedToTheRemainingTime() {
+        final Deadline deadline = Deadline.after(5L, TimeUnit.SECONDS);
+        final int clamped = deadline.clamp(20000);
+
+        assertTrue(clamped <= 5000, "Timeout should not extend past the deadline: " + clamped);
+        assertTrue(clamped > 0);
+    }
+
+    public void disabledTimeoutsAreReplacedByTheRemainingTime() {
+        final Deadline deadline = Deadline.after(5L, TimeUnit.SECONDS);
+
+        assertTrue(deadline.clamp(0) <= 5000);
+        assertTrue(deadline.clamp(-1) > 0);
+    }
+
+    public void expiredDeadlineClampsToOneMillisecond() {
+        final Deadline deadline = Deadline.after(0L, TimeUnit.SECONDS);
+
+        assertEquals(deadline.clamp(20000), 1);
+    }
+
+    public void requestConfigTimeoutsAreClamped() {
+        final Deadline deadline = Deadline.after(5L, TimeUnit.SECONDS);
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(1000)
+                .setSocketTimeout(20000)
+                .setConnectionRequestTimeout(-1)
+                .setContentCompressionEnabled(true)
+                .build();
+
+        final RequestConfig clamped = deadline.clamp(requestConfig);
+
+        assertEquals(clamped.getConnectTimeout(), 1000);
+        assertTrue(clamped.getSocketTimeout() <= 5000);
+        assertTrue(clamped.getConnectionRequestTimeout() > 0);
+        assertTrue(clamped.isContentCompressionEnabled());
+    }
+}
@@ -0,0 +1,55 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.json.CloudApiObjectMapper;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class JsonEntityTest {
+    private final CloudApiObjectMapper mapper = new CloudApiObjectMapper();
+    private final Map<String, String> body = Collections.singletonMap("name", "héllo");
+
+    public void bufferedEntityHasAFixedLength() throws IOException {
+        final JsonEntity entity = JsonEntity.buffered(mapper, body);
+        final byte[] expected = mapper.writeValueAsBytes(body);
+
+        assertTrue(entity.isBuffered());
+        assertFalse(entity.isChunked());
+        assertTrue(entity.isRepeatable());
+        assertEquals(entity.getContentLength(), expected.length);
+    }
+
+    public void bufferedEntityReplaysTheSameBytes() throws IOException {
+        final JsonEntity entity = JsonEntity.buffered(mapper, body);
+        final byte[] expected = "{\"name\":\"héllo\"}".getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 2; i++) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            entity.writeTo(out);
+            assertEquals(out.toByteArray(), expected);
+
+            try (InputStream in = entity.getContent()) {
+                assertEquals(IOUtils.toByteArray(in), expected);
+            }
+        }
+    }
+
+    public void streamingEntityIsChunked() throws IOException {
+        final JsonEntity entity = new JsonEntity(mapper, body);
+
+        assertFalse(entity.isBuffered());
+        assertTrue(entity.isChunked());
+        assertEquals(entity.getContentLength(), -1L);
+    }
+}
@@ -0,0 +1,70 @@
+package com.joyent.triton.http;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class RateLimiterTest {
+    public void burstIsAvailableImmediately() {
+        final RateLimiter limiter = new RateLimiter(1.0, 3);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire(), "Bucket should be empty after the burst");
+    }
+
+    public void acquireWaitsForTokens() throws InterruptedException {
+        final RateLimiter limiter = new RateLimiter(50.0, 1);
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < 6; i++) {
+            limiter.acquire();
+        }
+
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMs >= 90L, "5 waits at 50/s should take about 100ms: " + elapsedMs);
+    }
+
+    public void timedAcquireDoesNotTakeTokensItCannotUseInTime() throws InterruptedException {
+        final RateLimiter limiter = new RateLimiter(10.0, 1);
+
+        assertTrue(limiter.tryAcquire(0L, TimeUnit.MILLISECONDS));
+        assertFalse(limiter.tryAcquire(10L, TimeUnit.MILLISECONDS),
+                "The next token is 100ms away");
+        assertTrue(limiter.tryAcquire(200L, TimeUnit.MILLISECONDS),
+                "The failed attempt shouldn't have pushed the next token back");
+    }
+
+    public void reservationsQueueUpAndRefundsGiveTokensBack() {
+        final RateLimiter limiter = new RateLimiter(1.0, 1);
+
+        assertEquals(limiter.reserve(), 0L);
+
+        final long waitNanos = limiter.reserve();
+        assertTrue(waitNanos > TimeUnit.MILLISECONDS.toNanos(900L), "Expected to wait for the next token");
+
+        limiter.refund();
+        assertTrue(limiter.reserve() <= waitNanos,
+                "The refunded token should be taken by the next reservation");
+    }
+
+    public void rateIsReported() {
+        assertEquals(new RateLimiter(20.0, 1).getRate(), 20.0, 0.0001);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void zeroRateIsRejected() {
+        new RateLimiter(0.0, 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void zeroBurstIsRejected() {
+        new RateLimiter(1.0, 0);
+    }
+}
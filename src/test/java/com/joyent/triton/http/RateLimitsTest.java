@@ -0,0 +1,106 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.StandardConfigContext;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.testng.annotations.Test;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(groups = { "unit" })
+public class RateLimitsTest {
+    public void noClientLimitByDefault() {
+        final RateLimits limits = RateLimits.fromConfig(new StandardConfigContext());
+
+        assertNull(limits.getClientLimiter());
+        assertTrue(limits.getOperationLimiters().isEmpty());
+    }
+
+    public void clientLimitIsConfigured() {
+        final RateLimits limits = RateLimits.fromConfig(new StandardConfigContext()
+                .setRateLimit(25)
+                .setRateLimitBurst(5));
+
+        assertNotNull(limits.getClientLimiter());
+        assertEquals(limits.getClientLimiter().getMaxRate(), 25.0, 0.0001);
+    }
+
+    public void operationLimitsCanBeAddedAndRemoved() {
+        final RateLimits limits = new RateLimits(null)
+                .setOperationLimit("create instance", 2.0, 1);
+
+        assertNotNull(limits.getOperationLimiter("create instance"));
+        assertNull(limits.getOperationLimiter("list instances"));
+        assertNull(limits.getOperationLimiter(null));
+
+        limits.removeOperationLimit("create instance");
+
+        assertNull(limits.getOperationLimiter("create instance"));
+    }
+
+    public void interceptorTakesTokensForTheOperation() throws Exception {
+        final RateLimits limits = new RateLimits(null)
+                .setOperationLimit("list instances", 1.0, 1);
+        final RateLimitInterceptor interceptor = new RateLimitInterceptor(limits);
+        final HttpContext context = new BasicHttpContext();
+        context.setAttribute(CloudApiResponseHandler.OPERATION_NAME_ATTRIBUTE, "list instances");
+
+        interceptor.process(new HttpGet("https://localhost/my/machines"), context);
+
+        assertFalse(limits.getOperationLimiter("list instances").tryAcquire(),
+                "The request should have taken the only token");
+    }
+
+    public void interceptorFailsWhenTheDeadlineWouldPassWhileWaiting() throws Exception {
+        final RateLimits limits = new RateLimits(new AdaptiveRateLimiter(1.0, 1))
+                .setOperationLimit("list instances", 100.0, 1);
+        final RateLimitInterceptor interceptor = new RateLimitInterceptor(limits);
+        final HttpContext context = new BasicHttpContext();
+        context.setAttribute(CloudApiResponseHandler.OPERATION_NAME_ATTRIBUTE, "list instances");
+        context.setAttribute(Deadline.HTTP_CONTEXT_ATTRIBUTE, Deadline.after(100L, TimeUnit.MILLISECONDS));
+
+        // Empty the client-wide bucket, whose next token is a second away
+        assertTrue(limits.getClientLimiter().tryAcquire());
+
+        final long start = System.nanoTime();
+
+        try {
+            interceptor.process(new HttpGet("https://localhost/my/machines"), context);
+            fail("Expected the request to fail before its deadline");
+        } catch (InterruptedIOException e) {
+            assertTrue(e.getMessage().contains("Deadline exceeded"), "Unexpected message: " + e.getMessage());
+        }
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100L,
+                "The request shouldn't have waited for a token it couldn't use");
+        assertTrue(limits.getOperationLimiter("list instances").tryAcquire(),
+                "The operation's token should have been given back");
+    }
+
+    public void throttledResponsesLowerBothLimits() throws Exception {
+        final RateLimits limits = new RateLimits(new AdaptiveRateLimiter(40.0, 1))
+                .setOperationLimit("list instances", 10.0, 1);
+        final RateLimitInterceptor interceptor = new RateLimitInterceptor(limits);
+        final HttpContext context = new BasicHttpContext();
+        context.setAttribute(CloudApiResponseHandler.OPERATION_NAME_ATTRIBUTE, "list instances");
+
+        final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1,
+                CloudApiServiceUnavailableRetryStrategy.SC_TOO_MANY_REQUESTS, "Too Many Requests");
+        interceptor.process(response, context);
+
+        assertEquals(limits.getClientLimiter().getRate(), 20.0, 0.0001);
+        assertEquals(limits.getOperationLimiter("list instances").getRate(), 5.0, 0.0001);
+    }
+}
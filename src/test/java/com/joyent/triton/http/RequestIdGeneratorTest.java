@@ -0,0 +1,59 @@
+package com.joyent.triton.http;
+
+import com.joyent.triton.config.MapConfigContext;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.protocol.BasicHttpContext;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class RequestIdGeneratorTest {
+    public void generatorsProduceUniqueRfc4122Uuids() {
+        for (RequestIdGenerator generator : RequestIdGenerator.values()) {
+            final Set<UUID> ids = new HashSet<>();
+
+            for (int i = 0; i < 10000; i++) {
+                final UUID id = generator.nextUuid();
+                assertEquals(id.variant(), 2, generator + " variant of " + id);
+                ids.add(id);
+            }
+
+            assertEquals(ids.size(), 10000, generator + " generated duplicate ids");
+        }
+    }
+
+    public void randomGeneratorsProduceVersion4Uuids() {
+        assertEquals(RequestIdGenerator.SECURE_RANDOM.nextUuid().version(), 4);
+        assertEquals(RequestIdGenerator.THREAD_LOCAL_RANDOM.nextUuid().version(), 4);
+    }
+
+    public void timeOrderedIdsStartWithTheCurrentTime() {
+        final long before = System.currentTimeMillis();
+        final UUID id = RequestIdGenerator.TIME_ORDERED.nextUuid();
+        final long after = System.currentTimeMillis();
+        final long timestamp = id.getMostSignificantBits() >>> 16;
+
+        assertEquals(id.version(), 7);
+        assertTrue(timestamp >= before && timestamp <= after, "Unexpected timestamp: " + timestamp);
+    }
+
+    public void interceptorSendsIdFromConfiguredGenerator() throws Exception {
+        final Properties properties = new Properties();
+        properties.setProperty(MapConfigContext.REQUEST_ID_GENERATOR_KEY, "TIME_ORDERED");
+        final RequestIdGenerator generator = new MapConfigContext(properties).getRequestIdGenerator();
+        assertEquals(generator, RequestIdGenerator.TIME_ORDERED);
+
+        final HttpGet request = new HttpGet("https://localhost/my/machines");
+        new RequestIdInterceptor(generator).process(request, new BasicHttpContext());
+
+        final String requestId = request.getFirstHeader(CloudApiHttpHeaders.REQUEST_ID).getValue();
+        assertEquals(UUID.fromString(requestId).version(), 7);
+    }
+}
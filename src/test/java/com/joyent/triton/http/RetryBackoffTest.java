@@ -0,0 +1,79 @@
+package com.joyent.triton.http;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.message.BasicHttpResponse;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class RetryBackoffTest {
+    public void delayDoublesUpToTheMaximum() {
+        final RetryBackoff backoff = new RetryBackoff(100L, 1000L);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(backoff.nextDelay(1) <= 100L);
+            assertTrue(backoff.nextDelay(3) <= 400L);
+            assertTrue(backoff.nextDelay(50) <= 1000L);
+        }
+    }
+
+    public void delayIsRandomized() {
+        final RetryBackoff backoff = new RetryBackoff(1000L, 1000L);
+        final long first = backoff.nextDelay(1);
+
+        for (int i = 0; i < 100; i++) {
+            if (backoff.nextDelay(1) != first) {
+                return;
+            }
+        }
+
+        throw new AssertionError("Expected delays to differ");
+    }
+
+    public void retryAfterSecondsTakesPrecedence() {
+        final HttpResponse response = response();
+        response.setHeader(HttpHeaders.RETRY_AFTER, "2");
+
+        assertEquals(new RetryBackoff(100L, 1000L).nextDelay(response, 1), 2000L);
+    }
+
+    public void retryAfterDateIsRelativeToNow() {
+        final long now = System.currentTimeMillis();
+        final HttpResponse response = response();
+        response.setHeader(HttpHeaders.RETRY_AFTER, DateUtils.formatDate(new Date(now + 5000L)));
+
+        final Long delay = RetryBackoff.retryAfterMillis(response, now);
+        assertTrue(delay > 3000L && delay <= 5000L, "Unexpected delay: " + delay);
+    }
+
+    public void invalidRetryAfterIsIgnored() {
+        final HttpResponse response = response();
+        response.setHeader(HttpHeaders.RETRY_AFTER, "soon");
+
+        assertNull(RetryBackoff.retryAfterMillis(response, System.currentTimeMillis()));
+    }
+
+    public void waitingPastTheDeadlineIsRefused() {
+        final HttpClientContext context = new HttpClientContext();
+        context.setAttribute(Deadline.HTTP_CONTEXT_ATTRIBUTE, Deadline.after(50L, TimeUnit.MILLISECONDS));
+
+        assertFalse(RetryBackoff.await(1000L, context));
+        assertTrue(RetryBackoff.await(0L, new HttpClientContext()));
+    }
+
+    private static HttpResponse response() {
+        return new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_SERVICE_UNAVAILABLE, "Service Unavailable");
+    }
+}
@@ -0,0 +1,44 @@
+package com.joyent.triton.polling;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = { "unit" })
+public class ExponentialBackoffPollingStrategyTest {
+    public void delayGrowsExponentiallyWithoutJitter() {
+        final PollingStrategy strategy = new ExponentialBackoffPollingStrategy(100L, 10000L, 2.0, 0.0);
+
+        assertEquals(strategy.nextDelay("provisioning", 1, 0L), 100L);
+        assertEquals(strategy.nextDelay("provisioning", 2, 100L), 200L);
+        assertEquals(strategy.nextDelay("provisioning", 3, 300L), 400L);
+        assertEquals(strategy.nextDelay("provisioning", 4, 700L), 800L);
+    }
+
+    public void delayIsCappedAtMaximum() {
+        final PollingStrategy strategy = new ExponentialBackoffPollingStrategy(100L, 1000L, 2.0, 0.0);
+
+        assertEquals(strategy.nextDelay("provisioning", 30, 0L), 1000L);
+        assertEquals(strategy.nextDelay("provisioning", Integer.MAX_VALUE, 0L), 1000L);
+    }
+
+    public void jitterOnlyShortensTheDelay() {
+        final PollingStrategy strategy = new ExponentialBackoffPollingStrategy(1000L, 1000L, 2.0, 0.5);
+
+        for (int i = 0; i < 1000; i++) {
+            final long delay = strategy.nextDelay("provisioning", 1, 0L);
+            assertTrue(delay >= 500L && delay <= 1000L, "Delay out of range: " + delay);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void jitterAboveOneIsRejected() {
+        new ExponentialBackoffPollingStrategy(100L, 1000L, 2.0, 1.5);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void maximumBelowInitialIsRejected() {
+        new ExponentialBackoffPollingStrategy(1000L, 100L);
+    }
+}
@@ -0,0 +1,27 @@
+package com.joyent.triton.polling;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+@Test(groups = { "unit" })
+public class StateAwarePollingStrategyTest {
+    public void waitsUntilExpectedDurationBeforeDelegating() {
+        final PollingStrategy strategy = new StateAwarePollingStrategy(
+                new ExponentialBackoffPollingStrategy(1000L, 8000L, 2.0, 0.0))
+                .expect("provisioning", 30000L);
+
+        assertEquals(strategy.nextDelay("provisioning", 1, 200L), 29800L);
+        assertEquals(strategy.nextDelay("provisioning", 2, 30100L), 1000L,
+                "Backoff should start over once the expected duration has passed");
+        assertEquals(strategy.nextDelay("provisioning", 3, 31100L), 2000L);
+    }
+
+    public void statesWithoutExpectedDurationUseDelegate() {
+        final PollingStrategy strategy = new StateAwarePollingStrategy(
+                new FixedIntervalPollingStrategy(500L))
+                .expect("provisioning", 30000L);
+
+        assertEquals(strategy.nextDelay("stopping", 1, 0L), 500L);
+    }
+}
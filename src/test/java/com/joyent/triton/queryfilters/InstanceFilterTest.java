@@ -2,7 +2,12 @@ package com.joyent.triton.queryfilters;
 
 import org.testng.annotations.Test;
 
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 @Test(groups = { "unit" })
@@ -17,4 +22,20 @@ public class InstanceFilterTest {
                 .setBrand("lx");
         assertFalse(filter.isEmpty(), "Is empty should be true because nothing is set");
     }
+
+    public void copyIsEqualButIndependent() {
+        InstanceFilter filter = new InstanceFilter()
+                .setBrand("lx")
+                .setLimit(10)
+                .setTags(new HashMap<>(Collections.singletonMap("role", "db")));
+        InstanceFilter copy = new InstanceFilter(filter);
+
+        assertEquals(copy, filter);
+
+        copy.setOffset(10);
+        copy.getTags().put("env", "test");
+
+        assertNull(filter.getOffset());
+        assertEquals(filter.getTags().size(), 1);
+    }
 }